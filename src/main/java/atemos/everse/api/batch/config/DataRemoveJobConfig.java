@@ -1,15 +1,16 @@
 package atemos.everse.api.batch.config;
 
 import atemos.everse.api.batch.tasklet.DataRemoveTasklet;
+import atemos.everse.api.batch.tasklet.EnergyDownsampleTasklet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.transaction.PlatformTransactionManager;
 
 /**
  * DataRemoveJobConfig는 오래된 데이터를 삭제하는 작업을 Spring Batch로 구성하는 설정 클래스입니다.
@@ -19,25 +20,41 @@ import org.springframework.transaction.PlatformTransactionManager;
 @RequiredArgsConstructor
 public class DataRemoveJobConfig {
     private final JobRepository jobRepository;
-    private final PlatformTransactionManager transactionManager;
 
     /**
      * 오래된 데이터를 삭제하는 배치 작업(Job)을 정의합니다.
-     * - 이 Job은 DataRemoveTasklet을 실행하는 단일 Step으로 구성됩니다.
+     * - 이 Job은 보관 기간이 지난 집계 데이터를 줄이는 Step과 오래된 원본 데이터를 삭제하는 Step으로 구성됩니다.
      *
+     * @param energyDownsampleStep EnergyDownsampleTasklet을 실행하는 Step
      * @param dataRemoveStep DataRemoveTasklet을 실행하는 Step
      * @return Job 객체
      */
     @Bean
-    public Job dataRemoveJob(Step dataRemoveStep) {
+    public Job dataRemoveJob(Step energyDownsampleStep, Step dataRemoveStep) {
         return new JobBuilder("dataRemoveJob", jobRepository)
-                .start(dataRemoveStep)
+                .start(energyDownsampleStep)
+                .next(dataRemoveStep)
+                .build();
+    }
+
+    /**
+     * 보관 기간이 지난 에너지 집계 데이터를 더 큰 집계 단위만 남기고 삭제하는 Step을 정의합니다.
+     * - dataRemoveStep과 같이 BulkPurger가 묶음마다 커밋하므로, Tasklet 실행을 데이터베이스 트랜잭션으로 감싸지 않습니다.
+     *
+     * @param energyDownsampleTasklet 보관 기간이 지난 시간별/일별 집계 데이터를 삭제하는 Tasklet
+     * @return Step 객체
+     */
+    @Bean
+    public Step energyDownsampleStep(EnergyDownsampleTasklet energyDownsampleTasklet) {
+        return new StepBuilder("energyDownsampleStep", jobRepository)
+                .tasklet(energyDownsampleTasklet, new ResourcelessTransactionManager())
                 .build();
     }
 
     /**
      * 오래된 데이터를 삭제하는 작업을 처리하는 Step을 정의합니다.
      * - 이 Step은 DataRemoveTasklet을 실행하여 데이터 삭제 작업을 처리합니다.
+     * - 삭제는 BulkPurger가 묶음마다 커밋하므로, Step은 Tasklet 실행을 데이터베이스 트랜잭션으로 감싸지 않습니다(ResourcelessTransactionManager).
      *
      * @param dataRemoveTasklet 오래된 데이터를 삭제하는 Tasklet
      * @return Step 객체
@@ -45,7 +62,7 @@ public class DataRemoveJobConfig {
     @Bean
     public Step dataRemoveStep(DataRemoveTasklet dataRemoveTasklet) {
         return new StepBuilder("dataRemoveStep", jobRepository)
-                .tasklet(dataRemoveTasklet, transactionManager)
+                .tasklet(dataRemoveTasklet, new ResourcelessTransactionManager())
                 .build();
     }
 }
\ No newline at end of file
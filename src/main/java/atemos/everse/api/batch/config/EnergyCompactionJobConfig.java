@@ -0,0 +1,56 @@
+package atemos.everse.api.batch.config;
+
+import atemos.everse.api.batch.tasklet.EnergyCompactionTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+
+/**
+ * EnergyCompactionJobConfig는 중복 저장된 에너지 사용량을 정리하는 작업의 Job 및 Step 구성을 담당하는 설정 클래스입니다.
+ * 이 Job은 스케줄링하지 않으며, 관리자가 API로 한 번 실행합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EnergyCompactionJobConfig {
+    /**
+     * 중복 저장된 에너지 사용량을 정리하는 Job을 정의하는 Bean입니다.
+     *
+     * @param jobRepository Spring Batch에서 Job 실행을 관리하는 JobRepository
+     * @param energyCompactionStep 에너지 사용량 중복 정리 Step
+     * @return 정의된 Job 객체
+     */
+    @Bean
+    public Job energyCompactionJob(JobRepository jobRepository, Step energyCompactionStep) {
+        return new JobBuilder("energyCompactionJob", jobRepository)
+                .start(energyCompactionStep)
+                .build();
+    }
+
+    /**
+     * 중복 저장된 에너지 사용량을 정리하는 Step을 정의하는 Bean입니다.
+     * EnergyCompactionTasklet을 반복 실행하며, 한 번의 실행마다 트랜잭션을 커밋합니다.
+     * 정리한 기간의 집계 데이터를 다시 생성할 때 집계 행을 잠근 뒤 다른 트랜잭션이 커밋한 원본 데이터를 읽도록 READ COMMITTED 격리 수준으로 실행합니다.
+     *
+     * @param jobRepository Spring Batch에서 Step 실행을 관리하는 JobRepository
+     * @param transactionManager 트랜잭션을 관리하는 PlatformTransactionManager
+     * @param energyCompactionTasklet 에너지 사용량 중복 정리 Tasklet
+     * @return 정의된 Step 객체
+     */
+    @Bean
+    public Step energyCompactionStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, EnergyCompactionTasklet energyCompactionTasklet) {
+        var transactionAttribute = new DefaultTransactionAttribute();
+        transactionAttribute.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return new StepBuilder("energyCompactionStep", jobRepository)
+                .tasklet(energyCompactionTasklet, transactionManager)
+                .transactionAttribute(transactionAttribute)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package atemos.everse.api.batch.config;
+
+import atemos.everse.api.batch.tasklet.EnergyRollupRebuildTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+
+/**
+ * EnergyRollupRebuildJobConfig는 원본 에너지 데이터로부터 업체별 집계 데이터를 처음 생성하는 작업의 Job 및 Step 구성을 담당하는 설정 클래스입니다.
+ * 이 Job은 스케줄링하지 않으며, 애플리케이션 시작 시 같은 Job 파라미터로 실행하므로 여러 서버가 함께 시작해도 한 번만 실행됩니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EnergyRollupRebuildJobConfig {
+    /**
+     * 업체별 집계 데이터를 처음 생성하는 Job을 정의하는 Bean입니다.
+     *
+     * @param jobRepository Spring Batch에서 Job 실행을 관리하는 JobRepository
+     * @param energyRollupRebuildStep 집계 데이터 생성 Step
+     * @return 정의된 Job 객체
+     */
+    @Bean
+    public Job energyRollupRebuildJob(JobRepository jobRepository, Step energyRollupRebuildStep) {
+        return new JobBuilder("energyRollupRebuildJob", jobRepository)
+                .start(energyRollupRebuildStep)
+                .build();
+    }
+
+    /**
+     * 업체별 집계 데이터를 생성하는 Step을 정의하는 Bean입니다.
+     * EnergyRollupRebuildTasklet을 반복 실행하며, 한 번의 실행마다 트랜잭션을 커밋합니다.
+     * 집계 행을 잠근 뒤 다른 트랜잭션이 커밋한 원본 데이터를 읽도록 READ COMMITTED 격리 수준으로 실행합니다.
+     *
+     * @param jobRepository Spring Batch에서 Step 실행을 관리하는 JobRepository
+     * @param transactionManager 트랜잭션을 관리하는 PlatformTransactionManager
+     * @param energyRollupRebuildTasklet 집계 데이터 생성 Tasklet
+     * @return 정의된 Step 객체
+     */
+    @Bean
+    public Step energyRollupRebuildStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, EnergyRollupRebuildTasklet energyRollupRebuildTasklet) {
+        var transactionAttribute = new DefaultTransactionAttribute();
+        transactionAttribute.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return new StepBuilder("energyRollupRebuildStep", jobRepository)
+                .tasklet(energyRollupRebuildTasklet, transactionManager)
+                .transactionAttribute(transactionAttribute)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package atemos.everse.api.batch.config;
+
+import atemos.everse.api.batch.tasklet.EpochHourBackfillTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * EpochHourBackfillJobConfig는 에너지와 AI 예측 에너지의 비어 있는 UTC epoch 시간을 채우는 작업의 Job 및 Step 구성을 담당하는 설정 클래스입니다.
+ * 이 Job은 스케줄링하지 않으며, 애플리케이션 시작 시 비어 있는 행이 있으면 한 번 실행합니다.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EpochHourBackfillJobConfig {
+    /**
+     * 비어 있는 UTC epoch 시간을 채우는 Job을 정의하는 Bean입니다.
+     *
+     * @param jobRepository Spring Batch에서 Job 실행을 관리하는 JobRepository
+     * @param epochHourBackfillStep UTC epoch 시간 백필 Step
+     * @return 정의된 Job 객체
+     */
+    @Bean
+    public Job epochHourBackfillJob(JobRepository jobRepository, Step epochHourBackfillStep) {
+        return new JobBuilder("epochHourBackfillJob", jobRepository)
+                .start(epochHourBackfillStep)
+                .build();
+    }
+
+    /**
+     * 비어 있는 UTC epoch 시간을 채우는 Step을 정의하는 Bean입니다.
+     * EpochHourBackfillTasklet을 반복 실행하며, 한 번의 실행마다 트랜잭션을 커밋합니다.
+     *
+     * @param jobRepository Spring Batch에서 Step 실행을 관리하는 JobRepository
+     * @param transactionManager 트랜잭션을 관리하는 PlatformTransactionManager
+     * @param epochHourBackfillTasklet UTC epoch 시간 백필 Tasklet
+     * @return 정의된 Step 객체
+     */
+    @Bean
+    public Step epochHourBackfillStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, EpochHourBackfillTasklet epochHourBackfillTasklet) {
+        return new StepBuilder("epochHourBackfillStep", jobRepository)
+                .tasklet(epochHourBackfillTasklet, transactionManager)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package atemos.everse.api.batch.config;
 
+import atemos.everse.api.batch.partition.CompanyRangePartitioner;
 import atemos.everse.api.batch.tasklet.EnergyUsageTasklet;
 import atemos.everse.api.batch.tasklet.IotStatusTasklet;
 import lombok.RequiredArgsConstructor;
@@ -8,8 +9,10 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
@@ -36,16 +39,45 @@ public class IotJobConfig {
 
     /**
      * IoT 에너지 사용량을 처리하는 Step을 정의하는 메서드입니다.
-     * 이 Step은 EnergyUsageTasklet을 실행하며, 트랜잭션 관리자를 통해 트랜잭션 처리가 보장됩니다.
+     * 이 Step은 CompanyRangePartitioner로 IoT 장비를 업체 ID 범위(최대 energy.usage-job.partitions개)로 나누고,
+     * 범위마다 energyUsageWorkerStep을 energy.usage-job.concurrency개까지 동시에 실행합니다.
      *
      * @param jobRepository Spring Batch에서 Step 실행을 관리하는 JobRepository
-     * @param transactionManager 트랜잭션 관리자를 담당하는 PlatformTransactionManager
-     * @param energyUsageTasklet IoT 에너지 사용량 Tasklet
+     * @param companyRangePartitioner 업체 ID 범위 Partitioner
+     * @param energyUsageWorkerStep 업체 ID 범위 하나의 에너지 사용량을 처리하는 Step
+     * @param partitions 최대 범위 수
+     * @param concurrency 동시에 실행할 최대 범위 수
      * @return 정의된 Step 객체
      */
     @Bean
-    public Step energyUsageStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, EnergyUsageTasklet energyUsageTasklet) {
+    public Step energyUsageStep(JobRepository jobRepository,
+                                CompanyRangePartitioner companyRangePartitioner,
+                                Step energyUsageWorkerStep,
+                                @Value("${energy.usage-job.partitions:8}") int partitions,
+                                @Value("${energy.usage-job.concurrency:4}") int concurrency) {
+        var taskExecutor = new SimpleAsyncTaskExecutor("energy-usage-");
+        taskExecutor.setVirtualThreads(true);
+        taskExecutor.setConcurrencyLimit(concurrency);
         return new StepBuilder("energyUsageStep", jobRepository)
+                .partitioner("energyUsageWorkerStep", companyRangePartitioner)
+                .step(energyUsageWorkerStep)
+                .gridSize(partitions)
+                .taskExecutor(taskExecutor)
+                .build();
+    }
+
+    /**
+     * 업체 ID 범위 하나의 IoT 에너지 사용량을 처리하는 Step을 정의하는 메서드입니다.
+     * 이 Step은 EnergyUsageTasklet을 반복 실행하며, 한 번의 실행(장비 한 묶음)마다 트랜잭션을 커밋합니다.
+     *
+     * @param jobRepository Spring Batch에서 Step 실행을 관리하는 JobRepository
+     * @param transactionManager 트랜잭션 관리자를 담당하는 PlatformTransactionManager
+     * @param energyUsageTasklet IoT 에너지 사용량 Tasklet (Step 범위)
+     * @return 정의된 Step 객체
+     */
+    @Bean
+    public Step energyUsageWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager, EnergyUsageTasklet energyUsageTasklet) {
+        return new StepBuilder("energyUsageWorkerStep", jobRepository)
                 .tasklet(energyUsageTasklet, transactionManager)
                 .build();
     }
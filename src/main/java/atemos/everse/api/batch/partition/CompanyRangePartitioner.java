@@ -0,0 +1,82 @@
+package atemos.everse.api.batch.partition;
+
+import atemos.everse.api.dto.IotDto;
+import atemos.everse.api.repository.IotRepository;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * IoT 장비 전체를 업체 ID 범위로 나누는 Partitioner입니다.
+ * 업체별 장비 수를 한 번의 그룹 쿼리로 조회하여, 범위마다 장비 수가 비슷하도록 업체 ID 순으로 나눕니다.
+ * 한 업체의 장비는 항상 같은 범위에 속하므로, 업체별 집계 데이터를 여러 작업자가 동시에 갱신하지 않습니다.
+ * 각 범위의 실행 컨텍스트에는 업체 ID 범위(MIN_COMPANY_ID, MAX_COMPANY_ID, 양 끝 포함)를 저장합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompanyRangePartitioner implements Partitioner {
+    /**
+     * 업체 ID 범위의 시작(포함)을 저장하는 실행 컨텍스트 키입니다.
+     */
+    public static final String MIN_COMPANY_ID = "minCompanyId";
+    /**
+     * 업체 ID 범위의 끝(포함)을 저장하는 실행 컨텍스트 키입니다.
+     */
+    public static final String MAX_COMPANY_ID = "maxCompanyId";
+
+    private final IotRepository iotRepository;
+
+    /**
+     * 업체 ID 범위를 최대 gridSize개로 나눕니다. 장비가 없으면 빈 범위 하나를 반환합니다.
+     *
+     * @param gridSize 최대 범위 수
+     * @return 범위 이름별 실행 컨텍스트
+     */
+    @Override
+    @NonNull
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        var counts = iotRepository.countGroupByCompanyId();
+        var partitions = new LinkedHashMap<String, ExecutionContext>();
+        if (counts.isEmpty()) {
+            partitions.put("partition0", range(1L, 0L));
+            return partitions;
+        }
+        var total = counts.stream().mapToLong(IotDto.CompanyIotCount::getCount).sum();
+        var target = Math.max(1, (total + gridSize - 1) / gridSize);
+        Long minCompanyId = null;
+        var devices = 0L;
+        for (int i = 0; i < counts.size(); i++) {
+            var count = counts.get(i);
+            if (minCompanyId == null) {
+                minCompanyId = count.getCompanyId();
+            }
+            devices += count.getCount();
+            // 목표 장비 수를 채웠거나 마지막 업체이면 범위를 닫음 (마지막 범위는 남은 업체를 모두 포함)
+            if ((devices >= target && partitions.size() < gridSize - 1) || i == counts.size() - 1) {
+                partitions.put("partition" + partitions.size(), range(minCompanyId, count.getCompanyId()));
+                log.debug("Energy usage partition {}: companies {}..{} ({} devices).",
+                        partitions.size() - 1, minCompanyId, count.getCompanyId(), devices);
+                minCompanyId = null;
+                devices = 0;
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 업체 ID 범위를 담은 실행 컨텍스트를 생성합니다.
+     */
+    private static ExecutionContext range(Long minCompanyId, Long maxCompanyId) {
+        var executionContext = new ExecutionContext();
+        executionContext.putLong(MIN_COMPANY_ID, minCompanyId);
+        executionContext.putLong(MAX_COMPANY_ID, maxCompanyId);
+        return executionContext;
+    }
+}
@@ -2,7 +2,9 @@ package atemos.everse.api.batch.tasklet;
 
 import atemos.everse.api.entity.AIForecastEnergy;
 import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Energy;
 import atemos.everse.api.repository.*;
+import atemos.everse.api.service.EnergySummaryCache;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +22,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -35,6 +38,7 @@ public class AIForecastEnergyTasklet implements Tasklet {
     private final IotRepository iotRepository;
     private final EnergyRepository energyRepository;
     private final EnergyUsageForecastModelRepository energyUsageForecastModelRepository;
+    private final EnergySummaryCache energySummaryCache;
 
     /**
      * 각 업체의 타임존에 맞춰 시간 범위를 계산하고, 예측 작업을 병렬로 처리합니다.
@@ -134,7 +138,7 @@ public class AIForecastEnergyTasklet implements Tasklet {
         for (var iot : iotList) {
             for (var monthOffset = 1; monthOffset <= 3; monthOffset++) {
                 var pastDateTime = targetDateTime.minusMonths(monthOffset);
-                var pastUsage = energyRepository.findHourlyUsageByIotAndTime(iot.getId(), pastDateTime);
+                var pastUsage = energyRepository.findHourlyUsageByIotAndTime(iot.getId(), pastDateTime, pastDateTime.plusHours(1));
                 if (pastUsage != null) {
                     hourlyUsage = hourlyUsage.add(pastUsage);
                 }
@@ -152,8 +156,11 @@ public class AIForecastEnergyTasklet implements Tasklet {
      */
     private void saveForecast(Company company, BigDecimal totalPredictedUsage, LocalDateTime forecastTime) {
         if (!aiForecastEnergyRepository.existsByCompanyIdAndForecastTime(company.getId(), forecastTime)) {
-            var forecastEnergy = AIForecastEnergy.builder().company(company).forecastUsage(totalPredictedUsage).forecastTime(forecastTime).build();
+            var forecastEnergy = AIForecastEnergy.builder().company(company).forecastUsage(totalPredictedUsage).forecastTime(forecastTime)
+                    .epochHour(Energy.toEpochHour(forecastTime, company.getCountry().getZoneId())).build();
             aiForecastEnergyRepository.save(forecastEnergy);
+            // 예측 데이터가 반영되도록 해당 날짜의 에너지 사용량 캐시 무효화
+            energySummaryCache.invalidate(company.getId(), List.of(forecastTime.toLocalDate()));
             log.info("No HeatWave data available, generated forecast using past data for {}. Forecast for company {} saved: {}", forecastTime, company.getId(), totalPredictedUsage);
         }
     }
@@ -2,12 +2,14 @@ package atemos.everse.api.batch.tasklet;
 
 import atemos.everse.api.domain.AlarmPriority;
 import atemos.everse.api.domain.AlarmType;
+import atemos.everse.api.domain.EnergyRatePeakType;
 import atemos.everse.api.domain.IotStatus;
 import atemos.everse.api.entity.Alarm;
 import atemos.everse.api.entity.Company;
 import atemos.everse.api.entity.Energy;
 import atemos.everse.api.repository.*;
-import atemos.everse.api.service.EnergyService;
+import atemos.everse.api.service.EnergyHotWindow;
+import atemos.everse.api.service.EnergyRateService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -23,7 +25,6 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 
 /**
@@ -42,7 +43,8 @@ public class AlarmTasklet implements Tasklet {
     private final IotRepository iotRepository;
     private final AIForecastEnergyRepository aiForecastEnergyRepository;
     private final EnergyRateRepository energyRateRepository;
-    private final EnergyService energyService;
+    private final EnergyRateService energyRateService;
+    private final EnergyHotWindow energyHotWindow;
 
     /**
      * execute 메서드는 Tasklet이 실행될 때 호출되며,
@@ -55,22 +57,18 @@ public class AlarmTasklet implements Tasklet {
     @Override
     @Transactional
     public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
-        // 이전 한 시간 동안의 에너지 사용량을 체크하기 위해 시간 범위를 설정 (UTC 기준)
+        // 이전 한 시간 동안의 에너지 사용량을 체크하기 위해 시간대를 UTC epoch 시간으로 설정
         var startOfPreviousHour = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.HOURS);
-        var endOfPreviousHour = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        var epochHour = Math.toIntExact(startOfPreviousHour.getEpochSecond() / 3600);
         // 모든 업체에 대해 에너지 사용량을 체크
         companyRepository.findAll().forEach(company -> {
             // 업체의 타임존을 가져와 각 업체별로 알람을 생성할 때 로컬 시간을 적용
+            // (정각이 아닌 타임존은 이 UTC 정각을 포함하는 업체 타임존 기준 시간대)
             var companyZoneId = company.getCountry().getZoneId();
-            var localStartOfPreviousHour = startOfPreviousHour.atZone(ZoneId.of("UTC")).withZoneSameInstant(companyZoneId).toLocalDateTime();
-            var localEndOfPreviousHour = endOfPreviousHour.atZone(ZoneId.of("UTC")).withZoneSameInstant(companyZoneId).toLocalDateTime();
-            // IoT 장비 목록을 가져와 사용량 계산
-            var iotList = iotRepository.findByCompanyId(company.getId());
-            // 지정된 시간 범위 내에서 업체의 총 에너지 사용량을 계산
-            var totalUsage = energyRepository.findByIotInAndReferenceTimeBetween(iotList, localStartOfPreviousHour, localEndOfPreviousHour)
-                    .stream()
-                    .map(Energy::getFacilityUsage)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            var localStartOfPreviousHour = Energy.fromEpochHour(epochHour, companyZoneId);
+            // 업체의 시간대 총 에너지 사용량을 메모리의 최근 사용량에서 합산 (적재되지 않았으면 데이터베이스에서 합산)
+            var totalUsage = energyHotWindow.sumByEpochHour(company.getId(), epochHour)
+                    .orElseGet(() -> energyRepository.sumFacilityUsageByEpochHour(company.getId(), companyZoneId, epochHour));
             // NORMAL 상태의 IoT 장비 개수를 기준으로 임계값 조정
             long normalIotCount = iotRepository.countByCompanyAndStatus(company, IotStatus.NORMAL);
             // 업체에 설정된 이상 탐지 임계값을 가져옴
@@ -108,14 +106,17 @@ public class AlarmTasklet implements Tasklet {
         var energyRate = energyRateRepository.findByCountry(company.getCountry())
                 .orElseThrow(() -> new EntityNotFoundException("No energy rate found for this country."));
         var hourOfDay = localDateTime.getHour();
+        // 업체에 적용되는 시간별 요금표 조회
+        var tariff = energyRateService.getTariff(energyRate, company.getType());
         // 현재 시간대가 피크 또는 경피크 시간대인지 확인
-        if (energyRate.getPeakHours().contains(hourOfDay) || energyRate.getMidPeakHours().contains(hourOfDay)) {
+        var peakType = tariff.getPeakType(hourOfDay);
+        if (peakType == EnergyRatePeakType.PEAK || peakType == EnergyRatePeakType.MID_PEAK) {
             // 예측 데이터가 존재하는 경우
             var forecastOpt = aiForecastEnergyRepository.findByCompanyAndForecastTime(company, localDateTime);
             if (forecastOpt.isPresent()) {
                 var forecastUsage = forecastOpt.get().getForecastUsage();
-                // 시간대별 요금을 getRate 메서드를 사용하여 계산
-                var ratePerUnit = energyService.getRate(company, energyRate, hourOfDay).setScale(4, RoundingMode.HALF_UP);
+                // 시간대별 요금을 요금표에서 조회
+                var ratePerUnit = tariff.getRate(hourOfDay);
                 var actualCost = totalUsage.multiply(ratePerUnit).setScale(4, RoundingMode.HALF_UP);
                 var forecastCost = forecastUsage.multiply(ratePerUnit).setScale(4, RoundingMode.HALF_UP);
                 // 실제 요금이 예측 요금을 초과하는 경우 알람 생성(업체가 속한 국가가 한국일 때만 한국어 알람 메시지로 생성)
@@ -1,7 +1,12 @@
 package atemos.everse.api.batch.tasklet;
 
+import atemos.everse.api.domain.PartitionedTable;
 import atemos.everse.api.entity.Company;
-import atemos.everse.api.repository.*;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.service.BulkPurger;
+import atemos.everse.api.service.DataRetentionPolicy;
+import atemos.everse.api.service.EnergyArchive;
+import atemos.everse.api.service.TablePartitionManager;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,81 +15,160 @@ import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.*;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * DataRemoveTasklet은 오래된 데이터를 주기적으로 삭제하는 작업을 처리하는 Tasklet입니다.
- * - 이 Tasklet은 Energy, Alarm, IotStatusHistory, BlacklistedToken, AIForecastEnergy, TwoFactorAuth 테이블에서 오래된 데이터를 삭제합니다.
- * - 기본적으로 1년 이상 지난 데이터를 삭제하고, BlacklistedToken의 경우 1개월 이상, TwoFactorAuth의 경우 1일 이상 지난 데이터를 삭제합니다.
+ * - 이 Tasklet은 Energy, Alarm, IotStatusHistory, ApiCallLog, BlacklistedToken, AIForecastEnergy, TwoFactorAuth 테이블에서 오래된 데이터를 삭제합니다.
+ * - 기본적으로 업체의 원본 데이터 보관 기간(DataRetentionPolicy, 기본 1년, 구독 서비스에 따라 연장)이 지난 데이터를 삭제하고, BlacklistedToken의 경우 1개월 이상, TwoFactorAuth의 경우 1일 이상 지난 데이터를 삭제합니다.
+ * - 월별 파티션으로 나뉜 시계열 테이블(PartitionedTable)은 모든 업체의 보관 기간이 지난 파티션을 한 번에 삭제하고,
+ *   나머지 보관 기간이 지난 행만 업체별로 나누어 삭제합니다.
+ * - 행 단위 삭제는 BulkPurger로 기본 키 범위 단위로 나누어 커밋하므로, 삭제 중에도 다른 요청이 커넥션과 잠금을 기다리지 않습니다.
+ *   Tasklet 전체를 감싸는 트랜잭션은 사용하지 않고, 묶음별 트랜잭션은 BulkPurger가 관리합니다.
+ * - 아카이브를 사용하면 시계열 데이터를 삭제하기 전에 업체별, 월별 아카이브 파일(EnergyArchive)로 보관하고, 월 단위로만 삭제합니다.
+ *   아카이브에 실패한 업체의 시계열 데이터는 삭제하지 않습니다.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class DataRemoveTasklet implements Tasklet {
     private final CompanyRepository companyRepository;
-    private final EnergyRepository energyRepository;
-    private final BlacklistedTokenRepository blacklistedTokenRepository;
-    private final AIForecastEnergyRepository aiForecastEnergyRepository;
-    private final AlarmRepository alarmRepository;
-    private final IotStatusHistoryRepository iotStatusHistoryRepository;
-    private final TwoFactorAuthRepository twoFactorAuthRepository;
+    private final DataRetentionPolicy dataRetentionPolicy;
+    private final BulkPurger bulkPurger;
+    private final TablePartitionManager tablePartitionManager;
+    private final EnergyArchive energyArchive;
 
     /**
      * 오래된 데이터를 삭제하는 메서드입니다.
      * 이 메서드는 Spring Batch의 Tasklet에서 호출되어 배치 작업을 처리합니다.
-     * - Energy, Alarm, IotStatusHistory, BlacklistedToken, AIForecastEnergy, TwoFactorAuth 테이블에서 오래된 데이터를 삭제합니다.
-     * - 각 업체의 타임존을 기준으로 삭제 작업을 수행합니다.
+     * - 업체의 타임존과 보관 기간이 같은 업체끼리 묶어 삭제 기준 시각을 계산합니다.
+     * - 아카이브를 사용하면 삭제 기준 월 이전의 시계열 데이터를 먼저 아카이브 파일로 보관합니다.
+     * - 시계열 테이블은 파티션을 점검한 뒤, 모든 업체의 삭제 기준 시각 이전의 파티션을 삭제하고 나머지 행을 업체별로 나누어 삭제합니다.
+     * - Alarm, BlacklistedToken, TwoFactorAuth 테이블에서 오래된 데이터를 삭제합니다.
      *
      * @param contribution Step의 기여도 정보
      * @param chunkContext Chunk 관련 컨텍스트 정보
      * @return 작업 상태를 나타내는 RepeatStatus (FINISHED 반환 시 작업 완료)
      */
     @Override
-    @Transactional
     public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
-        // 모든 업체와 해당 업체의 타임존을 가져와서 타임존 별로 그룹화합니다.
-        Map<ZoneId, List<Company>> companiesByZone = companyRepository.findAll().stream()
-                .collect(Collectors.groupingBy(company -> company.getCountry().getZoneId()));
-        // 각 타임존별로 삭제 작업을 수행합니다.
-        companiesByZone.forEach((zoneId, companiesInZone) -> {
-            // 삭제 기준 시간을 해당 타임존에 맞춰 계산합니다.
-            var oneYearAgo = ZonedDateTime.now(zoneId).minusYears(1).toInstant();
-            var oneMonthAgo = ZonedDateTime.now(zoneId).minusMonths(1).toInstant();
-            var oneDayAgo = ZonedDateTime.now(zoneId).minusDays(1).toInstant();
-            // LocalDateTime으로 변환 (삭제 시점 기준)
-            var oneYearAgoLocal = ZonedDateTime.now(zoneId).minusYears(1).toLocalDateTime();
-            // 업체 ID 목록을 추출합니다.
-            var companyIds = companiesInZone.stream()
-                    .map(Company::getId)
-                    .collect(Collectors.toList());
-            // 오래된 데이터 삭제 작업을 수행하고 몇 건이 삭제되었는지 알림
-            logDeletion(energyRepository.deleteByReferenceTimeBeforeAndIot_Company_IdIn(oneYearAgoLocal, companyIds), "Energy", oneYearAgo);
-            logDeletion(aiForecastEnergyRepository.deleteByForecastTimeBeforeAndCompany_IdIn(oneYearAgoLocal, companyIds), "AI Forecast Energy", oneYearAgo);
-            logDeletion(iotStatusHistoryRepository.deleteByCreatedDateBeforeAndIot_Company_IdIn(oneYearAgo, companyIds), "IoT Status History", oneYearAgo);
-            logDeletion(alarmRepository.deleteByCreatedDateBeforeAndCompany_IdIn(oneYearAgo, companyIds), "Alarm", oneYearAgo);
-            logDeletion(blacklistedTokenRepository.deleteByCreatedDateBeforeOrCreatedDateIsNull(oneMonthAgo), "Blacklisted Tokens", oneMonthAgo);
-            logDeletion(twoFactorAuthRepository.deleteByCreatedDateBefore(oneDayAgo), "Two-Factor Authentication", oneDayAgo);
-        });
+        var now = Instant.now();
+        // 모든 업체를 타임존과 보관 기간이 같은 업체끼리 묶어 삭제 기준 시각을 계산합니다.
+        var companies = companyRepository.findAll();
+        var tiers = dataRetentionPolicy.getTiers(companies);
+        Map<Cutoff, List<Long>> companyIdsByCutoff = companies.stream()
+                .collect(Collectors.groupingBy(
+                        company -> Cutoff.of(now, company.getCountry().getZoneId(), tiers.get(company.getId()).raw(),
+                                energyArchive.isEnabled()),
+                        Collectors.mapping(Company::getId, Collectors.toList())));
+        if (!companyIdsByCutoff.isEmpty()) {
+            // 시계열 테이블의 오래된 데이터를 아카이브한 뒤 삭제합니다.
+            var archivedCompanyIdsByCutoff = archive(companyIdsByCutoff);
+            var allArchived = archivedCompanyIdsByCutoff.equals(companyIdsByCutoff);
+            for (var table : PartitionedTable.values()) {
+                removeExpired(table, archivedCompanyIdsByCutoff, allArchived);
+            }
+            // 오래된 알람을 삭제합니다.
+            companyIdsByCutoff.forEach((cutoff, companyIds) -> bulkPurger.purge(new BulkPurger.Target("Alarm", "alarm",
+                    "created_date < ? AND company_id IN (" + String.join(", ", Collections.nCopies(companyIds.size(), "?")) + ")",
+                    Stream.concat(Stream.of(cutoff.instant()), companyIds.stream()).toList())));
+        }
+        // 업체와 관계없는 인증 데이터를 삭제합니다.
+        var oneMonthAgo = ZonedDateTime.ofInstant(now, ZoneOffset.UTC).minusMonths(1).toInstant();
+        var oneDayAgo = now.minus(Duration.ofDays(1));
+        bulkPurger.purge(new BulkPurger.Target("Blacklisted Tokens", "blacklisted_token",
+                "created_date < ? OR created_date IS NULL", List.of(oneMonthAgo)));
+        bulkPurger.purge(new BulkPurger.Target("Two-Factor Authentication", "two_factor_auth",
+                "created_date < ?", List.of(oneDayAgo)));
         return RepeatStatus.FINISHED;
     }
 
     /**
-     * 삭제된 레코드 수가 0보다 큰 경우 로그를 출력하는 헬퍼 메서드입니다.
+     * 아카이브를 사용하면 업체별로 삭제 기준 월 이전의 시계열 데이터를 아카이브 파일로 보관합니다.
+     *
+     * @param companyIdsByCutoff 삭제 기준 시각별 업체 ID 목록
+     * @return 아카이브에 성공한 업체만 남긴 삭제 기준 시각별 업체 ID 목록 (아카이브를 사용하지 않으면 그대로 반환)
+     */
+    private Map<Cutoff, List<Long>> archive(Map<Cutoff, List<Long>> companyIdsByCutoff) {
+        if (!energyArchive.isEnabled()) {
+            return companyIdsByCutoff;
+        }
+        var archivedCompanyIdsByCutoff = new HashMap<Cutoff, List<Long>>();
+        companyIdsByCutoff.forEach((cutoff, companyIds) -> {
+            var archivedCompanyIds = companyIds.stream()
+                    .filter(companyId -> energyArchive.archiveBefore(companyId, cutoff.zoneId(), YearMonth.from(cutoff.local())))
+                    .toList();
+            if (archivedCompanyIds.size() < companyIds.size()) {
+                log.warn("Skipped removing time-series data of companies {} that failed to archive.",
+                        companyIds.stream().filter(companyId -> !archivedCompanyIds.contains(companyId)).toList());
+            }
+            archivedCompanyIdsByCutoff.put(cutoff, archivedCompanyIds);
+        });
+        return archivedCompanyIdsByCutoff;
+    }
+
+    /**
+     * 시계열 테이블에서 업체별 삭제 기준 시각 이전의 데이터를 삭제합니다.
+     * 파티션으로 나뉜 테이블은 가장 이른 삭제 기준 시각 이전의 월 파티션을 먼저 삭제하므로,
+     * 행 단위로 삭제하는 데이터는 보관 기간이 짧은 업체의 데이터와 파티션 중간까지 지난 데이터뿐입니다.
      *
-     * @param count        삭제된 레코드 수
-     * @param recordType   삭제된 레코드의 유형 (예: "energy", "AI forecast energy")
-     * @param timeFrame    삭제 기준 기간
+     * @param table 시계열 테이블
+     * @param companyIdsByCutoff 삭제 기준 시각별 업체 ID 목록
+     * @param dropPartitions 파티션을 삭제할지 여부 (아카이브에 실패한 업체가 있으면 false)
      */
-    private void logDeletion(long count, String recordType, Instant timeFrame) {
-        if (count > 0) {
-            log.info("Deleted {} {} records older than {}.", count, recordType, timeFrame);
+    private void removeExpired(PartitionedTable table, Map<Cutoff, List<Long>> companyIdsByCutoff, boolean dropPartitions) {
+        if (tablePartitionManager.maintain(table) && dropPartitions) {
+            var boundary = companyIdsByCutoff.keySet().stream()
+                    .map(cutoff -> cutoff.of(table))
+                    .min(LocalDateTime::compareTo)
+                    .orElseThrow();
+            var dropped = tablePartitionManager.dropPartitionsBefore(table, boundary);
+            if (!dropped.isEmpty()) {
+                log.info("Dropped partitions {} of {} older than {}.", dropped, table.getTableName(), boundary);
+            }
+        }
+        companyIdsByCutoff.forEach((cutoff, companyIds) -> {
+            if (!companyIds.isEmpty()) {
+                tablePartitionManager.deleteOlderThan(table, companyIds, cutoff.of(table));
+            }
+        });
+    }
+
+    /**
+     * 삭제 기준 시각입니다. 타임존과 보관 기간이 같은 업체는 같은 삭제 기준 시각을 사용합니다.
+     *
+     * @param instant 삭제 기준 시각
+     * @param local 업체 타임존 기준 삭제 기준 시각
+     * @param zoneId 업체 타임존
+     */
+    private record Cutoff(Instant instant, LocalDateTime local, ZoneId zoneId) {
+        /**
+         * @param monthly 월 단위로 삭제할지 여부 (아카이브 파일이 월 단위이므로 아카이브를 사용하면 해당 월 1일 0시로 내림)
+         */
+        static Cutoff of(Instant now, ZoneId zoneId, Period retention, boolean monthly) {
+            var cutoff = ZonedDateTime.ofInstant(now, zoneId).minus(retention);
+            if (monthly) {
+                cutoff = cutoff.toLocalDate().withDayOfMonth(1).atStartOfDay(zoneId);
+            }
+            return new Cutoff(cutoff.toInstant(), cutoff.toLocalDateTime(), zoneId);
+        }
+
+        /**
+         * 테이블의 파티션 기준 컬럼과 같은 기준의 삭제 기준 시각을 반환합니다.
+         * 에너지 버킷은 하루치 사용량을 한 행에 담으므로, 보관 기간이 지나지 않은 사용량이 남지 않도록 해당 일 0시로 내립니다.
+         */
+        LocalDateTime of(PartitionedTable table) {
+            if (table == PartitionedTable.ENERGY_BUCKET) {
+                return local.toLocalDate().atStartOfDay();
+            }
+            return table.isUtc() ? LocalDateTime.ofInstant(instant, ZoneOffset.UTC) : local;
         }
     }
-}
\ No newline at end of file
+}
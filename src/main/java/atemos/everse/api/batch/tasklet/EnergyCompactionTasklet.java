@@ -0,0 +1,108 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.domain.EnergyConflictPolicy;
+import atemos.everse.api.repository.EnergyJdbcRepository;
+import atemos.everse.api.repository.IotRepository;
+import atemos.everse.api.service.EnergyRollupService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 같은 IoT 장비, 같은 기준 시각으로 중복 저장된 에너지 사용량을 하나로 합치는 Tasklet입니다.
+ * 에너지 사용량에 유일 제약 조건을 추가하기 전에 쌓인 중복 데이터를 정리하기 위해 한 번 실행합니다.
+ * 테이블을 오래 잠그지 않도록 IoT 장비별로 최대 CHUNK_SIZE개의 기준 시각씩 나누어 처리하며,
+ * 한 번의 실행(트랜잭션)이 끝날 때마다 진행 위치를 Step 실행 컨텍스트에 저장하므로 중단되어도 이어서 실행할 수 있습니다.
+ * 모든 IoT 장비를 정리한 뒤에는 에너지 테이블에 (iot_id, reference_time) 유일 키를 추가하며,
+ * 정리하는 동안 새 중복이 저장되어 추가에 실패하면 처음 IoT 장비부터 다시 정리합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnergyCompactionTasklet implements Tasklet {
+    // 한 번의 트랜잭션에서 정리할 최대 기준 시각 수
+    private static final int CHUNK_SIZE = 1_000;
+    // 정리를 마친 마지막 IoT 장비 ID를 저장하는 실행 컨텍스트 키
+    private static final String LAST_IOT_ID = "lastIotId";
+    // 유일 키 추가에 실패해 다시 정리한 횟수를 저장하는 실행 컨텍스트 키
+    private static final String RETRY_COUNT = "retryCount";
+    // 유일 키 추가에 실패했을 때 다시 정리할 최대 횟수
+    private static final int MAX_RETRY_COUNT = 3;
+
+    private final IotRepository iotRepository;
+    private final EnergyJdbcRepository energyJdbcRepository;
+    private final EnergyRollupService energyRollupService;
+
+    @Value("${energy.conflict-policy:REPLACE}")
+    private EnergyConflictPolicy conflictPolicy;
+
+    /**
+     * 다음 IoT 장비의 중복된 에너지 사용량을 최대 CHUNK_SIZE개의 기준 시각만큼 정리합니다.
+     * 사용량 합계가 바뀌는 경우(REPLACE, KEEP_FIRST) 정리한 기간의 업체 집계 데이터를 다시 생성합니다.
+     *
+     * @param contribution StepContribution 객체로 배치 작업의 기여 정보를 담고 있습니다.
+     * @param chunkContext ChunkContext 객체로 현재 배치 단계의 상태 정보를 담고 있습니다.
+     * @return 정리할 IoT 장비가 남아 있으면 RepeatStatus.CONTINUABLE, 모두 정리했으면 RepeatStatus.FINISHED
+     */
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+        var executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        var lastIotId = executionContext.getLong(LAST_IOT_ID, 0L);
+        // 정리할 다음 IoT 장비 조회
+        var iot = iotRepository.findFirstByIdGreaterThanOrderByIdAsc(lastIotId);
+        if (iot.isEmpty()) {
+            return addUniqueKey(executionContext);
+        }
+        // 중복된 에너지 사용량 정리
+        var groups = energyJdbcRepository.compactDuplicates(iot.get().getId(), conflictPolicy, CHUNK_SIZE);
+        if (!groups.isEmpty()) {
+            contribution.incrementWriteCount(groups.size());
+            // 사용량 합계가 바뀐 기간의 집계 데이터 다시 생성 (SUM은 합계가 그대로이므로 생략)
+            if (conflictPolicy != EnergyConflictPolicy.SUM) {
+                energyRollupService.rebuild(iot.get().getCompany(),
+                        groups.getFirst().referenceTime().toLocalDate(),
+                        groups.getLast().referenceTime().toLocalDate());
+            }
+            log.info("Compacted {} duplicated energy reference times for IoT {} using {}.", groups.size(), iot.get().getId(), conflictPolicy);
+        }
+        // 남은 중복이 없으면 다음 IoT 장비로 이동
+        if (groups.size() < CHUNK_SIZE) {
+            executionContext.putLong(LAST_IOT_ID, iot.get().getId());
+        }
+        return RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * 중복 정리를 마친 에너지 테이블에 유일 키를 추가합니다.
+     * 정리하는 동안 유일 키 없이 저장된 중복 때문에 실패하면, 최대 MAX_RETRY_COUNT번까지 처음 IoT 장비부터 다시 정리합니다.
+     *
+     * @param executionContext Step 실행 컨텍스트
+     * @return 유일 키를 추가했으면 RepeatStatus.FINISHED, 다시 정리해야 하면 RepeatStatus.CONTINUABLE
+     */
+    private RepeatStatus addUniqueKey(ExecutionContext executionContext) {
+        try {
+            if (energyJdbcRepository.addUniqueKey()) {
+                log.info("Added unique key on energy (iot_id, reference_time).");
+            }
+        } catch (DataIntegrityViolationException e) {
+            var retryCount = executionContext.getInt(RETRY_COUNT, 0) + 1;
+            if (retryCount > MAX_RETRY_COUNT) {
+                throw new IllegalStateException("Energy still has duplicated readings after " + MAX_RETRY_COUNT + " compaction passes.", e);
+            }
+            log.warn("Energy has new duplicated readings; restarting compaction (pass {}).", retryCount + 1);
+            executionContext.putInt(RETRY_COUNT, retryCount);
+            executionContext.putLong(LAST_IOT_ID, 0L);
+            return RepeatStatus.CONTINUABLE;
+        }
+        log.info("Energy compaction finished.");
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,87 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import atemos.everse.api.service.BulkPurger;
+import atemos.everse.api.service.DataRetentionPolicy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * EnergyDownsampleTasklet은 보관 기간이 지난 에너지 집계 데이터를 더 큰 집계 단위만 남기고 삭제하는 Tasklet입니다.
+ * - 업체별 집계 데이터(EnergyRollup)는 수집 시점에 시간별/일별/월별로 함께 갱신되므로, 줄여서 보관할 때는 작은 집계 단위만 삭제합니다.
+ * - 원본 보관 기간이 지난 날의 시간별 집계를 삭제하고, 일별 보관 기간이 지난 월의 일별 집계를 삭제합니다. 월별 집계는 영구 보관합니다.
+ * - 업체의 가장 이른 집계 시각이 삭제 기준 시각 이후이면 건너뛰므로, 매 실행마다 새로 보관 기간이 지난 구간만 삭제합니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EnergyDownsampleTasklet implements Tasklet {
+    private final CompanyRepository companyRepository;
+    private final EnergyRollupRepository energyRollupRepository;
+    private final DataRetentionPolicy dataRetentionPolicy;
+    private final BulkPurger bulkPurger;
+
+    /**
+     * 업체별로 보관 기간이 지난 시간별/일별 집계 데이터를 삭제합니다.
+     * - 시간별 집계: 원본 보관 기간이 지난 날(업체 타임존 기준 0시)보다 이전의 데이터를 삭제합니다.
+     * - 일별 집계: 일별 보관 기간이 지난 월(업체 타임존 기준 1일 0시)보다 이전의 데이터를 삭제합니다.
+     *
+     * @param contribution Step의 기여도 정보
+     * @param chunkContext Chunk 관련 컨텍스트 정보
+     * @return 작업 상태를 나타내는 RepeatStatus (FINISHED 반환 시 작업 완료)
+     */
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+        var now = Instant.now();
+        var companies = companyRepository.findAll();
+        var tiers = dataRetentionPolicy.getTiers(companies);
+        for (var company : companies) {
+            var tier = tiers.get(company.getId());
+            var localNow = LocalDateTime.ofInstant(now, company.getCountry().getZoneId());
+            // 원본 보관 기간이 지난 날의 시간별 집계 삭제
+            var hourlyCutoff = localNow.minus(tier.raw()).toLocalDate().atStartOfDay();
+            contribution.incrementWriteCount(
+                    downsample(company.getId(), EnergyRollupGranularity.HOURLY, hourlyCutoff));
+            // 일별 보관 기간이 지난 월의 일별 집계 삭제 (원본 보관 기간보다 먼저 삭제하지 않음)
+            var dailyCutoff = localNow.minus(tier.daily()).toLocalDate().atStartOfDay();
+            dailyCutoff = (dailyCutoff.isAfter(hourlyCutoff) ? hourlyCutoff : dailyCutoff).withDayOfMonth(1);
+            contribution.incrementWriteCount(
+                    downsample(company.getId(), EnergyRollupGranularity.DAILY, dailyCutoff));
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * 업체의 특정 집계 단위에서 삭제 기준 시각 이전의 집계 데이터를 삭제합니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param cutoff 삭제 기준 시각 (업체 타임존 기준, 미포함)
+     * @return 삭제된 집계 데이터 수
+     */
+    private long downsample(Long companyId, EnergyRollupGranularity granularity, LocalDateTime cutoff) {
+        // 이미 줄여서 보관한 구간은 다시 확인하지 않음
+        var earliest = energyRollupRepository.findMinBucketTime(companyId, granularity);
+        if (earliest.isEmpty() || !earliest.get().isBefore(cutoff)) {
+            return 0;
+        }
+        var result = bulkPurger.purge(new BulkPurger.Target("Energy Rollup " + granularity + " of company " + companyId,
+                "energy_rollup", "company_id = ? AND granularity = ? AND bucket_time < ?",
+                List.of(companyId, granularity.name(), cutoff)));
+        log.info("Downsampled {} {} energy rollups of company {} from {} to {}.",
+                result.deleted(), granularity, companyId, earliest.get(), cutoff);
+        return result.deleted();
+    }
+}
@@ -0,0 +1,76 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.EnergyRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import atemos.everse.api.service.EnergyRollupService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * 에너지 사용량 집계 데이터가 비어 있을 때, 원본 에너지 데이터로부터 업체별 집계 데이터를 처음 생성하는 Tasklet입니다.
+ * 집계 기능 도입 이전에 저장된 에너지 데이터도 집계 데이터로 조회할 수 있도록 한 번 실행합니다.
+ * 처음 실행할 때 집계 데이터가 비어 있는지 확인한 결과를 Step 실행 컨텍스트에 저장하므로, 작업 도중 수집된 집계 데이터가 있어도 판단이 바뀌지 않습니다.
+ * 업체별로 한 번의 실행(트랜잭션)마다 커밋하고 진행 위치를 저장하므로, 중단되어도 다음 업체부터 이어서 실행할 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnergyRollupRebuildTasklet implements Tasklet {
+    // 집계 데이터 생성이 필요한지 저장하는 실행 컨텍스트 키
+    private static final String REBUILD_NEEDED = "rebuildNeeded";
+    // 집계 데이터 생성을 마친 마지막 업체 ID를 저장하는 실행 컨텍스트 키
+    private static final String LAST_COMPANY_ID = "lastCompanyId";
+
+    private final CompanyRepository companyRepository;
+    private final EnergyRepository energyRepository;
+    private final EnergyRollupRepository energyRollupRepository;
+    private final EnergyRollupService energyRollupService;
+
+    /**
+     * 처음 실행할 때는 집계 데이터 생성이 필요한지 판단하고, 이후에는 다음 업체의 집계 데이터를 원본 에너지 데이터의 전체 기간으로 생성합니다.
+     *
+     * @param contribution StepContribution 객체로 배치 작업의 기여 정보를 담고 있습니다.
+     * @param chunkContext ChunkContext 객체로 현재 배치 단계의 상태 정보를 담고 있습니다.
+     * @return 집계 데이터를 생성할 업체가 남아 있으면 RepeatStatus.CONTINUABLE, 모두 생성했거나 생성할 필요가 없으면 RepeatStatus.FINISHED
+     */
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+        var executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        if (!executionContext.containsKey(REBUILD_NEEDED)) {
+            var rebuildNeeded = energyRollupRepository.count() == 0 && energyRepository.count() > 0;
+            executionContext.put(REBUILD_NEEDED, rebuildNeeded);
+            if (!rebuildNeeded) {
+                log.info("**** Energy Rollup table is not empty. Skipping rollup creation.");
+                return RepeatStatus.FINISHED;
+            }
+            log.info("**** No Energy Rollup data found. Rebuilding rollups from historical energy data.");
+            return RepeatStatus.CONTINUABLE;
+        }
+        if (!Boolean.TRUE.equals(executionContext.get(REBUILD_NEEDED))) {
+            return RepeatStatus.FINISHED;
+        }
+        // 집계 데이터를 생성할 다음 업체 조회
+        var company = companyRepository.findFirstByIdGreaterThanOrderByIdAsc(executionContext.getLong(LAST_COMPANY_ID, 0L));
+        if (company.isEmpty()) {
+            log.info("Energy rollup rebuild finished.");
+            return RepeatStatus.FINISHED;
+        }
+        var first = energyRepository.findFirstByIot_Company_IdOrderByReferenceTimeAsc(company.get().getId());
+        var last = energyRepository.findFirstByIot_Company_IdOrderByReferenceTimeDesc(company.get().getId());
+        if (first.isPresent() && last.isPresent()) {
+            energyRollupService.rebuild(company.get(),
+                    first.get().getReferenceTime().toLocalDate(),
+                    last.get().getReferenceTime().toLocalDate());
+            contribution.incrementWriteCount(1);
+        }
+        executionContext.putLong(LAST_COMPANY_ID, company.get().getId());
+        return RepeatStatus.CONTINUABLE;
+    }
+}
@@ -1,75 +1,140 @@
 package atemos.everse.api.batch.tasklet;
 
+import atemos.everse.api.batch.partition.CompanyRangePartitioner;
 import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.dto.IotDto;
 import atemos.everse.api.entity.Energy;
 import atemos.everse.api.entity.Iot;
-import atemos.everse.api.repository.EnergyRepository;
 import atemos.everse.api.repository.IotRepository;
+import atemos.everse.api.service.EnergyIngestionService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
 
 /**
  * 이 클래스는 IoT 장비의 에너지 사용량을 수집하는 Tasklet입니다.
  * 각 IoT 장비의 에너지 사용량을 수집하여 DB에 저장하는 역할을 합니다.
+ * 에너지 사용량 수집 Step의 작업자(worker)로, CompanyRangePartitioner가 나눈 업체 ID 범위 하나를 처리합니다.
+ * - 범위 내 장비를 ID 순으로 energy.usage-job.chunk-size개씩 조회하여, 한 번의 실행(트랜잭션)마다 한 묶음을 저장하고 커밋합니다.
+ *   처리한 마지막 장비 ID는 Step 실행 컨텍스트에 저장하므로 중단되어도 이어서 실행할 수 있습니다.
+ * - 장비는 엔티티 대신 조회 전용 객체(IotDto.RegistryEntry)로 조회하고, 업체별 NORMAL 장비 수는 범위별로 한 번의 그룹 쿼리로 조회합니다.
  */
 @Slf4j
 @Component
+@StepScope
 @RequiredArgsConstructor
 public class EnergyUsageTasklet implements Tasklet {
+    // 처리를 마친 마지막 IoT 장비 ID를 저장하는 실행 컨텍스트 키
+    private static final String LAST_IOT_ID = "lastIotId";
+
     private final IotRepository iotRepository;
-    private final EnergyRepository energyRepository;
+    private final EnergyIngestionService energyIngestionService;
     private final RandomGenerator randomGenerator = RandomGenerator.getDefault();
 
     @Value("${spring.profiles.active}")
     private String activeProfile;
+    @Value("${energy.usage-job.chunk-size:1000}")
+    private int chunkSize;
+    @Value("#{stepExecutionContext['" + CompanyRangePartitioner.MIN_COMPANY_ID + "']}")
+    private Long minCompanyId;
+    @Value("#{stepExecutionContext['" + CompanyRangePartitioner.MAX_COMPANY_ID + "']}")
+    private Long maxCompanyId;
+    @Value("#{jobParameters['time']}")
+    private Long time;
+
+    // 업체 ID별 NORMAL 상태 IoT 장비 수 (범위를 처음 처리할 때 조회)
+    private Map<Long, Long> normalIotCountByCompanyId;
 
     /**
-     * 이 메서드는 IoT 장비의 에너지 사용량을 수집하여 DB에 저장하는 작업을 수행합니다.
-     * 각 IoT 장비의 에너지 사용량을 수집한 후, Energy 엔티티로 변환하여 저장합니다.
+     * 이 메서드는 IoT 장비 한 묶음의 에너지 사용량을 수집하여 DB에 저장하는 작업을 수행합니다.
+     * 각 IoT 장비의 에너지 사용량을 수집한 후, IoT 장비와 기준 시각별로 저장(이미 있으면 갱신)하고 업체별 집계 데이터에 반영합니다.
      *
      * @param contribution StepContribution 객체로 배치 작업의 기여 정보를 담고 있습니다.
      * @param chunkContext ChunkContext 객체로 현재 배치 단계의 상태 정보를 담고 있습니다.
-     * @return RepeatStatus.FINISHED 작업이 완료됨을 나타냅니다.
+     * @return 처리할 장비가 남아 있으면 RepeatStatus.CONTINUABLE, 모두 처리했으면 RepeatStatus.FINISHED
      */
     @Override
-    @Transactional
     public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
-        var now = Instant.now().truncatedTo(ChronoUnit.MINUTES); // 현재 시간을 분 단위로 반올림
+        var executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        // 작업 시작 시각을 분 단위로 내림 (모든 범위와 묶음이 같은 기준 시각을 사용)
+        var now = Instant.ofEpochMilli(time).truncatedTo(ChronoUnit.MINUTES);
+        if (normalIotCountByCompanyId == null) {
+            normalIotCountByCompanyId = iotRepository.countByStatusGroupByCompanyId(IotStatus.NORMAL, minCompanyId, maxCompanyId).stream()
+                    .collect(Collectors.toMap(IotDto.CompanyIotCount::getCompanyId, IotDto.CompanyIotCount::getCount));
+        }
+        // 다음 묶음의 IoT 장비 조회
+        var iots = iotRepository.findRegistryEntriesByCompanyIdBetween(minCompanyId, maxCompanyId,
+                executionContext.getLong(LAST_IOT_ID, 0L), Limit.of(chunkSize));
+        if (iots.isEmpty()) {
+            return RepeatStatus.FINISHED;
+        }
         // 각 IoT 장비의 에너지 사용량 수집
-        var energyList = iotRepository.findAll().stream().map(iot -> {
-            ZoneId zoneId = iot.getCompany().getCountry().getZoneId(); // 회사의 타임존을 가져옴
-            LocalDateTime referenceTime = LocalDateTime.ofInstant(now, zoneId).minusHours(1); // IoT 장비의 타임존에 맞춰 referenceTime 설정
-            return Energy.builder().iot(iot).facilityUsage(collectEnergyUsage(iot)).referenceTime(referenceTime).build(); // 에너지 데이터 생성
+        var readingRows = iots.stream().flatMap(iot -> {
+            var referenceTime = LocalDateTime.ofInstant(now, iot.getZoneId()).minusHours(1); // IoT 장비의 타임존에 맞춰 referenceTime 설정
+            return splitByReadingInterval(iot, referenceTime, collectEnergyUsage(iot)).stream(); // 수집 간격별 에너지 데이터 생성
         }).toList();
-        // 수집한 에너지를 DB에 저장
-        energyRepository.saveAll(energyList);
-        return RepeatStatus.FINISHED;
+        // 수집한 에너지를 DB에 저장하고 업체별 시간별/일별/월별 집계 데이터에 반영 (재실행 시에도 중복 저장되지 않음)
+        var result = energyIngestionService.upsert(readingRows);
+        contribution.incrementReadCount();
+        contribution.incrementWriteCount(result.getInserted() + result.getUpdated());
+        executionContext.putLong(LAST_IOT_ID, iots.getLast().getIotId());
+        log.info("Collected {} energy readings of companies {}..{}: {} inserted, {} updated, {} skipped.",
+                result.getReceived(), minCompanyId, maxCompanyId, result.getInserted(), result.getUpdated(), result.getSkipped());
+        return iots.size() < chunkSize ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    /**
+     * 지난 1시간의 에너지 사용량을 IoT 장비의 수집 간격(예: 15분)별 에너지 데이터로 나눕니다.
+     * 수집 간격이 60분인 장비는 한 건을 반환하며, 나누어 떨어지지 않는 나머지는 마지막 간격에 더합니다.
+     *
+     * @param iot IoT 장비 식별 정보
+     * @param referenceTime 지난 1시간의 시작 시각 (업체 타임존 기준)
+     * @param hourlyUsage 지난 1시간의 에너지 사용량
+     * @return 수집 간격별 에너지 데이터 리스트
+     */
+    private List<EnergyDto.ReadingRow> splitByReadingInterval(IotDto.RegistryEntry iot, LocalDateTime referenceTime, BigDecimal hourlyUsage) {
+        int readingIntervalMinutes = iot.getReadingIntervalMinutes();
+        int intervalCount = 60 / readingIntervalMinutes;
+        var intervalUsage = hourlyUsage.divide(BigDecimal.valueOf(intervalCount), 4, RoundingMode.DOWN);
+        var lastIntervalUsage = hourlyUsage.subtract(intervalUsage.multiply(BigDecimal.valueOf(intervalCount - 1)));
+        var readingRows = new ArrayList<EnergyDto.ReadingRow>(intervalCount);
+        var epochHour = Energy.toEpochHour(referenceTime, iot.getZoneId());
+        for (int i = 0; i < intervalCount; i++) {
+            readingRows.add(new EnergyDto.ReadingRow(iot.getIotId(), iot.getCompanyId(),
+                    Iot.truncateToReadingInterval(referenceTime.plusMinutes((long) i * readingIntervalMinutes), readingIntervalMinutes),
+                    i == intervalCount - 1 ? lastIntervalUsage : intervalUsage, epochHour));
+        }
+        return readingRows;
     }
 
     /**
      * IoT 장비의 상태가 ERROR인 경우 에너지 사용량은 0으로 설정하며,
      * 그렇지 않은 경우에는 랜덤 값을 생성하여 에너지 사용량을 반환합니다.
      *
-     * @param iot IoT 장비 객체
+     * @param iot IoT 장비 식별 정보
      * @return 수집한 에너지 사용량
      */
-    private BigDecimal collectEnergyUsage(Iot iot) {
+    private BigDecimal collectEnergyUsage(IotDto.RegistryEntry iot) {
         // 장비 상태가 ERROR인 경우 에너지 사용량 0 반환
         if (iot.getStatus() == IotStatus.ERROR) {
             return BigDecimal.ZERO;
@@ -80,11 +145,11 @@ public class EnergyUsageTasklet implements Tasklet {
                 log.info("[{}] Executing logic to retrieve actual energy usage", activeProfile);
                 return BigDecimal.ZERO; // 실제 데이터 수집 로직이 구현되지 않았음
             } catch (Exception e) {
-                log.warn("[{}] Unable to retrieve actual energy usage, using random data instead. IoT ID: {}", activeProfile, iot.getId());
+                log.warn("[{}] Unable to retrieve actual energy usage, using random data instead. IoT ID: {}", activeProfile, iot.getIotId());
             }
         }
         // IoT 장비가 속한 업체가 보유한 Normal 상태인 IoT 장비 개수를 구하기
-        long normalIotCount = iotRepository.countByCompanyAndStatus(iot.getCompany(), IotStatus.NORMAL);
+        long normalIotCount = normalIotCountByCompanyId.getOrDefault(iot.getCompanyId(), 0L);
         // 935 / IoT 장비가 속한 업체가 보유한 Normal 상태인 IoT 장비 개수(정상 장비 수가 0인 경우를 대비해 NORMAL 장비 수가 0개면 1개로 처리)
         BigDecimal energyUsage = BigDecimal.valueOf(935).divide(BigDecimal.valueOf(normalIotCount > 0 ? normalIotCount : 1), 4, RoundingMode.HALF_UP);
         // 랜덤 에너지 사용량 생성(935 / IoT 장비가 속한 업체가 보유한 Normal 상태인 IoT 장비 개수로 생성)(소수점 넷째 자리에서 반올림)
@@ -92,4 +157,4 @@ public class EnergyUsageTasklet implements Tasklet {
         BigDecimal randomFluctuation = fluctuation.multiply(BigDecimal.valueOf(randomGenerator.nextDouble() * 2 - 1)); // -20% ~ +20% 랜덤 값 생성
         return energyUsage.add(randomFluctuation).setScale(4, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+}
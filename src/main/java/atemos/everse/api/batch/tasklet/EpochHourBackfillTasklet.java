@@ -0,0 +1,103 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.EpochHourJdbcRepository;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 에너지와 AI 예측 에너지 테이블에서 비어 있는 UTC epoch 시간 컬럼(epoch_hour)을 채우는 Tasklet입니다.
+ * epoch_hour 컬럼을 추가하기 이전에 저장된 행을 위해 한 번 실행하며, 모든 업체를 처리하면 EpochHourBackfillStatus에 완료를 기록합니다.
+ * 테이블을 오래 잠그지 않도록 업체별로 한 달(업체 타임존 기준)씩 나누어 처리하며,
+ * 한 번의 실행(트랜잭션)이 끝날 때마다 진행 위치를 Step 실행 컨텍스트에 저장하므로 중단되어도 이어서 실행할 수 있습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EpochHourBackfillTasklet implements Tasklet {
+    // 처리를 마친 마지막 업체 ID를 저장하는 실행 컨텍스트 키
+    private static final String LAST_COMPANY_ID = "lastCompanyId";
+    // 처리 중인 업체의 다음 월을 저장하는 실행 컨텍스트 키
+    private static final String NEXT_MONTH = "nextMonth";
+    // 처리 중인 업체의 마지막 월을 저장하는 실행 컨텍스트 키
+    private static final String LAST_MONTH = "lastMonth";
+
+    private final CompanyRepository companyRepository;
+    private final EpochHourJdbcRepository epochHourJdbcRepository;
+    private final EpochHourBackfillStatus epochHourBackfillStatus;
+
+    /**
+     * 다음 업체의 다음 한 달 동안의 행에 epoch_hour를 채웁니다.
+     * 시간대별로 업체 타임존 기준 시각을 한 번만 변환하여, 같은 시간대의 행을 한 번의 Update 쿼리로 채웁니다.
+     *
+     * @param contribution StepContribution 객체로 배치 작업의 기여 정보를 담고 있습니다.
+     * @param chunkContext ChunkContext 객체로 현재 배치 단계의 상태 정보를 담고 있습니다.
+     * @return 처리할 월이나 업체가 남아 있으면 RepeatStatus.CONTINUABLE, 모두 처리했으면 RepeatStatus.FINISHED
+     */
+    @Override
+    public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
+        var executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        var lastCompanyId = executionContext.getLong(LAST_COMPANY_ID, 0L);
+        // 처리할 다음 업체 조회
+        var company = companyRepository.findFirstByIdGreaterThanOrderByIdAsc(lastCompanyId);
+        if (company.isEmpty()) {
+            epochHourBackfillStatus.markComplete();
+            log.info("Epoch hour backfill finished.");
+            return RepeatStatus.FINISHED;
+        }
+        var companyId = company.get().getId();
+        // 업체를 처음 처리하면 테이블별 시각 범위로 처리할 월 범위 결정
+        if (!executionContext.containsKey(NEXT_MONTH)) {
+            var months = EpochHourJdbcRepository.TABLES.stream()
+                    .map(table -> epochHourJdbcRepository.findTimeRange(table, companyId))
+                    .flatMap(Optional::stream)
+                    .flatMap(range -> Stream.of(YearMonth.from(range.min()), YearMonth.from(range.max())))
+                    .sorted()
+                    .toList();
+            if (months.isEmpty()) {
+                executionContext.putLong(LAST_COMPANY_ID, companyId);
+                return RepeatStatus.CONTINUABLE;
+            }
+            executionContext.putString(NEXT_MONTH, months.getFirst().toString());
+            executionContext.putString(LAST_MONTH, months.getLast().toString());
+        }
+        // 한 달 동안의 시간대별 epoch_hour 계산 (업체 타임존 기준 시각을 시간대마다 한 번만 변환)
+        var month = YearMonth.parse(executionContext.getString(NEXT_MONTH));
+        var zoneId = company.get().getCountry().getZoneId();
+        var epochHourByHour = new LinkedHashMap<LocalDateTime, Integer>();
+        for (var hour = month.atDay(1).atStartOfDay(); hour.isBefore(month.plusMonths(1).atDay(1).atStartOfDay()); hour = hour.plusHours(1)) {
+            epochHourByHour.put(hour, Energy.toEpochHour(hour, zoneId));
+        }
+        var filled = 0L;
+        for (var table : EpochHourJdbcRepository.TABLES) {
+            filled += epochHourJdbcRepository.backfill(table, companyId, epochHourByHour);
+        }
+        contribution.incrementWriteCount(filled);
+        if (filled > 0) {
+            log.info("Filled epoch hours of {} rows for company {} in {}.", filled, companyId, month);
+        }
+        // 마지막 월까지 처리했으면 다음 업체로 이동
+        if (month.isBefore(YearMonth.parse(executionContext.getString(LAST_MONTH)))) {
+            executionContext.putString(NEXT_MONTH, month.plusMonths(1).toString());
+        } else {
+            executionContext.remove(NEXT_MONTH);
+            executionContext.remove(LAST_MONTH);
+            executionContext.putLong(LAST_COMPANY_ID, companyId);
+        }
+        return RepeatStatus.CONTINUABLE;
+    }
+}
@@ -1,6 +1,7 @@
 package atemos.everse.api.batch.tasklet;
 
 import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.dto.IotDto;
 import atemos.everse.api.entity.IotStatusHistory;
 import atemos.everse.api.repository.IotRepository;
 import atemos.everse.api.repository.IotStatusHistoryRepository;
@@ -16,18 +17,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
 
 /**
  * 이 클래스는 IoT 장비의 상태 정보를 수집하는 Tasklet입니다.
  * 프로덕션 환경에서는 실제 IoT 상태 데이터를 수집하고, 그렇지 않은 경우에는
  * 90% 확률로 NORMAL, 10% 확률로 ERROR 상태를 임의로 생성하여 DB에 저장합니다.
+ * - 상태가 바뀐 장비만 상태별로 묶어 한 번의 UPDATE로 변경하고, 상태가 그대로인 장비는 저장하지 않습니다.
+ * - 상태 이력은 상태가 유지된 구간으로 저장하므로, 상태가 바뀐 장비만 기존 구간을 닫고 새 구간을 추가합니다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class IotStatusTasklet implements Tasklet {
+    // 한 번의 UPDATE에 포함할 최대 IoT 장비 수 (IN 절의 크기 제한)
+    private static final int UPDATE_BATCH_SIZE = 1000;
+
     private final IotRepository iotRepository;
     private final IotStatusHistoryRepository iotStatusHistoryRepository;
     private final RandomGenerator randomGenerator = RandomGenerator.getDefault();
@@ -37,7 +49,7 @@ public class IotStatusTasklet implements Tasklet {
 
     /**
      * 이 메서드는 IoT 상태 정보를 수집하여 DB에 저장하는 작업을 수행합니다.
-     * 각 IoT 장비의 상태 정보를 수집하고, 이를 IotStatusHistory 엔티티로 변환하여 DB에 저장합니다.
+     * 각 IoT 장비의 상태 정보를 수집하고, 상태가 바뀐 장비만 장비 상태를 변경하고 상태 구간을 새로 기록합니다.
      *
      * @param contribution StepContribution 객체로 배치 작업의 기여 정보를 담고 있습니다.
      * @param chunkContext ChunkContext 객체로 현재 배치 단계의 상태 정보를 담고 있습니다.
@@ -48,18 +60,75 @@ public class IotStatusTasklet implements Tasklet {
     public RepeatStatus execute(@NonNull StepContribution contribution, @NonNull ChunkContext chunkContext) {
         // 현재 시간을 분 단위로 반올림하여 현재 시간 설정
         var now = Instant.now().truncatedTo(ChronoUnit.MINUTES);
-        // IoT 장비 목록에서 각 장비의 상태 정보를 수집하고 저장할 준비
-        var iotStatusHistories = iotRepository.findAll().stream().map(iot -> {
-            var status = collectIotStatus(iot.getId()); // IoT 장비의 상태 수집
-            iot.setStatus(status); // IoT 장비 상태 설정
-            iotRepository.save(iot); // IoT 장비 상태 업데이트
-            return IotStatusHistory.builder().iot(iot).status(status).createdDate(now).build(); // 상태 이력 기록 생성
-        }).toList();
-        // 상태 이력을 DB에 저장
-        iotStatusHistoryRepository.saveAll(iotStatusHistories);
+        // 이전 방식으로 매시간 저장한 상태 이력 행을 1시간 구간으로 닫음 (남아 있지 않으면 변경 없음)
+        var closedLegacy = iotStatusHistoryRepository.closeLegacySamples();
+        if (closedLegacy > 0) {
+            log.info("Closed {} hourly IoT status samples as one-hour intervals.", closedLegacy);
+        }
+        // 지난달에 시작된 구간을 이번 달 시작 일시에서 나눔 (월별 파티션을 삭제해도 현재 상태 구간이 남도록)
+        var monthStart = now.atZone(ZoneOffset.UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).toInstant();
+        var carriedOver = iotStatusHistoryRepository.findOpenStatusEntriesStartedBefore(monthStart);
+        if (!carriedOver.isEmpty()) {
+            iotStatusHistoryRepository.closeOpenStartedBefore(monthStart);
+            iotStatusHistoryRepository.saveAll(carriedOver.stream()
+                    .map(entry -> newInterval(entry.getIotId(), entry.getStatus(), monthStart))
+                    .toList());
+            log.info("Split {} IoT status intervals at the start of the month {}.", carriedOver.size(), monthStart);
+        }
+        // 현재 유지 중인 상태 구간 (장비별 최대 하나)
+        var openStatusByIotId = iotStatusHistoryRepository.findOpenStatusEntries().stream()
+                .collect(Collectors.toMap(IotDto.StatusEntry::getIotId, IotDto.StatusEntry::getStatus, (first, second) -> second));
+        // 각 장비의 상태를 수집하여, 상태가 바뀐 장비와 새 구간이 필요한 장비를 새 상태별로 묶음
+        var changedIotIdsByStatus = new EnumMap<IotStatus, List<Long>>(IotStatus.class);
+        var reopenedIotIdsByStatus = new EnumMap<IotStatus, List<Long>>(IotStatus.class);
+        var iots = iotRepository.findStatusEntries();
+        for (var iot : iots) {
+            var status = collectIotStatus(iot.getIotId()); // IoT 장비의 상태 수집
+            if (status != iot.getStatus()) {
+                changedIotIdsByStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(iot.getIotId());
+            }
+            // 유지 중인 구간이 없거나(새 장비) 구간의 상태와 다르면 새 구간 기록
+            if (status != openStatusByIotId.get(iot.getIotId())) {
+                reopenedIotIdsByStatus.computeIfAbsent(status, key -> new ArrayList<>()).add(iot.getIotId());
+            }
+        }
+        // 상태가 바뀐 장비의 상태를 새 상태별로 한 번에 변경
+        changedIotIdsByStatus.forEach((status, iotIds) -> forEachBatch(iotIds,
+                batch -> iotRepository.updateStatusByIdIn(batch, status, now)));
+        // 새 구간이 필요한 장비의 기존 구간을 닫고 새 구간 추가
+        var newIntervals = new ArrayList<IotStatusHistory>();
+        reopenedIotIdsByStatus.forEach((status, iotIds) -> {
+            forEachBatch(iotIds, batch -> iotStatusHistoryRepository.closeOpenByIotIdIn(batch, now));
+            iotIds.forEach(iotId -> newIntervals.add(newInterval(iotId, status, now)));
+        });
+        iotStatusHistoryRepository.saveAll(newIntervals);
+        var changed = changedIotIdsByStatus.values().stream().mapToInt(List::size).sum();
+        contribution.incrementReadCount();
+        contribution.incrementWriteCount(changed);
+        log.info("Collected status of {} IoT devices: {} changed, {} status intervals opened.", iots.size(), changed, newIntervals.size());
         return RepeatStatus.FINISHED;
     }
 
+    /**
+     * 주어진 일시에 시작하는 IoT 장비의 상태 구간을 생성합니다.
+     */
+    private IotStatusHistory newInterval(Long iotId, IotStatus status, Instant createdDate) {
+        return IotStatusHistory.builder()
+                .iot(iotRepository.getReferenceById(iotId))
+                .status(status)
+                .createdDate(createdDate)
+                .build();
+    }
+
+    /**
+     * IoT 장비 ID 목록을 UPDATE_BATCH_SIZE개씩 나누어 처리합니다.
+     */
+    private static void forEachBatch(List<Long> iotIds, Consumer<List<Long>> action) {
+        for (int from = 0; from < iotIds.size(); from += UPDATE_BATCH_SIZE) {
+            action.accept(iotIds.subList(from, Math.min(from + UPDATE_BATCH_SIZE, iotIds.size())));
+        }
+    }
+
     /**
      * IoT 장비의 상태를 수집하는 메서드입니다.
      * 프로덕션 환경에서는 실제 데이터를 수집하며, 그렇지 않을 경우에는
@@ -68,7 +68,7 @@ public class SaveMeteredUsageTasklet implements Tasklet {
                                                 Collectors.summingLong(ApiCallLogDto.LogUsageData::getCount)
                                         )
                                 ));
-                        // IoT 설치 개수 가져오기 (iot_status_history 테이블에서 해당 날짜에 등록된 IoT 장비 개수)
+                        // IoT 설치 개수 가져오기 (iot_status_history 테이블에서 해당 날짜와 겹치는 상태 구간이 있는 IoT 장비 개수)
                         var iotInstallationCount = iotStatusHistoryRepository.countIotInstallationsByCompanyAndDateRange(
                                 company.getId(),
                                 date.atStartOfDay(zoneId).toInstant(),
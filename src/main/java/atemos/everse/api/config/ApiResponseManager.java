@@ -1,11 +1,14 @@
 package atemos.everse.api.config;
 
 import atemos.everse.api.dto.ApiResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * ApiResponseManager는 API 호출의 응답을 관리하는 클래스입니다.
@@ -16,6 +19,7 @@ import org.springframework.stereotype.Component;
 @AllArgsConstructor
 public class ApiResponseManager {
     private final ApiLogComponent apiLogComponent;
+    private final ObjectMapper objectMapper;
 
     /**
      * API를 정상 호출하였고, 리턴할 데이터가 없는 경우의 응답을 생성합니다.
@@ -38,6 +42,32 @@ public class ApiResponseManager {
         return buildResponse(HttpStatus.OK, data);
     }
 
+    /**
+     * API를 정상 호출하였고, 리턴할 데이터를 출력 스트림에 바로 기록하는 경우의 응답을 생성합니다.
+     * 응답 형식은 success()와 같으며, data 필드의 값은 writer가 생성되는 대로 기록하므로
+     * 전체 데이터를 메모리에 만들지 않고 첫 바이트를 빠르게 전송할 수 있습니다.
+     *
+     * @param writer data 필드의 값을 기록하는 writer
+     * @return 상태 코드와 메시지, 스트리밍 데이터를 포함한 응답 객체
+     */
+    public ResponseEntity<StreamingResponseBody> stream(JsonStreamWriter writer) {
+        logResponse(HttpStatus.OK);
+        StreamingResponseBody body = outputStream -> {
+            try (var generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeNumberField("status", HttpStatus.OK.value());
+                generator.writeStringField("message", HttpStatus.OK.getReasonPhrase());
+                generator.writeFieldName("data");
+                generator.flush();
+                writer.write(generator);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     /**
      * 인증/인가 API를 정상 호출하였고, 사용자 데이터를 함께 받습니다.
      *
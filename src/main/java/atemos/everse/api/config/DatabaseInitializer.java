@@ -5,11 +5,20 @@ import atemos.everse.api.domain.MemberStatus;
 import atemos.everse.api.domain.SampleData;
 import atemos.everse.api.entity.*;
 import atemos.everse.api.repository.*;
+import atemos.everse.api.service.EpochHourBackfillStatus;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
@@ -22,7 +31,9 @@ import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
@@ -43,6 +54,10 @@ public class DatabaseInitializer {
     private final AnomalyRepository anomalyRepository;
     private final EnergyRepository energyRepository;
     private final IotRepository iotRepository;
+    private final EpochHourBackfillStatus epochHourBackfillStatus;
+    private final JobLauncher jobLauncher;
+    private final Job epochHourBackfillJob;
+    private final Job energyRollupRebuildJob;
     private final PasswordEncoder passwordEncoder;
     private final EncryptUtil encryptUtil;
     private final RandomGenerator randomGenerator = RandomGenerator.getDefault();
@@ -65,6 +80,50 @@ public class DatabaseInitializer {
         createHistoricalEnergyData();
     }
 
+    /**
+     * 애플리케이션이 시작된 뒤, UTC epoch 시간이 비어 있는 에너지와 AI 예측 에너지가 있으면 백필 작업을 가상 스레드에서 시작합니다.
+     * 작업은 업체별로 한 달씩 나누어 커밋하므로 오래 걸릴 수 있으며, 끝날 때까지는 업체 타임존 기준 시각으로 조회합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startEpochHourBackfill() {
+        if (epochHourBackfillStatus.isComplete()) {
+            return;
+        }
+        var jobParameters = new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+        Thread.ofVirtual().name("epoch-hour-backfill").start(() -> {
+            try {
+                log.info("**** [START] Backfilling epoch hours of energy readings and forecasts.");
+                jobLauncher.run(epochHourBackfillJob, jobParameters);
+                log.info("**** [END] Backfilling epoch hours of energy readings and forecasts.");
+            } catch (Exception e) {
+                log.error("Failed to backfill epoch hours.", e);
+            }
+        });
+    }
+
+    /**
+     * 애플리케이션이 시작된 뒤, 집계 데이터를 처음 생성하는 작업을 가상 스레드에서 시작합니다.
+     * 작업은 집계 데이터가 비어 있을 때만 업체별로 나누어 커밋하며 집계 데이터를 생성합니다.
+     * 항상 같은 Job 파라미터로 실행하므로, 여러 서버가 함께 시작해도 한 서버만 실행하고 이미 완료된 뒤에는 다시 실행하지 않습니다.
+     * 중단된 경우 다음 시작 시 마지막으로 생성한 업체 다음부터 이어서 실행합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startEnergyRollupRebuild() {
+        Thread.ofVirtual().name("energy-rollup-rebuild").start(() -> {
+            try {
+                jobLauncher.run(energyRollupRebuildJob, new JobParameters());
+            } catch (JobInstanceAlreadyCompleteException e) {
+                log.debug("Energy rollups were already created.");
+            } catch (JobExecutionAlreadyRunningException e) {
+                log.info("Energy rollups are being created by another instance.");
+            } catch (Exception e) {
+                log.error("Failed to create energy rollups.", e);
+            }
+        });
+    }
+
     /**
      * 상위 메뉴 샘플 데이터를 생성하여 데이터베이스에 저장합니다.
      * 열거형 데이터를 동적으로 처리하여, 열거형 변경 시 자동 반영되도록 수정되었습니다.
@@ -278,6 +337,8 @@ public class DatabaseInitializer {
             var allIots = iotRepository.findAllWithCompanyAndCountry();
             log.info("**** Processing {} IoT devices.", allIots.size());
             List<Energy> batch = new ArrayList<>();
+            // IoT 장비별 마지막으로 생성한 기준 시각 (서머타임 종료로 같은 로컬 시각이 반복되면 중복 생성하지 않음)
+            Map<Long, LocalDateTime> lastReferenceTimeByIotId = new HashMap<>();
             while (startTime.isBefore(endTime)) {
                 var currentBatchTime = startTime;
                 allIots.forEach(iot -> {
@@ -287,10 +348,15 @@ public class DatabaseInitializer {
                     LocalDateTime localReferenceTime = currentBatchTime.atZone(ZoneId.systemDefault())
                             .withZoneSameInstant(companyZoneId)
                             .toLocalDateTime();
+                    var lastReferenceTime = lastReferenceTimeByIotId.put(iot.getId(), localReferenceTime);
+                    if (lastReferenceTime != null && !localReferenceTime.isAfter(lastReferenceTime)) {
+                        return;
+                    }
                     var energyData = Energy.builder()
                             .iot(iot)
                             .facilityUsage(collectEnergyUsageForHistoricalData(iot))
                             .referenceTime(localReferenceTime)  // 타임존 변환된 시간
+                            .epochHour(Energy.toEpochHour(localReferenceTime, companyZoneId))
                             .build();
                     batch.add(energyData);
                 });
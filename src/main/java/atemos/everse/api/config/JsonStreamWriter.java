@@ -0,0 +1,20 @@
+package atemos.everse.api.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * JsonStreamWriter는 응답 데이터를 메모리에 모두 만들지 않고 JsonGenerator로 출력 스트림에 바로 기록하는 함수형 인터페이스입니다.
+ * ApiResponseManager.stream()에서 표준 응답 형식의 data 필드 값을 기록할 때 사용됩니다.
+ */
+@FunctionalInterface
+public interface JsonStreamWriter {
+    /**
+     * data 필드의 값을 기록합니다.
+     *
+     * @param generator 출력 스트림에 연결된 JsonGenerator
+     * @throws IOException 출력 중 오류가 발생한 경우
+     */
+    void write(JsonGenerator generator) throws IOException;
+}
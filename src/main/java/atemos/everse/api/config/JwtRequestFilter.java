@@ -3,7 +3,9 @@ package atemos.everse.api.config;
 import atemos.everse.api.domain.SampleData;
 import atemos.everse.api.entity.Member;
 import atemos.everse.api.repository.BlacklistedTokenRepository;
+import atemos.everse.api.repository.MemberRepository;
 import atemos.everse.api.service.AuthenticationServiceImpl;
+import atemos.everse.api.service.CacheSnapshotSection;
 import atemos.everse.api.service.MemberService;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -24,24 +26,36 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 /**
  * JWT 요청 필터 클래스.
  * HTTP 요청에서 JWT 토큰을 추출하고 검증하여 Spring Security의 인증 컨텍스트를 설정합니다.
+ * 재시작 후 캐시가 비어 있어 조회가 몰리지 않도록 캐시를 스냅샷 파일에 저장합니다(CacheSnapshotManager).
+ * - 회원 캐시: 암호화된 이메일과 캐시된 기간만 저장하고, 복원할 때 회원 정보를 한 번의 쿼리로 다시 조회합니다.
+ * - 블랙리스트 캐시: 토큰 대신 토큰의 SHA-256 해시를 키로 사용하며, 블랙리스트에 있는 토큰만 저장합니다.
+ *   (블랙리스트에 없던 토큰은 재시작 중에 블랙리스트에 추가되었을 수 있으므로 저장하지 않습니다.)
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class JwtRequestFilter extends OncePerRequestFilter {
+public class JwtRequestFilter extends OncePerRequestFilter implements CacheSnapshotSection {
     private final JwtUtil jwtUtil;
     private final BlacklistedTokenRepository blacklistedTokenRepository;
     private final MemberService memberService;
     private final AuthenticationServiceImpl authenticationService;
     private final EncryptUtil encryptUtil;
+    private final MemberRepository memberRepository;
 
     @Setter
     private UserDetailsService userDetailsService;
@@ -56,15 +70,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             "/atemos/auth/2fa", "/atemos/auth/renew", "/atemos/auth/reset-password", "/atemos/auth/update-password",
             "/atemos/company/list", "/atemos/country/list");
 
-    // Caffeine 캐시 설정
+    // 토큰 해시 길이 (SHA-256)
+    private static final int TOKEN_HASH_LENGTH = 32;
+    // 캐시 만료 시간
+    private static final Duration CACHE_EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    // Caffeine 캐시 설정 (블랙리스트 캐시의 키는 토큰의 SHA-256 해시)
     private final Cache<String, Boolean> blacklistTokenCache = Caffeine.newBuilder()
             .maximumSize(10_000)
-            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .expireAfterWrite(CACHE_EXPIRE_AFTER_WRITE)
             .build();
 
     private final Cache<String, Member> memberCache = Caffeine.newBuilder()
             .maximumSize(10_000)
-            .expireAfterWrite(10, TimeUnit.MINUTES)
+            .expireAfterWrite(CACHE_EXPIRE_AFTER_WRITE)
             .build();
 
     /**
@@ -95,10 +114,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         if (token != null) {
             // BlacklistedTokenRepository 캐시에서 먼저 확인 후 없으면 DB에서 조회
-            Boolean isBlacklisted = blacklistTokenCache.getIfPresent(token);
+            var tokenHash = hash(token);
+            Boolean isBlacklisted = blacklistTokenCache.getIfPresent(tokenHash);
             if (isBlacklisted == null) {
                 isBlacklisted = blacklistedTokenRepository.existsByToken(token);
-                blacklistTokenCache.put(token, isBlacklisted);
+                blacklistTokenCache.put(tokenHash, isBlacklisted);
             }
             // 블랙리스트 토큰인 경우
             if (isBlacklisted) {
@@ -133,4 +153,96 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // 필터 체인 계속 진행
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    @Override
+    public String snapshotName() {
+        return "jwt-request-filter";
+    }
+
+    @Override
+    public int snapshotVersion() {
+        return 1;
+    }
+
+    /**
+     * 회원 캐시의 암호화된 이메일과 블랙리스트에 있는 토큰의 해시를 캐시된 기간(밀리초)과 함께 저장합니다.
+     */
+    @Override
+    public void writeSnapshot(DataOutputStream out, boolean clean) throws IOException {
+        var memberAges = agesOf(memberCache, key -> true);
+        out.writeInt(memberAges.size());
+        for (var entry : memberAges.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        var blacklistAges = agesOf(blacklistTokenCache, Boolean.TRUE::equals);
+        out.writeInt(blacklistAges.size());
+        for (var entry : blacklistAges.entrySet()) {
+            out.write(Base64.getDecoder().decode(entry.getKey()));
+            out.writeLong(entry.getValue());
+        }
+    }
+
+    /**
+     * 저장한 시점부터 지난 시간을 더해도 만료되지 않은 항목만 복원합니다.
+     * 회원 정보는 한 번의 쿼리로 다시 조회하므로 복원한 항목은 새로 캐시된 것으로 취급합니다.
+     */
+    @Override
+    public void restoreSnapshot(ByteBuffer in, Instant writtenAt, boolean clean) {
+        var elapsed = Duration.between(writtenAt, Instant.now()).toMillis();
+        var memberCount = in.getInt();
+        var encryptedEmails = new HashSet<String>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            var encryptedEmail = readUtf(in);
+            if (in.getLong() + elapsed < CACHE_EXPIRE_AFTER_WRITE.toMillis()) {
+                encryptedEmails.add(encryptedEmail);
+            }
+        }
+        if (!encryptedEmails.isEmpty()) {
+            memberRepository.findByEmailIn(encryptedEmails).forEach(member -> memberCache.put(member.getEmail(), member));
+        }
+        var blacklistCount = in.getInt();
+        var tokenHash = new byte[TOKEN_HASH_LENGTH];
+        for (int i = 0; i < blacklistCount; i++) {
+            in.get(tokenHash);
+            if (in.getLong() + elapsed < CACHE_EXPIRE_AFTER_WRITE.toMillis()) {
+                blacklistTokenCache.put(Base64.getEncoder().encodeToString(tokenHash), true);
+            }
+        }
+        log.info("Restored {} members and {} blacklisted tokens from the cache snapshot.", memberCache.estimatedSize(), blacklistTokenCache.estimatedSize());
+    }
+
+    /**
+     * 조건에 맞는 캐시 항목의 캐시된 기간(밀리초)을 키별로 반환합니다.
+     */
+    private static <V> Map<String, Long> agesOf(Cache<String, V> cache, Predicate<V> filter) {
+        var expiration = cache.policy().expireAfterWrite().orElseThrow();
+        var ages = new HashMap<String, Long>();
+        cache.asMap().forEach((key, value) -> {
+            if (filter.test(value)) {
+                expiration.ageOf(key, TimeUnit.MILLISECONDS).ifPresent(age -> ages.put(key, age));
+            }
+        });
+        return ages;
+    }
+
+    /**
+     * DataOutputStream.writeUTF()로 저장한 문자열을 읽습니다.
+     */
+    private static String readUtf(ByteBuffer in) {
+        var bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 토큰의 SHA-256 해시를 Base64 문자열로 반환합니다.
+     */
+    private static String hash(String token) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
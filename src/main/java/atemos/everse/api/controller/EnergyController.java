@@ -2,18 +2,28 @@ package atemos.everse.api.controller;
 
 import atemos.everse.api.config.ApiResponseManager;
 import atemos.everse.api.config.Chargeable;
+import atemos.everse.api.domain.ResponseFormat;
 import atemos.everse.api.dto.ApiResponseDto;
+import atemos.everse.api.dto.ColumnarDto;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.service.EnergyDemandService;
+import atemos.everse.api.service.EnergyIngestionService;
 import atemos.everse.api.service.EnergyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Set;
 
 /**
  * 에너지 사용량 및 요금 API 컨트롤러.
@@ -28,6 +38,63 @@ import java.time.LocalDate;
 public class EnergyController {
     private final ApiResponseManager apiResponseManager;
     private final EnergyService energyService;
+    private final EnergyDemandService energyDemandService;
+    private final EnergyIngestionService energyIngestionService;
+
+    /**
+     * 계량기 또는 게이트웨이가 보낸 에너지 사용량을 일괄 수집하는 API.
+     * IoT 장비는 ID 또는 시리얼 넘버로 지정하며, 검증에 실패한 에너지 사용량은 저장하지 않고 사유와 함께 응답합니다.
+     *
+     * @param ingestRequest 에너지 사용량 일괄 수집 요청
+     * @return 저장 건수와 저장하지 않은 에너지 사용량 목록
+     */
+    @Operation(summary = "에너지 사용량 일괄 수집",
+            description = "IoT 장비별 에너지 사용량을 한 번에 최대 10,000건까지 수집하는 API")
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @PostMapping("/readings")
+    public ResponseEntity<ApiResponseDto> ingest(
+            @Valid @RequestBody EnergyDto.IngestRequest ingestRequest
+    ) {
+        return apiResponseManager.success(energyIngestionService.ingest(ingestRequest));
+    }
+
+    /**
+     * 중복 저장된 에너지 사용량을 정리하는 작업을 시작하는 API.
+     * 같은 IoT 장비, 같은 기준 시각의 사용량을 설정된 처리 방식에 따라 하나로 합치며, 작업은 백그라운드에서 실행됩니다.
+     *
+     * @return 작업 시작 여부
+     */
+    @Operation(summary = "중복 에너지 사용량 정리",
+            description = "같은 IoT 장비, 같은 기준 시각으로 중복 저장된 에너지 사용량을 정리하는 작업을 시작하는 API")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/compaction")
+    public ResponseEntity<ApiResponseDto> startCompaction() {
+        energyIngestionService.startCompaction();
+        return apiResponseManager.ok();
+    }
+
+    /**
+     * 에너지 저장 방식별 저장 크기와 기간 조회 성능을 비교하는 API.
+     * 업체의 기간 내 에너지 사용량을 저장 방식 비교용 임시 버킷 테이블에 복사한 뒤 테이블 크기와 시간대별 합계 조회 소요 시간을 비교합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 비교 기간 시작일
+     * @param endDate 비교 기간 종료일
+     * @param iterations 저장 방식별 기간 조회 반복 횟수
+     * @return 저장 방식별 저장 크기와 기간 조회 소요 시간
+     */
+    @Operation(summary = "에너지 저장 방식 비교",
+            description = "업체의 기간 내 에너지 사용량을 임시 버킷 테이블에 복사하고, 저장 방식(ROW, BUCKETED)별 저장 크기와 기간 조회 소요 시간을 비교하는 API")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/storage-layout/benchmark")
+    public ResponseEntity<ApiResponseDto> benchmarkStorageLayout(
+            @Parameter(description = "업체 ID", example = "1", required = true) @RequestParam Long companyId,
+            @Parameter(description = "비교 기간 시작일", example = "2024-06-01", required = true) @RequestParam LocalDate startDate,
+            @Parameter(description = "비교 기간 종료일", example = "2024-06-30", required = true) @RequestParam LocalDate endDate,
+            @Parameter(description = "저장 방식별 기간 조회 반복 횟수", example = "10") @RequestParam(defaultValue = "10") int iterations
+    ) {
+        return apiResponseManager.success(energyIngestionService.benchmarkStorageLayout(companyId, startDate, endDate, iterations));
+    }
 
     /**
      * 기간 내 업체의 에너지 사용량과 요금을 조회하는 API.
@@ -36,19 +103,171 @@ public class EnergyController {
      * @param companyId 업체 ID
      * @param startDate 기간 시작일
      * @param endDate (옵션) 기간 종료일, 없으면 시작일과 동일하게 처리
+     * @param format (옵션) 응답 형식, 없으면 Accept 헤더로 결정
+     * @param accept (옵션) Accept 헤더, 컬럼 형식 미디어 타입이면 컬럼 형식으로 응답
      * @return 기간 내 업체의 에너지 사용량 및 요금 정보
      */
     @Operation(summary = "기간 내 에너지 사용량 및 요금 조회",
-            description = "기간 내 업체의 에너지 사용량 및 요금을 조회하는 API")
+            description = "기간 내 업체의 에너지 사용량 및 요금을 조회하는 API. format=COLUMNAR 또는 Accept: "
+                    + ResponseFormat.COLUMNAR_MEDIA_TYPE + " 로 요청하면 컬럼 형식으로 응답합니다.")
     @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
     @Chargeable(true)
     @GetMapping("/{companyId}")
     public ResponseEntity<ApiResponseDto> readEnergy(
             @Parameter(description = "업체 ID", example = "1", required = true) @PathVariable Long companyId,
             @Parameter(description = "기간 조회 시작일", example = "2024-06-03") @RequestParam LocalDate startDate,
-            @Parameter(description = "기간 조회 종료일", example = "2025-12-31") @RequestParam(required = false) LocalDate endDate
+            @Parameter(description = "기간 조회 종료일", example = "2025-12-31") @RequestParam(required = false) LocalDate endDate,
+            @Parameter(description = "응답 형식", example = "ROW") @RequestParam(required = false) ResponseFormat format,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        var summaryResponse = energyService.readEnergy(companyId, startDate, endDate);
+        return apiResponseManager.success(ResponseFormat.resolve(format, accept) == ResponseFormat.COLUMNAR
+                ? new EnergyDto.ColumnarResponse(summaryResponse)
+                : summaryResponse);
+    }
+
+    /**
+     * 여러 업체의 기간 내 에너지 사용량과 요금을 업체별로 요약하고 전체 합계를 함께 조회하는 API.
+     * 업체마다 기간 조회 API를 호출하는 대신 한 번의 요청으로 포트폴리오 화면을 구성할 때 사용합니다.
+     *
+     * @param companyIds 업체 ID 목록 (최대 100개)
+     * @param startDate 기간 시작일
+     * @param endDate (옵션) 기간 종료일, 없으면 시작일과 동일하게 처리
+     * @return 업체별 에너지 사용량 및 요금 요약과 전체 합계
+     */
+    @Operation(summary = "여러 업체의 기간 내 에너지 사용량 및 요금 요약 조회",
+            description = "여러 업체의 기간 내 에너지 사용량 및 요금을 업체별로 요약하고 전체 합계를 함께 조회하는 API (최대 100개 업체)")
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @Chargeable(true)
+    @GetMapping("/portfolio")
+    public ResponseEntity<ApiResponseDto> readPortfolioEnergy(
+            @Parameter(description = "업체 ID 목록", example = "1,2,3", required = true) @RequestParam Set<Long> companyIds,
+            @Parameter(description = "기간 조회 시작일", example = "2024-06-01") @RequestParam LocalDate startDate,
+            @Parameter(description = "기간 조회 종료일", example = "2024-06-30") @RequestParam(required = false) LocalDate endDate
+    ) {
+        return apiResponseManager.success(energyService.readPortfolioEnergy(companyIds, startDate, endDate));
+    }
+
+    /**
+     * 기간 내 에너지 사용량 상위 IoT 장비와 각 장비의 요금 비율을 피크 타입(피크, 경피크, 비피크)별로 조회하는 API.
+     * 업체 ID가 없으면 전체 업체의 장비 중에서 조회하며, 이 경우 ADMIN만 호출할 수 있습니다.
+     *
+     * @param companyId (옵션) 업체 ID, 없으면 전체 업체
+     * @param startDate 기간 시작일
+     * @param endDate (옵션) 기간 종료일, 없으면 시작일과 동일하게 처리
+     * @param limit (옵션) 피크 타입별 상위 장비 수 (기본 10, 최대 100)
+     * @return 피크 타입별 사용량 상위 장비
+     */
+    @Operation(summary = "기간 내 에너지 사용량 상위 IoT 장비 조회",
+            description = "기간 내 에너지 사용량 상위 IoT 장비와 요금 비율을 피크 타입별로 조회하는 API (업체 ID가 없으면 전체 업체, ADMIN 전용)")
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @Chargeable(true)
+    @GetMapping("/top-devices")
+    public ResponseEntity<ApiResponseDto> readTopDevices(
+            @Parameter(description = "업체 ID", example = "1") @RequestParam(required = false) Long companyId,
+            @Parameter(description = "기간 조회 시작일", example = "2024-06-01") @RequestParam LocalDate startDate,
+            @Parameter(description = "기간 조회 종료일", example = "2024-06-30") @RequestParam(required = false) LocalDate endDate,
+            @Parameter(description = "피크 타입별 상위 장비 수", example = "10") @RequestParam(defaultValue = "10") int limit
+    ) {
+        return apiResponseManager.success(energyService.readTopDevices(companyId, startDate, endDate, limit));
+    }
+
+    /**
+     * 업체의 기간 내 시간별 수요의 분위수(p50, p95, p99), 최대 수요 시간대, 부하 지속 곡선을 조회하는 API.
+     * 일별 분위수 스케치를 병합하여 계산하므로 긴 기간도 원본 에너지 데이터를 읽지 않고 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 기간 시작일
+     * @param endDate (옵션) 기간 종료일, 없으면 시작일과 동일하게 처리
+     * @return 시간별 수요 분석 결과
+     */
+    @Operation(summary = "기간 내 시간별 수요 분석 조회",
+            description = "업체의 기간 내 시간별 수요의 분위수(p50, p95, p99), 최대 수요 시간대, 부하 지속 곡선을 조회하는 API (상대 오차 1% 이내)")
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @Chargeable(true)
+    @GetMapping("/demand")
+    public ResponseEntity<ApiResponseDto> readDemand(
+            @Parameter(description = "업체 ID", example = "1") @RequestParam Long companyId,
+            @Parameter(description = "기간 조회 시작일", example = "2024-01-01") @RequestParam LocalDate startDate,
+            @Parameter(description = "기간 조회 종료일", example = "2024-12-31") @RequestParam(required = false) LocalDate endDate
+    ) {
+        return apiResponseManager.success(energyDemandService.readDemand(companyId, startDate, endDate));
+    }
+
+    /**
+     * 최근 주들의 요일·시각(7 × 24)별 평균 에너지 사용량과 요금(히트맵)을 조회하는 API.
+     * 매주 반복되는 시간대의 낭비를 확인할 때 사용합니다.
+     *
+     * @param companyId 업체 ID
+     * @param weeks (옵션) 이번 주를 포함한 최근 주 수, 없으면 보관하는 전체 주 수 (기본 12주)
+     * @return 요일·시각별 평균, 최소, 최대 사용량과 평균 요금
+     */
+    @Operation(summary = "요일·시각별 에너지 사용량 히트맵 조회",
+            description = "최근 주들의 요일·시각(7 × 24)별 평균, 최소, 최대 에너지 사용량과 평균 요금을 조회하는 API")
+    @PreAuthorize("hasRole('USER') or hasRole('MANAGER') or hasRole('ADMIN')")
+    @Chargeable(true)
+    @GetMapping("/heatmap")
+    public ResponseEntity<ApiResponseDto> readHeatmap(
+            @Parameter(description = "업체 ID", example = "1") @RequestParam Long companyId,
+            @Parameter(description = "최근 주 수", example = "4") @RequestParam(required = false) Integer weeks
+    ) {
+        return apiResponseManager.success(energyService.readHeatmap(companyId, weeks));
+    }
+
+    /**
+     * 기간 내 업체의 에너지 사용량과 요금을 1시간보다 짧은 간격으로 조회하는 API.
+     * 조회 기간은 최대 31일입니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 기간 시작일
+     * @param endDate (옵션) 기간 종료일, 없으면 시작일과 동일하게 처리
+     * @param intervalMinutes 조회 간격(분), 기본값은 15분
+     * @param format (옵션) 응답 형식, 없으면 Accept 헤더로 결정
+     * @param accept (옵션) Accept 헤더, 컬럼 형식 미디어 타입이면 컬럼 형식으로 응답
+     * @return 간격별 업체의 에너지 사용량 및 요금 정보
+     */
+    @Operation(summary = "간격별 에너지 사용량 및 요금 조회",
+            description = "기간 내 업체의 에너지 사용량 및 요금을 15분 등 1시간보다 짧은 간격으로 조회하는 API (최대 31일)")
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @Chargeable(true)
+    @GetMapping("/{companyId}/intervals")
+    public ResponseEntity<ApiResponseDto> readIntervalEnergy(
+            @Parameter(description = "업체 ID", example = "1", required = true) @PathVariable Long companyId,
+            @Parameter(description = "기간 조회 시작일", example = "2024-06-03") @RequestParam LocalDate startDate,
+            @Parameter(description = "기간 조회 종료일", example = "2024-06-03") @RequestParam(required = false) LocalDate endDate,
+            @Parameter(description = "조회 간격(분)", example = "15") @RequestParam(defaultValue = "15") int intervalMinutes,
+            @Parameter(description = "응답 형식", example = "ROW") @RequestParam(required = false) ResponseFormat format,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        var intervalResponse = energyService.readIntervalEnergy(companyId, startDate, endDate, intervalMinutes);
+        return apiResponseManager.success(ResponseFormat.resolve(format, accept) == ResponseFormat.COLUMNAR
+                ? new ColumnarDto.Series<>(intervalResponse.stream().map(EnergyDto.HourlyResponse::getReferenceTime).toList(),
+                        Duration.ofMinutes(intervalMinutes))
+                        .column("usage", intervalResponse, EnergyDto.HourlyResponse::getUsage)
+                        .column("bill", intervalResponse, EnergyDto.HourlyResponse::getBill)
+                : intervalResponse);
+    }
+
+    /**
+     * 기간 내 업체의 에너지 사용량과 요금을 스트리밍으로 조회하는 API.
+     * 응답 구조는 기간 조회 API와 같지만, 월 단위로 생성하는 대로 전송하므로 긴 기간을 조회할 때 사용합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 기간 시작일
+     * @param endDate (옵션) 기간 종료일, 없으면 시작일과 동일하게 처리
+     * @return 기간 내 업체의 에너지 사용량 및 요금 정보 스트림
+     */
+    @Operation(summary = "기간 내 에너지 사용량 및 요금 스트리밍 조회",
+            description = "기간 내 업체의 에너지 사용량 및 요금을 월 단위로 스트리밍하여 조회하는 API")
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @Chargeable(true)
+    @GetMapping("/{companyId}/stream")
+    public ResponseEntity<StreamingResponseBody> streamEnergy(
+            @Parameter(description = "업체 ID", example = "1", required = true) @PathVariable Long companyId,
+            @Parameter(description = "기간 조회 시작일", example = "2024-06-03") @RequestParam LocalDate startDate,
+            @Parameter(description = "기간 조회 종료일", example = "2024-12-31") @RequestParam(required = false) LocalDate endDate
     ) {
-        return apiResponseManager.success(energyService.readEnergy(companyId, startDate, endDate));
+        return apiResponseManager.stream(energyService.streamEnergy(companyId, startDate, endDate));
     }
 
     /**
@@ -83,4 +302,18 @@ public class EnergyController {
     ) {
         return apiResponseManager.success(energyService.getThisAndLastMonthEnergy(companyId));
     }
+
+    /**
+     * 마감된 기간의 에너지 사용량 캐시 통계를 조회하는 API.
+     * 캐시의 적중/실패/제거 횟수와 현재 크기를 확인하여 캐시 크기를 조정할 때 사용합니다.
+     *
+     * @return 일별/월별 캐시 통계
+     */
+    @Operation(summary = "에너지 사용량 캐시 통계 조회",
+            description = "마감된 기간의 에너지 사용량 캐시의 적중/실패/제거 통계를 조회하는 API")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ApiResponseDto> readCacheStats() {
+        return apiResponseManager.success(energyService.readCacheStats());
+    }
 }
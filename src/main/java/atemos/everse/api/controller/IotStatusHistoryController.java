@@ -4,6 +4,7 @@ import atemos.everse.api.config.ApiResponseManager;
 import atemos.everse.api.config.Chargeable;
 import atemos.everse.api.domain.IotStatus;
 import atemos.everse.api.domain.IotType;
+import atemos.everse.api.domain.ResponseFormat;
 import atemos.everse.api.dto.ApiResponseDto;
 import atemos.everse.api.dto.IotStatusHistoryDto;
 import atemos.everse.api.service.IotStatusHistoryService;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -56,6 +58,8 @@ public class IotStatusHistoryController {
      * @param page                페이지 번호
      * @param size                페이지당 데이터 개수
      * @param isHourly            시간별 데이터를 포함할지 여부
+     * @param format              응답 형식, 없으면 Accept 헤더로 결정
+     * @param accept              Accept 헤더, 컬럼 형식 미디어 타입이면 컬럼 형식으로 응답
      * @return IoT 상태 이력 데이터와 함께 응답을 반환합니다.
      */
     @Operation(summary = "조건에 맞는 IoT 상태 이력 조회", description = "조건에 맞는 IoT 현황을 조회하는 API")
@@ -78,12 +82,14 @@ public class IotStatusHistoryController {
             @Parameter(description = "조회 종료 날짜", example = "2025-12-31") @RequestParam(required = false) LocalDate endDate,
             @Parameter(description = "페이지 번호", example = "0") @RequestParam(required = false) Integer page,
             @Parameter(description = "페이지 당 데이터 개수", example = "10") @RequestParam(required = false) Integer size,
-            @Parameter(description = "시간별 데이터를 포함할지 여부", example = "false") @RequestParam(required = false, defaultValue = "false") Boolean isHourly
+            @Parameter(description = "시간별 데이터를 포함할지 여부", example = "false") @RequestParam(required = false, defaultValue = "false") Boolean isHourly,
+            @Parameter(description = "응답 형식", example = "ROW") @RequestParam(required = false) ResponseFormat format,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
         // Pageable 객체 생성, null인 경우 unpaged로 처리됨
         var pageable = (page != null && size != null) ? PageRequest.of(page, size) : Pageable.unpaged();
         // 조건에 맞는 IoT 상태 이력 조회
-        return apiResponseManager.success(iotStatusHistoryService.read(
+        return apiResponseManager.success(toResponseFormat(iotStatusHistoryService.read(
                 IotStatusHistoryDto.ReadIotHistoryRequest.builder()
                         .iotHistoryId(iotHistoryId)
                         .iotId(iotId)
@@ -102,7 +108,7 @@ public class IotStatusHistoryController {
                         .size(size)
                         .isHourly(isHourly)
                         .build(),
-                pageable));
+                pageable), format, accept));
     }
 
     /**
@@ -110,18 +116,36 @@ public class IotStatusHistoryController {
      * 조회된 데이터는 시간대별로 그룹화되어 반환됩니다.
      *
      * @param companyId 업체 ID
+     * @param format (옵션) 응답 형식, 없으면 Accept 헤더로 결정
+     * @param accept (옵션) Accept 헤더, 컬럼 형식 미디어 타입이면 컬럼 형식으로 응답
      * @return 오늘 특정 업체의 시간별 IoT 상태 이력 데이터
      */
     @Operation(summary = "오늘 특정 업체의 시간별 IoT 상태 이력 조회",
             description = "오늘 특정 업체의 시간별 IoT 상태 이력을 조회하는 API")
     @GetMapping("/realtime/{companyId}")
     public ResponseEntity<ApiResponseDto> readByRealtime(
-            @Parameter(description = "업체 ID", example = "1") @PathVariable Long companyId
+            @Parameter(description = "업체 ID", example = "1") @PathVariable Long companyId,
+            @Parameter(description = "응답 형식", example = "ROW") @RequestParam(required = false) ResponseFormat format,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
         // 오늘 날짜를 startDate와 endDate로 설정하여 서비스 호출
-        return apiResponseManager.success(iotStatusHistoryService.readByCompanyId(
+        return apiResponseManager.success(toResponseFormat(iotStatusHistoryService.readByCompanyId(
                 IotStatusHistoryDto.ReadIotHistoryRequest.builder()
                         .companyId(companyId)
-                        .build()));
+                        .build()), format, accept));
+    }
+
+    /**
+     * 요청한 응답 형식에 맞게 IoT 상태 이력 응답을 변환합니다.
+     *
+     * @param pageResponse 기본 형식의 IoT 상태 이력 응답
+     * @param format 쿼리 파라미터로 지정한 응답 형식
+     * @param accept Accept 헤더
+     * @return 컬럼 형식을 요청한 경우 컬럼 형식 응답, 그 외에는 기본 형식 응답
+     */
+    private Object toResponseFormat(IotStatusHistoryDto.ReadIotHistoryPageResponse pageResponse, ResponseFormat format, String accept) {
+        return ResponseFormat.resolve(format, accept) == ResponseFormat.COLUMNAR
+                ? new IotStatusHistoryDto.ColumnarResponse(pageResponse)
+                : pageResponse;
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package atemos.everse.api.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 보관 기간이 지난 시계열 데이터를 보관하는 아카이브 파일의 종류를 나타내는 열거형입니다.
+ * 아카이브 파일은 업체별, 월별(업체 타임존 기준)로 하나씩 만듭니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ArchiveKind {
+    /**
+     * 에너지 사용량 (IoT 장비별 기준 시각과 사용량)
+     */
+    ENERGY(1, "energy", PartitionedTable.ENERGY),
+    /**
+     * IoT 장비 상태 이력 (IoT 장비별 생성 일시와 상태)
+     */
+    IOT_STATUS_HISTORY(2, "iot-status-history", PartitionedTable.IOT_STATUS_HISTORY),
+    /**
+     * AI 예측 에너지 사용량 (예측 시각과 예측 사용량)
+     */
+    AI_FORECAST_ENERGY(3, "ai-forecast-energy", PartitionedTable.AI_FORECAST_ENERGY);
+
+    /**
+     * 파일 헤더에 기록하는 종류 코드
+     */
+    private final int code;
+    /**
+     * 파일 이름 접두사
+     */
+    private final String filePrefix;
+    /**
+     * 원본 테이블
+     */
+    private final PartitionedTable table;
+}
@@ -0,0 +1,19 @@
+package atemos.everse.api.domain;
+
+/**
+ * 같은 IoT 장비, 같은 기준 시각의 에너지 사용량이 다시 수집되었을 때의 처리 방식을 나타내는 열거형입니다.
+ */
+public enum EnergyConflictPolicy {
+    /**
+     * 나중에 수집된 사용량으로 덮어씁니다. 계량기가 같은 데이터를 재전송하거나 배치 작업이 재실행되는 경우에 적합합니다.
+     */
+    REPLACE,
+    /**
+     * 먼저 수집된 사용량을 유지하고 나중에 수집된 사용량은 무시합니다.
+     */
+    KEEP_FIRST,
+    /**
+     * 기존 사용량에 나중에 수집된 사용량을 더합니다. 한 시간대의 사용량을 여러 번에 나누어 보내는 경우에 적합합니다.
+     */
+    SUM
+}
@@ -0,0 +1,19 @@
+package atemos.everse.api.domain;
+
+/**
+ * 에너지 사용량 집계(Rollup) 데이터의 집계 단위를 정의하는 열거형입니다.
+ */
+public enum EnergyRollupGranularity {
+    /**
+     * 시간별 집계입니다. 집계 기준 시각은 해당 시간의 정각입니다.
+     */
+    HOURLY,
+    /**
+     * 일별 집계입니다. 집계 기준 시각은 해당 일의 0시입니다.
+     */
+    DAILY,
+    /**
+     * 월별 집계입니다. 집계 기준 시각은 해당 월 1일의 0시입니다.
+     */
+    MONTHLY
+}
@@ -0,0 +1,17 @@
+package atemos.everse.api.domain;
+
+/**
+ * 에너지 사용량을 데이터베이스에 저장하는 방식을 나타내는 열거형입니다.
+ * 저장 방식과 관계없이 EnergyRepository와 EnergyJdbcRepository의 같은 메서드로 저장하고 조회합니다.
+ */
+public enum EnergyStorageLayout {
+    /**
+     * 수집한 사용량 한 건을 에너지 테이블(energy)의 한 행으로 저장합니다.
+     */
+    ROW,
+    /**
+     * IoT 장비의 하루치 사용량(예: 24건 또는 96건)을 에너지 버킷 테이블(energy_bucket)의 한 행에 배열로 묶어 저장합니다.
+     * 행 수와 인덱스 크기가 수집 간격의 개수만큼 줄어들며, 기간 조회 시 읽는 행 수도 줄어듭니다.
+     */
+    BUCKETED
+}
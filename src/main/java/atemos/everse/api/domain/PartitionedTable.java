@@ -0,0 +1,55 @@
+package atemos.everse.api.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 월 단위 RANGE 파티션으로 관리하는 시계열 테이블을 나타내는 열거형입니다.
+ * 오래된 데이터는 파티션 단위로 삭제하고, 파티션으로 삭제할 수 없는 나머지 데이터만 업체별로 나누어 삭제합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum PartitionedTable {
+    /**
+     * 에너지 사용량 (기준 시각, 업체 타임존 기준)
+     */
+    ENERGY("energy", "reference_time", false,
+            "iot_id IN (SELECT id FROM iot WHERE company_id IN (%s))"),
+    /**
+     * 에너지 버킷 (기준 일, 업체 타임존 기준)
+     */
+    ENERGY_BUCKET("energy_bucket", "bucket_date", false,
+            "iot_id IN (SELECT id FROM iot WHERE company_id IN (%s))"),
+    /**
+     * IoT 장비 상태 이력 (생성 일시, UTC)
+     */
+    IOT_STATUS_HISTORY("iot_status_history", "created_date", true,
+            "iot_id IN (SELECT id FROM iot WHERE company_id IN (%s))"),
+    /**
+     * API 호출 로그 (요청 일시, UTC)
+     */
+    API_CALL_LOG("api_call_log", "request_time", true,
+            "company_id IN (%s)"),
+    /**
+     * AI 예측 에너지 사용량 (예측 시각, 업체 타임존 기준)
+     */
+    AI_FORECAST_ENERGY("ai_forecast_energy", "forecast_time", false,
+            "company_id IN (%s)");
+
+    /**
+     * 테이블 이름
+     */
+    private final String tableName;
+    /**
+     * 파티션 기준 컬럼 이름
+     */
+    private final String columnName;
+    /**
+     * 파티션 기준 컬럼이 UTC 시각(Instant)인지 여부 (false이면 업체 타임존 기준 시각)
+     */
+    private final boolean utc;
+    /**
+     * 업체 ID 목록으로 행을 한정하는 조건 (%s에 업체 ID 목록의 자리표시자가 들어감)
+     */
+    private final String companyCondition;
+}
@@ -0,0 +1,41 @@
+package atemos.everse.api.domain;
+
+import org.springframework.http.MediaType;
+
+/**
+ * 시계열 조회 API의 응답 형식을 나타내는 열거형입니다.
+ */
+public enum ResponseFormat {
+    /**
+     * 기본 형식입니다. 시간대마다 이름이 있는 필드를 가진 객체를 반환합니다.
+     */
+    ROW,
+    /**
+     * 컬럼 형식입니다. 하나의 시각 배열과 지표별 값 배열을 반환합니다.
+     */
+    COLUMNAR;
+
+    /**
+     * 컬럼 형식을 요청할 때 Accept 헤더에 지정하는 미디어 타입입니다.
+     */
+    public static final String COLUMNAR_MEDIA_TYPE = "application/vnd.everse.columnar+json";
+
+    /**
+     * 쿼리 파라미터와 Accept 헤더로부터 응답 형식을 결정합니다. 쿼리 파라미터가 우선합니다.
+     *
+     * @param format 쿼리 파라미터로 지정한 응답 형식 (없으면 null)
+     * @param accept Accept 헤더 값 (없으면 null)
+     * @return 응답 형식
+     */
+    public static ResponseFormat resolve(ResponseFormat format, String accept) {
+        if (format != null) {
+            return format;
+        }
+        if (accept != null && MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> mediaType.isCompatibleWith(MediaType.parseMediaType(COLUMNAR_MEDIA_TYPE))
+                        && !mediaType.isWildcardType() && !mediaType.isWildcardSubtype())) {
+            return COLUMNAR;
+        }
+        return ROW;
+    }
+}
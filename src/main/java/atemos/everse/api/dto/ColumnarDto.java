@@ -0,0 +1,95 @@
+package atemos.everse.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 시계열 데이터를 컬럼 형식으로 전달하기 위한 데이터 전송 객체(DTO)를 정의한 클래스입니다.
+ */
+public class ColumnarDto {
+    /**
+     * 하나의 시각 배열과 지표별 값 배열로 구성된 시계열입니다.
+     * 모든 값 배열은 시각 배열과 길이가 같고 같은 인덱스가 같은 시각을 나타냅니다.
+     * 시각이 일정한 간격으로 빠짐없이 이어지면 시각 배열 대신 시작 시각(start)과 간격(step)만 담습니다.
+     *
+     * @param <T> 시각 타입 (LocalDateTime, LocalDate 등)
+     */
+    @Getter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Series<T extends Temporal> {
+        /**
+         * 첫 시각 (시각이 일정한 간격으로 이어지는 경우)
+         */
+        private final T start;
+        /**
+         * 시각 간격 (ISO-8601 기간 형식, 예: PT1H, P1D, P1M)
+         */
+        private final String step;
+        /**
+         * 데이터 개수
+         */
+        private final int size;
+        /**
+         * 시각 배열 (시각이 일정한 간격으로 이어지지 않는 경우)
+         */
+        private final List<T> time;
+        /**
+         * 지표 이름별 값 배열
+         */
+        private final Map<String, List<?>> values = new LinkedHashMap<>();
+
+        /**
+         * 시각 배열로 시계열을 생성합니다.
+         *
+         * @param time 시각 배열 (오름차순)
+         * @param step 기대하는 시각 간격 (없으면 null)
+         */
+        public Series(List<T> time, TemporalAmount step) {
+            this.size = time.size();
+            if (step != null && !time.isEmpty() && isRegular(time, step)) {
+                this.start = time.get(0);
+                this.step = step.toString();
+                this.time = null;
+            } else {
+                this.start = null;
+                this.step = null;
+                this.time = time;
+            }
+        }
+
+        /**
+         * 행 목록에서 값을 추출하여 지표 값 배열을 추가합니다.
+         *
+         * @param name 지표 이름
+         * @param rows 시각 배열과 같은 순서의 행 목록
+         * @param extractor 행에서 값을 추출하는 함수
+         * @return 현재 시계열
+         */
+        public <R> Series<T> column(String name, List<R> rows, Function<R, ?> extractor) {
+            var column = new ArrayList<>(rows.size());
+            rows.forEach(row -> column.add(extractor.apply(row)));
+            values.put(name, column);
+            return this;
+        }
+
+        /**
+         * 시각 배열이 첫 시각부터 일정한 간격으로 빠짐없이 이어지는지 확인합니다.
+         */
+        private static boolean isRegular(List<? extends Temporal> time, TemporalAmount step) {
+            for (int i = 1; i < time.size(); i++) {
+                if (!time.get(i - 1).plus(step).equals(time.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package atemos.everse.api.dto;
 
+import atemos.everse.api.domain.EnergyRatePeakType;
+import atemos.everse.api.domain.EnergyStorageLayout;
+import atemos.everse.api.entity.Energy;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +54,55 @@ public class EnergyDto {
         private BigDecimal forecastAccuracy;
     }
 
+    /**
+     * 기준 시각별 에너지 사용량 합계를 담는 조회 전용 객체입니다.
+     * 에너지 데이터를 엔티티로 불러오지 않고 데이터베이스에서 합산한 결과를 받을 때 사용합니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class UsageSum {
+        // 기준 시각
+        private LocalDateTime referenceTime;
+        // 에너지 사용량 합계
+        private BigDecimal usage;
+
+        /**
+         * 데이터베이스에서 시간 단위로 그룹화한 결과(연, 월, 일, 시)로부터 객체를 생성합니다.
+         *
+         * @param year 연도
+         * @param month 월
+         * @param day 일
+         * @param hour 시
+         * @param usage 해당 시간대의 에너지 사용량 합계
+         */
+        public UsageSum(Integer year, Integer month, Integer day, Integer hour, BigDecimal usage) {
+            this(LocalDateTime.of(year, month, day, hour, 0), usage);
+        }
+    }
+
+    /**
+     * 데이터베이스에서 UTC epoch 시간별로 합산한 에너지 사용량입니다.
+     * 행마다 타임존을 변환하지 않고, 합산한 시간대마다 한 번만 업체 타임존 기준 시각으로 변환합니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class EpochHourUsageSum {
+        // 시간대의 UTC epoch 시간
+        private Integer epochHour;
+        // 에너지 사용량 합계
+        private BigDecimal usage;
+
+        /**
+         * 업체 타임존 기준 시각별 에너지 사용량 합계로 변환합니다.
+         *
+         * @param zoneId 업체 타임존
+         * @return 시간대(정각, 업체 타임존 기준)별 에너지 사용량 합계
+         */
+        public UsageSum toUsageSum(ZoneId zoneId) {
+            return new UsageSum(Energy.fromEpochHour(epochHour, zoneId), usage);
+        }
+    }
+
     /**
      * 일별 에너지 사용량과 요금 등의 데이터들을 담습니다.
      * 시간별 데이터를 key로 사용하여 Map으로 관리합니다.
@@ -139,6 +199,97 @@ public class EnergyDto {
         private Map<String, MonthlyResponse> monthlyResponse;
     }
 
+    /**
+     * 전체 에너지 사용량과 요금 등의 데이터들을 컬럼 형식으로 담습니다.
+     * 월별, 일별, 시간별 데이터를 각각 하나의 시각 배열과 지표별 값 배열로 전달하므로
+     * 시간대마다 필드 이름을 반복하는 기본 형식보다 응답 크기와 직렬화 비용이 작습니다.
+     */
+    @Getter
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ColumnarResponse {
+        // 전체 실제 에너지 사용량
+        private BigDecimal summaryUsage;
+        // 전체 AI 예측 사용량
+        private BigDecimal summaryForecastUsage;
+        // 전체 실제와 AI 예측 에너지 사용량의 차이
+        private BigDecimal summaryUsageForecastDifference;
+        // 전체 실제 요금
+        private BigDecimal summaryBill;
+        // 전체 AI 예측 요금
+        private BigDecimal summaryForecastBill;
+        // 전체 실제와 AI 예측 요금의 차이
+        private BigDecimal summaryBillForecastDifference;
+        // 전체 실제와 AI 예측의 편차율
+        private BigDecimal summaryDeviationRate;
+        // 전체 실제와 AI 예측의 정확도
+        private BigDecimal summaryForecastAccuracy;
+        // 월별 데이터 (시각은 월의 첫날)
+        private ColumnarDto.Series<LocalDate> monthly;
+        // 일별 데이터
+        private ColumnarDto.Series<LocalDate> daily;
+        // 시간별 데이터
+        private ColumnarDto.Series<LocalDateTime> hourly;
+
+        /**
+         * 기본 형식의 전체 응답을 컬럼 형식으로 변환합니다.
+         *
+         * @param summaryResponse 기본 형식의 전체 응답
+         */
+        public ColumnarResponse(SummaryResponse summaryResponse) {
+            this.summaryUsage = summaryResponse.getSummaryUsage();
+            this.summaryForecastUsage = summaryResponse.getSummaryForecastUsage();
+            this.summaryUsageForecastDifference = summaryResponse.getSummaryUsageForecastDifference();
+            this.summaryBill = summaryResponse.getSummaryBill();
+            this.summaryForecastBill = summaryResponse.getSummaryForecastBill();
+            this.summaryBillForecastDifference = summaryResponse.getSummaryBillForecastDifference();
+            this.summaryDeviationRate = summaryResponse.getSummaryDeviationRate();
+            this.summaryForecastAccuracy = summaryResponse.getSummaryForecastAccuracy();
+            // 월, 일, 시간 순으로 정렬한 행 목록
+            var months = summaryResponse.getMonthlyResponse() == null ? List.<MonthlyResponse>of()
+                    : summaryResponse.getMonthlyResponse().values().stream()
+                    .sorted(Comparator.comparing(MonthlyResponse::getReferenceMonth))
+                    .toList();
+            var days = months.stream()
+                    .filter(month -> month.getDailyResponse() != null)
+                    .flatMap(month -> month.getDailyResponse().values().stream())
+                    .sorted(Comparator.comparing(DailyResponse::getReferenceDate))
+                    .toList();
+            var hours = days.stream()
+                    .filter(day -> day.getHourlyResponse() != null)
+                    .flatMap(day -> day.getHourlyResponse().stream())
+                    .sorted(Comparator.comparing(HourlyResponse::getReferenceTime))
+                    .toList();
+            this.monthly = new ColumnarDto.Series<>(months.stream().map(MonthlyResponse::getReferenceMonth).toList(), Period.ofMonths(1))
+                    .column("usage", months, MonthlyResponse::getMonthlyUsage)
+                    .column("forecastUsage", months, MonthlyResponse::getMonthlyForecastUsage)
+                    .column("actualAndForecastUsageDifference", months, MonthlyResponse::getMonthlyActualAndForecastUsageDifference)
+                    .column("bill", months, MonthlyResponse::getMonthlyBill)
+                    .column("forecastBill", months, MonthlyResponse::getMonthlyForecastBill)
+                    .column("actualAndForecastBillDifference", months, MonthlyResponse::getMonthlyActualAndForecastBillDifference)
+                    .column("deviationRate", months, MonthlyResponse::getMonthlyDeviationRate)
+                    .column("forecastAccuracy", months, MonthlyResponse::getMonthlyForecastAccuracy);
+            this.daily = new ColumnarDto.Series<>(days.stream().map(DailyResponse::getReferenceDate).toList(), Period.ofDays(1))
+                    .column("usage", days, DailyResponse::getDailyUsage)
+                    .column("forecastUsage", days, DailyResponse::getDailyForecastUsage)
+                    .column("actualAndForecastUsageDifference", days, DailyResponse::getDailyActualAndForecastUsageDifference)
+                    .column("bill", days, DailyResponse::getDailyBill)
+                    .column("forecastBill", days, DailyResponse::getDailyForecastBill)
+                    .column("actualAndForecastBillDifference", days, DailyResponse::getDailyActualAndForecastBillDifference)
+                    .column("deviationRate", days, DailyResponse::getDailyDeviationRate)
+                    .column("forecastAccuracy", days, DailyResponse::getDailyForecastAccuracy);
+            this.hourly = new ColumnarDto.Series<>(hours.stream().map(HourlyResponse::getReferenceTime).toList(), Duration.ofHours(1))
+                    .column("usage", hours, HourlyResponse::getUsage)
+                    .column("forecastUsage", hours, HourlyResponse::getForecastUsage)
+                    .column("actualAndForecastUsageDifference", hours, HourlyResponse::getActualAndForecastUsageDifference)
+                    .column("bill", hours, HourlyResponse::getBill)
+                    .column("forecastBill", hours, HourlyResponse::getForecastBill)
+                    .column("actualAndForecastBillDifference", hours, HourlyResponse::getActualAndForecastBillDifference)
+                    .column("deviationRate", hours, HourlyResponse::getDeviationRate)
+                    .column("forecastAccuracy", hours, HourlyResponse::getForecastAccuracy);
+        }
+    }
+
     /**
      * 실시간 및 전월 에너지 사용량과 요금 데이터를 담습니다.
      */
@@ -164,4 +315,372 @@ public class EnergyDto {
         private SummaryResponse thisMonthData;
         private SummaryResponse lastMonthData;
     }
-}
\ No newline at end of file
+
+    /**
+     * 에너지 사용량 캐시의 적중/실패/제거 통계를 담는 응답 객체입니다.
+     * 캐시 크기를 조정할 때 참고합니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class CacheStatsResponse {
+        // 캐시 이름
+        private String name;
+        // 현재 저장된 항목 수 (추정치)
+        private long estimatedSize;
+        // 최대 항목 수
+        private long maximumSize;
+        // 적중 횟수
+        private long hitCount;
+        // 실패 횟수
+        private long missCount;
+        // 적중률 (0~1)
+        private double hitRate;
+        // 크기 제한으로 제거된 항목 수
+        private long evictionCount;
+    }
+
+    /**
+     * 에너지 사용량 일괄 수집 요청을 위한 DTO입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class IngestRequest {
+        /**
+         * 수집할 에너지 사용량 목록 (최대 10,000건)
+         */
+        @Schema(description = "에너지 사용량 목록")
+        @NotEmpty
+        @Size(max = 10_000)
+        @Valid
+        private List<Reading> readings;
+    }
+
+    /**
+     * 수집할 IoT 장비 한 대의 에너지 사용량입니다.
+     * IoT 장비는 ID 또는 시리얼 넘버로 지정하며, 둘 다 지정하면 같은 장비를 가리켜야 합니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Reading {
+        /**
+         * IoT 장비 ID
+         * - 예: 1
+         */
+        @Schema(description = "IoT ID", defaultValue = "1")
+        @Positive
+        private Long iotId;
+        /**
+         * 시리얼 넘버
+         * - 예: "atemos-1234"
+         */
+        @Schema(description = "시리얼 넘버", defaultValue = "atemos-1234")
+        @Size(max = 30)
+        private String serialNumber;
+        /**
+         * 기준 시각 (업체 타임존 기준)
+         * - 예: "2024-07-22T14:00:00"
+         */
+        @Schema(description = "기준 시각", defaultValue = "2024-07-22T14:00:00")
+        @NotNull
+        private LocalDateTime referenceTime;
+        /**
+         * 에너지 사용량
+         * - 예: 15.22 (kWh)
+         */
+        @Schema(description = "에너지 사용량", defaultValue = "15.22")
+        @NotNull
+        @PositiveOrZero
+        private BigDecimal facilityUsage;
+    }
+
+    /**
+     * 에너지 사용량 일괄 수집 결과를 담는 응답 객체입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class IngestResponse {
+        // 요청한 에너지 사용량 건수
+        private int received;
+        // 새로 저장한 에너지 사용량 건수
+        private int inserted;
+        // 이미 있는 사용량을 처리 방식에 따라 갱신한 건수
+        private int updated;
+        // 이미 있는 사용량을 유지하거나 요청 안에서 중복되어 합쳐진 건수
+        private int skipped;
+        // 검증에 실패하여 저장하지 않은 에너지 사용량 목록
+        private List<Rejection> rejected;
+    }
+
+    /**
+     * 저장하지 않은 에너지 사용량과 그 사유입니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Rejection {
+        // 요청 목록에서의 위치 (0부터 시작)
+        private int index;
+        // 저장하지 않은 사유
+        private String reason;
+    }
+
+    /**
+     * 검증을 마치고 데이터베이스에 저장할 에너지 사용량 한 건입니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ReadingRow {
+        // IoT 장비 ID
+        private Long iotId;
+        // 업체 ID
+        private Long companyId;
+        // 기준 시각 (업체 타임존 기준)
+        private LocalDateTime referenceTime;
+        // 에너지 사용량 (소수점 4자리)
+        private BigDecimal facilityUsage;
+        // 기준 시각이 속한 시간대의 UTC epoch 시간 (Energy.toEpochHour())
+        private Integer epochHour;
+    }
+
+    /**
+     * 여러 업체(포트폴리오)의 기간 내 에너지 사용량과 요금 요약을 담는 응답 객체입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PortfolioResponse {
+        // 기간 조회 시작일
+        private LocalDate startDate;
+        // 기간 조회 종료일
+        private LocalDate endDate;
+        // 업체별 요약 (업체 ID 순)
+        private List<PortfolioCompany> companies;
+        // 전체 업체의 합계 (요금은 국가별 요금 단위를 환산하지 않은 합계)
+        private SummaryResponse total;
+    }
+
+    /**
+     * 포트폴리오에 포함된 업체 하나의 기간 내 에너지 사용량과 요금 요약입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PortfolioCompany {
+        // 업체 ID
+        private Long companyId;
+        // 업체명
+        private String companyName;
+        // 기간 내 에너지 사용량과 요금 요약 (월별 데이터 제외)
+        private SummaryResponse summary;
+    }
+
+    /**
+     * 기간 내 에너지 사용량 상위 IoT 장비를 피크 타입별로 담는 응답 객체입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TopDevicesResponse {
+        // 업체 ID (전체 업체를 조회하면 null)
+        private Long companyId;
+        // 기간 조회 시작일
+        private LocalDate startDate;
+        // 기간 조회 종료일
+        private LocalDate endDate;
+        // 피크 타입별 상위 장비 (사용량이 있는 피크 타입만)
+        private List<PeakTypeTopDevices> peakTypes;
+    }
+
+    /**
+     * 한 피크 타입의 전체 사용량과 요금, 사용량 상위 IoT 장비입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PeakTypeTopDevices {
+        // 피크 타입
+        private EnergyRatePeakType peakType;
+        // 피크 타입 시간대의 전체 장비 사용량 합계
+        private BigDecimal totalUsage;
+        // 피크 타입 시간대의 전체 장비 요금 합계
+        private BigDecimal totalBill;
+        // 사용량 상위 장비 (사용량 내림차순)
+        private List<DeviceConsumption> devices;
+    }
+
+    /**
+     * IoT 장비 하나의 피크 타입 시간대 사용량과 요금입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DeviceConsumption {
+        // IoT 장비 ID
+        private Long iotId;
+        // 업체 ID
+        private Long companyId;
+        // IoT 장비 시리얼 번호
+        private String serialNumber;
+        // 사용량
+        private BigDecimal usage;
+        // 요금
+        private BigDecimal bill;
+        // 피크 타입 전체 요금 중 장비 요금의 비율 (%)
+        private BigDecimal billShare;
+    }
+
+    /**
+     * 업체의 기간 내 시간별 수요 분석 결과를 담는 응답 객체입니다.
+     * 분위수와 부하 지속 곡선은 일별 분위수 스케치를 병합하여 추정한 값으로, 상대 오차가 1% 이내입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class DemandResponse {
+        // 업체 ID
+        private Long companyId;
+        // 기간 조회 시작일
+        private LocalDate startDate;
+        // 기간 조회 종료일
+        private LocalDate endDate;
+        // 에너지 사용량이 있는 시간 수
+        private long hours;
+        // 시간별 수요의 중앙값
+        private BigDecimal p50;
+        // 시간별 수요의 95번째 백분위수
+        private BigDecimal p95;
+        // 시간별 수요의 99번째 백분위수
+        private BigDecimal p99;
+        // 수요가 가장 큰 시간대 (업체 타임존 기준 정각)
+        private LocalDateTime peakTime;
+        // 가장 큰 시간별 수요
+        private BigDecimal peakUsage;
+        // 부하 지속 곡선 (시간 비율 0%부터 100%까지 1% 간격)
+        private List<LoadDurationPoint> loadDurationCurve;
+    }
+
+    /**
+     * 부하 지속 곡선의 한 점입니다. 전체 시간 중 percentOfHours% 동안 시간별 수요가 usage 이상이었음을 나타냅니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LoadDurationPoint {
+        // 전체 시간 중 비율 (%)
+        private int percentOfHours;
+        // 시간별 수요
+        private BigDecimal usage;
+    }
+
+    /**
+     * 최근 주들의 요일·시각(7 × 24)별 평균 에너지 사용량과 요금(히트맵)을 담는 응답 객체입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HeatmapResponse {
+        // 업체 ID
+        private Long companyId;
+        // 이번 주를 포함한 주 수
+        private int weeks;
+        // 집계 시작일 (가장 오래된 주의 월요일, 업체 타임존 기준)
+        private LocalDate startDate;
+        // 집계 종료일 (오늘, 업체 타임존 기준)
+        private LocalDate endDate;
+        // 요일·시각별 집계 (월요일 0시부터 일요일 23시까지 168칸)
+        private List<HeatmapCell> cells;
+    }
+
+    /**
+     * 히트맵의 한 칸(요일·시각)의 시간 사용량과 요금 집계입니다. 사용량이 있는 시간이 없으면 평균·최소·최대는 포함하지 않습니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class HeatmapCell {
+        // 요일
+        private DayOfWeek dayOfWeek;
+        // 시각 (0~23)
+        private int hour;
+        // 사용량이 있는 시간 수
+        private int hours;
+        // 평균 시간 사용량
+        private BigDecimal averageUsage;
+        // 최소 시간 사용량
+        private BigDecimal minUsage;
+        // 최대 시간 사용량
+        private BigDecimal maxUsage;
+        // 평균 시간 요금
+        private BigDecimal averageBill;
+    }
+
+    /**
+     * 에너지 저장 방식별 저장 크기와 기간 조회 성능을 비교한 결과를 담는 응답 객체입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StorageLayoutBenchmarkResponse {
+        // 업체 ID
+        private Long companyId;
+        // 비교 기간 시작일
+        private LocalDate startDate;
+        // 비교 기간 종료일
+        private LocalDate endDate;
+        // 에너지 테이블에서 저장 방식 비교용 임시 버킷 테이블로 복사한 에너지 사용량 건수
+        private long copiedReadings;
+        // 저장 방식별 기간 조회 반복 횟수
+        private int iterations;
+        // 저장 방식별 비교 결과
+        private List<StorageLayoutBenchmark> layouts;
+    }
+
+    /**
+     * 에너지 저장 방식 하나의 저장 크기와 기간 조회 성능입니다.
+     */
+    @Builder
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StorageLayoutBenchmark {
+        // 저장 방식
+        private EnergyStorageLayout layout;
+        // 테이블 이름
+        private String tableName;
+        // 테이블 전체 행 수 (통계 정보 기준 추정치)
+        private long tableRows;
+        // 테이블 데이터 크기 (바이트)
+        private long dataBytes;
+        // 테이블 인덱스 크기 (바이트)
+        private long indexBytes;
+        // 기간 조회로 읽은 행 수
+        private long scannedRows;
+        // 기간 조회로 읽은 에너지 사용량 건수
+        private long readings;
+        // 에너지 사용량 한 건당 저장 크기 (행당 평균 크기를 행당 사용량 건수로 나눈 값, 바이트)
+        private Double bytesPerReading;
+        // 시간대별 합계 기간 조회 소요 시간의 중앙값 (밀리초)
+        private double medianMillis;
+        // 시간대별 합계 기간 조회 소요 시간의 95백분위수 (밀리초)
+        private double p95Millis;
+    }
+}
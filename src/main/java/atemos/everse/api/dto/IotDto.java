@@ -77,6 +77,12 @@ public class IotDto {
         @Schema(description = "단가", defaultValue = "60")
         @PositiveOrZero
         private BigDecimal price;
+        /**
+         * 에너지 사용량 수집 간격(분), 없으면 60
+         * - 예: 15
+         */
+        @Schema(description = "에너지 사용량 수집 간격(분)", defaultValue = "60")
+        private Integer readingIntervalMinutes;
     }
 
     /**
@@ -130,6 +136,12 @@ public class IotDto {
         @Schema(description = "단가", defaultValue = "50")
         @PositiveOrZero
         private BigDecimal price;
+        /**
+         * 에너지 사용량 수집 간격(분)
+         * - 예: 15
+         */
+        @Schema(description = "에너지 사용량 수집 간격(분)", defaultValue = "15")
+        private Integer readingIntervalMinutes;
     }
 
     /**
@@ -244,6 +256,11 @@ public class IotDto {
          * - 예: 60 (달러)
          */
         private BigDecimal price;
+        /**
+         * 에너지 사용량 수집 간격(분)
+         * - 예: 15
+         */
+        private Integer readingIntervalMinutes;
         /**
          * 데이터 생성일
          * - 예: "2024-07-22T14:30:00"
@@ -265,6 +282,7 @@ public class IotDto {
             this.type = iot.getType();
             this.location = iot.getLocation();
             this.price = iot.getPrice();
+            this.readingIntervalMinutes = iot.getReadingIntervalMinutes();
             this.createdDate = iot.getCreatedDate().atZone(ZoneId.of("UTC")).withZoneSameInstant(zoneId).toLocalDateTime();
             this.modifiedDate = iot.getModifiedDate().atZone(ZoneId.of("UTC")).withZoneSameInstant(zoneId).toLocalDateTime();
         }
@@ -315,4 +333,46 @@ public class IotDto {
             return createdDate != null ? LocalDate.ofInstant(createdDate, zoneId) : null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 에너지 사용량 수집 시 IoT 장비를 검증하기 위한 조회 전용 객체입니다.
+     * 엔티티를 불러오지 않고 장비 식별 정보와 소속 업체, 업체의 타임존만 조회합니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RegistryEntry {
+        private Long iotId;          // IoT 장비 ID
+        private Long companyId;      // 업체 ID
+        private String serialNumber; // 시리얼 넘버
+        private IotStatus status;    // IoT 장비 상태
+        private String timeZone;     // 업체가 속한 국가의 타임존
+        private Integer readingIntervalMinutes; // 에너지 사용량 수집 간격(분)
+
+        /**
+         * @return 업체가 속한 국가의 타임존
+         */
+        public ZoneId getZoneId() {
+            return ZoneId.of(timeZone);
+        }
+    }
+
+    /**
+     * 업체별 IoT 장비 수를 담는 조회 전용 객체입니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CompanyIotCount {
+        private Long companyId; // 업체 ID
+        private Long count;     // IoT 장비 수
+    }
+
+    /**
+     * IoT 장비 ID와 상태를 담는 조회 전용 객체입니다.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StatusEntry {
+        private Long iotId;       // IoT 장비 ID
+        private IotStatus status; // IoT 장비 상태
+    }
+}
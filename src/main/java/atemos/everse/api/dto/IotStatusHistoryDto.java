@@ -13,9 +13,11 @@ import jakarta.validation.constraints.Size;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -244,10 +246,15 @@ public class IotStatusHistoryDto {
          */
         private Map<IotStatus, Long> iotStatus;
         /**
-         * 데이터 생성일
+         * 데이터 생성일 (상태가 시작된 일시)
          * - 예: "2024-07-22T14:30:00"
          */
         private Instant createdDate;
+        /**
+         * 상태가 끝난 일시 (아직 유지 중이면 없음)
+         * - 예: "2024-07-22T18:00:00"
+         */
+        private Instant endDate;
         /**
          * IoT 장비 이력 엔티티를 기반으로 DTO를 생성하는 생성자
          */
@@ -261,6 +268,7 @@ public class IotStatusHistoryDto {
             this.status = iotStatusHistory.getStatus();
             this.location = iotStatusHistory.getIot().getLocation();
             this.createdDate = iotStatusHistory.getCreatedDate();
+            this.endDate = iotStatusHistory.getEndDate();
         }
     }
 
@@ -294,4 +302,64 @@ public class IotStatusHistoryDto {
          */
         private Integer totalPages;
     }
+
+    /**
+     * IoT 현황 목록을 컬럼 형식으로 담는 응답 DTO입니다.
+     * 시간별로 집계한 목록은 집계 시각 배열과 상태별 개수 배열로, 이력 목록은 생성일 배열과 필드별 값 배열로 전달합니다.
+     */
+    @Getter
+    @NoArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ColumnarResponse {
+        /**
+         * IoT 현황 시계열
+         */
+        private ColumnarDto.Series<?> iotHistory;
+        /**
+         * IoT 기기 상태별 개수
+         */
+        private Map<IotStatus, Long> iotStatus;
+        /**
+         * 전체 row 개수
+         */
+        private Long totalElements;
+        /**
+         * 전체 페이지 수
+         */
+        private Integer totalPages;
+
+        /**
+         * 기본 형식의 IoT 현황 응답을 컬럼 형식으로 변환합니다.
+         *
+         * @param pageResponse 기본 형식의 IoT 현황 응답
+         */
+        public ColumnarResponse(ReadIotHistoryPageResponse pageResponse) {
+            var rows = pageResponse.getIotHistoryList() == null ? List.<ReadIotHistoryResponse>of() : pageResponse.getIotHistoryList();
+            if (!rows.isEmpty() && rows.stream().allMatch(row -> row.getReferenceTime() != null)) {
+                // 시간별로 집계한 목록: 집계 시각 순으로 정렬하고 상태별 개수 배열 생성
+                var hours = rows.stream()
+                        .sorted(Comparator.comparing(ReadIotHistoryResponse::getReferenceTime))
+                        .toList();
+                var series = new ColumnarDto.Series<>(hours.stream().map(ReadIotHistoryResponse::getReferenceTime).toList(), Duration.ofHours(1));
+                for (var status : IotStatus.values()) {
+                    series.column(status.name(), hours, row -> row.getIotStatus() == null ? 0L : row.getIotStatus().getOrDefault(status, 0L));
+                }
+                this.iotHistory = series;
+            } else {
+                // 이력 목록: 조회 순서를 유지하고 필드별 값 배열 생성
+                this.iotHistory = new ColumnarDto.Series<>(rows.stream().map(ReadIotHistoryResponse::getCreatedDate).toList(), null)
+                        .column("iotHistoryId", rows, ReadIotHistoryResponse::getIotHistoryId)
+                        .column("iotId", rows, ReadIotHistoryResponse::getIotId)
+                        .column("companyId", rows, ReadIotHistoryResponse::getCompanyId)
+                        .column("companyName", rows, ReadIotHistoryResponse::getCompanyName)
+                        .column("serialNumber", rows, ReadIotHistoryResponse::getSerialNumber)
+                        .column("type", rows, ReadIotHistoryResponse::getType)
+                        .column("status", rows, ReadIotHistoryResponse::getStatus)
+                        .column("location", rows, ReadIotHistoryResponse::getLocation);
+            }
+            this.iotStatus = pageResponse.getIotStatus();
+            this.totalElements = pageResponse.getTotalElements();
+            this.totalPages = pageResponse.getTotalPages();
+        }
+    }
 }
\ No newline at end of file
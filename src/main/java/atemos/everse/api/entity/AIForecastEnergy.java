@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "ai_forecast_energy")
+@Table(name = "ai_forecast_energy",
+        indexes = @Index(name = "idx_ai_forecast_energy_company_epoch_hour", columnList = "company_id, epoch_hour"))
 public class AIForecastEnergy {
     /**
      * AI 예측 에너지 사용량의 고유 식별자입니다.
@@ -35,9 +36,10 @@ public class AIForecastEnergy {
     /**
      * AI 예측 에너지를 사용하는 업체입니다.
      * - 지연 로딩을 사용하여 필요할 때만 로딩합니다.
+     * - 월별 파티션으로 나누기 위해 외래 키 제약 조건을 만들지 않습니다.
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(nullable = false, name = "company_id")
+    @JoinColumn(nullable = false, name = "company_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Company company;
     /**
      * AI 예측 에너지 사용량입니다.
@@ -53,6 +55,12 @@ public class AIForecastEnergy {
      */
     @Column
     private LocalDateTime forecastTime;
+    /**
+     * 예측 기준일시가 속한 시간대의 UTC epoch 시간입니다.
+     * - Energy.toEpochHour()로 계산하며, 컬럼 추가 이전에 저장된 행은 백필 작업으로 채웁니다.
+     */
+    @Column(name = "epoch_hour")
+    private Integer epochHour;
     /**
      * 데이터 생성 일시입니다.
      * - 수정할 수 없습니다.
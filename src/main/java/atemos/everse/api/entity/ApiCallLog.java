@@ -29,16 +29,18 @@ public class ApiCallLog {
     /**
      * 이벤트가 발생한 사용자를 나타냅니다.
      * - 연관된 사용자를 Lazy로 로딩합니다.
+     * - 월별 파티션으로 나누기 위해 외래 키 제약 조건을 만들지 않습니다.
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "member_id")
+    @JoinColumn(name = "member_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Member member;
     /**
      * 호출이 발생한 업체를 나타냅니다.
      * - 연관된 업체를 Lazy로 로딩합니다.
+     * - 월별 파티션으로 나누기 위해 외래 키 제약 조건을 만들지 않습니다.
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "company_id")
+    @JoinColumn(name = "company_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Company company;
     /**
      * API 호출 경로를 나타냅니다.
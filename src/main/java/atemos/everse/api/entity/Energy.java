@@ -10,6 +10,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 
 /**
  * 에너지 사용량 및 관련 정보를 나타내는 엔티티 클래스입니다.
@@ -22,6 +24,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Table(name = "energy",
+        uniqueConstraints = @UniqueConstraint(name = "uk_energy_iot_reference_time", columnNames = {"iot_id", "reference_time"}),
+        indexes = @Index(name = "idx_energy_iot_epoch_hour", columnList = "iot_id, epoch_hour"))
 public class Energy {
     /**
      * 에너지 사용량의 고유 식별자입니다.
@@ -32,9 +37,10 @@ public class Energy {
     /**
      * 에너지를 수집하는 IoT 장비입니다.
      * - 지연 로딩을 사용하여 필요할 때만 로딩합니다.
+     * - 월별 파티션으로 나누기 위해 외래 키 제약 조건을 만들지 않습니다.
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "iot_id")
+    @JoinColumn(name = "iot_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Iot iot;
     /**
      * 에너지 사용량입니다.
@@ -50,6 +56,13 @@ public class Energy {
      */
     @Column(nullable = false)
     private LocalDateTime referenceTime;
+    /**
+     * 기준 시각이 속한 시간대의 UTC epoch 시간입니다.
+     * - 업체 타임존과 관계없이 같은 순간이면 같은 값이므로, 타임존 변환 없이 기간을 조회하고 시간대별로 그룹화할 때 사용합니다.
+     * - toEpochHour()로 계산하며, 컬럼 추가 이전에 저장된 행은 백필 작업으로 채웁니다.
+     */
+    @Column(name = "epoch_hour")
+    private Integer epochHour;
     /**
      * 데이터 생성 일시입니다.
      * - 수정할 수 없습니다.
@@ -62,4 +75,33 @@ public class Energy {
      */
     @LastModifiedDate
     private Instant modifiedDate;
-}
\ No newline at end of file
+
+    /**
+     * 업체 타임존 기준 시각이 속한 시간대를 UTC epoch 시간으로 변환합니다.
+     * 시간대(정각부터 1시간)마다 그 안에 들어 있는 UTC 정각이 하나씩 있으므로, 그 UTC 정각을 시간대의 키로 사용합니다.
+     * 타임존 오프셋이 정각 단위가 아닌 경우(예: +05:30)에도 시간대마다 키가 하나씩 정해집니다.
+     * 기준 시각은 오프셋 없이 업체 타임존 기준으로 저장되므로(유일 키: IoT 장비, 기준 시각) 서머타임이 바뀌는 날에는 다음과 같이 합쳐집니다.
+     * - 서머타임 종료로 반복되는 시간대(예: 뉴욕 01시)는 두 번의 실제 시간을 구분할 수 없으므로 앞선 오프셋 기준의 키 하나로 합쳐지고,
+     *   뒤의 오프셋 기준 키는 만들어지지 않습니다. 이날은 실제로는 25시간이지만 키는 24개이며, 반복되는 시간대의 사용량은 한 시간대로 합산됩니다.
+     * - 서머타임 시작으로 건너뛰는 시간대(예: 뉴욕 02시)의 기준 시각은 다음 시간대(03시)의 키로 합쳐집니다.
+     * 두 번의 시간을 구분하려면 IoT 장비가 오프셋을 포함한 시각을 보내야 하므로, 기준 시각과 같이 시간대 단위로 합쳐서 저장합니다.
+     *
+     * @param referenceTime 기준 시각 (업체 타임존 기준)
+     * @param zoneId 업체 타임존
+     * @return 기준 시각이 속한 시간대의 UTC epoch 시간
+     */
+    public static int toEpochHour(LocalDateTime referenceTime, ZoneId zoneId) {
+        return Math.toIntExact(Math.ceilDiv(referenceTime.truncatedTo(ChronoUnit.HOURS).atZone(zoneId).toEpochSecond(), 3600));
+    }
+
+    /**
+     * UTC epoch 시간을 업체 타임존 기준 시간대의 시작 시각으로 변환합니다.
+     *
+     * @param epochHour 시간대의 UTC epoch 시간 (toEpochHour()의 결과)
+     * @param zoneId 업체 타임존
+     * @return 시간대의 시작 시각 (업체 타임존 기준)
+     */
+    public static LocalDateTime fromEpochHour(long epochHour, ZoneId zoneId) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochHour * 3600), zoneId).truncatedTo(ChronoUnit.HOURS);
+    }
+}
@@ -0,0 +1,70 @@
+package atemos.everse.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * IoT 장비의 하루치 에너지 사용량을 한 행에 묶어 저장하는 엔티티 클래스입니다.
+ * 에너지 저장 방식(energy.storage-layout)이 BUCKETED일 때 에너지 테이블 대신 사용하며,
+ * 읽기와 쓰기는 EnergyBucketJdbcRepository가 JDBC로 처리합니다. 이 엔티티는 테이블 구조를 정의하는 데만 사용됩니다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "energy_bucket", uniqueConstraints = @UniqueConstraint(columnNames = {"iot_id", "bucket_date"}))
+public class EnergyBucket {
+    /**
+     * 에너지 버킷의 고유 식별자입니다.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * 에너지를 수집하는 IoT 장비입니다.
+     * - 지연 로딩을 사용하여 필요할 때만 로딩합니다.
+     * - 월별 파티션으로 나누기 위해 외래 키 제약 조건을 만들지 않습니다.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "iot_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    private Iot iot;
+    /**
+     * 버킷의 기준 일입니다. (업체 타임존 기준)
+     */
+    @Column(nullable = false)
+    private LocalDate bucketDate;
+    /**
+     * 한 칸(slot)이 나타내는 시간(분)입니다.
+     * - 예: 60 (하루 24칸), 15 (하루 96칸)
+     */
+    @Column(nullable = false)
+    private Integer slotMinutes;
+    /**
+     * 칸별 에너지 사용량 배열입니다.
+     * - 칸마다 사용량을 소수점 4자리 고정소수점 정수(8바이트)로 저장하며, 사용량이 없는 칸은 Long.MIN_VALUE로 저장합니다.
+     * - 예: 칸 0은 0시 0분부터 slotMinutes분 동안의 사용량
+     */
+    @Column(nullable = false, length = 11_520)
+    private byte[] usages;
+    /**
+     * 데이터 생성 일시입니다.
+     * - 수정할 수 없습니다.
+     */
+    @Column(nullable = false, updatable = false)
+    @CreatedDate
+    private Instant createdDate;
+    /**
+     * 데이터 수정 일시입니다.
+     */
+    @LastModifiedDate
+    private Instant modifiedDate;
+}
@@ -0,0 +1,75 @@
+package atemos.everse.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 업체의 하루 동안 시간별 수요(시간별 에너지 사용량 합계) 분포를 분위수 스케치로 요약한 엔티티 클래스입니다.
+ * 시간별 집계가 갱신될 때마다 함께 갱신되며, 시간별 집계의 보관 기간이 지난 뒤에도 남아 있으므로
+ * 임의의 기간에 대한 분위수와 부하 지속 곡선을 하루에 한 행씩만 읽어 계산할 수 있습니다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "energy_demand_sketch", uniqueConstraints = @UniqueConstraint(columnNames = {"company_id", "sketch_date"}))
+public class EnergyDemandSketch {
+    /**
+     * 스케치의 고유 식별자입니다.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * 스케치 대상 업체입니다.
+     * - 지연 로딩을 사용하여 필요할 때만 로딩합니다.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "company_id")
+    private Company company;
+    /**
+     * 스케치의 기준 일입니다. (업체 타임존 기준)
+     */
+    @Column(nullable = false)
+    private LocalDate sketchDate;
+    /**
+     * 하루 중 수요가 가장 큰 시간대입니다. (업체 타임존 기준 정각)
+     */
+    private LocalDateTime peakTime;
+    /**
+     * 하루 중 가장 큰 시간별 수요입니다.
+     * - 예: 935.1234 (kWh)
+     */
+    @Column(nullable = false, precision = 19, scale = 4)
+    @Builder.Default
+    private BigDecimal peakUsage = BigDecimal.ZERO;
+    /**
+     * 인코딩한 분위수 스케치입니다. (DemandSketch.encode())
+     * - 하루 최대 25개 구간이므로 수백 바이트를 넘지 않습니다.
+     */
+    @Column(nullable = false, length = 512)
+    private byte[] sketch;
+    /**
+     * 데이터 생성 일시입니다.
+     * - 수정할 수 없습니다.
+     */
+    @Column(nullable = false, updatable = false)
+    @CreatedDate
+    private Instant createdDate;
+    /**
+     * 데이터 수정 일시입니다.
+     */
+    @LastModifiedDate
+    private Instant modifiedDate;
+}
@@ -0,0 +1,82 @@
+package atemos.everse.api.entity;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * 업체별 에너지 사용량과 요금의 시간별/일별/월별 집계 데이터를 나타내는 엔티티 클래스입니다.
+ * 에너지 사용량이 수집될 때마다 증분 방식으로 갱신되며, 조회 시 원본 에너지 데이터 대신 사용됩니다.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+@Table(name = "energy_rollup", uniqueConstraints = @UniqueConstraint(columnNames = {"company_id", "granularity", "bucket_time"}))
+public class EnergyRollup {
+    /**
+     * 집계 데이터의 고유 식별자입니다.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    /**
+     * 집계 대상 업체입니다.
+     * - 지연 로딩을 사용하여 필요할 때만 로딩합니다.
+     */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "company_id")
+    private Company company;
+    /**
+     * 집계 단위입니다.
+     * - 예: HOURLY, DAILY, MONTHLY
+     */
+    @Column(nullable = false, length = 7)
+    @Enumerated(EnumType.STRING)
+    private EnergyRollupGranularity granularity;
+    /**
+     * 집계 구간의 시작 시각입니다. (업체 타임존 기준)
+     * - 예: 2024-07-23T09:00:00 (시간별), 2024-07-23T00:00:00 (일별), 2024-07-01T00:00:00 (월별)
+     */
+    @Column(nullable = false)
+    private LocalDateTime bucketTime;
+    /**
+     * 집계 구간의 에너지 사용량 합계입니다.
+     * - 예: 935.1234 (kWh)
+     */
+    @Column(nullable = false, precision = 19, scale = 4)
+    @Builder.Default
+    @PositiveOrZero
+    private BigDecimal facilityUsage = BigDecimal.ZERO;
+    /**
+     * 집계 구간의 에너지 요금 합계입니다.
+     * - 시간별 집계는 집계 시점의 시간대별 요금으로 계산하며, 일별/월별 집계는 시간별 요금의 합계입니다.
+     */
+    @Column(nullable = false, precision = 19, scale = 4)
+    @Builder.Default
+    @PositiveOrZero
+    private BigDecimal bill = BigDecimal.ZERO;
+    /**
+     * 데이터 생성 일시입니다.
+     * - 수정할 수 없습니다.
+     */
+    @Column(nullable = false, updatable = false)
+    @CreatedDate
+    private Instant createdDate;
+    /**
+     * 데이터 수정 일시입니다.
+     */
+    @LastModifiedDate
+    private Instant modifiedDate;
+}
@@ -6,12 +6,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * IoT 장비 정보를 나타내는 엔티티 클래스입니다.
@@ -73,6 +76,15 @@ public class Iot {
     @Builder.Default
     @PositiveOrZero
     private BigDecimal price = BigDecimal.valueOf(0.0);
+    /**
+     * IoT 장비의 에너지 사용량 수집 간격(분)입니다.
+     * - 5 이상이면서 60의 약수여야 합니다. (5, 10, 15, 20, 30, 60)
+     * - 기본값은 60(1시간)입니다.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("60")
+    @Builder.Default
+    private Integer readingIntervalMinutes = 60;
     /**
      * IoT 장비가 생성된 일시입니다.
      * - 수정할 수 없습니다.
@@ -85,4 +97,28 @@ public class Iot {
      */
     @LastModifiedDate
     private Instant modifiedDate;
-}
\ No newline at end of file
+
+    /**
+     * 에너지 사용량 수집 간격(분)이 올바른지 확인합니다.
+     *
+     * @param readingIntervalMinutes 수집 간격(분)
+     * @throws IllegalArgumentException 5 이상이면서 60의 약수가 아닌 경우
+     */
+    public static void validateReadingInterval(int readingIntervalMinutes) {
+        if (readingIntervalMinutes < 5 || 60 % readingIntervalMinutes != 0) {
+            throw new IllegalArgumentException("readingIntervalMinutes must be one of 5, 10, 15, 20, 30 or 60.");
+        }
+    }
+
+    /**
+     * 시각을 수집 간격의 시작 시각으로 내림합니다.
+     *
+     * @param time 시각
+     * @param readingIntervalMinutes 수집 간격(분)
+     * @return 시각이 속한 수집 간격의 시작 시각
+     */
+    public static LocalDateTime truncateToReadingInterval(LocalDateTime time, int readingIntervalMinutes) {
+        var hour = time.truncatedTo(ChronoUnit.HOURS);
+        return hour.plusMinutes(time.getMinute() / readingIntervalMinutes * readingIntervalMinutes);
+    }
+}
@@ -9,9 +9,13 @@ import java.time.Instant;
 
 /**
  * IoT 상태 이력을 기록하는 엔티티 클래스입니다.
- * 이 엔티티는 IoT 상태 이력을 저장합니다.
+ * 이 엔티티는 IoT 장비가 한 상태를 유지한 구간(시작 일시, 종료 일시)을 저장하며, 상태가 바뀔 때만 새 구간을 추가합니다.
+ * - 종료 일시가 없는 구간은 현재 상태이며, 장비마다 최대 하나입니다.
+ * - 월별 파티션을 삭제해도 현재 상태가 사라지지 않도록, 구간은 UTC 월 경계에서 나누어 저장합니다.
  */
 @Entity
+@Table(name = "iot_status_history",
+        indexes = @Index(name = "idx_iot_status_history_end_date_iot", columnList = "end_date, iot_id"))
 @Getter
 @Setter
 @Builder
@@ -28,9 +32,10 @@ public class IotStatusHistory {
     /**
      * 해당 이력 기록이 참조하는 IoT 장비입니다.
      * - 지연 로딩으로 설정되어 필요할 때만 로딩됩니다.
+     * - 월별 파티션으로 나누기 위해 외래 키 제약 조건을 만들지 않습니다.
      */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "iot_id")
+    @JoinColumn(name = "iot_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Iot iot;
     /**
      * IoT 장비의 상태입니다.
@@ -40,9 +45,14 @@ public class IotStatusHistory {
     @Enumerated(EnumType.STRING)
     private IotStatus status;
     /**
-     * 이 이력 기록이 생성된 일시입니다.
+     * 이 상태가 시작된 일시입니다. (구간의 시작, 포함)
      * - 수정할 수 없습니다.
      */
     @Column(nullable = false, updatable = false)
     private Instant createdDate;
+    /**
+     * 이 상태가 끝난 일시입니다. (구간의 끝, 미포함)
+     * - 아직 유지 중인 상태이면 null입니다.
+     */
+    private Instant endDate;
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package atemos.everse.api.repository;
 
+import atemos.everse.api.dto.EnergyDto;
 import atemos.everse.api.entity.AIForecastEnergy;
 import atemos.everse.api.entity.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -35,14 +38,6 @@ public interface AIForecastEnergyRepository extends JpaRepository<AIForecastEner
      * @return 해당 업체 ID와 날짜로 등록된 AI 예측 에너지 사용량 데이터 유무
      */
     boolean existsByCompanyIdAndForecastTimeBetween(Long companyId, LocalDateTime startDateTime, LocalDateTime endDateTime);
-    /**
-     * 지정된 기준 시간 이전에 예측된 에너지 데이터를 특정 회사들에 대해 삭제합니다.
-     *
-     * @param forecastTime 삭제 기준 시간이 되는 LocalDateTime
-     * @param companyIds   삭제 대상 회사의 ID 목록
-     * @return 삭제된 AIForecastEnergy 레코드 수
-     */
-    long deleteByForecastTimeBeforeAndCompany_IdIn(LocalDateTime forecastTime, List<Long> companyIds);
     /**
      * 주어진 업체 ID와 날짜 범위에 따라 AI가 예측한 에너지 데이터를 조회합니다.
      *
@@ -52,6 +47,37 @@ public interface AIForecastEnergyRepository extends JpaRepository<AIForecastEner
      * @return 주어진 조건에 맞는 AI가 예측한 에너지 데이터 리스트
      */
     List<AIForecastEnergy> findByCompanyIdAndForecastTimeBetween(Long companyId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    /**
+     * 주어진 업체 ID와 날짜 범위에 대해 AI가 예측한 에너지 사용량을 데이터베이스에서 시간대별로 합산하여 반환합니다.
+     * 예측 시각은 업체 타임존 기준이므로 정각 단위로 그룹화한 결과도 업체 타임존 기준입니다.
+     *
+     * @param companyId 조회할 업체의 ID
+     * @param startDateTime 조회 시작 시각
+     * @param endDateTime 조회 종료 시각
+     * @return 시간대(정각)별 AI 예측 에너지 사용량 합계 리스트
+     */
+    @Query("SELECT new atemos.everse.api.dto.EnergyDto$UsageSum(" +
+            "year(a.forecastTime), month(a.forecastTime), day(a.forecastTime), hour(a.forecastTime), SUM(a.forecastUsage)) " +
+            "FROM AIForecastEnergy a WHERE a.company.id = :companyId AND a.forecastTime BETWEEN :startDateTime AND :endDateTime " +
+            "GROUP BY year(a.forecastTime), month(a.forecastTime), day(a.forecastTime), hour(a.forecastTime)")
+    List<EnergyDto.UsageSum> sumForecastUsageByHour(@Param("companyId") Long companyId,
+                                                    @Param("startDateTime") LocalDateTime startDateTime,
+                                                    @Param("endDateTime") LocalDateTime endDateTime);
+    /**
+     * 주어진 업체 ID와 UTC epoch 시간 범위에 대해 AI가 예측한 에너지 사용량을 데이터베이스에서 시간대별로 합산하여 반환합니다.
+     * 업체 타임존 기준 시각으로는 EnergyDto.EpochHourUsageSum.toUsageSum()으로 시간대마다 한 번만 변환합니다.
+     *
+     * @param companyId 조회할 업체의 ID
+     * @param startHour 조회 시작 UTC epoch 시간
+     * @param endHour 조회 종료 UTC epoch 시간
+     * @return UTC epoch 시간별 AI 예측 에너지 사용량 합계 리스트
+     */
+    @Query("SELECT new atemos.everse.api.dto.EnergyDto$EpochHourUsageSum(a.epochHour, SUM(a.forecastUsage)) " +
+            "FROM AIForecastEnergy a WHERE a.company.id = :companyId AND a.epochHour BETWEEN :startHour AND :endHour " +
+            "GROUP BY a.epochHour")
+    List<EnergyDto.EpochHourUsageSum> sumForecastUsageByEpochHour(@Param("companyId") Long companyId,
+                                                                  @Param("startHour") Integer startHour,
+                                                                  @Param("endHour") Integer endHour);
     /**
      * 주어진 업체 ID와 특정 시각에 대해 AI가 예측한 에너지 데이터를 조회합니다.
      * 이 메서드는 특정 시간대에 대한 예측 데이터가 있는지 확인하고자 할 때 사용됩니다.
@@ -15,14 +15,6 @@ import java.util.List;
  * 이 인터페이스는 JPA의 기본 CRUD 기능과 스펙을 통한 쿼리 실행을 지원합니다.
  */
 public interface ApiCallLogRepository extends JpaRepository<ApiCallLog, Long>, JpaSpecificationExecutor<ApiCallLog> {
-    /**
-     * 주어진 시간 이전에 생성된 ApiCallLog 엔티티의 리스트를 조회합니다.
-     *
-     * @param untilDateTime 조회 기준이 되는 날짜 및 시간
-     * - 예: 특정 시점 이전의 모든 API 호출 로그를 조회할 때 사용
-     * @return 주어진 시간 이전에 생성된 ApiCallLog 엔티티의 리스트
-     */
-    List<ApiCallLog> findByRequestTimeBefore(Instant untilDateTime);
     /**
      * 특정 업체 ID와 청구 여부에 따라 주어진 날짜 범위 내의 API 호출 로그 수를 계산합니다.
      *
@@ -0,0 +1,174 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyStorageLayout;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.PartitionedTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.Optional;
+import java.util.TimeZone;
+
+/**
+ * 아카이브할 시계열 데이터를 JDBC로 조회하는 리포지토리입니다.
+ * 엔티티를 만들지 않고 IoT 장비(또는 업체), 시각 순서로 행을 읽어 기본형 값으로 전달합니다.
+ * - 시각: 업체 타임존 기준 시각은 UTC로 간주한 epoch 분, UTC 시각(Instant)은 epoch 초
+ * - 사용량: 소수점 4자리 고정소수점 정수
+ * - 상태: IotStatus의 ordinal
+ * 에너지 저장 방식(energy.storage-layout)이 BUCKETED이면 에너지 사용량은 에너지 버킷 테이블에서 읽습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchiveJdbcRepository {
+    /**
+     * 사용량 고정소수점의 소수점 자리수입니다.
+     */
+    public static final int USAGE_SCALE = 4;
+    // UTC 시각 컬럼을 Hibernate와 같이 UTC 기준으로 읽기 위한 타임존
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnergyBucketJdbcRepository energyBucketJdbcRepository;
+    @Value("${energy.storage-layout:ROW}")
+    private EnergyStorageLayout storageLayout;
+
+    /**
+     * 업체의 가장 이른 행의 시각을 조회합니다.
+     *
+     * @param table 테이블
+     * @param companyId 업체 ID
+     * @return 가장 이른 시각 (UTC 시각 컬럼이면 UTC 기준, 행이 없으면 빈 Optional)
+     */
+    public Optional<LocalDateTime> findMinimum(PartitionedTable table, Long companyId) {
+        // 에너지 사용량을 버킷으로 저장하면 에너지 버킷 테이블에서 조회
+        var source = table == PartitionedTable.ENERGY && storageLayout == EnergyStorageLayout.BUCKETED
+                ? PartitionedTable.ENERGY_BUCKET
+                : table;
+        return jdbcTemplate.query("SELECT MIN(" + source.getColumnName() + ") FROM " + source.getTableName()
+                + " WHERE " + source.getCompanyCondition().formatted("?"), resultSet -> {
+            if (!resultSet.next()) {
+                return Optional.empty();
+            }
+            var minimum = source.isUtc()
+                    ? resultSet.getTimestamp(1, Calendar.getInstance(UTC))
+                    : resultSet.getTimestamp(1);
+            return Optional.ofNullable(minimum)
+                    .map(timestamp -> source.isUtc()
+                            ? LocalDateTime.ofInstant(timestamp.toInstant(), ZoneOffset.UTC)
+                            : timestamp.toLocalDateTime());
+        }, companyId);
+    }
+
+    /**
+     * 업체의 기간 내 에너지 사용량을 IoT 장비, 기준 시각 순서로 읽습니다.
+     *
+     * @param companyId 업체 ID
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (미포함, 업체 타임존 기준)
+     * @param handler 행 처리기 (IoT 장비 ID, 기준 시각의 epoch 분, 사용량)
+     */
+    public void streamEnergy(Long companyId, LocalDateTime start, LocalDateTime end, RowHandler handler) {
+        if (storageLayout == EnergyStorageLayout.BUCKETED) {
+            energyBucketJdbcRepository.streamByCompany(companyId, start, end.minusNanos(1), (iotId, referenceTime, usage) ->
+                    handler.accept(iotId, toEpochMinute(referenceTime), usage));
+            return;
+        }
+        jdbcTemplate.query("""
+                        SELECT e.iot_id, e.reference_time, e.facility_usage
+                        FROM energy e JOIN iot i ON i.id = e.iot_id
+                        WHERE i.company_id = ? AND e.reference_time >= ? AND e.reference_time < ?
+                        ORDER BY e.iot_id, e.reference_time
+                        """,
+                resultSet -> {
+                    handler.accept(resultSet.getLong(1),
+                            toEpochMinute(resultSet.getTimestamp(2).toLocalDateTime()),
+                            resultSet.getBigDecimal(3).setScale(USAGE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+                },
+                companyId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    /**
+     * 업체의 기간 내 IoT 장비 상태 이력을 IoT 장비, 생성 일시 순서로 읽습니다.
+     *
+     * @param companyId 업체 ID
+     * @param start 시작 일시 (포함)
+     * @param end 종료 일시 (미포함)
+     * @param handler 행 처리기 (IoT 장비 ID, 생성 일시의 epoch 초, 상태의 ordinal)
+     */
+    public void streamIotStatusHistory(Long companyId, Instant start, Instant end, RowHandler handler) {
+        jdbcTemplate.query("""
+                        SELECT h.iot_id, h.created_date, h.status
+                        FROM iot_status_history h JOIN iot i ON i.id = h.iot_id
+                        WHERE i.company_id = ? AND h.created_date >= ? AND h.created_date < ?
+                        ORDER BY h.iot_id, h.created_date
+                        """,
+                preparedStatement -> {
+                    preparedStatement.setLong(1, companyId);
+                    preparedStatement.setTimestamp(2, Timestamp.from(start), Calendar.getInstance(UTC));
+                    preparedStatement.setTimestamp(3, Timestamp.from(end), Calendar.getInstance(UTC));
+                },
+                resultSet -> {
+                    handler.accept(resultSet.getLong(1),
+                            resultSet.getTimestamp(2, Calendar.getInstance(UTC)).toInstant().getEpochSecond(),
+                            IotStatus.valueOf(resultSet.getString(3)).ordinal());
+                });
+    }
+
+    /**
+     * 업체의 기간 내 AI 예측 에너지 사용량을 예측 시각 순서로 읽습니다.
+     *
+     * @param companyId 업체 ID
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (미포함, 업체 타임존 기준)
+     * @param handler 행 처리기 (업체 ID, 예측 시각의 epoch 분, 예측 사용량)
+     */
+    public void streamAIForecastEnergy(Long companyId, LocalDateTime start, LocalDateTime end, RowHandler handler) {
+        jdbcTemplate.query("""
+                        SELECT forecast_time, forecast_usage
+                        FROM ai_forecast_energy
+                        WHERE company_id = ? AND forecast_time >= ? AND forecast_time < ?
+                        ORDER BY forecast_time
+                        """,
+                resultSet -> {
+                    handler.accept(companyId,
+                            toEpochMinute(resultSet.getTimestamp(1).toLocalDateTime()),
+                            resultSet.getBigDecimal(2).setScale(USAGE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+                },
+                companyId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    /**
+     * 업체 타임존 기준 시각을 UTC로 간주한 epoch 분으로 변환합니다.
+     */
+    public static long toEpochMinute(LocalDateTime localDateTime) {
+        return localDateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    /**
+     * epoch 분을 업체 타임존 기준 시각으로 변환합니다.
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 아카이브할 행을 기본형 값으로 받는 처리기입니다.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param seriesId 시계열 ID (IoT 장비 ID 또는 업체 ID)
+         * @param timestamp 시각
+         * @param value 값
+         */
+        void accept(long seriesId, long timestamp, long value);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +25,20 @@ public interface CompanyRepository extends JpaRepository<Company, Long>, JpaSpec
     @EntityGraph(attributePaths = {"country"})
     @NonNull
     List<Company> findAll();
+    /**
+     * 주어진 ID보다 큰 ID를 가진 첫 번째 업체를 국가 정보와 함께 조회합니다.
+     *
+     * @param id 기준 업체 ID
+     * @return ID 순으로 다음 업체
+     */
+    @EntityGraph(attributePaths = {"country"})
+    Optional<Company> findFirstByIdGreaterThanOrderByIdAsc(Long id);
+    /**
+     * 주어진 ID의 업체들을 국가 정보와 함께 한 번에 조회합니다.
+     *
+     * @param ids 업체 ID 목록
+     * @return 업체 리스트
+     */
+    @EntityGraph(attributePaths = {"country"})
+    List<Company> findByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
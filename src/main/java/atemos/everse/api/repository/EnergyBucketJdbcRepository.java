@@ -0,0 +1,427 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyConflictPolicy;
+import atemos.everse.api.dto.EnergyDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * IoT 장비의 하루치 에너지 사용량을 한 행에 묶어 저장하는 에너지 버킷 테이블(energy_bucket)을 JDBC로 읽고 쓰는 리포지토리입니다.
+ * 에너지 저장 방식(energy.storage-layout)이 BUCKETED일 때 EnergyRepository와 EnergyJdbcRepository가 이 리포지토리를 사용합니다.
+ * - 한 행은 IoT 장비와 기준 일(업체 타임존 기준)로 유일하며, 하루를 slotMinutes분 단위의 칸으로 나누어 칸별 사용량을 배열로 저장합니다.
+ * - 칸의 크기는 그날 저장된 기준 시각을 모두 나타낼 수 있는 가장 큰 크기(60분의 약수)이며, 더 작은 간격의 사용량이 들어오면 칸을 나누어 다시 저장합니다.
+ * - 사용량은 소수점 4자리 고정소수점 정수(8바이트)로 저장하고, 사용량이 없는 칸은 ABSENT로 저장합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnergyBucketJdbcRepository {
+    /**
+     * 사용량 고정소수점의 소수점 자리수입니다.
+     */
+    public static final int USAGE_SCALE = 4;
+    /**
+     * 에너지 버킷 테이블 이름입니다.
+     */
+    public static final String TABLE_NAME = "energy_bucket";
+    // 저장 방식 비교용 임시 테이블 이름의 접두어
+    private static final String BENCHMARK_TABLE_PREFIX = "energy_bucket_benchmark_";
+    // 사용량이 없는 칸의 값
+    private static final long ABSENT = Long.MIN_VALUE;
+    // 하루의 분 수
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    // 칸의 최대 크기(분)
+    private static final int MAX_SLOT_MINUTES = 60;
+    // Instant 컬럼을 Hibernate와 같이 UTC 기준으로 저장하기 위한 타임존
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 주어진 IoT 장비와 기준 시각의 기존 사용량을 조회하고, 트랜잭션이 끝날 때까지 해당 버킷을 잠급니다.
+     *
+     * @param keys IoT 장비 ID와 기준 시각 목록
+     * @return IoT 장비 ID와 기준 시각별 기존 사용량 (없는 경우 포함하지 않음)
+     */
+    public Map<EnergyJdbcRepository.Key, BigDecimal> findUsageForUpdate(Collection<EnergyJdbcRepository.Key> keys) {
+        var buckets = findBucketsForUpdate(TABLE_NAME, keys.stream()
+                .map(key -> new BucketKey(key.iotId(), key.referenceTime().toLocalDate()))
+                .collect(LinkedHashSet::new, Set::add, Set::addAll));
+        var usageByKey = new HashMap<EnergyJdbcRepository.Key, BigDecimal>();
+        for (var key : keys) {
+            var bucket = buckets.get(new BucketKey(key.iotId(), key.referenceTime().toLocalDate()));
+            if (bucket != null) {
+                var usage = bucket.get(key.referenceTime());
+                if (usage != ABSENT) {
+                    usageByKey.put(key, BigDecimal.valueOf(usage, USAGE_SCALE));
+                }
+            }
+        }
+        return usageByKey;
+    }
+
+    /**
+     * 에너지 사용량을 IoT 장비와 기준 일별 버킷에 저장합니다. 이미 있는 사용량은 처리 방식에 따라 갱신합니다.
+     * 한 번에 저장하는 목록 안에서는 IoT 장비와 기준 시각이 중복되지 않아야 합니다.
+     *
+     * @param rows 저장할 에너지 사용량 목록
+     * @param policy 이미 있는 사용량의 처리 방식
+     */
+    public void upsertAll(List<EnergyDto.ReadingRow> rows, EnergyConflictPolicy policy) {
+        upsertAll(TABLE_NAME, rows, policy);
+    }
+
+    /**
+     * 에너지 사용량을 주어진 버킷 테이블의 IoT 장비와 기준 일별 버킷에 저장합니다.
+     */
+    private void upsertAll(String tableName, List<EnergyDto.ReadingRow> rows, EnergyConflictPolicy policy) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        // 기존 버킷을 잠그고 조회한 뒤 사용량 반영
+        var rowsByBucketKey = new LinkedHashMap<BucketKey, List<EnergyDto.ReadingRow>>();
+        rows.forEach(row -> rowsByBucketKey
+                .computeIfAbsent(new BucketKey(row.getIotId(), row.getReferenceTime().toLocalDate()), key -> new ArrayList<>())
+                .add(row));
+        var buckets = findBucketsForUpdate(tableName, rowsByBucketKey.keySet());
+        var changed = new ArrayList<Bucket>(rowsByBucketKey.size());
+        rowsByBucketKey.forEach((key, bucketRows) -> {
+            var bucket = buckets.getOrDefault(key, Bucket.empty(key));
+            for (var row : bucketRows) {
+                bucket = bucket.withSlotMinutes(slotMinutesOf(row.getReferenceTime()));
+                var previous = bucket.get(row.getReferenceTime());
+                var usage = toFixedPoint(row.getFacilityUsage());
+                bucket.set(row.getReferenceTime(), switch (policy) {
+                    case REPLACE -> usage;
+                    case KEEP_FIRST -> previous == ABSENT ? usage : previous;
+                    case SUM -> previous == ABSENT ? usage : Math.addExact(previous, usage);
+                });
+            }
+            changed.add(bucket);
+        });
+        // 변경된 버킷을 여러 행 Insert 쿼리로 저장
+        var now = Timestamp.from(Instant.now());
+        for (int from = 0; from < changed.size(); from += EnergyJdbcRepository.ROWS_PER_STATEMENT) {
+            var chunk = changed.subList(from, Math.min(from + EnergyJdbcRepository.ROWS_PER_STATEMENT, changed.size()));
+            var sql = "INSERT INTO " + tableName + " (iot_id, bucket_date, slot_minutes, usages, created_date, modified_date) VALUES "
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?)"))
+                    + " ON DUPLICATE KEY UPDATE slot_minutes = VALUES(slot_minutes), usages = VALUES(usages), modified_date = VALUES(modified_date)";
+            jdbcTemplate.update(sql, preparedStatement -> {
+                var calendar = Calendar.getInstance(UTC);
+                var index = 1;
+                for (var bucket : chunk) {
+                    preparedStatement.setLong(index++, bucket.key().iotId());
+                    preparedStatement.setDate(index++, Date.valueOf(bucket.key().date()));
+                    preparedStatement.setInt(index++, bucket.slotMinutes());
+                    preparedStatement.setBytes(index++, pack(bucket.slots()));
+                    preparedStatement.setTimestamp(index++, now, calendar);
+                    preparedStatement.setTimestamp(index++, now, calendar);
+                }
+            });
+        }
+    }
+
+    /**
+     * 업체의 기간 내 에너지 사용량을 IoT 장비, 기준 시각 순서로 읽습니다.
+     *
+     * @param companyId 업체 ID
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (포함, 업체 타임존 기준)
+     * @param handler 사용량 처리기
+     */
+    public void streamByCompany(Long companyId, LocalDateTime start, LocalDateTime end, ReadingHandler handler) {
+        streamByCompany(TABLE_NAME, companyId, start, end, handler);
+    }
+
+    /**
+     * 주어진 버킷 테이블에서 업체의 기간 내 에너지 사용량을 IoT 장비, 기준 시각 순서로 읽습니다.
+     *
+     * @param tableName 버킷 테이블 이름 (에너지 버킷 테이블 또는 저장 방식 비교용 임시 테이블)
+     * @param companyId 업체 ID
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (포함, 업체 타임존 기준)
+     * @param handler 사용량 처리기
+     */
+    public void streamByCompany(String tableName, Long companyId, LocalDateTime start, LocalDateTime end, ReadingHandler handler) {
+        stream(tableName, "b.iot_id IN (SELECT id FROM iot WHERE company_id = ?)", List.of(companyId), start, end, handler);
+    }
+
+    /**
+     * 전체 IoT 장비의 기간 내 에너지 사용량을 IoT 장비, 기준 시각 순서로 읽습니다.
+     *
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (포함, 업체 타임존 기준)
+     * @param handler 사용량 처리기
+     */
+    public void streamAll(LocalDateTime start, LocalDateTime end, ReadingHandler handler) {
+        stream(TABLE_NAME, "b.iot_id IN (SELECT id FROM iot)", List.of(), start, end, handler);
+    }
+
+    /**
+     * IoT 장비들의 기간 내 에너지 사용량을 IoT 장비, 기준 시각 순서로 읽습니다.
+     *
+     * @param iotIds IoT 장비 ID 목록
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (포함, 업체 타임존 기준)
+     * @param handler 사용량 처리기
+     */
+    public void streamByIotIds(List<Long> iotIds, LocalDateTime start, LocalDateTime end, ReadingHandler handler) {
+        if (iotIds.isEmpty()) {
+            return;
+        }
+        stream(TABLE_NAME, "b.iot_id IN (" + String.join(", ", Collections.nCopies(iotIds.size(), "?")) + ")", iotIds, start, end, handler);
+    }
+
+    /**
+     * IoT 장비의 전체 에너지 사용량을 기준 시각 순서로 읽습니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @param handler 사용량 처리기
+     */
+    public void streamByIot(Long iotId, ReadingHandler handler) {
+        stream(TABLE_NAME, "b.iot_id = ?", List.of(iotId), LocalDateTime.MIN, LocalDateTime.MAX, handler);
+    }
+
+    /**
+     * 에너지 버킷 테이블과 같은 구조의 저장 방식 비교용 임시 테이블을 만듭니다.
+     * 비교가 끝나면 dropBenchmarkTable로 삭제해야 합니다.
+     *
+     * @return 임시 테이블 이름
+     */
+    public String createBenchmarkTable() {
+        var tableName = BENCHMARK_TABLE_PREFIX + System.currentTimeMillis();
+        jdbcTemplate.execute("CREATE TABLE " + tableName + " LIKE " + TABLE_NAME);
+        return tableName;
+    }
+
+    /**
+     * 저장 방식 비교용 임시 테이블을 삭제합니다.
+     *
+     * @param tableName 임시 테이블 이름
+     */
+    public void dropBenchmarkTable(String tableName) {
+        requireBenchmarkTable(tableName);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + tableName);
+    }
+
+    /**
+     * 업체의 기간 내 에너지 테이블(energy)의 사용량을 저장 방식 비교용 임시 테이블에 복사합니다.
+     * 에너지 버킷 테이블에는 쓰지 않으므로 운영 중인 데이터와 집계 데이터에 영향을 주지 않습니다.
+     *
+     * @param tableName 임시 테이블 이름 (createBenchmarkTable로 만든 테이블)
+     * @param companyId 업체 ID
+     * @param start 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 종료 시각 (미포함, 업체 타임존 기준)
+     * @return 복사한 에너지 사용량 건수
+     */
+    public long copyFromEnergy(String tableName, Long companyId, LocalDateTime start, LocalDateTime end) {
+        requireBenchmarkTable(tableName);
+        var batch = new ArrayList<EnergyDto.ReadingRow>(EnergyJdbcRepository.ROWS_PER_STATEMENT);
+        var copied = new long[1];
+        jdbcTemplate.query("""
+                        SELECT e.iot_id, e.reference_time, e.facility_usage, e.epoch_hour
+                        FROM energy e JOIN iot i ON i.id = e.iot_id
+                        WHERE i.company_id = ? AND e.reference_time >= ? AND e.reference_time < ?
+                        ORDER BY e.iot_id, e.reference_time
+                        """,
+                resultSet -> {
+                    batch.add(new EnergyDto.ReadingRow(resultSet.getLong(1), companyId,
+                            resultSet.getTimestamp(2).toLocalDateTime(), resultSet.getBigDecimal(3), resultSet.getObject(4, Integer.class)));
+                    if (batch.size() == EnergyJdbcRepository.ROWS_PER_STATEMENT) {
+                        upsertAll(tableName, batch, EnergyConflictPolicy.REPLACE);
+                        copied[0] += batch.size();
+                        batch.clear();
+                    }
+                },
+                companyId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        upsertAll(tableName, batch, EnergyConflictPolicy.REPLACE);
+        return copied[0] + batch.size();
+    }
+
+    /**
+     * IoT 장비의 모든 에너지 버킷을 삭제합니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @return 삭제된 버킷 수
+     */
+    public int deleteByIotId(Long iotId) {
+        return jdbcTemplate.update("DELETE FROM energy_bucket WHERE iot_id = ?", iotId);
+    }
+
+    /**
+     * 테이블 이름이 createBenchmarkTable로 만든 임시 테이블 이름인지 확인합니다. (에너지 버킷 테이블에 쓰거나 삭제하지 않도록)
+     */
+    private static void requireBenchmarkTable(String tableName) {
+        if (!tableName.matches(BENCHMARK_TABLE_PREFIX + "\\d+")) {
+            throw new IllegalArgumentException("Not a benchmark table: " + tableName);
+        }
+    }
+
+    /**
+     * 조건에 맞는 버킷 중 기간과 겹치는 버킷을 읽어, 기간 내 사용량이 있는 칸마다 처리기를 호출합니다.
+     */
+    private void stream(String tableName, String condition, List<?> args, LocalDateTime start, LocalDateTime end, ReadingHandler handler) {
+        var sql = new StringBuilder("SELECT b.iot_id, b.bucket_date, b.slot_minutes, b.usages FROM " + tableName + " b WHERE ")
+                .append(condition);
+        var parameters = new ArrayList<Object>(args);
+        if (!start.equals(LocalDateTime.MIN)) {
+            sql.append(" AND b.bucket_date >= ?");
+            parameters.add(Date.valueOf(start.toLocalDate()));
+        }
+        if (!end.equals(LocalDateTime.MAX)) {
+            sql.append(" AND b.bucket_date <= ?");
+            parameters.add(Date.valueOf(end.toLocalDate()));
+        }
+        sql.append(" ORDER BY b.iot_id, b.bucket_date");
+        jdbcTemplate.query(sql.toString(), resultSet -> {
+            var iotId = resultSet.getLong(1);
+            var date = resultSet.getDate(2).toLocalDate();
+            var slotMinutes = resultSet.getInt(3);
+            var slots = unpack(resultSet.getBytes(4));
+            for (int slot = 0; slot < slots.length; slot++) {
+                if (slots[slot] == ABSENT) {
+                    continue;
+                }
+                var referenceTime = date.atStartOfDay().plusMinutes((long) slot * slotMinutes);
+                if (!referenceTime.isBefore(start) && !referenceTime.isAfter(end)) {
+                    handler.accept(iotId, referenceTime, slots[slot]);
+                }
+            }
+        }, parameters.toArray());
+    }
+
+    /**
+     * IoT 장비와 기준 일별 버킷을 조회하고, 트랜잭션이 끝날 때까지 잠급니다.
+     */
+    private Map<BucketKey, Bucket> findBucketsForUpdate(String tableName, Collection<BucketKey> keys) {
+        var buckets = new HashMap<BucketKey, Bucket>();
+        var keyList = List.copyOf(keys);
+        for (int from = 0; from < keyList.size(); from += EnergyJdbcRepository.ROWS_PER_STATEMENT) {
+            var chunk = keyList.subList(from, Math.min(from + EnergyJdbcRepository.ROWS_PER_STATEMENT, keyList.size()));
+            var sql = "SELECT iot_id, bucket_date, slot_minutes, usages FROM " + tableName + " WHERE (iot_id, bucket_date) IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)")) + ") FOR UPDATE";
+            jdbcTemplate.query(sql, preparedStatement -> {
+                var index = 1;
+                for (var key : chunk) {
+                    preparedStatement.setLong(index++, key.iotId());
+                    preparedStatement.setDate(index++, Date.valueOf(key.date()));
+                }
+            }, resultSet -> {
+                var key = new BucketKey(resultSet.getLong(1), resultSet.getDate(2).toLocalDate());
+                buckets.put(key, new Bucket(key, resultSet.getInt(3), unpack(resultSet.getBytes(4))));
+            });
+        }
+        return buckets;
+    }
+
+    /**
+     * 기준 시각을 나타낼 수 있는 가장 큰 칸의 크기(60분의 약수)를 계산합니다.
+     */
+    private static int slotMinutesOf(LocalDateTime referenceTime) {
+        if (referenceTime.getSecond() != 0 || referenceTime.getNano() != 0) {
+            throw new IllegalArgumentException("Energy reference time must be aligned to a minute: " + referenceTime);
+        }
+        return gcd(MAX_SLOT_MINUTES, referenceTime.getMinute());
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * 사용량을 소수점 4자리 고정소수점 정수로 변환합니다.
+     */
+    private static long toFixedPoint(BigDecimal usage) {
+        return usage.setScale(USAGE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 칸별 사용량 배열을 8바이트 정수 배열로 직렬화합니다.
+     */
+    static byte[] pack(long[] slots) {
+        var buffer = ByteBuffer.allocate(slots.length * Long.BYTES);
+        buffer.asLongBuffer().put(slots);
+        return buffer.array();
+    }
+
+    /**
+     * 8바이트 정수 배열로 직렬화된 칸별 사용량 배열을 읽습니다.
+     */
+    static long[] unpack(byte[] bytes) {
+        var slots = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(slots);
+        return slots;
+    }
+
+    /**
+     * 버킷에서 읽은 에너지 사용량을 기본형 값으로 받는 처리기입니다.
+     */
+    @FunctionalInterface
+    public interface ReadingHandler {
+        /**
+         * @param iotId IoT 장비 ID
+         * @param referenceTime 기준 시각 (업체 타임존 기준)
+         * @param usage 소수점 4자리 고정소수점 사용량
+         */
+        void accept(long iotId, LocalDateTime referenceTime, long usage);
+    }
+
+    /**
+     * 에너지 버킷의 유일 키입니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @param date 기준 일 (업체 타임존 기준)
+     */
+    private record BucketKey(long iotId, LocalDate date) {}
+
+    /**
+     * 하루치 칸별 사용량을 담은 에너지 버킷입니다.
+     *
+     * @param key 버킷 키
+     * @param slotMinutes 칸의 크기(분)
+     * @param slots 칸별 사용량 (사용량이 없는 칸은 ABSENT)
+     */
+    private record Bucket(BucketKey key, int slotMinutes, long[] slots) {
+        static Bucket empty(BucketKey key) {
+            var slots = new long[MINUTES_PER_DAY / MAX_SLOT_MINUTES];
+            Arrays.fill(slots, ABSENT);
+            return new Bucket(key, MAX_SLOT_MINUTES, slots);
+        }
+
+        /**
+         * 주어진 칸의 크기도 나타낼 수 있도록 칸을 나눈 버킷을 반환합니다. 칸을 나눌 필요가 없으면 그대로 반환합니다.
+         */
+        Bucket withSlotMinutes(int requiredSlotMinutes) {
+            var newSlotMinutes = gcd(slotMinutes, requiredSlotMinutes);
+            if (newSlotMinutes == slotMinutes) {
+                return this;
+            }
+            var newSlots = new long[MINUTES_PER_DAY / newSlotMinutes];
+            Arrays.fill(newSlots, ABSENT);
+            var ratio = slotMinutes / newSlotMinutes;
+            for (int slot = 0; slot < slots.length; slot++) {
+                newSlots[slot * ratio] = slots[slot];
+            }
+            return new Bucket(key, newSlotMinutes, newSlots);
+        }
+
+        long get(LocalDateTime referenceTime) {
+            var minuteOfDay = referenceTime.getHour() * 60 + referenceTime.getMinute();
+            return minuteOfDay % slotMinutes == 0 ? slots[minuteOfDay / slotMinutes] : ABSENT;
+        }
+
+        void set(LocalDateTime referenceTime, long usage) {
+            slots[(referenceTime.getHour() * 60 + referenceTime.getMinute()) / slotMinutes] = usage;
+        }
+    }
+}
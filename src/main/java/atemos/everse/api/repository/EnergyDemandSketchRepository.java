@@ -0,0 +1,51 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.entity.EnergyDemandSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * EnergyDemandSketch 엔티티에 대한 데이터 접근을 제공하는 리포지토리 인터페이스입니다.
+ * 업체별 일별 시간별 수요 분위수 스케치를 조회하고 갱신합니다.
+ */
+public interface EnergyDemandSketchRepository extends JpaRepository<EnergyDemandSketch, Long> {
+    /**
+     * 업체의 주어진 날짜들의 스케치를 날짜 오름차순으로 잠그고 조회합니다 (SELECT ... FOR UPDATE).
+     * 시간별 집계를 갱신할 때 변경된 날짜의 스케치를 한 번에 조회하기 위해 사용되며,
+     * 같은 날의 스케치를 동시에 갱신하는 트랜잭션은 먼저 잠근 트랜잭션이 커밋될 때까지 기다린 뒤 커밋된 스케치를 읽습니다.
+     * 아직 없는 날의 스케치는 잠글 행이 없으므로, 같은 날의 일별 집계 잠금으로 동시에 생성되지 않게 합니다.
+     *
+     * @param companyId 업체 ID
+     * @param sketchDates 조회할 날짜 목록 (업체 타임존 기준)
+     * @return 주어진 날짜들에 해당하는 스케치 리스트
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM EnergyDemandSketch s WHERE s.company.id = :companyId AND s.sketchDate IN :sketchDates ORDER BY s.sketchDate ASC")
+    List<EnergyDemandSketch> findForUpdate(@Param("companyId") Long companyId, @Param("sketchDates") Collection<LocalDate> sketchDates);
+    /**
+     * 업체의 기간 내 스케치를 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 조회 시작일 (업체 타임존 기준)
+     * @param endDate 조회 종료일 (업체 타임존 기준)
+     * @return 기간 내 스케치 리스트
+     */
+    List<EnergyDemandSketch> findByCompanyIdAndSketchDateBetween(Long companyId, LocalDate startDate, LocalDate endDate);
+    /**
+     * 업체의 모든 스케치를 한 번의 DELETE로 삭제합니다. 업체를 삭제하기 전에 호출됩니다.
+     *
+     * @param companyId 업체 ID
+     * @return 삭제된 스케치 수
+     */
+    @Modifying
+    @Query("DELETE FROM EnergyDemandSketch s WHERE s.company.id = :companyId")
+    int deleteByCompanyId(@Param("companyId") Long companyId);
+}
@@ -0,0 +1,378 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyConflictPolicy;
+import atemos.everse.api.domain.EnergyStorageLayout;
+import atemos.everse.api.dto.EnergyDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 에너지 사용량을 JDBC로 일괄 저장하는 리포지토리입니다.
+ * Energy 엔티티는 IDENTITY 방식으로 ID를 생성하므로 JPA로 저장하면 Hibernate 배치 Insert가 적용되지 않고
+ * 한 건마다 Insert 쿼리가 실행됩니다. 대량의 에너지 사용량을 저장할 때는 여러 행을 한 번에 Insert 합니다.
+ * 에너지 사용량은 IoT 장비와 기준 시각으로 유일하며, 이미 있는 사용량은 처리 방식(EnergyConflictPolicy)에 따라 갱신합니다.
+ * 에너지 저장 방식(energy.storage-layout)이 BUCKETED이면 사용량 조회와 저장은 에너지 버킷 테이블(EnergyBucketJdbcRepository)에서 처리합니다.
+ * 유일 키(UNIQUE_KEY_NAME)가 아직 없으면 ON DUPLICATE KEY UPDATE가 중복 행을 추가하므로, 중복 정리 작업으로 유일 키를 추가하기 전까지는
+ * IoT 장비 행을 잠가(SELECT ... FOR UPDATE) 같은 장비의 저장을 차례로 처리하고, 이미 있는 행을 UPDATE 한 뒤 없는 사용량만 Insert 합니다.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class EnergyJdbcRepository {
+    /**
+     * 쿼리 한 번에 처리하는 최대 행 수입니다.
+     */
+    static final int ROWS_PER_STATEMENT = 1_000;
+    /**
+     * 에너지 사용량의 IoT 장비와 기준 시각 유일 키 이름입니다.
+     */
+    public static final String UNIQUE_KEY_NAME = "uk_energy_iot_reference_time";
+    // 유일 키의 컬럼 목록
+    private static final List<String> UNIQUE_KEY_COLUMNS = List.of("iot_id", "reference_time");
+    // 한 행의 컬럼 수
+    private static final int COLUMNS = 6;
+    // Instant 컬럼을 Hibernate와 같이 UTC 기준으로 저장하기 위한 타임존
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EnergyBucketJdbcRepository energyBucketJdbcRepository;
+    @Value("${energy.storage-layout:ROW}")
+    private EnergyStorageLayout storageLayout;
+    // 유일 키가 있는 것을 확인했는지 여부 (한 번 확인하면 다시 조회하지 않음)
+    private volatile boolean uniqueKeyPresent;
+    // 유일 키 없이 저장한다는 경고를 남겼는지 여부 (한 번만 남김)
+    private volatile boolean missingUniqueKeyWarned;
+
+    /**
+     * 주어진 IoT 장비와 기준 시각의 기존 사용량을 조회하고, 트랜잭션이 끝날 때까지 해당 행을 잠급니다.
+     * 동시에 같은 에너지 사용량을 저장하는 요청이 기존 사용량을 기준으로 집계 데이터 변화량을 계산할 수 있도록 합니다.
+     * 행 값 IN 조건((iot_id, reference_time) IN (...))은 인덱스를 사용하지 않는 DB가 있으므로
+     * 장비 ID 목록과 기준 시각 범위로 유일 키 인덱스를 사용해 조회한 뒤 주어진 키만 남깁니다.
+     * 범위 안의 다른 기준 시각 행도 함께 잠기지만, 같은 장비의 가까운 시각이므로 동시에 저장하는 요청과의 대기만 늘어납니다.
+     * 유일 키가 없으면 아직 없는 사용량은 잠글 행이 없으므로, 먼저 IoT 장비 행을 잠가 같은 장비를 저장하는 요청이 기다리게 합니다.
+     * 중복된 행이 있으면 UPDATE 할 행(가장 나중에 저장된 행)의 사용량을 반환합니다.
+     *
+     * @param keys IoT 장비 ID와 기준 시각 목록
+     * @return IoT 장비 ID와 기준 시각별 기존 사용량 (없는 경우 포함하지 않음)
+     */
+    public Map<Key, BigDecimal> findUsageForUpdate(Collection<Key> keys) {
+        if (storageLayout == EnergyStorageLayout.BUCKETED) {
+            return energyBucketJdbcRepository.findUsageForUpdate(keys);
+        }
+        if (!hasUniqueKey()) {
+            lockIots(keys.stream().map(Key::iotId).toList());
+        }
+        var usageByKey = new HashMap<Key, BigDecimal>();
+        var keyList = List.copyOf(keys);
+        for (int from = 0; from < keyList.size(); from += ROWS_PER_STATEMENT) {
+            var chunk = Set.copyOf(keyList.subList(from, Math.min(from + ROWS_PER_STATEMENT, keyList.size())));
+            var iotIds = chunk.stream().map(Key::iotId).distinct().toList();
+            var start = chunk.stream().map(Key::referenceTime).min(Comparator.naturalOrder()).orElseThrow();
+            var end = chunk.stream().map(Key::referenceTime).max(Comparator.naturalOrder()).orElseThrow();
+            var sql = "SELECT iot_id, reference_time, facility_usage FROM energy WHERE iot_id IN ("
+                    + String.join(", ", Collections.nCopies(iotIds.size(), "?"))
+                    + ") AND reference_time BETWEEN ? AND ? ORDER BY id FOR UPDATE";
+            jdbcTemplate.query(sql, preparedStatement -> {
+                var index = 1;
+                for (var iotId : iotIds) {
+                    preparedStatement.setLong(index++, iotId);
+                }
+                preparedStatement.setTimestamp(index++, Timestamp.valueOf(start));
+                preparedStatement.setTimestamp(index, Timestamp.valueOf(end));
+            }, resultSet -> {
+                var key = new Key(resultSet.getLong(1), resultSet.getTimestamp(2).toLocalDateTime());
+                if (chunk.contains(key)) {
+                    usageByKey.put(key, resultSet.getBigDecimal(3));
+                }
+            });
+        }
+        return usageByKey;
+    }
+
+    /**
+     * 에너지 사용량을 여러 행 Insert 쿼리로 저장합니다. 이미 있는 사용량은 처리 방식에 따라 갱신합니다.
+     * 한 번에 저장하는 목록 안에서는 IoT 장비와 기준 시각이 중복되지 않아야 합니다.
+     * 유일 키가 없으면 IoT 장비 행을 잠근 뒤 UPDATE 후 Insert 방식으로 저장하므로, 동시에 저장하는 요청이 같은 사용량을 중복해서 추가하지 않습니다.
+     *
+     * @param rows 저장할 에너지 사용량 목록
+     * @param policy 이미 있는 사용량의 처리 방식
+     */
+    public void upsertAll(List<EnergyDto.ReadingRow> rows, EnergyConflictPolicy policy) {
+        if (storageLayout == EnergyStorageLayout.BUCKETED) {
+            energyBucketJdbcRepository.upsertAll(rows, policy);
+            return;
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (!hasUniqueKey()) {
+            if (!missingUniqueKeyWarned) {
+                missingUniqueKeyWarned = true;
+                log.warn("Energy table has no unique key on (iot_id, reference_time); writing readings under IoT row locks until the energy compaction job adds it.");
+            }
+            lockIots(rows.stream().map(EnergyDto.ReadingRow::getIotId).toList());
+            updateOrInsertAll(rows, policy);
+            return;
+        }
+        var now = Timestamp.from(Instant.now());
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            var chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            jdbcTemplate.update(upsertSql(chunk.size(), policy), preparedStatement -> setInsertValues(preparedStatement, chunk, now));
+        }
+    }
+
+    /**
+     * 에너지 테이블에 IoT 장비와 기준 시각의 유일 키가 있는지 데이터베이스 메타데이터로 확인합니다.
+     * 이름과 관계없이 (iot_id, reference_time) 컬럼으로 된 유일 인덱스가 있으면 true이며, 있는 것을 확인한 뒤에는 다시 조회하지 않습니다.
+     *
+     * @return 유일 키가 있으면 true
+     */
+    public boolean hasUniqueKey() {
+        if (!uniqueKeyPresent) {
+            uniqueKeyPresent = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                var metaData = connection.getMetaData();
+                var tableName = metaData.storesUpperCaseIdentifiers() ? "ENERGY" : "energy";
+                var columnsByIndexName = new HashMap<String, TreeMap<Short, String>>();
+                try (var resultSet = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, true, true)) {
+                    while (resultSet.next()) {
+                        var indexName = resultSet.getString("INDEX_NAME");
+                        var columnName = resultSet.getString("COLUMN_NAME");
+                        if (indexName != null && columnName != null) {
+                            columnsByIndexName.computeIfAbsent(indexName, key -> new TreeMap<>())
+                                    .put(resultSet.getShort("ORDINAL_POSITION"), columnName.toLowerCase());
+                        }
+                    }
+                }
+                return columnsByIndexName.values().stream()
+                        .anyMatch(columns -> List.copyOf(columns.values()).equals(UNIQUE_KEY_COLUMNS));
+            }));
+        }
+        return uniqueKeyPresent;
+    }
+
+    /**
+     * 에너지 테이블에 IoT 장비와 기준 시각의 유일 키를 추가합니다. 이미 있으면 아무것도 하지 않습니다.
+     * 중복된 사용량이 남아 있으면 실패하므로, 중복을 모두 정리한 뒤 호출해야 합니다.
+     *
+     * @return 유일 키를 새로 추가했으면 true
+     */
+    public boolean addUniqueKey() {
+        if (hasUniqueKey()) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE energy ADD CONSTRAINT " + UNIQUE_KEY_NAME + " UNIQUE (iot_id, reference_time)");
+        uniqueKeyPresent = true;
+        return true;
+    }
+
+    /**
+     * IoT 장비의 중복된 에너지 사용량을 처리 방식에 따라 하나로 합칩니다.
+     * 유일 제약 조건을 추가하기 전에 쌓인 중복 데이터를 정리할 때 사용하며, 한 번에 최대 limit개의 기준 시각만 처리합니다.
+     * 에너지 버킷 테이블은 구조상 중복이 생기지 않으므로 에너지 테이블만 정리합니다.
+     * - REPLACE: 가장 나중에 저장된 행을 남김
+     * - KEEP_FIRST: 가장 먼저 저장된 행을 남김
+     * - SUM: 가장 먼저 저장된 행에 사용량 합계를 저장하고 남김
+     *
+     * @param iotId IoT 장비 ID
+     * @param policy 중복된 사용량의 처리 방식
+     * @param limit 한 번에 처리할 최대 기준 시각 수
+     * @return 정리한 중복 그룹 목록
+     */
+    public List<DuplicateGroup> compactDuplicates(Long iotId, EnergyConflictPolicy policy, int limit) {
+        var groups = jdbcTemplate.query("""
+                        SELECT reference_time, MIN(id), MAX(id), SUM(facility_usage)
+                        FROM energy
+                        WHERE iot_id = ?
+                        GROUP BY reference_time
+                        HAVING COUNT(*) > 1
+                        ORDER BY reference_time
+                        LIMIT ?
+                        """,
+                (resultSet, rowNum) -> new DuplicateGroup(
+                        resultSet.getTimestamp(1).toLocalDateTime(),
+                        resultSet.getLong(2),
+                        resultSet.getLong(3),
+                        resultSet.getBigDecimal(4)),
+                iotId, limit);
+        if (groups.isEmpty()) {
+            return groups;
+        }
+        // 남길 행 결정
+        var keptIds = groups.stream()
+                .map(group -> policy == EnergyConflictPolicy.REPLACE ? group.lastId() : group.firstId())
+                .toList();
+        // SUM인 경우 남길 행에 사용량 합계 저장
+        if (policy == EnergyConflictPolicy.SUM) {
+            var now = Timestamp.from(Instant.now());
+            jdbcTemplate.batchUpdate("UPDATE energy SET facility_usage = ?, modified_date = ? WHERE id = ?",
+                    groups.stream()
+                            .map(group -> new Object[]{group.totalUsage(), now, group.firstId()})
+                            .toList());
+        }
+        // 남길 행을 제외한 나머지 행 삭제
+        var deleteArgs = new ArrayList<Object[]>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            deleteArgs.add(new Object[]{iotId, Timestamp.valueOf(groups.get(i).referenceTime()), keptIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM energy WHERE iot_id = ? AND reference_time = ? AND id <> ?", deleteArgs);
+        return groups;
+    }
+
+    /**
+     * 주어진 IoT 장비 행을 ID 순으로 잠급니다. (트랜잭션이 끝날 때까지 유지)
+     * 유일 키가 없을 때 같은 장비의 사용량을 동시에 저장하는 요청을 차례로 처리하기 위해 사용하며,
+     * 항상 ID 순으로 잠그므로 여러 장비를 저장하는 요청끼리 교착 상태가 생기지 않습니다.
+     */
+    private void lockIots(Collection<Long> iotIds) {
+        var sortedIds = iotIds.stream().distinct().sorted().toList();
+        for (int from = 0; from < sortedIds.size(); from += ROWS_PER_STATEMENT) {
+            var chunk = sortedIds.subList(from, Math.min(from + ROWS_PER_STATEMENT, sortedIds.size()));
+            jdbcTemplate.queryForList("SELECT id FROM iot WHERE id IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                    + ") ORDER BY id FOR UPDATE", Long.class, chunk.toArray());
+        }
+    }
+
+    /**
+     * 유일 키가 없을 때 에너지 사용량을 저장합니다. IoT 장비 행을 잠근 뒤 호출해야 합니다.
+     * 이미 있는 사용량은 처리 방식에 따라 한 행만 UPDATE 하고, 없는 사용량만 Insert 합니다.
+     * 중복된 행이 있으면 중복 정리 작업이 남길 행(REPLACE는 가장 나중에, SUM은 가장 먼저 저장된 행)을 UPDATE 하므로,
+     * 정리한 뒤의 사용량이 유일 키가 있을 때 저장한 결과와 같습니다.
+     */
+    private void updateOrInsertAll(List<EnergyDto.ReadingRow> rows, EnergyConflictPolicy policy) {
+        var now = Timestamp.from(Instant.now());
+        var updates = new ArrayList<Object[]>();
+        var missing = new ArrayList<EnergyDto.ReadingRow>();
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            var chunk = rows.subList(from, Math.min(from + ROWS_PER_STATEMENT, rows.size()));
+            var existingIds = findExistingIds(chunk);
+            for (var row : chunk) {
+                var ids = existingIds.get(new Key(row.getIotId(), row.getReferenceTime()));
+                if (ids == null) {
+                    missing.add(row);
+                } else if (policy != EnergyConflictPolicy.KEEP_FIRST) {
+                    updates.add(new Object[]{row.getFacilityUsage(), row.getEpochHour(), now,
+                            policy == EnergyConflictPolicy.REPLACE ? ids[1] : ids[0]});
+                }
+            }
+        }
+        if (!updates.isEmpty()) {
+            var usage = policy == EnergyConflictPolicy.SUM ? "facility_usage + ?" : "?";
+            jdbcTemplate.batchUpdate("UPDATE energy SET facility_usage = " + usage + ", epoch_hour = ?, modified_date = ? WHERE id = ?",
+                    updates, ROWS_PER_STATEMENT, (preparedStatement, args) -> {
+                        preparedStatement.setBigDecimal(1, (BigDecimal) args[0]);
+                        preparedStatement.setObject(2, args[1], Types.INTEGER);
+                        preparedStatement.setTimestamp(3, (Timestamp) args[2], Calendar.getInstance(UTC));
+                        preparedStatement.setLong(4, (Long) args[3]);
+                    });
+        }
+        for (int from = 0; from < missing.size(); from += ROWS_PER_STATEMENT) {
+            var chunk = missing.subList(from, Math.min(from + ROWS_PER_STATEMENT, missing.size()));
+            jdbcTemplate.update(insertSql(chunk.size()), preparedStatement -> setInsertValues(preparedStatement, chunk, now));
+        }
+    }
+
+    /**
+     * 주어진 에너지 사용량과 IoT 장비, 기준 시각이 같은 기존 행의 가장 작은 ID와 가장 큰 ID를 조회합니다.
+     *
+     * @return IoT 장비 ID와 기준 시각별 {가장 작은 ID, 가장 큰 ID} (없는 경우 포함하지 않음)
+     */
+    private Map<Key, long[]> findExistingIds(List<EnergyDto.ReadingRow> rows) {
+        var keys = new HashSet<Key>();
+        rows.forEach(row -> keys.add(new Key(row.getIotId(), row.getReferenceTime())));
+        var iotIds = keys.stream().map(Key::iotId).distinct().toList();
+        var start = keys.stream().map(Key::referenceTime).min(Comparator.naturalOrder()).orElseThrow();
+        var end = keys.stream().map(Key::referenceTime).max(Comparator.naturalOrder()).orElseThrow();
+        var idsByKey = new HashMap<Key, long[]>();
+        jdbcTemplate.query("SELECT iot_id, reference_time, MIN(id), MAX(id) FROM energy WHERE iot_id IN ("
+                        + String.join(", ", Collections.nCopies(iotIds.size(), "?"))
+                        + ") AND reference_time BETWEEN ? AND ? GROUP BY iot_id, reference_time",
+                preparedStatement -> {
+                    var index = 1;
+                    for (var iotId : iotIds) {
+                        preparedStatement.setLong(index++, iotId);
+                    }
+                    preparedStatement.setTimestamp(index++, Timestamp.valueOf(start));
+                    preparedStatement.setTimestamp(index, Timestamp.valueOf(end));
+                }, resultSet -> {
+                    var key = new Key(resultSet.getLong(1), resultSet.getTimestamp(2).toLocalDateTime());
+                    if (keys.contains(key)) {
+                        idsByKey.put(key, new long[]{resultSet.getLong(3), resultSet.getLong(4)});
+                    }
+                });
+        return idsByKey;
+    }
+
+    /**
+     * 여러 행 Insert 쿼리의 값 목록에 에너지 사용량을 설정합니다.
+     */
+    private static void setInsertValues(PreparedStatement preparedStatement, List<EnergyDto.ReadingRow> rows, Timestamp now) throws SQLException {
+        var calendar = Calendar.getInstance(UTC);
+        var index = 1;
+        for (var row : rows) {
+            preparedStatement.setLong(index++, row.getIotId());
+            preparedStatement.setBigDecimal(index++, row.getFacilityUsage());
+            preparedStatement.setTimestamp(index++, Timestamp.valueOf(row.getReferenceTime()));
+            preparedStatement.setObject(index++, row.getEpochHour(), Types.INTEGER);
+            preparedStatement.setTimestamp(index++, now, calendar);
+            preparedStatement.setTimestamp(index++, now, calendar);
+        }
+    }
+
+    /**
+     * 주어진 행 수만큼 값 목록을 가진 Insert 쿼리를 생성합니다.
+     */
+    private static String insertSql(int rowCount) {
+        var values = "(" + "?, ".repeat(COLUMNS - 1) + "?)";
+        var sql = new StringBuilder(128 + rowCount * (values.length() + 2))
+                .append("INSERT INTO energy (iot_id, facility_usage, reference_time, epoch_hour, created_date, modified_date) VALUES ");
+        for (int i = 0; i < rowCount; i++) {
+            sql.append(i == 0 ? "" : ", ").append(values);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 주어진 행 수만큼 값 목록을 가진 Insert 쿼리를 생성합니다. 이미 있는 사용량은 처리 방식에 따라 갱신합니다.
+     */
+    private static String upsertSql(int rowCount, EnergyConflictPolicy policy) {
+        var sql = new StringBuilder(insertSql(rowCount));
+        sql.append(" ON DUPLICATE KEY UPDATE ").append(switch (policy) {
+            case REPLACE -> "facility_usage = VALUES(facility_usage), epoch_hour = VALUES(epoch_hour), modified_date = VALUES(modified_date)";
+            case KEEP_FIRST -> "id = id";
+            case SUM -> "facility_usage = facility_usage + VALUES(facility_usage), epoch_hour = VALUES(epoch_hour), modified_date = VALUES(modified_date)";
+        });
+        return sql.toString();
+    }
+
+    /**
+     * 에너지 사용량의 유일 키입니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @param referenceTime 기준 시각 (업체 타임존 기준)
+     */
+    public record Key(Long iotId, LocalDateTime referenceTime) {}
+
+    /**
+     * 같은 IoT 장비, 같은 기준 시각으로 중복 저장된 에너지 사용량 그룹입니다.
+     *
+     * @param referenceTime 기준 시각 (업체 타임존 기준)
+     * @param firstId 가장 먼저 저장된 행의 ID
+     * @param lastId 가장 나중에 저장된 행의 ID
+     * @param totalUsage 사용량 합계
+     */
+    public record DuplicateGroup(LocalDateTime referenceTime, long firstId, long lastId, BigDecimal totalUsage) {}
+}
@@ -5,6 +5,8 @@ import atemos.everse.api.entity.EnergyRate;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,4 +19,11 @@ import java.util.Optional;
  */
 public interface EnergyRateRepository extends JpaRepository<EnergyRate, Long>, JpaSpecificationExecutor<EnergyRate> {
     Optional<EnergyRate> findByCountry(Country country);
+    /**
+     * 여러 국가의 에너지 요금을 한 번에 조회합니다.
+     *
+     * @param countries 국가 목록
+     * @return 국가별 에너지 요금 리스트
+     */
+    List<EnergyRate> findByCountryIn(Collection<Country> countries);
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 에너지 저장 방식(EnergyStorageLayout)에 따라 에너지 테이블 또는 에너지 버킷 테이블을 조회하는 리포지토리 메서드입니다.
+ * 서비스와 배치 작업은 저장 방식과 관계없이 EnergyRepository의 이 메서드들로 에너지 사용량을 조회합니다.
+ */
+public interface EnergyRepositoryCustom {
+    /**
+     *  주어진 IoT ID와 날짜 범위에 따라 에너지 데이터를 조회합니다.
+     * @param iotList 조회할 IoT의 ID
+     * @param startDateTime 조회 시작 날짜
+     * @param endDateTime 조회 종료 날짜
+     * @return 주어진 조건에 맞는 에너지 데이터
+     */
+    List<Energy> findByIotInAndReferenceTimeBetween(List<Iot> iotList, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    /**
+     * 특정 IoT 장비의 에너지 수집 기록을 삭제합니다.
+     *
+     * @param iot Iot 장비의 정보
+     */
+    void deleteByIot(Iot iot);
+    /**
+     * 특정 IoT 장비의 한 시간 동안의 총 시설 에너지 사용량을 반환합니다.
+     * 이 메서드는 지정된 IoT 장비(`iotId`)에서 기준 시각(`start`)부터 종료 시각(`end`) 전까지 기록된
+     * 에너지 사용량(`facilityUsage`)을 합산하므로, 수집 간격이 1시간보다 짧은 장비도 한 시간 전체의 사용량을 구합니다.
+     *
+     * @param iotId  에너지 사용량을 조회할 IoT 장비의 고유 식별자
+     * @param start  조회할 시작 시각 (포함)
+     * @param end    조회할 종료 시각 (제외)
+     * @return 지정된 IoT 장비와 기간에 대한 총 시설 에너지 사용량 (`BigDecimal`);
+     *         데이터가 없을 경우 `null`을 반환합니다.
+     */
+    BigDecimal findHourlyUsageByIotAndTime(Long iotId, LocalDateTime start, LocalDateTime end);
+    /**
+     * 특정 업체의 기간 내 에너지 사용량을 데이터베이스에서 시간대별로 합산하여 반환합니다.
+     * UTC epoch 시간으로 조회하고 그룹화하며, 업체 타임존 기준 시각으로는 시간대마다 한 번만 변환합니다.
+     * 에너지 엔티티를 불러오지 않으므로 원본 데이터 건수와 무관하게 시간대 개수만큼의 결과만 반환됩니다.
+     *
+     * @param companyId 업체 ID
+     * @param zoneId    업체 타임존
+     * @param start     조회할 시작 일시 (업체 타임존 기준)
+     * @param end       조회할 종료 일시 (업체 타임존 기준)
+     * @return 시간대(정각, 업체 타임존 기준)별 에너지 사용량 합계 리스트
+     */
+    List<EnergyDto.UsageSum> sumFacilityUsageByHour(Long companyId, ZoneId zoneId, LocalDateTime start, LocalDateTime end);
+    /**
+     * 특정 업체의 한 시간대 에너지 사용량 합계를 반환합니다.
+     * 시간대를 UTC epoch 시간으로 지정하므로 업체마다 타임존을 변환하지 않고 같은 시간대를 조회할 수 있습니다.
+     *
+     * @param companyId 업체 ID
+     * @param zoneId    업체 타임존
+     * @param epochHour 시간대의 UTC epoch 시간 (Energy.toEpochHour())
+     * @return 시간대의 에너지 사용량 합계 (없으면 0)
+     */
+    BigDecimal sumFacilityUsageByEpochHour(Long companyId, ZoneId zoneId, int epochHour);
+    /**
+     * 특정 업체의 기간 내 에너지 사용량을 데이터베이스에서 기준 시각별로 합산하여 반환합니다.
+     * 기준 시각은 IoT 장비의 수집 간격 시작 시각이므로, 1시간보다 짧은 간격(예: 15분)의 사용량을 조회할 때 사용합니다.
+     *
+     * @param companyId 업체 ID
+     * @param start     조회할 시작 일시
+     * @param end       조회할 종료 일시
+     * @return 기준 시각별 에너지 사용량 합계 리스트 (기준 시각 오름차순)
+     */
+    List<EnergyDto.UsageSum> sumFacilityUsageByReferenceTime(Long companyId, LocalDateTime start, LocalDateTime end);
+    /**
+     * 특정 업체의 기간 내 에너지 사용량을 IoT 장비와 기준 시각별로 읽어 소수점 4자리 고정소수점 정수로 전달합니다.
+     * 최근 사용량을 메모리에 적재할 때 사용하며, 읽은 사용량을 목록으로 모으지 않습니다.
+     *
+     * @param companyId 업체 ID
+     * @param start     조회할 시작 일시 (포함, 업체 타임존 기준)
+     * @param end       조회할 종료 일시 (포함, 업체 타임존 기준)
+     * @param handler   사용량 처리기
+     */
+    void streamByCompany(Long companyId, LocalDateTime start, LocalDateTime end, EnergyBucketJdbcRepository.ReadingHandler handler);
+    /**
+     * 업체(또는 전체 업체)의 기간 내 에너지 사용량을 IoT 장비와 시각(0~23, 업체 타임존 기준)별로 합산하여 소수점 4자리 고정소수점 정수로 전달합니다.
+     * 시각별 요금과 피크 타입이 정해져 있으므로, 장비별 요금과 피크 타입별 사용량을 장비 수 × 24개의 합계만으로 계산할 수 있습니다.
+     * 기준 시각은 업체 타임존 기준으로 저장되므로 전체 업체도 한 번의 집계 쿼리로 조회합니다.
+     *
+     * @param companyId 업체 ID, null이면 전체 업체
+     * @param start     조회할 시작 일시 (포함, 업체 타임존 기준)
+     * @param end       조회할 종료 일시 (포함, 업체 타임존 기준)
+     * @param handler   합계 처리기
+     */
+    void sumUsageByIotAndHourOfDay(Long companyId, LocalDateTime start, LocalDateTime end, HourOfDayUsageHandler handler);
+    /**
+     * 특정 IoT 장비의 전체 에너지 사용량을 데이터베이스에서 시간대별로 합산하여 반환합니다.
+     * IoT 장비를 삭제할 때 집계 데이터에서 해당 장비의 사용량을 차감하기 위해 사용됩니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @return 시간대(정각, 업체 타임존 기준)별 에너지 사용량 합계 리스트
+     */
+    List<EnergyDto.UsageSum> sumFacilityUsageByHourAndIotId(Long iotId);
+
+    /**
+     * IoT 장비와 시각별 사용량 합계를 기본형 값으로 받는 처리기입니다.
+     */
+    @FunctionalInterface
+    interface HourOfDayUsageHandler {
+        /**
+         * @param companyId IoT 장비가 속한 업체 ID
+         * @param iotId IoT 장비 ID
+         * @param hourOfDay 시각 (0~23, 업체 타임존 기준)
+         * @param usage 소수점 4자리 고정소수점 사용량 합계
+         */
+        void accept(long companyId, long iotId, int hourOfDay, long usage);
+    }
+}
@@ -0,0 +1,276 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyStorageLayout;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * EnergyRepositoryCustom의 구현체입니다.
+ * - ROW: 에너지 테이블(energy)을 JPQL로 조회하고 데이터베이스에서 합산합니다.
+ *   시간대별 합계는 UTC epoch 시간 컬럼으로 조회하고 그룹화하며, UTC epoch 시간 백필이 끝나기 전에는 기준 시각으로 조회합니다.
+ * - BUCKETED: 에너지 버킷 테이블(energy_bucket)을 읽어 애플리케이션에서 고정소수점 정수로 합산합니다.
+ *   하루치 사용량이 한 행이므로 기간 내 버킷 수만큼의 행만 읽습니다.
+ */
+public class EnergyRepositoryCustomImpl implements EnergyRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+    private final EnergyBucketJdbcRepository energyBucketJdbcRepository;
+    private final EpochHourBackfillStatus epochHourBackfillStatus;
+    private final EnergyStorageLayout storageLayout;
+
+    public EnergyRepositoryCustomImpl(EnergyBucketJdbcRepository energyBucketJdbcRepository,
+                                      EpochHourBackfillStatus epochHourBackfillStatus,
+                                      @Value("${energy.storage-layout:ROW}") EnergyStorageLayout storageLayout) {
+        this.energyBucketJdbcRepository = energyBucketJdbcRepository;
+        this.epochHourBackfillStatus = epochHourBackfillStatus;
+        this.storageLayout = storageLayout;
+    }
+
+    @Override
+    public List<Energy> findByIotInAndReferenceTimeBetween(List<Iot> iotList, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            return entityManager.createQuery(
+                            "SELECT e FROM Energy e WHERE e.iot IN :iotList AND e.referenceTime BETWEEN :start AND :end", Energy.class)
+                    .setParameter("iotList", iotList)
+                    .setParameter("start", startDateTime)
+                    .setParameter("end", endDateTime)
+                    .getResultList();
+        }
+        // 버킷의 사용량을 저장되지 않은 에너지 엔티티로 변환
+        var iotById = iotList.stream().collect(Collectors.toMap(Iot::getId, Function.identity(), (a, b) -> a));
+        var energies = new ArrayList<Energy>();
+        energyBucketJdbcRepository.streamByIotIds(List.copyOf(iotById.keySet()), startDateTime, endDateTime,
+                (iotId, referenceTime, usage) -> energies.add(Energy.builder()
+                        .iot(iotById.get(iotId))
+                        .referenceTime(referenceTime)
+                        .facilityUsage(toUsage(usage))
+                        .build()));
+        return energies;
+    }
+
+    @Override
+    public void deleteByIot(Iot iot) {
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            entityManager.createQuery("DELETE FROM Energy e WHERE e.iot = :iot")
+                    .setParameter("iot", iot)
+                    .executeUpdate();
+            return;
+        }
+        energyBucketJdbcRepository.deleteByIotId(iot.getId());
+    }
+
+    @Override
+    public BigDecimal findHourlyUsageByIotAndTime(Long iotId, LocalDateTime start, LocalDateTime end) {
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            return entityManager.createQuery("SELECT SUM(e.facilityUsage) FROM Energy e " +
+                            "WHERE e.iot.id = :iotId AND e.referenceTime >= :start AND e.referenceTime < :end", BigDecimal.class)
+                    .setParameter("iotId", iotId)
+                    .setParameter("start", start)
+                    .setParameter("end", end)
+                    .getSingleResult();
+        }
+        var sum = new long[1];
+        var found = new boolean[1];
+        energyBucketJdbcRepository.streamByIotIds(List.of(iotId), start, end, (id, referenceTime, usage) -> {
+            if (referenceTime.isBefore(end)) {
+                sum[0] += usage;
+                found[0] = true;
+            }
+        });
+        return found[0] ? toUsage(sum[0]) : null;
+    }
+
+    @Override
+    public List<EnergyDto.UsageSum> sumFacilityUsageByHour(Long companyId, ZoneId zoneId, LocalDateTime start, LocalDateTime end) {
+        if (storageLayout == EnergyStorageLayout.ROW && epochHourBackfillStatus.isComplete()) {
+            return entityManager.createQuery("SELECT new atemos.everse.api.dto.EnergyDto$EpochHourUsageSum(e.epochHour, SUM(e.facilityUsage)) " +
+                            "FROM Energy e WHERE e.iot.company.id = :companyId AND e.epochHour BETWEEN :startHour AND :endHour " +
+                            "GROUP BY e.epochHour", EnergyDto.EpochHourUsageSum.class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("startHour", Energy.toEpochHour(start, zoneId))
+                    .setParameter("endHour", Energy.toEpochHour(end, zoneId))
+                    .getResultStream()
+                    .map(usageSum -> usageSum.toUsageSum(zoneId))
+                    .toList();
+        }
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            return entityManager.createQuery("SELECT new atemos.everse.api.dto.EnergyDto$UsageSum(" +
+                            "year(e.referenceTime), month(e.referenceTime), day(e.referenceTime), hour(e.referenceTime), SUM(e.facilityUsage)) " +
+                            "FROM Energy e WHERE e.iot.company.id = :companyId AND e.referenceTime BETWEEN :start AND :end " +
+                            "GROUP BY year(e.referenceTime), month(e.referenceTime), day(e.referenceTime), hour(e.referenceTime)",
+                            EnergyDto.UsageSum.class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("start", start)
+                    .setParameter("end", end)
+                    .getResultList();
+        }
+        var sums = new TreeMap<LocalDateTime, long[]>();
+        energyBucketJdbcRepository.streamByCompany(companyId, start, end, (iotId, referenceTime, usage) ->
+                sums.computeIfAbsent(referenceTime.truncatedTo(ChronoUnit.HOURS), key -> new long[1])[0] += usage);
+        return toUsageSums(sums);
+    }
+
+    @Override
+    public BigDecimal sumFacilityUsageByEpochHour(Long companyId, ZoneId zoneId, int epochHour) {
+        if (storageLayout == EnergyStorageLayout.ROW && epochHourBackfillStatus.isComplete()) {
+            return Optional.ofNullable(entityManager.createQuery("SELECT SUM(e.facilityUsage) FROM Energy e " +
+                                    "WHERE e.iot.company.id = :companyId AND e.epochHour = :epochHour", BigDecimal.class)
+                            .setParameter("companyId", companyId)
+                            .setParameter("epochHour", epochHour)
+                            .getSingleResult())
+                    .orElse(BigDecimal.ZERO);
+        }
+        // 백필이 끝나지 않았거나 버킷으로 저장하면 업체 타임존 기준 시간대로 조회
+        var start = Energy.fromEpochHour(epochHour, zoneId);
+        return sumFacilityUsageByReferenceTime(companyId, start, start.plusHours(1).minusNanos(1)).stream()
+                .map(EnergyDto.UsageSum::getUsage)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public List<EnergyDto.UsageSum> sumFacilityUsageByReferenceTime(Long companyId, LocalDateTime start, LocalDateTime end) {
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            return entityManager.createQuery("SELECT new atemos.everse.api.dto.EnergyDto$UsageSum(e.referenceTime, SUM(e.facilityUsage)) " +
+                            "FROM Energy e WHERE e.iot.company.id = :companyId AND e.referenceTime BETWEEN :start AND :end " +
+                            "GROUP BY e.referenceTime ORDER BY e.referenceTime", EnergyDto.UsageSum.class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("start", start)
+                    .setParameter("end", end)
+                    .getResultList();
+        }
+        var sums = new TreeMap<LocalDateTime, long[]>();
+        energyBucketJdbcRepository.streamByCompany(companyId, start, end, (iotId, referenceTime, usage) ->
+                sums.computeIfAbsent(referenceTime, key -> new long[1])[0] += usage);
+        return toUsageSums(sums);
+    }
+
+    @Override
+    public void streamByCompany(Long companyId, LocalDateTime start, LocalDateTime end, EnergyBucketJdbcRepository.ReadingHandler handler) {
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            try (var rows = entityManager.createQuery("SELECT e.iot.id, e.referenceTime, e.facilityUsage FROM Energy e " +
+                            "WHERE e.iot.company.id = :companyId AND e.referenceTime BETWEEN :start AND :end", Object[].class)
+                    .setParameter("companyId", companyId)
+                    .setParameter("start", start)
+                    .setParameter("end", end)
+                    .getResultStream()) {
+                rows.forEach(row -> handler.accept((Long) row[0], (LocalDateTime) row[1], toFixedPoint((BigDecimal) row[2])));
+            }
+            return;
+        }
+        energyBucketJdbcRepository.streamByCompany(companyId, start, end, handler);
+    }
+
+    @Override
+    public void sumUsageByIotAndHourOfDay(Long companyId, LocalDateTime start, LocalDateTime end, HourOfDayUsageHandler handler) {
+        var companyCondition = (companyId == null) ? "" : "e.iot.company.id = :companyId AND ";
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            var query = entityManager.createQuery("SELECT e.iot.company.id, e.iot.id, hour(e.referenceTime), SUM(e.facilityUsage) FROM Energy e " +
+                            "WHERE " + companyCondition + "e.referenceTime BETWEEN :start AND :end " +
+                            "GROUP BY e.iot.company.id, e.iot.id, hour(e.referenceTime)", Object[].class)
+                    .setParameter("start", start)
+                    .setParameter("end", end);
+            if (companyId != null) {
+                query.setParameter("companyId", companyId);
+            }
+            try (var rows = query.getResultStream()) {
+                rows.forEach(row -> handler.accept((Long) row[0], (Long) row[1], ((Number) row[2]).intValue(), toFixedPoint((BigDecimal) row[3])));
+            }
+            return;
+        }
+        // 버킷에는 업체 ID가 없으므로 IoT 장비별 업체 ID를 먼저 조회
+        var companyQuery = entityManager.createQuery("SELECT i.id, i.company.id FROM Iot i" +
+                (companyId == null ? "" : " WHERE i.company.id = :companyId"), Object[].class);
+        if (companyId != null) {
+            companyQuery.setParameter("companyId", companyId);
+        }
+        var companyIdByIotId = new HashMap<Long, Long>();
+        companyQuery.getResultList().forEach(row -> companyIdByIotId.put((Long) row[0], (Long) row[1]));
+        // 버킷은 IoT 장비 순서로 읽으므로 장비가 바뀔 때마다 해당 장비의 시각별 합계를 전달
+        var hourly = new long[24];
+        var present = new boolean[24];
+        var current = new long[]{-1};
+        EnergyBucketJdbcRepository.ReadingHandler accumulator = (iotId, referenceTime, usage) -> {
+            if (iotId != current[0]) {
+                flushHourOfDay(companyIdByIotId, current[0], hourly, present, handler);
+                current[0] = iotId;
+            }
+            hourly[referenceTime.getHour()] += usage;
+            present[referenceTime.getHour()] = true;
+        };
+        if (companyId == null) {
+            energyBucketJdbcRepository.streamAll(start, end, accumulator);
+        } else {
+            energyBucketJdbcRepository.streamByCompany(companyId, start, end, accumulator);
+        }
+        flushHourOfDay(companyIdByIotId, current[0], hourly, present, handler);
+    }
+
+    @Override
+    public List<EnergyDto.UsageSum> sumFacilityUsageByHourAndIotId(Long iotId) {
+        if (storageLayout == EnergyStorageLayout.ROW) {
+            return entityManager.createQuery("SELECT new atemos.everse.api.dto.EnergyDto$UsageSum(" +
+                            "year(e.referenceTime), month(e.referenceTime), day(e.referenceTime), hour(e.referenceTime), SUM(e.facilityUsage)) " +
+                            "FROM Energy e WHERE e.iot.id = :iotId " +
+                            "GROUP BY year(e.referenceTime), month(e.referenceTime), day(e.referenceTime), hour(e.referenceTime)",
+                            EnergyDto.UsageSum.class)
+                    .setParameter("iotId", iotId)
+                    .getResultList();
+        }
+        var sums = new TreeMap<LocalDateTime, long[]>();
+        energyBucketJdbcRepository.streamByIot(iotId, (id, referenceTime, usage) ->
+                sums.computeIfAbsent(referenceTime.truncatedTo(ChronoUnit.HOURS), key -> new long[1])[0] += usage);
+        return toUsageSums(sums);
+    }
+
+    /**
+     * 기준 시각별 고정소수점 합계를 에너지 사용량 합계 리스트(기준 시각 오름차순)로 변환합니다.
+     */
+    private static List<EnergyDto.UsageSum> toUsageSums(SortedMap<LocalDateTime, long[]> sums) {
+        var result = new ArrayList<EnergyDto.UsageSum>(sums.size());
+        sums.forEach((referenceTime, sum) -> result.add(new EnergyDto.UsageSum(referenceTime, toUsage(sum[0]))));
+        return result;
+    }
+
+    /**
+     * 한 IoT 장비의 시각별 합계를 전달하고 다음 장비를 위해 비웁니다.
+     */
+    private static void flushHourOfDay(Map<Long, Long> companyIdByIotId, long iotId, long[] hourly, boolean[] present, HourOfDayUsageHandler handler) {
+        var companyId = companyIdByIotId.get(iotId);
+        for (int hour = 0; hour < hourly.length; hour++) {
+            // 조회 중에 삭제된 IoT 장비의 사용량은 전달하지 않음
+            if (present[hour] && companyId != null) {
+                handler.accept(companyId, iotId, hour, hourly[hour]);
+            }
+        }
+        Arrays.fill(hourly, 0);
+        Arrays.fill(present, false);
+    }
+
+    /**
+     * BigDecimal 사용량을 소수점 4자리 고정소수점 정수로 변환합니다.
+     */
+    private static long toFixedPoint(BigDecimal usage) {
+        return usage.setScale(EnergyBucketJdbcRepository.USAGE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 고정소수점 정수 사용량을 BigDecimal로 변환합니다.
+     */
+    private static BigDecimal toUsage(long usage) {
+        return BigDecimal.valueOf(usage, EnergyBucketJdbcRepository.USAGE_SCALE);
+    }
+}
@@ -0,0 +1,62 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TimeZone;
+
+/**
+ * 업체별 집계 데이터(energy_rollup) 행을 JDBC로 생성하고 잠그는 리포지토리입니다.
+ * 같은 업체의 집계 데이터를 동시에 갱신하는 요청(배치 작업, 에너지 사용량 수집 API 등)이 서로의 변화량을 덮어쓰지 않도록,
+ * 갱신하기 전에 집계 행을 만들고 트랜잭션이 끝날 때까지 잠급니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EnergyRollupJdbcRepository {
+    // Instant 컬럼을 Hibernate와 같이 UTC 기준으로 저장하기 위한 타임존
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 업체의 집계 행을 집계 시각 오름차순으로 잠그고, 없는 행은 사용량과 요금이 0인 행으로 만듭니다.
+     * - 이미 있는 행은 ON DUPLICATE KEY UPDATE로 배타 잠금을 얻으므로, 공유 잠금을 배타 잠금으로 올리다 교착 상태가 되지 않습니다.
+     * - 모든 요청이 같은 순서(업체 ID, 집계 단위 HOURLY → DAILY → MONTHLY, 집계 시각)로 잠그므로 서로 교착 상태가 되지 않습니다.
+     * - 새로 만든 행은 수정 일시가 비어 있으므로, 잠근 뒤 조회한 행이 이번 트랜잭션에서 만든 행인지 구분할 수 있습니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param bucketTimes 집계 시각 목록
+     */
+    public void lock(Long companyId, EnergyRollupGranularity granularity, Collection<LocalDateTime> bucketTimes) {
+        if (bucketTimes.isEmpty()) {
+            return;
+        }
+        var sortedBucketTimes = bucketTimes.stream().sorted().toList();
+        var now = Timestamp.from(Instant.now());
+        for (int from = 0; from < sortedBucketTimes.size(); from += EnergyJdbcRepository.ROWS_PER_STATEMENT) {
+            var chunk = sortedBucketTimes.subList(from, Math.min(from + EnergyJdbcRepository.ROWS_PER_STATEMENT, sortedBucketTimes.size()));
+            var sql = "INSERT INTO energy_rollup (company_id, granularity, bucket_time, facility_usage, bill, created_date) VALUES "
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, 0, 0, ?)"))
+                    + " ON DUPLICATE KEY UPDATE id = id";
+            jdbcTemplate.update(sql, preparedStatement -> {
+                var calendar = Calendar.getInstance(UTC);
+                var index = 1;
+                for (var bucketTime : chunk) {
+                    preparedStatement.setLong(index++, companyId);
+                    preparedStatement.setString(index++, granularity.name());
+                    preparedStatement.setTimestamp(index++, Timestamp.valueOf(bucketTime));
+                    preparedStatement.setTimestamp(index++, now, calendar);
+                }
+            });
+        }
+    }
+}
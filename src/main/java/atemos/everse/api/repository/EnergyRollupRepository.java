@@ -0,0 +1,112 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.EnergyRollup;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * EnergyRollup 엔티티에 대한 데이터 접근을 제공하는 리포지토리 인터페이스입니다.
+ * 업체별 시간별/일별/월별 에너지 사용량 집계 데이터를 조회하고 갱신합니다.
+ */
+public interface EnergyRollupRepository extends JpaRepository<EnergyRollup, Long> {
+    /**
+     * 업체의 특정 집계 단위에 대해 기간 내 집계 시각과 사용량만 시각 오름차순으로 조회합니다.
+     * 조회 전용 객체로 받으므로 집계 엔티티와 업체 프록시를 생성하지 않습니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param startDateTime 조회 시작 시각 (업체 타임존 기준)
+     * @param endDateTime 조회 종료 시각 (업체 타임존 기준)
+     * @return 집계 시각별 에너지 사용량 리스트
+     */
+    @Query("SELECT new atemos.everse.api.dto.EnergyDto$UsageSum(r.bucketTime, r.facilityUsage) FROM EnergyRollup r " +
+            "WHERE r.company.id = :companyId AND r.granularity = :granularity " +
+            "AND r.bucketTime BETWEEN :startDateTime AND :endDateTime ORDER BY r.bucketTime ASC")
+    List<EnergyDto.UsageSum> findUsageByCompanyIdAndGranularity(@Param("companyId") Long companyId,
+                                                                @Param("granularity") EnergyRollupGranularity granularity,
+                                                                @Param("startDateTime") LocalDateTime startDateTime,
+                                                                @Param("endDateTime") LocalDateTime endDateTime);
+    /**
+     * 업체의 특정 집계 단위에 대해 주어진 시각들의 집계 데이터를 조회합니다.
+     * 증분 갱신 시 이미 존재하는 집계 데이터를 한 번에 조회하기 위해 사용됩니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param bucketTimes 조회할 집계 시각 목록
+     * @return 주어진 시각들에 해당하는 집계 데이터 리스트
+     */
+    List<EnergyRollup> findByCompanyIdAndGranularityAndBucketTimeIn(Long companyId,
+                                                                    EnergyRollupGranularity granularity,
+                                                                    Collection<LocalDateTime> bucketTimes);
+    /**
+     * 업체의 특정 집계 단위에 대해 주어진 시각들의 집계 데이터를 잠금 읽기(SELECT ... FOR UPDATE)로 조회합니다.
+     * 잠금 읽기는 트랜잭션의 스냅샷이 아닌 마지막으로 커밋된 값을 읽으므로, 다른 요청이 먼저 커밋한 변화량을 놓치지 않습니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param bucketTimes 조회할 집계 시각 목록
+     * @return 주어진 시각들에 해당하는 집계 데이터 리스트 (시각 오름차순)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM EnergyRollup r WHERE r.company.id = :companyId AND r.granularity = :granularity " +
+            "AND r.bucketTime IN :bucketTimes ORDER BY r.bucketTime ASC")
+    List<EnergyRollup> findForUpdate(@Param("companyId") Long companyId,
+                                     @Param("granularity") EnergyRollupGranularity granularity,
+                                     @Param("bucketTimes") Collection<LocalDateTime> bucketTimes);
+    /**
+     * 업체의 특정 집계 단위와 시각에 해당하는 집계 데이터를 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param bucketTime 집계 시각
+     * @return 집계 데이터, 없을 경우 빈 Optional 반환
+     */
+    Optional<EnergyRollup> findByCompanyIdAndGranularityAndBucketTime(Long companyId,
+                                                                      EnergyRollupGranularity granularity,
+                                                                      LocalDateTime bucketTime);
+    /**
+     * 업체의 특정 집계 단위에 대해 기간 내 집계 데이터를 시각 오름차순으로 조회합니다.
+     * 원본 데이터와 시간별 집계의 보관 기간이 지난 기간을 일별/월별 집계로 조회할 때 사용됩니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @param startDateTime 조회 시작 시각 (업체 타임존 기준)
+     * @param endDateTime 조회 종료 시각 (업체 타임존 기준)
+     * @return 집계 데이터 리스트
+     */
+    List<EnergyRollup> findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(Long companyId,
+                                                                                           EnergyRollupGranularity granularity,
+                                                                                           LocalDateTime startDateTime,
+                                                                                           LocalDateTime endDateTime);
+    /**
+     * 업체의 특정 집계 단위에서 가장 이른 집계 시각을 조회합니다.
+     * 보관 기간이 지난 집계 데이터가 남아 있는지 확인할 때 사용됩니다.
+     *
+     * @param companyId 업체 ID
+     * @param granularity 집계 단위
+     * @return 가장 이른 집계 시각, 집계 데이터가 없으면 빈 Optional 반환
+     */
+    @Query("SELECT MIN(r.bucketTime) FROM EnergyRollup r WHERE r.company.id = :companyId AND r.granularity = :granularity")
+    Optional<LocalDateTime> findMinBucketTime(@Param("companyId") Long companyId,
+                                              @Param("granularity") EnergyRollupGranularity granularity);
+    /**
+     * 업체의 모든 집계 데이터를 한 번의 DELETE로 삭제합니다. 업체를 삭제하기 전에 호출됩니다.
+     *
+     * @param companyId 업체 ID
+     * @return 삭제된 집계 데이터 수
+     */
+    @Modifying
+    @Query("DELETE FROM EnergyRollup r WHERE r.company.id = :companyId")
+    int deleteByCompanyId(@Param("companyId") Long companyId);
+}
@@ -0,0 +1,84 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.PartitionedTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 에너지와 AI 예측 에너지 테이블의 UTC epoch 시간 컬럼(epoch_hour)을 JDBC로 채우는 리포지토리입니다.
+ * 컬럼을 추가하기 이전에 저장된 행은 epoch_hour가 비어 있으므로, 백필 작업이 업체 타임존 기준 시간대별로 값을 채웁니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EpochHourJdbcRepository {
+    /**
+     * epoch_hour 컬럼이 있는 테이블 목록입니다. (업체 타임존 기준 시각 컬럼을 사용하는 시계열 테이블)
+     */
+    public static final List<PartitionedTable> TABLES = List.of(PartitionedTable.ENERGY, PartitionedTable.AI_FORECAST_ENERGY);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * epoch_hour가 비어 있는 행이 있는지 확인합니다.
+     *
+     * @return 비어 있는 행이 하나라도 있으면 true
+     */
+    public boolean hasMissing() {
+        return TABLES.stream().anyMatch(table -> Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS(SELECT 1 FROM " + table.getTableName() + " WHERE epoch_hour IS NULL)", Boolean.class)));
+    }
+
+    /**
+     * 업체의 가장 이른 시각과 가장 늦은 시각을 조회합니다.
+     *
+     * @param table 테이블
+     * @param companyId 업체 ID
+     * @return 가장 이른 시각과 가장 늦은 시각 (업체 타임존 기준, 행이 없으면 빈 Optional)
+     */
+    public Optional<TimeRange> findTimeRange(PartitionedTable table, Long companyId) {
+        return jdbcTemplate.query("SELECT MIN(" + table.getColumnName() + "), MAX(" + table.getColumnName() + ") FROM "
+                + table.getTableName() + " WHERE " + table.getCompanyCondition().formatted("?"), resultSet -> {
+            if (!resultSet.next() || resultSet.getTimestamp(1) == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new TimeRange(resultSet.getTimestamp(1).toLocalDateTime(), resultSet.getTimestamp(2).toLocalDateTime()));
+        }, companyId);
+    }
+
+    /**
+     * 업체의 행 중 epoch_hour가 비어 있는 행을 시간대별로 채웁니다.
+     *
+     * @param table 테이블
+     * @param companyId 업체 ID
+     * @param epochHourByHour 시간대 시작 시각(업체 타임존 기준)별 UTC epoch 시간
+     * @return 채운 행 수
+     */
+    public long backfill(PartitionedTable table, Long companyId, Map<LocalDateTime, Integer> epochHourByHour) {
+        if (epochHourByHour.isEmpty()) {
+            return 0;
+        }
+        var sql = "UPDATE " + table.getTableName() + " SET epoch_hour = ? WHERE " + table.getCompanyCondition().formatted("?")
+                + " AND " + table.getColumnName() + " >= ? AND " + table.getColumnName() + " < ? AND epoch_hour IS NULL";
+        var args = epochHourByHour.entrySet().stream()
+                .map(entry -> new Object[]{entry.getValue(), companyId,
+                        Timestamp.valueOf(entry.getKey()), Timestamp.valueOf(entry.getKey().plusHours(1))})
+                .toList();
+        return Arrays.stream(jdbcTemplate.batchUpdate(sql, args)).asLongStream().sum();
+    }
+
+    /**
+     * 업체 행의 시각 범위입니다.
+     *
+     * @param min 가장 이른 시각 (업체 타임존 기준)
+     * @param max 가장 늦은 시각 (업체 타임존 기준)
+     */
+    public record TimeRange(LocalDateTime min, LocalDateTime max) {}
+}
@@ -1,13 +1,20 @@
 package atemos.everse.api.repository;
 
 import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.dto.IotDto;
 import atemos.everse.api.entity.Company;
 import atemos.everse.api.entity.Iot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Iot 엔티티에 대한 데이터 접근을 제공하는 리포지토리 인터페이스입니다.
@@ -33,4 +40,90 @@ public interface IotRepository extends JpaRepository<Iot, Long>, JpaSpecificatio
      */
     @Query("SELECT i FROM Iot i JOIN FETCH i.company c JOIN FETCH c.country")
     List<Iot> findAllWithCompanyAndCountry();
-}
\ No newline at end of file
+    /**
+     * 주어진 ID의 IoT 장비 식별 정보를 조회합니다.
+     *
+     * @param ids IoT 장비 ID 목록
+     * @return IoT 장비 식별 정보 리스트
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$RegistryEntry(i.id, c.id, i.serialNumber, i.status, co.timeZone, i.readingIntervalMinutes) " +
+            "FROM Iot i JOIN i.company c JOIN c.country co WHERE i.id IN :ids")
+    List<IotDto.RegistryEntry> findRegistryEntriesByIdIn(@Param("ids") Collection<Long> ids);
+    /**
+     * 주어진 시리얼 넘버의 IoT 장비 식별 정보를 조회합니다.
+     *
+     * @param serialNumbers 시리얼 넘버 목록
+     * @return IoT 장비 식별 정보 리스트 (시리얼 넘버가 중복된 장비는 모두 포함)
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$RegistryEntry(i.id, c.id, i.serialNumber, i.status, co.timeZone, i.readingIntervalMinutes) " +
+            "FROM Iot i JOIN i.company c JOIN c.country co WHERE i.serialNumber IN :serialNumbers")
+    List<IotDto.RegistryEntry> findRegistryEntriesBySerialNumberIn(@Param("serialNumbers") Collection<String> serialNumbers);
+    /**
+     * 주어진 ID보다 큰 ID를 가진 첫 번째 IoT 장비를 조회합니다.
+     *
+     * @param id 기준 IoT 장비 ID
+     * @return ID 순으로 다음 IoT 장비
+     */
+    Optional<Iot> findFirstByIdGreaterThanOrderByIdAsc(Long id);
+    /**
+     * 업체별 IoT 장비 수를 업체 ID 순으로 조회합니다.
+     * 에너지 사용량 수집 작업을 업체 ID 범위로 나눌 때 사용합니다.
+     *
+     * @return 업체별 IoT 장비 수 리스트 (장비가 없는 업체는 제외)
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$CompanyIotCount(i.company.id, COUNT(i)) FROM Iot i " +
+            "GROUP BY i.company.id ORDER BY i.company.id")
+    List<IotDto.CompanyIotCount> countGroupByCompanyId();
+    /**
+     * 업체 ID 범위 내 업체별로 주어진 상태의 IoT 장비 수를 한 번에 조회합니다.
+     *
+     * @param status 조회할 IoT 장비의 상태
+     * @param minCompanyId 업체 ID 범위의 시작 (포함)
+     * @param maxCompanyId 업체 ID 범위의 끝 (포함)
+     * @return 업체별 IoT 장비 수 리스트 (해당 상태의 장비가 없는 업체는 제외)
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$CompanyIotCount(i.company.id, COUNT(i)) FROM Iot i " +
+            "WHERE i.status = :status AND i.company.id BETWEEN :minCompanyId AND :maxCompanyId GROUP BY i.company.id")
+    List<IotDto.CompanyIotCount> countByStatusGroupByCompanyId(@Param("status") IotStatus status,
+                                                               @Param("minCompanyId") Long minCompanyId,
+                                                               @Param("maxCompanyId") Long maxCompanyId);
+    /**
+     * 업체 ID 범위 내에서 주어진 ID보다 큰 IoT 장비의 식별 정보를 ID 순으로 limit개까지 조회합니다.
+     * 엔티티를 불러오지 않으므로 장비마다 업체와 국가를 지연 로딩하지 않습니다.
+     *
+     * @param minCompanyId 업체 ID 범위의 시작 (포함)
+     * @param maxCompanyId 업체 ID 범위의 끝 (포함)
+     * @param afterId 이전에 조회한 마지막 IoT 장비 ID
+     * @param limit 최대 조회 건수
+     * @return IoT 장비 식별 정보 리스트 (ID 오름차순)
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$RegistryEntry(i.id, c.id, i.serialNumber, i.status, co.timeZone, i.readingIntervalMinutes) " +
+            "FROM Iot i JOIN i.company c JOIN c.country co " +
+            "WHERE c.id BETWEEN :minCompanyId AND :maxCompanyId AND i.id > :afterId ORDER BY i.id")
+    List<IotDto.RegistryEntry> findRegistryEntriesByCompanyIdBetween(@Param("minCompanyId") Long minCompanyId,
+                                                                     @Param("maxCompanyId") Long maxCompanyId,
+                                                                     @Param("afterId") Long afterId,
+                                                                     Limit limit);
+    /**
+     * 모든 IoT 장비의 ID와 현재 상태를 조회합니다.
+     * 엔티티를 불러오지 않으므로 상태 수집 작업이 영속성 컨텍스트에 장비 엔티티를 쌓지 않습니다.
+     *
+     * @return IoT 장비 ID와 상태 리스트
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$StatusEntry(i.id, i.status) FROM Iot i")
+    List<IotDto.StatusEntry> findStatusEntries();
+    /**
+     * 주어진 IoT 장비들의 상태를 한 번의 UPDATE로 변경합니다.
+     * 벌크 연산이므로 감사(auditing) 리스너 대신 수정 일시를 직접 설정합니다.
+     *
+     * @param ids 상태를 변경할 IoT 장비 ID 목록
+     * @param status 변경할 상태
+     * @param modifiedDate 수정 일시
+     * @return 변경된 IoT 장비 수
+     */
+    @Modifying
+    @Query("UPDATE Iot i SET i.status = :status, i.modifiedDate = :modifiedDate WHERE i.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("status") IotStatus status,
+                           @Param("modifiedDate") Instant modifiedDate);
+}
@@ -1,13 +1,16 @@
 package atemos.everse.api.repository;
 
+import atemos.everse.api.dto.IotDto;
 import atemos.everse.api.entity.Iot;
 import atemos.everse.api.entity.IotStatusHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,21 +23,63 @@ import java.util.List;
  */
 public interface IotStatusHistoryRepository extends JpaRepository<IotStatusHistory, Long>, JpaSpecificationExecutor<IotStatusHistory> {
     /**
-     * 지정된 기준 시간 이전에 생성된 IoT 상태 기록을 특정 회사들에 대해 삭제합니다.
-     *
-     * @param createdDate 삭제 기준 시간이 되는 Instant
-     * @param companyIds  삭제 대상 회사의 ID 목록
-     * @return 삭제된 IotStatusHistory 레코드 수
+     * 주어진 기간과 겹치는 해당 업체의 IoT 상태 구간을 조회합니다.
+     * @param companyId 업체 ID
+     * @param start 기간 시작 일시 (포함, UTC)
+     * @param end 기간 종료 일시 (미포함, UTC)
+     * @return 기간과 겹치는 IoT 상태 구간 목록
      */
-    long deleteByCreatedDateBeforeAndIot_Company_IdIn(Instant createdDate, List<Long> companyIds);
+    @Query("SELECT h FROM IotStatusHistory h " +
+            "WHERE h.iot.company.id = :companyId AND h.createdDate < :end AND (h.endDate IS NULL OR h.endDate > :start)")
+    List<IotStatusHistory> findOverlappingByCompanyId(@Param("companyId") Long companyId,
+                                                      @Param("start") Instant start,
+                                                      @Param("end") Instant end);
     /**
-     * 특정 날짜에 해당 업체의 IoT 이력 데이터를 조회합니다.
-     * @param companyId 업체 ID
-     * @param startOfDayUtc 검색 날짜 시작일시 (ZonedDateTime -> LocalDateTime, UTC)
-     * @param endOfDayUtc 검색 날짜 종료 일시 (ZonedDateTime -> LocalDateTime, UTC)
-     * @return Iot 이력 데이터 목록
+     * 종료 일시가 없는(현재 유지 중인) 상태 구간의 IoT 장비 ID와 상태를 조회합니다.
+     * @return IoT 장비 ID와 현재 구간의 상태 목록
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$StatusEntry(h.iot.id, h.status) FROM IotStatusHistory h WHERE h.endDate IS NULL")
+    List<IotDto.StatusEntry> findOpenStatusEntries();
+    /**
+     * 주어진 일시 이전에 시작되어 아직 유지 중인 상태 구간의 IoT 장비 ID와 상태를 조회합니다.
+     * @param start 기준 일시
+     * @return IoT 장비 ID와 구간의 상태 목록
+     */
+    @Query("SELECT new atemos.everse.api.dto.IotDto$StatusEntry(h.iot.id, h.status) FROM IotStatusHistory h " +
+            "WHERE h.endDate IS NULL AND h.createdDate < :start")
+    List<IotDto.StatusEntry> findOpenStatusEntriesStartedBefore(@Param("start") Instant start);
+    /**
+     * 주어진 일시 이전에 시작되어 아직 유지 중인 상태 구간을 그 일시에 닫습니다.
+     * @param start 기준 일시 (구간의 종료 일시로 설정)
+     * @return 닫은 구간 수
+     */
+    @Modifying
+    @Query("UPDATE IotStatusHistory h SET h.endDate = :start WHERE h.endDate IS NULL AND h.createdDate < :start")
+    int closeOpenStartedBefore(@Param("start") Instant start);
+    /**
+     * 주어진 IoT 장비들의 유지 중인 상태 구간을 한 번의 UPDATE로 닫습니다.
+     * @param iotIds IoT 장비 ID 목록
+     * @param endDate 구간의 종료 일시
+     * @return 닫은 구간 수
+     */
+    @Modifying
+    @Query("UPDATE IotStatusHistory h SET h.endDate = :endDate WHERE h.endDate IS NULL AND h.iot.id IN :iotIds")
+    int closeOpenByIotIdIn(@Param("iotIds") Collection<Long> iotIds, @Param("endDate") Instant endDate);
+    /**
+     * 구간 저장 방식 이전에 매시간 저장한 상태 이력 행(종료 일시 없음)을 1시간 구간으로 닫습니다.
+     * 장비별로 가장 최근 행은 현재 상태 구간으로 남기며, 다음 행의 시작 일시를 넘지 않도록 닫습니다.
+     * 이전 방식의 행이 남아 있지 않으면 아무 행도 변경하지 않습니다.
+     * @return 닫은 행 수
      */
-    List<IotStatusHistory> findByIot_Company_IdAndCreatedDateBetween(Long companyId, Instant startOfDayUtc, Instant endOfDayUtc);
+    @Modifying
+    @Query(value = """
+            UPDATE iot_status_history h
+            JOIN (SELECT iot_id, MAX(created_date) AS latest FROM iot_status_history
+                  WHERE end_date IS NULL GROUP BY iot_id HAVING COUNT(*) > 1) l ON l.iot_id = h.iot_id
+            SET h.end_date = LEAST(TIMESTAMPADD(HOUR, 1, h.created_date), l.latest)
+            WHERE h.end_date IS NULL AND h.created_date < l.latest
+            """, nativeQuery = true)
+    int closeLegacySamples();
     /**
      * 특정 IoT 장비의 상태 이력 데이터를 삭제합니다.
      * @param iot Iot 장비의 정보
@@ -42,6 +87,7 @@ public interface IotStatusHistoryRepository extends JpaRepository<IotStatusHisto
     void deleteByIot(Iot iot);
     /**
      * 특정 회사에서 주어진 기간 동안 등록된 IoT 장비의 개수를 조회하는 메서드입니다.
+     * 기간과 겹치는 상태 구간이 하나라도 있는 IoT 장비를 셉니다.
      *
      * @param companyId 조회할 회사의 ID입니다.
      * @param startDate 조회 시작 날짜입니다 (해당 날짜의 00:00:00).
@@ -52,7 +98,8 @@ public interface IotStatusHistoryRepository extends JpaRepository<IotStatusHisto
             "SELECT COUNT(DISTINCT iotStatusHistory.iot.id) " +
                     "FROM IotStatusHistory iotStatusHistory " +
                     "WHERE iotStatusHistory.iot.company.id = :companyId " +
-                    "AND iotStatusHistory.createdDate BETWEEN :startDate AND :endDate"
+                    "AND iotStatusHistory.createdDate <= :endDate " +
+                    "AND (iotStatusHistory.endDate IS NULL OR iotStatusHistory.endDate > :startDate)"
     )
     Long countIotInstallationsByCompanyAndDateRange(
             @Param("companyId") Long companyId,
@@ -4,6 +4,8 @@ import atemos.everse.api.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -22,6 +24,13 @@ public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecif
      * @return 주어진 이메일 주소를 가진 사용자가 존재하면 {@link Optional}로 반환하며, 존재하지 않으면 빈 {@link Optional} 반환
      */
     Optional<Member> findByEmail(String email);
+    /**
+     * 주어진 암호화된 이메일 주소 목록에 해당하는 회원을 조회합니다.
+     *
+     * @param encryptedEmails 조회할 사용자의 암호화된 이메일 주소 목록
+     * @return 회원 목록
+     */
+    List<Member> findByEmailIn(Collection<String> encryptedEmails);
     /**
      * 주어진 이메일 또는 전화번호가 존재하는지 여부를 확인합니다.
      *
@@ -0,0 +1,141 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.PartitionedTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 시계열 테이블의 월 단위 RANGE 파티션을 JDBC로 조회하고 변경하는 리포지토리입니다.
+ * 파티션 이름은 p{연월}(예: p202406)이며, 해당 월의 다음 달 1일 0시 미만의 행을 담습니다.
+ * 아직 만들지 않은 월의 행은 마지막 파티션(pmax)에 저장됩니다.
+ * 파티션 변경 쿼리(DDL)는 실행 즉시 커밋되므로 트랜잭션 밖에서 호출해야 합니다.
+ * 테이블을 처음 파티션으로 나누는 변경은 db/partition-time-series-tables.sql 마이그레이션으로 실행합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PartitionJdbcRepository {
+    /**
+     * 아직 만들지 않은 월의 행을 담는 마지막 파티션의 이름입니다.
+     */
+    public static final String MAX_PARTITION_NAME = "pmax";
+    // 월 파티션 이름 형식
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 테이블의 파티션 이름 목록을 조회합니다.
+     *
+     * @param table 테이블
+     * @return 파티션 이름 목록 (파티션 순서, 파티션이 없는 테이블이면 빈 리스트)
+     */
+    public List<String> findPartitionNames(PartitionedTable table) {
+        return jdbcTemplate.queryForList("""
+                        SELECT PARTITION_NAME FROM information_schema.PARTITIONS
+                        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL
+                        ORDER BY PARTITION_ORDINAL_POSITION
+                        """,
+                String.class, table.getTableName());
+    }
+
+    /**
+     * 테이블에 월별 파티션을 추가합니다. 마지막 파티션(pmax)이 있으면 해당 파티션을 나누어 추가합니다.
+     *
+     * @param table 테이블
+     * @param months 추가할 월 목록 (오름차순, 기존 파티션보다 이후)
+     * @param hasMaxPartition 마지막 파티션(pmax)이 있는지 여부
+     */
+    public void addPartitions(PartitionedTable table, List<YearMonth> months, boolean hasMaxPartition) {
+        var columnType = findColumnType(table);
+        if (hasMaxPartition) {
+            jdbcTemplate.execute("ALTER TABLE " + table.getTableName()
+                    + " REORGANIZE PARTITION " + MAX_PARTITION_NAME
+                    + " INTO (" + partitionDefinitions(months, columnType) + ")");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table.getTableName()
+                    + " ADD PARTITION (" + months.stream()
+                    .map(month -> monthPartitionDefinition(month, columnType))
+                    .collect(Collectors.joining(", ")) + ")");
+        }
+    }
+
+    /**
+     * 테이블의 파티션을 삭제합니다. 파티션에 담긴 모든 행이 행 단위 삭제 없이 한 번에 삭제됩니다.
+     *
+     * @param table 테이블
+     * @param partitionNames 삭제할 파티션 이름 목록
+     */
+    public void dropPartitions(PartitionedTable table, List<String> partitionNames) {
+        jdbcTemplate.execute("ALTER TABLE " + table.getTableName() + " DROP PARTITION " + String.join(", ", partitionNames));
+    }
+
+    /**
+     * 월 파티션 이름을 생성합니다.
+     *
+     * @param month 월
+     * @return 파티션 이름 (예: p202406)
+     */
+    public static String partitionName(YearMonth month) {
+        return PARTITION_NAME_FORMAT.format(month);
+    }
+
+    /**
+     * 월 파티션 이름에서 월을 추출합니다.
+     *
+     * @param partitionName 파티션 이름
+     * @return 월 (월 파티션이 아니면 빈 Optional)
+     */
+    public static Optional<YearMonth> parseMonth(String partitionName) {
+        if (partitionName == null || !partitionName.matches("p\\d{6}")) {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.of(Integer.parseInt(partitionName.substring(1, 5)), Integer.parseInt(partitionName.substring(5))));
+    }
+
+    /**
+     * 파티션 기준 컬럼의 데이터 타입(datetime, timestamp 등)을 조회합니다.
+     */
+    private String findColumnType(PartitionedTable table) {
+        return jdbcTemplate.queryForObject("""
+                        SELECT DATA_TYPE FROM information_schema.COLUMNS
+                        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?
+                        """,
+                String.class, table.getTableName(), table.getColumnName());
+    }
+
+    /**
+     * 월별 파티션과 마지막 파티션(pmax)의 정의를 생성합니다.
+     */
+    private static String partitionDefinitions(List<YearMonth> months, String columnType) {
+        var definitions = new ArrayList<String>(months.size() + 1);
+        months.forEach(month -> definitions.add(monthPartitionDefinition(month, columnType)));
+        definitions.add("PARTITION " + MAX_PARTITION_NAME + " VALUES LESS THAN " + (isTimestamp(columnType) ? "MAXVALUE" : "(MAXVALUE)"));
+        return String.join(", ", definitions);
+    }
+
+    /**
+     * 월 파티션의 정의를 생성합니다. 파티션의 상한은 다음 달 1일 0시입니다.
+     */
+    private static String monthPartitionDefinition(YearMonth month, String columnType) {
+        var upperBound = month.plusMonths(1).atDay(1).atStartOfDay();
+        return "PARTITION " + partitionName(month) + " VALUES LESS THAN ("
+                + (isTimestamp(columnType)
+                ? String.valueOf(upperBound.toEpochSecond(ZoneOffset.UTC))
+                : "'" + upperBound.toLocalDate() + "'")
+                + ")";
+    }
+
+    /**
+     * 컬럼의 데이터 타입이 TIMESTAMP인지 확인합니다.
+     */
+    private static boolean isTimestamp(String columnType) {
+        return "timestamp".equalsIgnoreCase(columnType);
+    }
+}
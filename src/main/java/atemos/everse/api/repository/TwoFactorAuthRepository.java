@@ -28,11 +28,4 @@ public interface TwoFactorAuthRepository extends JpaRepository<TwoFactorAuth, Lo
      * @return 가장 먼저 생성된 2차 인증 정보를 포함하는 Optional 객체
      */
     Optional<TwoFactorAuth> findFirstByMemberAndCreatedDateAfterOrderByCreatedDateDesc(Member member, Instant after);
-    /**
-     * 지정된 기준 시간 이전에 생성된 2차 인증 정보를 삭제합니다.
-     *
-     * @param createdDate 삭제 기준 시간이 되는 Instant
-     * @return 삭제된 TwoFactorAuth 레코드 수
-     */
-    long deleteByCreatedDateBefore(Instant createdDate);
 }
\ No newline at end of file
@@ -12,7 +12,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * ApiCallLogServiceImpl는 API 호출 로그와 관련된 비즈니스 로직을 처리하는 서비스 클래스입니다.
@@ -24,6 +27,7 @@ import java.time.YearMonth;
 public class ApiCallLogServiceImpl implements ApiCallLogService {
     private final ApiCallLogRepository apiCallLogRepository;
     private final JwtUtil jwtUtil;
+    private final BulkPurger bulkPurger;
 
     /**
      * 조건에 맞는 ApiCallLog를 조회합니다.
@@ -88,20 +92,19 @@ public class ApiCallLogServiceImpl implements ApiCallLogService {
 
     /**
      * 특정 기간까지의 ApiCallLog를 삭제합니다.
+     * 로그를 불러오지 않고 기본 키 범위 단위로 나누어 삭제하며, 묶음마다 커밋하므로 트랜잭션을 사용하지 않습니다.
      *
      * @param deleteApiCallLogRequestDto ApiCallLog 삭제 요청을 위한 데이터 전송 객체
      */
     @Override
     @PreAuthorize("hasRole('ADMIN')")
-    @Transactional
     public void delete(ApiCallLogDto.DeleteApiCallLogRequest deleteApiCallLogRequestDto) {
-        // 특정 기간 이전의 ApiCallLog를 조회 및 삭제
-        var requestTime = Instant.parse(deleteApiCallLogRequestDto.getRequestTime());
-        var logsToDelete = apiCallLogRepository.findByRequestTimeBefore(requestTime);
-        logsToDelete.forEach(log -> {
-            if (apiCallLogRepository.existsById(log.getId())) {
-                apiCallLogRepository.delete(log);
-            }
-        });
+        // 현재 인증된 사용자의 타임존 기준으로 요청 일자의 시작 시각 계산
+        var zoneId = jwtUtil.getCurrentMember().getCompany().getCountry().getZoneId();
+        var requestTime = LocalDate.parse(deleteApiCallLogRequestDto.getRequestTime(), DateTimeFormatter.BASIC_ISO_DATE)
+                .atStartOfDay(zoneId)
+                .toInstant();
+        // 특정 시각 이전의 ApiCallLog를 나누어 삭제
+        bulkPurger.purge(new BulkPurger.Target("API Call Log", "api_call_log", "request_time < ?", List.of(requestTime)));
     }
-}
\ No newline at end of file
+}
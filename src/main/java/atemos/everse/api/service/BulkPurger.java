@@ -0,0 +1,261 @@
+package atemos.everse.api.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * 조건에 맞는 행을 기본 키 범위 단위로 나누어 삭제하는 대량 삭제 컴포넌트입니다.
+ * 엔티티를 불러오지 않고 삭제할 행의 ID를 기본 키 순서로 한 묶음씩 조회한 뒤, 해당 ID 범위를 한 번의 DELETE 쿼리로 삭제하고 묶음마다 커밋합니다.
+ * 묶음마다 조회와 삭제를 하나의 짧은 트랜잭션으로 실행하므로, 호출하는 쪽은 트랜잭션 없이 호출해야 커넥션을 하나만 사용합니다.
+ * 다른 요청이 커넥션과 잠금을 기다리지 않도록 묶음마다 실행 시간에 비례해 쉬며,
+ * 실행 시간이 길어지거나 커넥션 풀에 대기 중인 요청이 있으면 묶음 크기를 줄이고 더 오래 쉽니다.
+ * 복제 지연(replication lag)은 확인하지 않습니다. 애플리케이션에 복제본 데이터소스가 없으므로,
+ * 복제본이 밀리면 함께 늘어나는 묶음 실행 시간과 커넥션 대기를 부하의 기준으로 삼습니다.
+ * 묶음 삭제에 실패하면 해당 묶음만 롤백되고 예외를 그대로 던집니다. 이전 묶음은 이미 커밋되었으므로, 다시 실행하면 남은 행부터 삭제합니다.
+ * 모든 테이블은 기본 키 컬럼 이름이 id인 것으로 가정합니다.
+ */
+@Component
+@Slf4j
+public class BulkPurger {
+    // 묶음 크기 (처음, 최소, 최대)
+    private static final int INITIAL_CHUNK_SIZE = 1_000;
+    private static final int MIN_CHUNK_SIZE = 100;
+    private static final int MAX_CHUNK_SIZE = 10_000;
+    // 한 묶음의 목표 실행 시간
+    private static final Duration TARGET_CHUNK_LATENCY = Duration.ofMillis(200);
+    // 묶음 사이에 쉬는 시간 (최소, 최대)
+    private static final Duration MIN_PAUSE = Duration.ofMillis(10);
+    private static final Duration MAX_PAUSE = Duration.ofSeconds(5);
+    // 진행 상황을 로그로 남기는 간격
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+    // UTC 시각(Instant) 조건 값을 Hibernate와 같이 UTC 기준으로 전달하기 위한 타임존
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    // 묶음마다 커밋하기 위한 템플릿
+    private final TransactionTemplate requiresNew;
+
+    public BulkPurger(JdbcTemplate jdbcTemplate, DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 조건에 맞는 행을 모두 삭제합니다. 호출한 쪽의 트랜잭션과 관계없이 묶음마다 별도의 트랜잭션으로 커밋합니다.
+     *
+     * @param target 삭제 대상
+     * @return 삭제 결과
+     */
+    public Result purge(Target target) {
+        var selectSql = "SELECT id FROM " + target.table() + " WHERE (" + target.condition() + ") AND id > ? ORDER BY id LIMIT ?";
+        var deleteSql = "DELETE FROM " + target.table() + " WHERE (" + target.condition() + ") AND id BETWEEN ? AND ?";
+        var startedAt = System.nanoTime();
+        var lastReportedAt = startedAt;
+        var chunkSize = INITIAL_CHUNK_SIZE;
+        long lastId = 0;
+        long deleted = 0;
+        int chunks = 0;
+        while (true) {
+            // 다음 묶음의 ID 범위를 조회하여 삭제한 뒤 커밋
+            var size = chunkSize;
+            var afterId = lastId;
+            var chunkStartedAt = System.nanoTime();
+            Chunk chunk;
+            try {
+                chunk = requiresNew.execute(status -> deleteChunk(target, selectSql, deleteSql, afterId, size));
+            } catch (RuntimeException e) {
+                log.error("Purging {} failed after {} rows in {} chunks. The failed chunk after id {} was rolled back.",
+                        target.label(), deleted, chunks, afterId, e);
+                throw e;
+            }
+            if (chunk == null || chunk.selected() == 0) {
+                break;
+            }
+            lastId = chunk.lastId();
+            deleted += chunk.deleted();
+            chunks++;
+            var latency = Duration.ofNanos(System.nanoTime() - chunkStartedAt);
+            // 마지막 묶음이면 종료
+            if (chunk.selected() < size) {
+                break;
+            }
+            // 실행 시간과 커넥션 풀 상태에 따라 묶음 크기와 쉬는 시간 조정
+            var congested = latency.compareTo(TARGET_CHUNK_LATENCY) > 0 || hasPendingConnectionRequests();
+            chunkSize = nextChunkSize(chunkSize, latency, congested);
+            var now = System.nanoTime();
+            if (now - lastReportedAt >= PROGRESS_INTERVAL.toNanos()) {
+                log.info("Purging {}: {} rows deleted in {} chunks ({} rows/s, chunk size {}).",
+                        target.label(), deleted, chunks, rowsPerSecond(deleted, now - startedAt), chunkSize);
+                lastReportedAt = now;
+            }
+            if (!pause(pauseFor(latency, congested))) {
+                log.warn("Purging {} was interrupted after {} rows.", target.label(), deleted);
+                break;
+            }
+        }
+        var result = new Result(target.label(), deleted, chunks, Duration.ofNanos(System.nanoTime() - startedAt));
+        if (deleted > 0) {
+            log.info("Purged {}: {} rows deleted in {} chunks over {} ({} rows/s).",
+                    result.label(), result.deleted(), result.chunks(), result.elapsed(), result.rowsPerSecond());
+        }
+        return result;
+    }
+
+    /**
+     * afterId 다음부터 기본 키 순서로 최대 size개의 ID를 조회하고, 조회한 ID 범위의 행을 삭제합니다.
+     *
+     * @return 조회한 ID 수, 마지막 ID, 삭제된 행 수
+     */
+    private Chunk deleteChunk(Target target, String selectSql, String deleteSql, long afterId, int size) {
+        var ids = jdbcTemplate.query(selectSql, preparedStatement -> {
+            var index = bind(preparedStatement, target.args());
+            preparedStatement.setLong(index++, afterId);
+            preparedStatement.setInt(index, size);
+        }, (resultSet, rowNum) -> resultSet.getLong(1));
+        if (ids.isEmpty()) {
+            return new Chunk(0, afterId, 0);
+        }
+        var deleted = jdbcTemplate.update(deleteSql, preparedStatement -> {
+            var index = bind(preparedStatement, target.args());
+            preparedStatement.setLong(index++, ids.getFirst());
+            preparedStatement.setLong(index, ids.getLast());
+        });
+        return new Chunk(ids.size(), ids.getLast(), deleted);
+    }
+
+    /**
+     * 직전 묶음의 실행 시간에 따라 다음 묶음 크기를 결정합니다.
+     * 부하가 있으면 절반으로 줄이고, 실행 시간이 목표의 절반보다 짧으면 두 배로 늘립니다. 크기는 MIN_CHUNK_SIZE와 MAX_CHUNK_SIZE 사이로 제한합니다.
+     *
+     * @param chunkSize 직전 묶음 크기
+     * @param latency 직전 묶음 실행 시간
+     * @param congested 실행 시간이 목표보다 길거나 커넥션을 기다리는 요청이 있는지 여부
+     * @return 다음 묶음 크기
+     */
+    static int nextChunkSize(int chunkSize, Duration latency, boolean congested) {
+        if (congested) {
+            return Math.max(MIN_CHUNK_SIZE, chunkSize / 2);
+        }
+        if (latency.multipliedBy(2).compareTo(TARGET_CHUNK_LATENCY) < 0) {
+            return Math.min(MAX_CHUNK_SIZE, chunkSize * 2);
+        }
+        return Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, chunkSize));
+    }
+
+    /**
+     * 직전 묶음의 실행 시간에 따라 다음 묶음 전에 쉬는 시간을 결정합니다.
+     * 실행 시간만큼 쉬고 부하가 있으면 네 배 쉬며, 쉬는 시간은 MIN_PAUSE와 MAX_PAUSE 사이로 제한합니다.
+     *
+     * @param latency 직전 묶음 실행 시간
+     * @param congested 실행 시간이 목표보다 길거나 커넥션을 기다리는 요청이 있는지 여부
+     * @return 쉬는 시간
+     */
+    static Duration pauseFor(Duration latency, boolean congested) {
+        var duration = congested ? latency.multipliedBy(4) : latency;
+        return duration.compareTo(MIN_PAUSE) < 0 ? MIN_PAUSE : duration.compareTo(MAX_PAUSE) > 0 ? MAX_PAUSE : duration;
+    }
+
+    /**
+     * 조건 값을 순서대로 바인딩합니다. Instant는 UTC 기준, LocalDateTime은 그대로 전달합니다.
+     *
+     * @return 다음 파라미터 인덱스
+     */
+    private static int bind(PreparedStatement preparedStatement, List<?> args) throws SQLException {
+        var index = 1;
+        for (var arg : args) {
+            switch (arg) {
+                case Instant instant -> preparedStatement.setTimestamp(index, Timestamp.from(instant), Calendar.getInstance(UTC));
+                case LocalDateTime localDateTime -> preparedStatement.setTimestamp(index, Timestamp.valueOf(localDateTime));
+                default -> preparedStatement.setObject(index, arg);
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 커넥션 풀에서 커넥션을 기다리는 요청이 있는지 확인합니다.
+     */
+    private boolean hasPendingConnectionRequests() {
+        return dataSource instanceof HikariDataSource hikariDataSource
+                && hikariDataSource.getHikariPoolMXBean() != null
+                && hikariDataSource.getHikariPoolMXBean().getThreadsAwaitingConnection() > 0;
+    }
+
+    /**
+     * 주어진 시간만큼 쉽니다.
+     *
+     * @return 중단되지 않았으면 true
+     */
+    private static boolean pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 초당 삭제 행 수를 계산합니다.
+     */
+    private static long rowsPerSecond(long deleted, long elapsedNanos) {
+        return elapsedNanos > 0 ? deleted * 1_000_000_000L / elapsedNanos : deleted;
+    }
+
+    /**
+     * 한 묶음의 삭제 결과입니다.
+     *
+     * @param selected 조회한 ID 수
+     * @param lastId 조회한 마지막 ID
+     * @param deleted 삭제된 행 수
+     */
+    private record Chunk(int selected, long lastId, int deleted) {}
+
+    /**
+     * 삭제 대상입니다.
+     *
+     * @param label 로그에 표시할 이름
+     * @param table 테이블 이름
+     * @param condition 삭제할 행의 조건 (SQL WHERE 절, 값은 ?로 표시)
+     * @param args 조건 값 목록
+     */
+    public record Target(String label, String table, String condition, List<?> args) {}
+
+    /**
+     * 삭제 결과입니다.
+     *
+     * @param label 삭제 대상 이름
+     * @param deleted 삭제된 행 수
+     * @param chunks 실행한 묶음 수
+     * @param elapsed 걸린 시간
+     */
+    public record Result(String label, long deleted, int chunks, Duration elapsed) {
+        /**
+         * @return 초당 삭제 행 수
+         */
+        public long rowsPerSecond() {
+            return BulkPurger.rowsPerSecond(deleted, elapsed.toNanos());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package atemos.everse.api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 프로세스 내 캐시(CacheSnapshotSection)를 로컬 디스크의 메모리 매핑 파일에 저장하고, 애플리케이션이 시작할 때 복원합니다.
+ * 배포 직후 빈 캐시 때문에 데이터베이스 조회가 몰리지 않도록, 준비 완료(ApplicationReadyEvent)를 알리기 전에 복원합니다.
+ * - 주기적으로(cache-snapshot.interval), 그리고 애플리케이션을 종료할 때 저장합니다. 종료할 때 저장한 스냅샷은 clean으로 표시합니다.
+ * - 임시 파일에 모두 기록한 뒤 교체하므로 저장 중에 종료되어도 이전 스냅샷이 남습니다.
+ * - 파일 형식 버전이나 캐시별 저장 형식 버전이 다르거나, 저장한 지 cache-snapshot.max-age가 지난 스냅샷은 복원하지 않습니다.
+ * 파일 형식: [매직 넘버][파일 형식 버전][저장 시각(epoch 밀리초)][clean 여부][캐시 수] 다음에
+ * 캐시마다 [이름][저장 형식 버전][길이][내용]이 이어집니다.
+ */
+@Component
+@Slf4j
+public class CacheSnapshotManager {
+    // 파일 매직 넘버 ("EVCS")
+    private static final int MAGIC = 0x45564353;
+    // 파일 형식 버전
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<String, CacheSnapshotSection> sections;
+    private final boolean enabled;
+    private final Path file;
+    private final Duration maxAge;
+
+    public CacheSnapshotManager(List<CacheSnapshotSection> sections,
+                                @Value("${cache-snapshot.enabled:true}") boolean enabled,
+                                @Value("${cache-snapshot.file}") String file,
+                                @Value("${cache-snapshot.max-age:PT10M}") Duration maxAge) {
+        this.sections = sections.stream()
+                .collect(Collectors.toMap(CacheSnapshotSection::snapshotName, Function.identity()));
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * 애플리케이션이 시작되면(준비 완료를 알리기 전) 스냅샷 파일의 캐시를 복원합니다.
+     * 복원에 실패한 캐시는 비어 있는 상태로 시작합니다.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void restore() {
+        if (!enabled || !Files.isRegularFile(file)) {
+            return;
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                log.warn("Ignoring cache snapshot {} with an unknown format.", file);
+                return;
+            }
+            var writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            var clean = buffer.get() == 1;
+            var age = Duration.between(writtenAt, Instant.now());
+            if (age.isNegative() || age.compareTo(maxAge) > 0) {
+                log.info("Ignoring cache snapshot written at {} (older than {}).", writtenAt, maxAge);
+                return;
+            }
+            var sectionCount = buffer.getInt();
+            for (int i = 0; i < sectionCount; i++) {
+                var name = readName(buffer);
+                var version = buffer.getInt();
+                var length = buffer.getInt();
+                var content = buffer.slice(buffer.position(), length).asReadOnlyBuffer();
+                buffer.position(buffer.position() + length);
+                var section = sections.get(name);
+                if (section == null || section.snapshotVersion() != version) {
+                    log.info("Skipping cache snapshot section {} (version {}).", name, version);
+                    continue;
+                }
+                try {
+                    section.restoreSnapshot(content, writtenAt, clean);
+                } catch (RuntimeException e) {
+                    log.warn("Failed to restore cache snapshot section {}.", name, e);
+                }
+            }
+            log.info("Restored cache snapshot written at {} ({}).", writtenAt, clean ? "clean shutdown" : "periodic");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read cache snapshot {}.", file, e);
+        }
+    }
+
+    /**
+     * 주기적으로 캐시를 스냅샷 파일에 저장합니다.
+     */
+    @Scheduled(initialDelayString = "${cache-snapshot.interval:PT1M}", fixedDelayString = "${cache-snapshot.interval:PT1M}")
+    public void writePeriodically() {
+        write(false);
+    }
+
+    /**
+     * 애플리케이션을 종료할 때 캐시를 스냅샷 파일에 저장합니다.
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        write(true);
+    }
+
+    /**
+     * 모든 캐시를 임시 파일에 메모리 매핑으로 기록한 뒤 스냅샷 파일을 교체합니다.
+     *
+     * @param clean 애플리케이션 종료 시 저장하는지 여부
+     */
+    private synchronized void write(boolean clean) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            var contents = new ByteArrayOutputStream();
+            var out = new DataOutputStream(contents);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeByte(clean ? 1 : 0);
+            out.writeInt(sections.size());
+            for (var section : sections.values()) {
+                var sectionContents = new ByteArrayOutputStream();
+                section.writeSnapshot(new DataOutputStream(sectionContents), clean);
+                var name = section.snapshotName().getBytes(StandardCharsets.UTF_8);
+                out.writeShort(name.length);
+                out.write(name);
+                out.writeInt(section.snapshotVersion());
+                out.writeInt(sectionContents.size());
+                sectionContents.writeTo(out);
+            }
+            out.flush();
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (var channel = FileChannel.open(temporaryFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, contents.size());
+                buffer.put(contents.toByteArray());
+                buffer.force();
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote cache snapshot {} ({} bytes).", file, contents.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write cache snapshot {}.", file, e);
+        }
+    }
+
+    /**
+     * 길이가 앞에 붙은 UTF-8 이름을 읽습니다.
+     */
+    private static String readName(ByteBuffer buffer) {
+        var name = new byte[buffer.getShort()];
+        buffer.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
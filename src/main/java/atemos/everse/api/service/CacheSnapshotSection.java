@@ -0,0 +1,40 @@
+package atemos.everse.api.service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * 재시작 후에도 이어서 사용할 수 있도록 스냅샷 파일에 저장하는 프로세스 내 캐시입니다.
+ * CacheSnapshotManager가 빈으로 등록된 구현체들을 주기적으로, 그리고 종료할 때 한 파일에 저장하고 시작할 때 복원합니다.
+ */
+public interface CacheSnapshotSection {
+    /**
+     * 스냅샷 파일 안에서 캐시를 구분하는 이름입니다.
+     */
+    String snapshotName();
+
+    /**
+     * 저장 형식의 버전입니다. 저장 형식을 바꾸면 올려서 이전 형식의 스냅샷을 복원하지 않도록 합니다.
+     */
+    int snapshotVersion();
+
+    /**
+     * 캐시의 현재 항목을 저장합니다.
+     *
+     * @param out 저장할 출력 스트림
+     * @param clean 애플리케이션 종료 시 저장하는지 여부 (종료 후에는 캐시가 더 바뀌지 않음)
+     * @throws IOException 저장 중 오류가 발생한 경우
+     */
+    void writeSnapshot(DataOutputStream out, boolean clean) throws IOException;
+
+    /**
+     * 저장된 항목을 캐시에 복원합니다.
+     *
+     * @param in writeSnapshot()으로 저장한 내용 (읽기 전용)
+     * @param writtenAt 스냅샷을 저장한 시각
+     * @param clean 애플리케이션 종료 시 저장한 스냅샷인지 여부
+     */
+    void restoreSnapshot(ByteBuffer in, Instant writtenAt, boolean clean);
+}
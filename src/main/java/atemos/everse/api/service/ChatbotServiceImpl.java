@@ -1,11 +1,13 @@
 package atemos.everse.api.service;
 
+import atemos.everse.api.domain.EnergyRollupGranularity;
 import atemos.everse.api.domain.MemberRole;
 import atemos.everse.api.domain.SubscriptionServiceList;
 import atemos.everse.api.dto.ChatbotDto;
 import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.EnergyRollup;
 import atemos.everse.api.repository.CompanyRepository;
-import atemos.everse.api.repository.EnergyRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
 import atemos.everse.api.repository.SubscriptionRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +29,7 @@ import java.util.regex.Pattern;
 @Slf4j
 @RequiredArgsConstructor
 public class ChatbotServiceImpl implements ChatbotService {
-    private final EnergyRepository energyRepository;
+    private final EnergyRollupRepository energyRollupRepository;
     private final CompanyRepository companyRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final AuthenticationService authenticationService;
@@ -102,8 +104,7 @@ public class ChatbotServiceImpl implements ChatbotService {
 
     /**
      * 특정 업체의 특정 연도와 월에 대한 에너지 사용량을 조회합니다.
-     * 이 메서드는 업체의 타임존을 고려하여 해당 월의 시작과 끝 시간을 계산하고,
-     * 데이터베이스에서 해당 기간의 에너지 사용량을 합산하여 반환합니다.
+     * 이 메서드는 원본 에너지 데이터를 합산하지 않고, 업체의 월별 에너지 사용량 집계 데이터를 조회하여 반환합니다.
      *
      * @param company 조회할 업체 엔티티
      * @param year    조회할 연도
@@ -111,11 +112,12 @@ public class ChatbotServiceImpl implements ChatbotService {
      * @return 에너지 사용량 (BigDecimal), 데이터가 없을 경우 null 반환
      */
     private BigDecimal getEnergyUsage(Company company, int year, int month) {
-        // 조회할 기간의 시작과 끝을 계산합니다.
-        var start = LocalDateTime.of(year, month, 1, 0, 0);
-        var end = start.withDayOfMonth(start.toLocalDate().lengthOfMonth()).withHour(23).withMinute(59).withSecond(59);
-        // 에너지 사용량을 조회 후 리턴
-        return energyRepository.getTotalFacilityUsage(company, start, end);
+        // 조회할 월의 집계 시각(해당 월 1일 0시)을 계산합니다.
+        var bucketTime = LocalDateTime.of(year, month, 1, 0, 0);
+        // 월별 에너지 사용량 집계를 조회 후 리턴
+        return energyRollupRepository.findByCompanyIdAndGranularityAndBucketTime(company.getId(), EnergyRollupGranularity.MONTHLY, bucketTime)
+                .map(EnergyRollup::getFacilityUsage)
+                .orElse(null);
     }
 
     /**
@@ -5,6 +5,8 @@ import atemos.everse.api.dto.CompanyDto;
 import atemos.everse.api.entity.Company;
 import atemos.everse.api.repository.CompanyRepository;
 import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyDemandSketchRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
 import atemos.everse.api.specification.CompanySpecification;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +15,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,6 +33,11 @@ public class CompanyServiceImpl implements CompanyService {
     private final CountryRepository countryRepository;
     private final AuthenticationServiceImpl authenticationService;
     private final JwtUtil jwtUtil;
+    private final EnergyRollupRepository energyRollupRepository;
+    private final EnergyDemandSketchRepository energyDemandSketchRepository;
+    private final BulkPurger bulkPurger;
+    private final EnergyHotWindow energyHotWindow;
+    private final EnergyHeatmap energyHeatmap;
 
     /**
      * 업체를 등록합니다.
@@ -164,6 +174,12 @@ public class CompanyServiceImpl implements CompanyService {
 
     /**
      * 업체를 삭제합니다.
+     * 업체 단위 시계열 데이터는 다음과 같이 정리합니다.
+     * - 에너지 집계(energy_rollup)와 수요 스케치(energy_demand_sketch)는 업체를 외래 키로 참조하므로 업체와 같은 트랜잭션에서 먼저 삭제합니다.
+     * - API 호출 로그(api_call_log)와 AI 예측 에너지 사용량(ai_forecast_energy)은 외래 키가 없으므로 커밋 후 나누어 삭제합니다.
+     * - 에너지 사용량(energy), 에너지 버킷(energy_bucket), 상태 이력(iot_status_history)은 IoT 장비 단위 데이터이며 IoT 장비를 삭제할 때 함께 삭제됩니다.
+     *   IoT 장비가 남아 있는 업체는 장비의 외래 키 때문에 삭제되지 않으므로, 이 테이블에는 삭제된 업체의 행이 남지 않습니다.
+     * - 회원, 결제, 구독, 알람 등 업체를 외래 키로 참조하는 나머지 데이터는 삭제하지 않으며, 남아 있으면 업체를 삭제할 수 없습니다.
      *
      * @param companyId 삭제할 업체의 ID
      */
@@ -176,7 +192,36 @@ public class CompanyServiceImpl implements CompanyService {
                 .orElseThrow(() -> new EntityNotFoundException("No such company."));
         // 현재 사용자가 이 업체에 접근할 권한이 있는지 확인
         authenticationService.validateCompanyAccess(company.getId());
-        // 업체를 삭제
+        // 업체의 에너지 집계와 수요 스케치를 삭제한 뒤 업체를 삭제하고, 메모리의 최근 사용량에서도 제거
+        energyRollupRepository.deleteByCompanyId(companyId);
+        energyDemandSketchRepository.deleteByCompanyId(companyId);
         companyRepository.delete(company);
+        energyHotWindow.removeCompany(companyId);
+        energyHeatmap.removeCompany(companyId);
+        // 외래 키 없이 업체를 참조하는 시계열 데이터는 삭제가 커밋된 후 백그라운드에서 나누어 삭제
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Thread.ofVirtual().name("company-purge-" + companyId).start(() -> purgeCompanyData(companyId));
+            }
+        });
+    }
+
+    /**
+     * 삭제된 업체의 API 호출 로그와 AI 예측 에너지 사용량을 삭제합니다.
+     * 두 테이블은 월별 파티션으로 나누기 위해 업체를 외래 키로 참조하지 않으므로 업체를 삭제해도 함께 삭제되지 않습니다.
+     * 삭제 중 실패하거나 프로세스가 종료되어 남은 행은 업체가 없으므로 조회되지 않으며, 같은 조건으로 다시 삭제할 수 있습니다.
+     *
+     * @param companyId 삭제된 업체의 ID
+     */
+    private void purgeCompanyData(Long companyId) {
+        try {
+            bulkPurger.purge(new BulkPurger.Target("API Call Log of company " + companyId, "api_call_log",
+                    "company_id = ?", List.of(companyId)));
+            bulkPurger.purge(new BulkPurger.Target("AI Forecast Energy of company " + companyId, "ai_forecast_energy",
+                    "company_id = ?", List.of(companyId)));
+        } catch (Exception e) {
+            log.error("Failed to purge data of deleted company {}.", companyId, e);
+        }
     }
 }
\ No newline at end of file
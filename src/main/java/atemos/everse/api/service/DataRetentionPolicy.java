@@ -0,0 +1,156 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.SubscriptionServiceList;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Subscription;
+import atemos.everse.api.repository.SubscriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 업체별 시계열 데이터 보관 기간을 결정하는 정책입니다.
+ * 데이터는 보관 기간에 따라 단계적으로 줄여서 보관합니다.
+ * - 원본: IoT 장비별 원본 데이터(에너지, 상태 이력, AI 예측, API 호출 로그, 알람)와 업체별 시간별 집계를 보관합니다.
+ * - 일별: 원본 보관 기간이 지난 기간은 업체별 일별 집계와 월별 집계만 보관합니다.
+ * - 월별: 일별 보관 기간이 지난 기간은 업체별 월별 집계만 영구 보관합니다.
+ * 업체는 기본 보관 기간을 따르며, 구독 중인 서비스의 보관 기간이 더 길면 해당 보관 기간을 사용합니다.
+ * 설정에 지정한 업체는 구독과 관계없이 지정한 원본 보관 기간을 사용합니다.
+ * - retention.months: 원본 데이터 기본 보관 기간(개월)
+ * - retention.daily-months: 일별 집계 기본 보관 기간(개월)
+ * - retention.subscription-tiers: 구독 서비스별 보관 기간 (예: "REPORT_DOWNLOAD:730:120"은 보고서 다운로드 구독 업체의 원본 730일, 일별 집계 120개월)
+ * - retention.company-months: 업체별 예외 원본 보관 기간 (예: "3:24,7:6"은 3번 업체 24개월, 7번 업체 6개월)
+ */
+@Component
+public class DataRetentionPolicy {
+    private final SubscriptionRepository subscriptionRepository;
+    private final Tier defaultTier;
+    private final Map<SubscriptionServiceList, Tier> tiersByService;
+    private final Map<Long, Integer> monthsByCompanyId;
+
+    public DataRetentionPolicy(SubscriptionRepository subscriptionRepository,
+                               @Value("${retention.months:12}") int defaultMonths,
+                               @Value("${retention.daily-months:36}") int defaultDailyMonths,
+                               @Value("${retention.subscription-tiers:}") String subscriptionTiers,
+                               @Value("${retention.company-months:}") String companyMonths) {
+        if (defaultMonths < 1) {
+            throw new IllegalArgumentException("retention.months must be at least 1.");
+        }
+        if (defaultDailyMonths < 1) {
+            throw new IllegalArgumentException("retention.daily-months must be at least 1.");
+        }
+        this.subscriptionRepository = subscriptionRepository;
+        this.defaultTier = new Tier(Period.ofMonths(defaultMonths), Period.ofMonths(defaultDailyMonths));
+        this.tiersByService = parseSubscriptionTiers(subscriptionTiers);
+        this.monthsByCompanyId = parseCompanyMonths(companyMonths);
+    }
+
+    /**
+     * 업체들의 보관 기간을 조회합니다. 오늘(UTC 기준) 구독 중인 서비스를 한 번에 조회하여 적용합니다.
+     *
+     * @param companies 업체 목록
+     * @return 업체 ID별 보관 기간
+     */
+    public Map<Long, Tier> getTiers(Collection<Company> companies) {
+        if (companies.isEmpty()) {
+            return Map.of();
+        }
+        var today = LocalDate.now(ZoneOffset.UTC);
+        var servicesByCompanyId = subscriptionRepository.findAllByCompanyIdsAndDate(
+                        companies.stream().map(Company::getId).toList(), today).stream()
+                .collect(Collectors.groupingBy(subscription -> subscription.getCompany().getId(),
+                        Collectors.mapping(Subscription::getService, Collectors.toSet())));
+        var tiers = new HashMap<Long, Tier>();
+        companies.forEach(company -> tiers.put(company.getId(),
+                getTier(company, servicesByCompanyId.getOrDefault(company.getId(), Set.of()), today)));
+        return tiers;
+    }
+
+    /**
+     * 업체의 보관 기간을 결정합니다.
+     *
+     * @param company 업체
+     * @param services 구독 중인 서비스 목록
+     * @param today 오늘 날짜 (기간 비교 기준)
+     * @return 보관 기간
+     */
+    private Tier getTier(Company company, Set<SubscriptionServiceList> services, LocalDate today) {
+        var tier = defaultTier;
+        for (var service : services) {
+            var serviceTier = tiersByService.get(service);
+            if (serviceTier != null) {
+                tier = new Tier(longer(tier.raw(), serviceTier.raw(), today), longer(tier.daily(), serviceTier.daily(), today));
+            }
+        }
+        var companyMonths = monthsByCompanyId.get(company.getId());
+        if (companyMonths != null) {
+            tier = new Tier(Period.ofMonths(companyMonths), tier.daily());
+        }
+        return tier;
+    }
+
+    /**
+     * 두 기간 중 오늘 기준으로 더 긴 기간을 반환합니다.
+     */
+    private static Period longer(Period a, Period b, LocalDate today) {
+        return today.minus(a).isAfter(today.minus(b)) ? b : a;
+    }
+
+    /**
+     * "서비스:원본 일수:일별 집계 개월" 목록을 쉼표로 구분한 문자열을 파싱합니다.
+     */
+    private static Map<SubscriptionServiceList, Tier> parseSubscriptionTiers(String subscriptionTiers) {
+        var result = new EnumMap<SubscriptionServiceList, Tier>(SubscriptionServiceList.class);
+        if (subscriptionTiers == null || subscriptionTiers.isBlank()) {
+            return result;
+        }
+        for (var entry : subscriptionTiers.split(",")) {
+            var values = entry.trim().split(":");
+            try {
+                if (values.length != 3 || Integer.parseInt(values[1].trim()) < 1 || Integer.parseInt(values[2].trim()) < 1) {
+                    throw new IllegalArgumentException("Invalid retention.subscription-tiers entry: " + entry);
+                }
+                result.put(SubscriptionServiceList.valueOf(values[0].trim()),
+                        new Tier(Period.ofDays(Integer.parseInt(values[1].trim())), Period.ofMonths(Integer.parseInt(values[2].trim()))));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid retention.subscription-tiers entry: " + entry, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * "업체 ID:개월" 목록을 쉼표로 구분한 문자열을 파싱합니다.
+     */
+    private static Map<Long, Integer> parseCompanyMonths(String companyMonths) {
+        var result = new HashMap<Long, Integer>();
+        if (companyMonths == null || companyMonths.isBlank()) {
+            return result;
+        }
+        for (var entry : companyMonths.split(",")) {
+            var pair = entry.trim().split(":");
+            try {
+                if (pair.length != 2 || Integer.parseInt(pair[1].trim()) < 1) {
+                    throw new IllegalArgumentException("Invalid retention.company-months entry: " + entry);
+                }
+                result.put(Long.parseLong(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid retention.company-months entry: " + entry, e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 업체의 단계별 보관 기간입니다.
+     *
+     * @param raw 원본 데이터와 시간별 집계 보관 기간
+     * @param daily 일별 집계 보관 기간 (원본 보관 기간보다 짧으면 원본 보관 기간까지 보관)
+     */
+    public record Tier(Period raw, Period daily) {}
+}
@@ -0,0 +1,151 @@
+package atemos.everse.api.service;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 시간별 수요(한 시간 동안의 에너지 사용량)의 분포를 요약하는 병합 가능한 분위수 스케치입니다.
+ * 사용량을 로그 간격의 구간으로 나누어 구간별 시간 수만 보관하므로(DDSketch 방식), 추정한 분위수의 상대 오차가 1% 이내입니다.
+ * - 구간별 시간 수를 더하고 빼기만 하므로 값을 제거할 수 있고, 두 스케치를 더해 병합할 수 있습니다.
+ *   병합 비용은 원본 에너지 데이터 건수와 무관하게 구간 수에 비례합니다.
+ * - 구간 수는 하루치 스케치에서 최대 하루의 시간 수(25)이며, 여러 날을 병합해도 사용량 범위에 따라 수천 개를 넘지 않습니다.
+ * - 사용량이 0 이하인 시간은 별도로 셉니다.
+ * 사용량은 소수점 4자리 고정소수점 정수로 주고받습니다.
+ */
+public final class DemandSketch {
+    /**
+     * 추정한 분위수의 최대 상대 오차입니다.
+     */
+    static final double RELATIVE_ACCURACY = 0.01;
+    // 구간의 상한 비율 ((1 + 상대 오차) / (1 - 상대 오차))
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    // 고정소수점 배율 (10^4)
+    private static final double UNIT = 10_000d;
+
+    // 구간 번호별 시간 수 (구간 번호 오름차순)
+    private final TreeMap<Integer, Long> counts = new TreeMap<>();
+    // 사용량이 0 이하인 시간 수
+    private long zeroCount;
+
+    /**
+     * 시간별 수요를 하나 추가합니다.
+     *
+     * @param usage 소수점 4자리 고정소수점 사용량
+     */
+    public void add(long usage) {
+        addCount(usage, 1);
+    }
+
+    /**
+     * 이전에 추가한 시간별 수요를 하나 제거합니다.
+     *
+     * @param usage 추가할 때의 소수점 4자리 고정소수점 사용량
+     */
+    public void remove(long usage) {
+        addCount(usage, -1);
+    }
+
+    /**
+     * 다른 스케치의 시간 수를 더합니다.
+     *
+     * @param other 병합할 스케치
+     */
+    public void merge(DemandSketch other) {
+        zeroCount += other.zeroCount;
+        other.counts.forEach((index, count) -> counts.merge(index, count, Long::sum));
+    }
+
+    /**
+     * @return 스케치에 포함된 시간 수
+     */
+    public long count() {
+        long count = zeroCount;
+        for (var bucketCount : counts.values()) {
+            count += bucketCount;
+        }
+        return count;
+    }
+
+    /**
+     * 분위수를 추정합니다. 스케치가 비어 있으면 0을 반환합니다.
+     *
+     * @param quantile 분위 (0~1, 예: 0.95)
+     * @return 추정한 소수점 4자리 고정소수점 사용량
+     */
+    public long quantile(double quantile) {
+        var count = count();
+        if (count == 0) {
+            return 0;
+        }
+        var rank = (long) Math.floor(quantile * (count - 1));
+        var cumulative = zeroCount;
+        if (rank < cumulative) {
+            return 0;
+        }
+        Map.Entry<Integer, Long> last = null;
+        for (var entry : counts.entrySet()) {
+            cumulative += entry.getValue();
+            last = entry;
+            if (rank < cumulative) {
+                break;
+            }
+        }
+        return Math.round(2 * Math.pow(GAMMA, last.getKey()) / (GAMMA + 1) * UNIT);
+    }
+
+    /**
+     * 스케치를 [0 이하 시간 수][구간 수] 다음에 구간마다 [이전 구간과의 번호 차이][시간 수]의 가변 길이 정수로 인코딩합니다.
+     *
+     * @return 인코딩한 바이트 배열
+     */
+    public byte[] encode() {
+        var encoder = new TimeSeriesCodec.Encoder()
+                .writeVarLong(zeroCount)
+                .writeVarLong(counts.size());
+        var previous = 0;
+        for (var entry : counts.entrySet()) {
+            encoder.writeSignedVarLong(entry.getKey() - previous)
+                    .writeVarLong(entry.getValue());
+            previous = entry.getKey();
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * encode()로 인코딩한 스케치를 읽습니다.
+     *
+     * @param bytes 인코딩한 바이트 배열
+     * @return 스케치
+     */
+    public static DemandSketch decode(byte[] bytes) {
+        var sketch = new DemandSketch();
+        var decoder = new TimeSeriesCodec.Decoder(ByteBuffer.wrap(bytes));
+        sketch.zeroCount = decoder.readVarLong();
+        var size = decoder.readVarLong();
+        var index = 0;
+        for (long i = 0; i < size; i++) {
+            index += (int) decoder.readSignedVarLong();
+            sketch.counts.put(index, decoder.readVarLong());
+        }
+        return sketch;
+    }
+
+    /**
+     * 사용량이 속한 구간의 시간 수를 더하거나 뺍니다. 시간 수가 0이 된 구간은 제거합니다.
+     */
+    private void addCount(long usage, long delta) {
+        if (usage <= 0) {
+            zeroCount = Math.max(0, zeroCount + delta);
+            return;
+        }
+        var index = (int) Math.ceil(Math.log(usage / UNIT) / LOG_GAMMA);
+        var count = counts.getOrDefault(index, 0L) + delta;
+        if (count > 0) {
+            counts.put(index, count);
+        } else {
+            counts.remove(index);
+        }
+    }
+}
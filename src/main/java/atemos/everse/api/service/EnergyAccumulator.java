@@ -0,0 +1,231 @@
+package atemos.everse.api.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 조회 기간 내 시간대별 에너지 사용량, 예측 사용량, 요금, 예측 요금을 누적하는 집계 클래스입니다.
+ * 모든 값은 소수점 4자리 고정소수점(값 × 10,000)의 long으로 시간대 오프셋별 배열에 보관하므로
+ * 집계 과정에서 BigDecimal 객체를 생성하지 않으며, 응답 객체를 만들 때만 BigDecimal로 변환합니다.
+ * 요금은 기존과 같이 시간대별로 사용량 × 요금을 소수점 4자리에서 반올림(HALF_UP)하여 계산합니다.
+ */
+public final class EnergyAccumulator {
+    /**
+     * 고정소수점 자릿수입니다. 에너지 사용량, 요금 컬럼의 scale과 같습니다.
+     */
+    static final int SCALE = 4;
+    /**
+     * 고정소수점 배율 (10^SCALE)입니다.
+     */
+    private static final long UNIT = 10_000L;
+
+    // 조회 기간의 첫 시간대 (정각)
+    private final LocalDateTime startHour;
+    // 조회 기간의 첫 시간대의 에포크 시간 (1970-01-01T00:00부터 경과한 시간 수)
+    private final long startEpochHour;
+    // 시간대별 실제 사용량이 존재하는지 여부
+    private final boolean[] hasUsage;
+    // 시간대별 실제 사용량
+    private final long[] usage;
+    // 시간대별 예측 사용량
+    private final long[] forecastUsage;
+    // 시간대별 요금
+    private final long[] bill;
+    // 시간대별 예측 요금
+    private final long[] forecastBill;
+
+    /**
+     * 조회 기간의 시간대 수만큼 누적 공간을 할당합니다.
+     *
+     * @param startDateTime 조회 시작 일시
+     * @param endDateTime 조회 종료 일시
+     */
+    public EnergyAccumulator(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        this.startHour = startDateTime.truncatedTo(ChronoUnit.HOURS);
+        this.startEpochHour = epochHourOf(startHour);
+        var size = Math.toIntExact(epochHourOf(endDateTime) - startEpochHour + 1);
+        this.hasUsage = new boolean[size];
+        this.usage = new long[size];
+        this.forecastUsage = new long[size];
+        this.bill = new long[size];
+        this.forecastBill = new long[size];
+    }
+
+    /**
+     * 시간대별 실제 사용량을 누적합니다. 기간을 벗어난 시각은 무시합니다.
+     *
+     * @param time 기준 시각 (업체 타임존 기준)
+     * @param value 에너지 사용량
+     */
+    public void addUsage(LocalDateTime time, BigDecimal value) {
+        var slot = slotOf(time);
+        if (slot >= 0) {
+            hasUsage[slot] = true;
+            usage[slot] = Math.addExact(usage[slot], toFixed(value));
+        }
+    }
+
+    /**
+     * 시간대별 예측 사용량을 누적합니다. 기간을 벗어난 시각은 무시합니다.
+     *
+     * @param time 예측 시각 (업체 타임존 기준)
+     * @param value 예측 에너지 사용량
+     */
+    public void addForecastUsage(LocalDateTime time, BigDecimal value) {
+        var slot = slotOf(time);
+        if (slot >= 0) {
+            forecastUsage[slot] = Math.addExact(forecastUsage[slot], toFixed(value));
+        }
+    }
+
+    /**
+     * 시간(0~23)별 요금표를 적용하여 모든 시간대의 요금과 예측 요금을 계산합니다.
+     *
+     * @param tariff 업체에 적용되는 시간별 요금표
+     */
+    public void applyRates(EnergyTariff tariff) {
+        for (int slot = 0; slot < usage.length; slot++) {
+            var rate = tariff.getFixedRate((startHour.getHour() + slot) % 24);
+            bill[slot] = multiply(usage[slot], rate);
+            forecastBill[slot] = multiply(forecastUsage[slot], rate);
+        }
+    }
+
+    /**
+     * @return 누적 공간의 시간대 수
+     */
+    public int size() {
+        return usage.length;
+    }
+
+    /**
+     * @param slot 시간대 오프셋
+     * @return 해당 시간대에 실제 사용량이 존재하는지 여부
+     */
+    public boolean hasUsage(int slot) {
+        return hasUsage[slot];
+    }
+
+    /**
+     * @param slot 시간대 오프셋
+     * @return 해당 시간대의 기준 시각 (정각)
+     */
+    public LocalDateTime timeOf(int slot) {
+        return startHour.plusHours(slot);
+    }
+
+    public BigDecimal getUsage(int slot) {
+        return toBigDecimal(usage[slot]);
+    }
+
+    public BigDecimal getForecastUsage(int slot) {
+        return toBigDecimal(forecastUsage[slot]);
+    }
+
+    public BigDecimal getBill(int slot) {
+        return toBigDecimal(bill[slot]);
+    }
+
+    public BigDecimal getForecastBill(int slot) {
+        return toBigDecimal(forecastBill[slot]);
+    }
+
+    /**
+     * 시각에 해당하는 시간대 오프셋을 반환합니다.
+     *
+     * @param time 시각
+     * @return 시간대 오프셋, 기간을 벗어난 경우 -1
+     */
+    private int slotOf(LocalDateTime time) {
+        var slot = epochHourOf(time) - startEpochHour;
+        return slot < 0 || slot >= usage.length ? -1 : (int) slot;
+    }
+
+    /**
+     * 시각이 속한 시간대의 에포크 시간을 반환합니다. ChronoUnit.HOURS.between과 달리 객체를 생성하지 않습니다.
+     */
+    private static long epochHourOf(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * 24 + time.getHour();
+    }
+
+    /**
+     * BigDecimal 값을 고정소수점 long으로 변환합니다.
+     * 소수점 4자리 이하의 값은 반올림 없이 10^4배 하여 BigInteger를 만들지 않고 변환합니다.
+     */
+    static long toFixed(BigDecimal value) {
+        var rounded = value.scale() > SCALE ? value.setScale(SCALE, RoundingMode.HALF_UP) : value;
+        return rounded.scaleByPowerOfTen(SCALE).longValueExact();
+    }
+
+    /**
+     * 고정소수점 long 값을 응답용 BigDecimal로 변환합니다.
+     */
+    static BigDecimal toBigDecimal(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+
+    /**
+     * 두 고정소수점 값을 곱한 뒤 소수점 4자리에서 반올림(HALF_UP)합니다.
+     * long 범위를 넘는 경우에만 BigDecimal로 계산합니다.
+     */
+    private static long multiply(long value, long rate) {
+        try {
+            var product = Math.multiplyExact(value, rate);
+            var half = product < 0 ? -UNIT / 2 : UNIT / 2;
+            return Math.addExact(product, half) / UNIT;
+        } catch (ArithmeticException e) {
+            return toFixed(toBigDecimal(value).multiply(toBigDecimal(rate)));
+        }
+    }
+
+    /**
+     * 여러 시간대의 값을 합산하는 누적 합계입니다. 일별, 월별, 전체 합계를 한 번의 순회로 계산할 때 사용합니다.
+     */
+    public static final class Totals {
+        private long usage;
+        private long forecastUsage;
+        private long bill;
+        private long forecastBill;
+
+        /**
+         * 집계 클래스의 특정 시간대 값을 합계에 더합니다.
+         *
+         * @param accumulator 시간대별 집계 클래스
+         * @param slot 시간대 오프셋
+         */
+        public void add(EnergyAccumulator accumulator, int slot) {
+            usage = Math.addExact(usage, accumulator.usage[slot]);
+            forecastUsage = Math.addExact(forecastUsage, accumulator.forecastUsage[slot]);
+            bill = Math.addExact(bill, accumulator.bill[slot]);
+            forecastBill = Math.addExact(forecastBill, accumulator.forecastBill[slot]);
+        }
+
+        /**
+         * 합계를 0으로 초기화합니다.
+         */
+        public void reset() {
+            usage = 0L;
+            forecastUsage = 0L;
+            bill = 0L;
+            forecastBill = 0L;
+        }
+
+        public BigDecimal getUsage() {
+            return toBigDecimal(usage);
+        }
+
+        public BigDecimal getForecastUsage() {
+            return toBigDecimal(forecastUsage);
+        }
+
+        public BigDecimal getBill() {
+            return toBigDecimal(bill);
+        }
+
+        public BigDecimal getForecastBill() {
+            return toBigDecimal(forecastBill);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.ArchiveKind;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.repository.ArchiveJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * 보관 기간이 지난 시계열 데이터를 로컬 디스크의 아카이브 파일로 보관하고 조회하는 컴포넌트입니다.
+ * 아카이브 파일은 업체별, 월별(업체 타임존 기준), 종류별(ArchiveKind)로 하나씩 만들며 TimeSeriesCodec으로 압축합니다.
+ * - 파일 경로: {archive.dir}/{업체 ID}/{종류}-{연월}.tsa (예: 1/energy-202406.tsa)
+ * - 파일 구조: 헤더(매직 넘버, 버전, 종류, 업체 ID, 연월) 다음에 IoT 장비(또는 업체)별 시계열을 기록합니다.
+ *   각 시계열은 ID, 개수, 시각(delta-of-delta), 값(고정소수점 차이) 또는 상태(run-length) 순서로 기록합니다.
+ * 아카이브 파일이 있는 월의 데이터는 원본 테이블 대신 아카이브 파일에서 조회하며, 파일은 메모리 매핑하여 읽습니다.
+ */
+@Component
+@Slf4j
+public class EnergyArchive {
+    // 파일 헤더의 매직 넘버 ("EVSA")
+    private static final int MAGIC = 0x45565341;
+    // 파일 형식 버전
+    private static final int VERSION = 1;
+    // 파일 확장자
+    private static final String EXTENSION = ".tsa";
+    // 파일 이름의 연월 형식
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final ArchiveJdbcRepository archiveJdbcRepository;
+    // 아카이브 파일을 저장할 디렉토리
+    private final Path archiveDir;
+    // 아카이브 사용 여부
+    private final boolean enabled;
+
+    public EnergyArchive(ArchiveJdbcRepository archiveJdbcRepository,
+                         @Value("${archive.dir}") String archiveDir,
+                         @Value("${archive.enabled:true}") boolean enabled) {
+        this.archiveJdbcRepository = archiveJdbcRepository;
+        this.archiveDir = Path.of(archiveDir);
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return 보관 기간이 지난 데이터를 삭제하기 전에 아카이브하는지 여부
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 업체의 시계열 데이터 중 기준 월 이전의 데이터를 월별 아카이브 파일로 기록합니다.
+     * 이미 아카이브한 월 이후부터 기록하며, 데이터가 없는 월도 빈 파일을 만들어 아카이브한 월로 표시합니다.
+     *
+     * @param companyId 업체 ID
+     * @param zoneId 업체 타임존
+     * @param cutoffMonth 기준 월 (업체 타임존 기준, 이 월은 기록하지 않음)
+     * @return 모든 종류의 아카이브에 성공했으면 true
+     */
+    public boolean archiveBefore(Long companyId, ZoneId zoneId, YearMonth cutoffMonth) {
+        for (var kind : ArchiveKind.values()) {
+            try {
+                var firstMonth = findLatestMonth(companyId, kind)
+                        .map(month -> month.plusMonths(1))
+                        .or(() -> archiveJdbcRepository.findMinimum(kind.getTable(), companyId)
+                                .map(minimum -> kind.getTable().isUtc()
+                                        ? minimum.atOffset(ZoneOffset.UTC).atZoneSameInstant(zoneId).toLocalDateTime()
+                                        : minimum)
+                                .map(YearMonth::from));
+                if (firstMonth.isEmpty()) {
+                    continue;
+                }
+                for (var month = firstMonth.get(); month.isBefore(cutoffMonth); month = month.plusMonths(1)) {
+                    write(companyId, zoneId, kind, month);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                log.error("Failed to archive {} of company {}.", kind, companyId, e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 업체의 시간대별 에너지 사용량 또는 AI 예측 사용량 합계를 조회합니다.
+     * 아카이브 파일이 있는 월은 아카이브 파일에서, 나머지 기간은 hotQuery로 원본 테이블에서 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param kind 아카이브 종류 (ENERGY 또는 AI_FORECAST_ENERGY)
+     * @param start 조회 시작 시각 (포함, 업체 타임존 기준)
+     * @param end 조회 종료 시각 (포함, 업체 타임존 기준)
+     * @param hotQuery 원본 테이블에서 주어진 기간(시작, 종료 모두 포함)의 시간대별 합계를 조회하는 함수
+     * @return 시간대(정각)별 합계 리스트
+     */
+    public List<EnergyDto.UsageSum> readHourly(Long companyId, ArchiveKind kind, LocalDateTime start, LocalDateTime end,
+                                               BiFunction<LocalDateTime, LocalDateTime, List<EnergyDto.UsageSum>> hotQuery) {
+        // 조회 시작 월부터 아카이브 파일이 이어지는 마지막 월 다음 달의 시작 시각 계산
+        var month = YearMonth.from(start);
+        while (!month.atDay(1).atStartOfDay().isAfter(end) && Files.exists(path(companyId, kind, month))) {
+            month = month.plusMonths(1);
+        }
+        var archivedUntil = month.atDay(1).atStartOfDay();
+        if (!archivedUntil.isAfter(start)) {
+            return hotQuery.apply(start, end);
+        }
+        // 아카이브 파일에서 시간대별로 합산
+        var usageByHour = new TreeMap<Long, Long>();
+        var startMinute = ArchiveJdbcRepository.toEpochMinute(start);
+        var endMinute = ArchiveJdbcRepository.toEpochMinute(end);
+        for (var archived = YearMonth.from(start); archived.isBefore(month); archived = archived.plusMonths(1)) {
+            read(companyId, kind, archived, (seriesId, timestamps, values) -> {
+                for (int i = 0; i < timestamps.length; i++) {
+                    if (timestamps[i] >= startMinute && timestamps[i] <= endMinute) {
+                        usageByHour.merge(Math.floorDiv(timestamps[i], 60), values[i], Long::sum);
+                    }
+                }
+            });
+        }
+        var result = new ArrayList<EnergyDto.UsageSum>(usageByHour.size());
+        usageByHour.forEach((hour, usage) -> result.add(new EnergyDto.UsageSum(
+                ArchiveJdbcRepository.fromEpochMinute(hour * 60), BigDecimal.valueOf(usage, ArchiveJdbcRepository.USAGE_SCALE))));
+        // 아카이브되지 않은 나머지 기간은 원본 테이블에서 조회
+        if (!archivedUntil.isAfter(end)) {
+            result.addAll(hotQuery.apply(archivedUntil, end));
+        }
+        return result;
+    }
+
+    /**
+     * 업체의 월별 IoT 장비 상태 이력 아카이브를 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param month 월 (업체 타임존 기준)
+     * @return IoT 장비 상태 이력 리스트 (아카이브 파일이 없으면 빈 리스트)
+     */
+    public List<StatusRecord> readIotStatusHistory(Long companyId, YearMonth month) {
+        var records = new ArrayList<StatusRecord>();
+        if (Files.exists(path(companyId, ArchiveKind.IOT_STATUS_HISTORY, month))) {
+            var statuses = IotStatus.values();
+            read(companyId, ArchiveKind.IOT_STATUS_HISTORY, month, (seriesId, timestamps, values) -> {
+                for (int i = 0; i < timestamps.length; i++) {
+                    records.add(new StatusRecord(seriesId, Instant.ofEpochSecond(timestamps[i]), statuses[(int) values[i]]));
+                }
+            });
+        }
+        return records;
+    }
+
+    /**
+     * 업체의 월별 데이터를 원본 테이블에서 읽어 아카이브 파일로 기록합니다.
+     * 임시 파일에 기록한 뒤 이름을 바꾸므로, 기록 중 오류가 발생해도 불완전한 아카이브 파일이 남지 않습니다.
+     */
+    private void write(Long companyId, ZoneId zoneId, ArchiveKind kind, YearMonth month) throws IOException {
+        var body = new TimeSeriesCodec.Encoder();
+        var series = new SeriesBuffer(kind, body);
+        var start = month.atDay(1).atStartOfDay();
+        var end = month.plusMonths(1).atDay(1).atStartOfDay();
+        switch (kind) {
+            case ENERGY -> archiveJdbcRepository.streamEnergy(companyId, start, end, series::add);
+            case IOT_STATUS_HISTORY -> archiveJdbcRepository.streamIotStatusHistory(companyId,
+                    start.atZone(zoneId).toInstant(), end.atZone(zoneId).toInstant(), series::add);
+            case AI_FORECAST_ENERGY -> archiveJdbcRepository.streamAIForecastEnergy(companyId, start, end, series::add);
+        }
+        series.flush();
+        // 헤더와 시계열 기록
+        var file = new TimeSeriesCodec.Encoder()
+                .writeInt(MAGIC)
+                .writeVarLong(VERSION)
+                .writeVarLong(kind.getCode())
+                .writeVarLong(companyId)
+                .writeSignedVarLong(month.getYear() * 12L + month.getMonthValue() - 1);
+        if (kind == ArchiveKind.IOT_STATUS_HISTORY) {
+            // 상태 코드(ordinal)와 이름의 대응 관계 기록
+            file.writeVarLong(IotStatus.values().length);
+            Arrays.stream(IotStatus.values()).forEach(status -> file.writeString(status.name()));
+        }
+        var bytes = file.writeVarLong(series.count).writeBytes(body.toByteArray(), false).toByteArray();
+        var target = path(companyId, kind, month);
+        Files.createDirectories(target.getParent());
+        var temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (series.points > 0) {
+            log.info("Archived {} {} rows of company {} for {} into {} bytes.", series.points, kind, companyId, month, bytes.length);
+        }
+    }
+
+    /**
+     * 아카이브 파일을 메모리 매핑하여 시계열마다 처리기를 호출합니다.
+     */
+    private void read(Long companyId, ArchiveKind kind, YearMonth month, SeriesHandler handler) {
+        var path = path(companyId, kind, month);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var decoder = new TimeSeriesCodec.Decoder(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (decoder.readInt() != MAGIC || decoder.readVarLong() != VERSION || decoder.readVarLong() != kind.getCode()
+                    || decoder.readVarLong() != companyId) {
+                throw new IllegalStateException("Invalid archive file: " + path);
+            }
+            decoder.readSignedVarLong();
+            int[] codeMapping = null;
+            if (kind == ArchiveKind.IOT_STATUS_HISTORY) {
+                // 기록 당시의 상태 이름을 현재 ordinal로 변환
+                codeMapping = new int[(int) decoder.readVarLong()];
+                for (int i = 0; i < codeMapping.length; i++) {
+                    codeMapping[i] = IotStatus.valueOf(decoder.readString()).ordinal();
+                }
+            }
+            var seriesCount = decoder.readVarLong();
+            for (long s = 0; s < seriesCount; s++) {
+                var seriesId = decoder.readVarLong();
+                var count = (int) decoder.readVarLong();
+                var timestamps = decoder.readTimestamps(count);
+                long[] values;
+                if (codeMapping != null) {
+                    var codes = decoder.readRuns(count);
+                    values = new long[count];
+                    for (int i = 0; i < count; i++) {
+                        values[i] = codeMapping[codes[i]];
+                    }
+                } else {
+                    values = decoder.readValues(count);
+                }
+                handler.accept(seriesId, timestamps, values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive file: " + path, e);
+        }
+    }
+
+    /**
+     * 업체의 가장 마지막으로 아카이브한 월을 조회합니다.
+     */
+    private Optional<YearMonth> findLatestMonth(Long companyId, ArchiveKind kind) throws IOException {
+        var companyDir = archiveDir.resolve(String.valueOf(companyId));
+        if (!Files.isDirectory(companyDir)) {
+            return Optional.empty();
+        }
+        var prefix = kind.getFilePrefix() + "-";
+        try (Stream<Path> files = Files.list(companyDir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(EXTENSION))
+                    .map(name -> name.substring(prefix.length(), name.length() - EXTENSION.length()))
+                    .filter(month -> month.matches("\\d{6}"))
+                    .map(month -> YearMonth.parse(month, MONTH_FORMAT))
+                    .max(Comparator.naturalOrder());
+        }
+    }
+
+    /**
+     * 아카이브 파일의 경로를 생성합니다.
+     */
+    private Path path(Long companyId, ArchiveKind kind, YearMonth month) {
+        return archiveDir.resolve(String.valueOf(companyId))
+                .resolve(kind.getFilePrefix() + "-" + MONTH_FORMAT.format(month) + EXTENSION);
+    }
+
+    /**
+     * 아카이브 파일에서 읽은 IoT 장비 상태 이력입니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @param createdDate 생성 일시
+     * @param status 상태
+     */
+    public record StatusRecord(long iotId, Instant createdDate, IotStatus status) {}
+
+    /**
+     * 아카이브 파일에서 읽은 시계열을 처리하는 처리기입니다.
+     */
+    @FunctionalInterface
+    private interface SeriesHandler {
+        void accept(long seriesId, long[] timestamps, long[] values);
+    }
+
+    /**
+     * 시계열 ID, 시각 순서로 전달되는 행을 모아 시계열 단위로 인코딩하는 버퍼입니다.
+     */
+    private static final class SeriesBuffer {
+        private final ArchiveKind kind;
+        private final TimeSeriesCodec.Encoder encoder;
+        private long seriesId = -1;
+        private long[] timestamps = new long[1024];
+        private long[] values = new long[1024];
+        private int size;
+        // 기록한 시계열 수
+        private int count;
+        // 기록한 행 수
+        private long points;
+
+        private SeriesBuffer(ArchiveKind kind, TimeSeriesCodec.Encoder encoder) {
+            this.kind = kind;
+            this.encoder = encoder;
+        }
+
+        private void add(long seriesId, long timestamp, long value) {
+            if (seriesId != this.seriesId) {
+                flush();
+                this.seriesId = seriesId;
+            }
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        private void flush() {
+            if (size == 0) {
+                return;
+            }
+            encoder.writeVarLong(seriesId).writeVarLong(size).writeTimestamps(timestamps, size);
+            if (kind == ArchiveKind.IOT_STATUS_HISTORY) {
+                var codes = new int[size];
+                for (int i = 0; i < size; i++) {
+                    codes[i] = (int) values[i];
+                }
+                encoder.writeRuns(codes, size);
+            } else {
+                encoder.writeValues(values, size);
+            }
+            count++;
+            points += size;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.EnergyRollup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * EnergyDemandService는 업체별 시간별 수요의 일별 분위수 스케치를 관리하고, 기간 내 수요 분석을 제공하는 서비스 인터페이스입니다.
+ */
+public interface EnergyDemandService {
+    /**
+     * 갱신된 시간별 집계를 날짜별 분위수 스케치에 반영합니다.
+     * 시간별 집계와 같은 트랜잭션에서 호출되어야 합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param hourlyRollups 갱신된 시간별 집계 (저장 후)
+     * @param previousUsage 이미 있던 시간별 집계의 갱신 전 사용량 (새로 만든 시간별 집계는 포함하지 않음)
+     */
+    void accumulate(Company company, Collection<EnergyRollup> hourlyRollups, Map<LocalDateTime, BigDecimal> previousUsage);
+    /**
+     * 업체의 기간 내 분위수 스케치를 시간별 집계로부터 다시 생성합니다.
+     * 시간별 집계를 보관 기간이 지나 삭제한 날의 스케치는 그대로 유지합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param startDate 재생성 시작일
+     * @param endDate 재생성 종료일
+     */
+    void rebuild(Company company, LocalDate startDate, LocalDate endDate);
+    /**
+     * 업체의 기간 내 시간별 수요의 분위수, 최대 수요 시간대, 부하 지속 곡선을 조회합니다.
+     * 날짜별 스케치를 병합하여 계산하므로 조회 비용이 원본 에너지 데이터 건수와 무관합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일, 없으면 시작일로 처리
+     * @return 기간 내 시간별 수요 분석 결과
+     */
+    EnergyDto.DemandResponse readDemand(Long companyId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,233 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.domain.MemberRole;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.EnergyDemandSketch;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.EnergyDemandSketchRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 업체별 시간별 수요의 일별 분위수 스케치를 관리하고, 기간 내 수요 분석을 제공하는 서비스 구현 클래스입니다.
+ * 시간별 집계가 갱신될 때 갱신 전 사용량을 스케치에서 빼고 갱신 후 사용량을 더하므로, 원본 에너지 데이터를 다시 읽지 않습니다.
+ * 최대 수요 시간대의 사용량이 줄어든 날과 스케치가 아직 없는 날만 그 날의 시간별 집계(최대 25개)로 다시 생성합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EnergyDemandServiceImpl implements EnergyDemandService {
+    // 부하 지속 곡선의 점 수 (시간 비율 0%부터 100%까지 1% 간격)
+    private static final int LOAD_DURATION_POINTS = 101;
+
+    private final EnergyDemandSketchRepository energyDemandSketchRepository;
+    private final EnergyRollupRepository energyRollupRepository;
+    private final CompanyRepository companyRepository;
+    private final AuthenticationService authenticationService;
+
+    /**
+     * 갱신된 시간별 집계를 날짜별 분위수 스케치에 반영합니다.
+     * 호출하는 쪽(집계 데이터 갱신)이 같은 날의 일별 집계를 잠근 상태이며, 이미 있는 스케치도 잠근 뒤 읽으므로 동시에 갱신한 변화량이 사라지지 않습니다.
+     *
+     * @param company 집계 대상 업체
+     * @param hourlyRollups 갱신된 시간별 집계 (저장 후)
+     * @param previousUsage 이미 있던 시간별 집계의 갱신 전 사용량 (새로 만든 시간별 집계는 포함하지 않음)
+     */
+    @Override
+    @Transactional
+    public void accumulate(Company company, Collection<EnergyRollup> hourlyRollups, Map<LocalDateTime, BigDecimal> previousUsage) {
+        var rollupsByDate = hourlyRollups.stream()
+                .collect(Collectors.groupingBy(rollup -> rollup.getBucketTime().toLocalDate(), TreeMap::new, Collectors.toList()));
+        if (rollupsByDate.isEmpty()) {
+            return;
+        }
+        var sketchByDate = energyDemandSketchRepository.findForUpdate(company.getId(), rollupsByDate.keySet()).stream()
+                .collect(Collectors.toMap(EnergyDemandSketch::getSketchDate, Function.identity()));
+        var changed = new ArrayList<EnergyDemandSketch>(rollupsByDate.size());
+        rollupsByDate.forEach((date, rollups) -> {
+            var entity = sketchByDate.get(date);
+            if (entity == null) {
+                // 스케치가 없는 날은 그 날의 시간별 집계 전체로 생성
+                changed.add(rebuildDay(company, date, findHourlyRollups(company, date, date).getOrDefault(date, List.of()), null));
+                return;
+            }
+            var sketch = DemandSketch.decode(entity.getSketch());
+            var recalculatePeak = false;
+            for (var rollup : rollups) {
+                var usage = rollup.getFacilityUsage();
+                var previous = previousUsage.get(rollup.getBucketTime());
+                if (previous != null) {
+                    sketch.remove(toFixedPoint(previous));
+                }
+                sketch.add(toFixedPoint(usage));
+                if (entity.getPeakTime() == null || usage.compareTo(entity.getPeakUsage()) > 0) {
+                    entity.setPeakTime(rollup.getBucketTime());
+                    entity.setPeakUsage(usage);
+                } else if (rollup.getBucketTime().equals(entity.getPeakTime()) && usage.compareTo(entity.getPeakUsage()) < 0) {
+                    recalculatePeak = true;
+                }
+            }
+            if (recalculatePeak) {
+                // 최대 수요 시간대의 사용량이 줄어들면 다른 시간대가 최대일 수 있으므로 그 날의 시간별 집계로 다시 생성
+                changed.add(rebuildDay(company, date, findHourlyRollups(company, date, date).getOrDefault(date, List.of()), entity));
+                return;
+            }
+            entity.setSketch(sketch.encode());
+            changed.add(entity);
+        });
+        energyDemandSketchRepository.saveAll(changed);
+    }
+
+    /**
+     * 업체의 기간 내 분위수 스케치를 시간별 집계로부터 다시 생성합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param startDate 재생성 시작일
+     * @param endDate 재생성 종료일
+     */
+    @Override
+    @Transactional
+    public void rebuild(Company company, LocalDate startDate, LocalDate endDate) {
+        var rollupsByDate = findHourlyRollups(company, startDate, endDate);
+        if (rollupsByDate.isEmpty()) {
+            return;
+        }
+        var sketchByDate = energyDemandSketchRepository.findForUpdate(company.getId(), rollupsByDate.keySet()).stream()
+                .collect(Collectors.toMap(EnergyDemandSketch::getSketchDate, Function.identity()));
+        energyDemandSketchRepository.saveAll(rollupsByDate.entrySet().stream()
+                .map(entry -> rebuildDay(company, entry.getKey(), entry.getValue(), sketchByDate.get(entry.getKey())))
+                .toList());
+        log.info("Rebuilt demand sketches for company {} from {} to {} ({} days).", company.getId(), startDate, endDate, rollupsByDate.size());
+    }
+
+    /**
+     * 업체의 기간 내 시간별 수요의 분위수, 최대 수요 시간대, 부하 지속 곡선을 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일, 없으면 시작일로 처리
+     * @return 기간 내 시간별 수요 분석 결과
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public EnergyDto.DemandResponse readDemand(Long companyId, LocalDate startDate, LocalDate endDate) {
+        var end = (endDate == null) ? startDate : endDate;
+        if (end.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate.");
+        }
+        // ADMIN이 아니면 자신이 속한 업체만 조회 가능
+        var currentUser = authenticationService.getCurrentUserInfo();
+        if (currentUser.getRole() != MemberRole.ADMIN && !companyId.equals(currentUser.getCompanyId())) {
+            throw new AccessDeniedException("You do not have permission to perform this operation on this company.");
+        }
+        if (!companyRepository.existsById(companyId)) {
+            throw new EntityNotFoundException("No such company.");
+        }
+        // 날짜별 스케치를 병합하고 최대 수요 시간대를 찾음
+        var merged = new DemandSketch();
+        LocalDateTime peakTime = null;
+        var peakUsage = BigDecimal.ZERO;
+        for (var entity : energyDemandSketchRepository.findByCompanyIdAndSketchDateBetween(companyId, startDate, end)) {
+            merged.merge(DemandSketch.decode(entity.getSketch()));
+            if (entity.getPeakTime() != null && (peakTime == null || entity.getPeakUsage().compareTo(peakUsage) > 0)) {
+                peakTime = entity.getPeakTime();
+                peakUsage = entity.getPeakUsage();
+            }
+        }
+        // 부하 지속 곡선: 시간 비율 p%의 점은 전체 시간의 p% 동안 넘어선 수요 (0%는 실제 최대 수요)
+        var loadDurationCurve = new ArrayList<EnergyDto.LoadDurationPoint>(LOAD_DURATION_POINTS);
+        var hours = merged.count();
+        if (hours > 0) {
+            for (int percent = 0; percent < LOAD_DURATION_POINTS; percent++) {
+                loadDurationCurve.add(EnergyDto.LoadDurationPoint.builder()
+                        .percentOfHours(percent)
+                        .usage(percent == 0 ? peakUsage : toUsage(merged.quantile(1 - percent / 100.0)))
+                        .build());
+            }
+        }
+        return EnergyDto.DemandResponse.builder()
+                .companyId(companyId)
+                .startDate(startDate)
+                .endDate(end)
+                .hours(hours)
+                .p50(toUsage(merged.quantile(0.50)))
+                .p95(toUsage(merged.quantile(0.95)))
+                .p99(toUsage(merged.quantile(0.99)))
+                .peakTime(peakTime)
+                .peakUsage(peakUsage)
+                .loadDurationCurve(loadDurationCurve)
+                .build();
+    }
+
+    /**
+     * 업체의 기간 내 시간별 집계를 날짜별로 조회합니다.
+     */
+    private TreeMap<LocalDate, List<EnergyRollup>> findHourlyRollups(Company company, LocalDate startDate, LocalDate endDate) {
+        return energyRollupRepository.findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(company.getId(),
+                        EnergyRollupGranularity.HOURLY, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX)).stream()
+                .collect(Collectors.groupingBy(rollup -> rollup.getBucketTime().toLocalDate(), TreeMap::new, Collectors.toList()));
+    }
+
+    /**
+     * 하루의 시간별 집계로 스케치와 최대 수요 시간대를 다시 생성합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param date 기준 일
+     * @param hourlyRollups 그 날의 시간별 집계
+     * @param entity 기존 스케치, 없으면 null
+     * @return 다시 생성한 스케치
+     */
+    private EnergyDemandSketch rebuildDay(Company company, LocalDate date, List<EnergyRollup> hourlyRollups, EnergyDemandSketch entity) {
+        if (entity == null) {
+            entity = EnergyDemandSketch.builder()
+                    .company(company)
+                    .sketchDate(date)
+                    .build();
+        }
+        var sketch = new DemandSketch();
+        LocalDateTime peakTime = null;
+        var peakUsage = BigDecimal.ZERO;
+        for (var rollup : hourlyRollups) {
+            sketch.add(toFixedPoint(rollup.getFacilityUsage()));
+            if (peakTime == null || rollup.getFacilityUsage().compareTo(peakUsage) > 0) {
+                peakTime = rollup.getBucketTime();
+                peakUsage = rollup.getFacilityUsage();
+            }
+        }
+        entity.setSketch(sketch.encode());
+        entity.setPeakTime(peakTime);
+        entity.setPeakUsage(peakUsage);
+        return entity;
+    }
+
+    /**
+     * BigDecimal 사용량을 소수점 4자리 고정소수점 정수로 변환합니다.
+     */
+    private static long toFixedPoint(BigDecimal usage) {
+        return usage.setScale(4, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 소수점 4자리 고정소수점 사용량을 BigDecimal로 변환합니다.
+     */
+    private static BigDecimal toUsage(long usage) {
+        return BigDecimal.valueOf(usage, 4);
+    }
+}
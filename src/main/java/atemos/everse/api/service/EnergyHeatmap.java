@@ -0,0 +1,336 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업체별 최근 기간(energy.heatmap.weeks)의 요일·시각(7 × 24 = 168칸)별 시간 사용량과 요금 집계를 메모리에 보관하는 저장소입니다.
+ * 요일·시각별 평균 사용량 히트맵을 조회할 때 몇 주치 에너지 데이터를 다시 읽지 않도록 사용합니다.
+ * - 업체마다 주별 168칸 조각을 주 수만큼의 링 버퍼로 보관하고, 전체 기간의 칸별 합계·시간 수·최소·최대를
+ *   소수점 4자리 고정소수점 정수로 누적해 두므로 전체 기간의 히트맵은 168칸만 읽습니다.
+ * - 시간별 집계(EnergyRollupService.accumulate)가 커밋된 후 갱신된 시간의 사용량과 요금으로 칸을 덮어쓰고,
+ *   합계에는 이전 값과의 차이만큼 반영합니다. 최소·최대는 해당 칸의 주별 값(주 수만큼)으로 다시 계산합니다.
+ * - 기간이 지난 주는 새 주의 시간이 반영되거나 조회할 때 누적값에서 빼고 제거합니다.
+ * - 업체를 처음 조회할 때 기간 내 시간별 집계로 적재하며, 적재하지 않은 업체의 갱신은 반영하지 않습니다.
+ * 노드마다 자신이 갱신한 시간별 집계만 반영하고 다른 노드에 무효화를 알리지 않으므로 기본으로 꺼져 있으며,
+ * 한 노드에서만 에너지 사용량을 수집할 때 energy.heatmap.enabled로 켭니다.
+ * 꺼져 있으면 조회할 때마다 시간별 집계로 히트맵을 만듭니다.
+ */
+@Component
+@Slf4j
+public class EnergyHeatmap {
+    /**
+     * 히트맵의 칸 수 (7일 × 24시간)입니다.
+     */
+    public static final int CELLS = 7 * 24;
+    // 값이 없는 칸
+    private static final long ABSENT = Long.MIN_VALUE;
+    // 비어 있는 링 버퍼 슬롯의 주 번호
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final EnergyRollupRepository energyRollupRepository;
+    private final boolean enabled;
+    // 이번 주를 정하는 시계
+    private final Clock clock;
+    // 보관할 주 수
+    private final int weeks;
+    // 업체 ID별 히트맵
+    private final Map<Long, CompanyHeatmap> heatmaps = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EnergyHeatmap(EnergyRollupRepository energyRollupRepository,
+                         @Value("${energy.heatmap.enabled:false}") boolean enabled,
+                         @Value("${energy.heatmap.weeks:12}") int weeks) {
+        this(energyRollupRepository, enabled, weeks, Clock.systemUTC());
+    }
+
+    /**
+     * 주어진 시계로 이번 주를 정하는 저장소를 생성합니다. 주가 바뀌는 동작을 테스트할 때 사용합니다.
+     */
+    EnergyHeatmap(EnergyRollupRepository energyRollupRepository, boolean enabled, int weeks, Clock clock) {
+        if (weeks < 1) {
+            throw new IllegalArgumentException("energy.heatmap.weeks must be positive.");
+        }
+        this.energyRollupRepository = energyRollupRepository;
+        this.enabled = enabled;
+        this.clock = clock;
+        this.weeks = weeks;
+    }
+
+    /**
+     * @return 보관하는 주 수 (조회할 수 있는 최대 주 수)
+     */
+    public int getWeeks() {
+        return weeks;
+    }
+
+    /**
+     * 갱신된 시간별 집계의 사용량과 요금을 반영합니다. 트랜잭션 안에서 호출되면 커밋된 후에 반영합니다.
+     *
+     * @param companyId 업체 ID
+     * @param hourlyRollups 갱신된 시간별 집계
+     */
+    public void update(Long companyId, Collection<EnergyRollup> hourlyRollups) {
+        if (!enabled || hourlyRollups.isEmpty() || !heatmaps.containsKey(companyId)) {
+            return;
+        }
+        // 커밋 후에 엔티티가 바뀌지 않도록 값을 먼저 복사
+        var hours = hourlyRollups.stream().map(EnergyRollup::getBucketTime).toArray(LocalDateTime[]::new);
+        var usage = hourlyRollups.stream().mapToLong(rollup -> toFixedPoint(rollup.getFacilityUsage())).toArray();
+        var bill = hourlyRollups.stream().mapToLong(rollup -> toFixedPoint(rollup.getBill())).toArray();
+        afterCommit(() -> heatmaps.computeIfPresent(companyId, (id, heatmap) -> {
+            synchronized (heatmap) {
+                heatmap.advance();
+                for (int i = 0; i < hours.length; i++) {
+                    heatmap.set(hours[i], usage[i], bill[i]);
+                }
+            }
+            return heatmap;
+        }));
+    }
+
+    /**
+     * 삭제된 업체의 히트맵을 제거합니다. 트랜잭션 안에서 호출되면 커밋된 후에 제거합니다.
+     *
+     * @param companyId 업체 ID
+     */
+    public void removeCompany(Long companyId) {
+        afterCommit(() -> heatmaps.remove(companyId));
+    }
+
+    /**
+     * 업체의 최근 주들의 요일·시각별 집계를 반환합니다.
+     *
+     * @param companyId 업체 ID
+     * @param zoneId 업체 타임존
+     * @param weekCount 이번 주를 포함한 최근 주 수 (1 ~ getWeeks())
+     * @return 칸별 집계 (칸 번호 = (요일 - 1) × 24 + 시각)
+     */
+    public Cells read(Long companyId, ZoneId zoneId, int weekCount) {
+        var heatmap = enabled
+                ? heatmaps.computeIfAbsent(companyId, id -> load(id, zoneId))
+                : load(companyId, zoneId);
+        synchronized (heatmap) {
+            heatmap.advance();
+            return heatmap.read(weekCount);
+        }
+    }
+
+    /**
+     * 업체의 기간 내 시간별 집계로 히트맵을 만듭니다.
+     */
+    private CompanyHeatmap load(Long companyId, ZoneId zoneId) {
+        var heatmap = new CompanyHeatmap(zoneId, weeks, clock);
+        var today = LocalDateTime.ofInstant(clock.instant(), zoneId).toLocalDate();
+        var start = today.with(DayOfWeek.MONDAY).minusWeeks(weeks - 1L).atStartOfDay();
+        var rollups = energyRollupRepository.findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(
+                companyId, EnergyRollupGranularity.HOURLY, start, today.plusDays(1).atStartOfDay());
+        synchronized (heatmap) {
+            rollups.forEach(rollup -> heatmap.set(rollup.getBucketTime(),
+                    toFixedPoint(rollup.getFacilityUsage()), toFixedPoint(rollup.getBill())));
+        }
+        log.debug("Loaded {} hourly rollups of company {} into the heatmap.", rollups.size(), companyId);
+        return heatmap;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋된 후에, 아니면 바로 실행합니다.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 날짜가 속한 주(월요일 시작)의 번호를 반환합니다. 1969-12-29(월)가 속한 주가 0입니다.
+     */
+    private static long weekNumber(LocalDate date) {
+        return Math.floorDiv(date.toEpochDay() + 3, 7);
+    }
+
+    /**
+     * 사용량 또는 요금을 소수점 4자리 고정소수점 정수로 변환합니다.
+     */
+    private static long toFixedPoint(BigDecimal value) {
+        return value.setScale(EnergyAccumulator.SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 칸별 집계입니다. 사용량과 요금은 소수점 4자리 고정소수점 정수이며, 시간 수가 0인 칸의 최소·최대는 0입니다.
+     *
+     * @param usageSum 칸별 사용량 합계
+     * @param billSum 칸별 요금 합계
+     * @param count 칸별 시간 수
+     * @param minUsage 칸별 최소 사용량
+     * @param maxUsage 칸별 최대 사용량
+     */
+    public record Cells(long[] usageSum, long[] billSum, int[] count, long[] minUsage, long[] maxUsage) {
+        private Cells() {
+            this(new long[CELLS], new long[CELLS], new int[CELLS], new long[CELLS], new long[CELLS]);
+        }
+    }
+
+    /**
+     * 업체 한 곳의 주별 칸 값과 전체 기간의 누적값입니다. 모든 접근은 이 객체로 동기화합니다.
+     */
+    private static final class CompanyHeatmap {
+        private final ZoneId zoneId;
+        private final Clock clock;
+        // 링 버퍼 슬롯별 주 번호
+        private final long[] weekNumbers;
+        // 슬롯별 칸 사용량
+        private final long[][] usage;
+        // 슬롯별 칸 요금
+        private final long[][] bill;
+        // 전체 기간의 칸별 누적값
+        private final Cells total = new Cells();
+
+        private CompanyHeatmap(ZoneId zoneId, int weeks, Clock clock) {
+            this.zoneId = zoneId;
+            this.clock = clock;
+            weekNumbers = new long[weeks];
+            usage = new long[weeks][CELLS];
+            bill = new long[weeks][CELLS];
+            Arrays.fill(weekNumbers, EMPTY);
+        }
+
+        /**
+         * 기간이 지난 주를 누적값에서 빼고 제거합니다.
+         */
+        private void advance() {
+            var oldestWeek = currentWeek() - weekNumbers.length + 1;
+            for (int slot = 0; slot < weekNumbers.length; slot++) {
+                if (weekNumbers[slot] != EMPTY && weekNumbers[slot] < oldestWeek) {
+                    evict(slot);
+                }
+            }
+        }
+
+        /**
+         * 한 시간의 사용량과 요금으로 칸을 덮어쓰고 누적값에 이전 값과의 차이를 반영합니다. 기간 밖의 시간은 무시합니다.
+         */
+        private void set(LocalDateTime hour, long hourUsage, long hourBill) {
+            var week = weekNumber(hour.toLocalDate());
+            var currentWeek = currentWeek();
+            if (week > currentWeek || week <= currentWeek - weekNumbers.length) {
+                return;
+            }
+            var slot = (int) Math.floorMod(week, (long) weekNumbers.length);
+            if (weekNumbers[slot] != week) {
+                if (weekNumbers[slot] != EMPTY) {
+                    evict(slot);
+                }
+                weekNumbers[slot] = week;
+                Arrays.fill(usage[slot], ABSENT);
+            }
+            var cell = (hour.getDayOfWeek().getValue() - 1) * 24 + hour.getHour();
+            if (usage[slot][cell] != ABSENT) {
+                total.usageSum[cell] -= usage[slot][cell];
+                total.billSum[cell] -= bill[slot][cell];
+                total.count[cell]--;
+            }
+            usage[slot][cell] = hourUsage;
+            bill[slot][cell] = hourBill;
+            total.usageSum[cell] += hourUsage;
+            total.billSum[cell] += hourBill;
+            total.count[cell]++;
+            updateMinMax(cell);
+        }
+
+        /**
+         * 최근 주들의 칸별 집계를 반환합니다. 전체 기간이면 누적값을 복사하고, 아니면 해당 주들의 칸 값을 합산합니다.
+         */
+        private Cells read(int weekCount) {
+            if (weekCount >= weekNumbers.length) {
+                return new Cells(total.usageSum.clone(), total.billSum.clone(), total.count.clone(),
+                        total.minUsage.clone(), total.maxUsage.clone());
+            }
+            var cells = new Cells();
+            var oldestWeek = currentWeek() - weekCount + 1;
+            for (int slot = 0; slot < weekNumbers.length; slot++) {
+                if (weekNumbers[slot] == EMPTY || weekNumbers[slot] < oldestWeek) {
+                    continue;
+                }
+                for (int cell = 0; cell < CELLS; cell++) {
+                    var value = usage[slot][cell];
+                    if (value == ABSENT) {
+                        continue;
+                    }
+                    cells.minUsage[cell] = (cells.count[cell] == 0) ? value : Math.min(cells.minUsage[cell], value);
+                    cells.maxUsage[cell] = (cells.count[cell] == 0) ? value : Math.max(cells.maxUsage[cell], value);
+                    cells.usageSum[cell] += value;
+                    cells.billSum[cell] += bill[slot][cell];
+                    cells.count[cell]++;
+                }
+            }
+            return cells;
+        }
+
+        /**
+         * 슬롯의 주를 누적값에서 빼고 슬롯을 비웁니다.
+         */
+        private void evict(int slot) {
+            weekNumbers[slot] = EMPTY;
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (usage[slot][cell] == ABSENT) {
+                    continue;
+                }
+                total.usageSum[cell] -= usage[slot][cell];
+                total.billSum[cell] -= bill[slot][cell];
+                total.count[cell]--;
+                usage[slot][cell] = ABSENT;
+                updateMinMax(cell);
+            }
+        }
+
+        /**
+         * 칸의 최소·최대 사용량을 주별 값으로 다시 계산합니다.
+         */
+        private void updateMinMax(int cell) {
+            var min = Long.MAX_VALUE;
+            var max = Long.MIN_VALUE;
+            for (int slot = 0; slot < weekNumbers.length; slot++) {
+                if (weekNumbers[slot] != EMPTY && usage[slot][cell] != ABSENT) {
+                    min = Math.min(min, usage[slot][cell]);
+                    max = Math.max(max, usage[slot][cell]);
+                }
+            }
+            total.minUsage[cell] = (min == Long.MAX_VALUE) ? 0 : min;
+            total.maxUsage[cell] = (max == Long.MIN_VALUE) ? 0 : max;
+        }
+
+        /**
+         * 업체 타임존 기준 이번 주의 번호를 반환합니다.
+         */
+        private long currentWeek() {
+            return weekNumber(LocalDateTime.ofInstant(clock.instant(), zoneId).toLocalDate());
+        }
+    }
+}
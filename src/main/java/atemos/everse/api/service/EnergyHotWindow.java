@@ -0,0 +1,444 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근 기간(energy.hot-window.days)의 IoT 장비별 시간대 에너지 사용량을 메모리에 보관하는 저장소입니다.
+ * 실시간 조회와 알람 확인이 같은 장비의 최근 사용량을 반복해서 데이터베이스에서 합산하지 않도록 사용합니다.
+ * - IoT 장비마다 UTC epoch 시간을 슬롯으로 하는 고정 크기 링 버퍼(int 시간, long 고정소수점 사용량)를 사용하므로
+ *   BigDecimal이나 엔티티 객체를 보관하지 않으며, 기간이 지난 시간대는 새 시간대가 덮어씁니다.
+ * - 에너지 사용량 저장(EnergyIngestionService.upsert)이 커밋된 후 저장한 사용량의 변화량을 반영합니다.
+ * - 애플리케이션이 시작되면 업체별로 데이터베이스에서 다시 적재하며, 적재 중에 변화량이 반영되면 해당 업체를 다시 적재합니다.
+ *   적재되지 않은 업체와 기간을 벗어난 조회는 빈 Optional을 반환하므로 호출하는 쪽에서 데이터베이스로 조회합니다.
+ * - 애플리케이션을 종료할 때 저장한 스냅샷(CacheSnapshotManager)이 있으면 데이터베이스 대신 스냅샷에서 복원합니다.
+ *   종료 전에 주기적으로 저장한 스냅샷은 이후에 반영된 변화량이 빠져 있을 수 있으므로 복원하지 않습니다.
+ * 노드마다 자신이 저장한 사용량만 반영하고 다른 노드에 무효화를 알리지 않으므로 기본으로 꺼져 있으며,
+ * 한 노드에서만 에너지 사용량을 수집할 때 energy.hot-window.enabled로 켭니다.
+ */
+@Component
+@Slf4j
+public class EnergyHotWindow implements CacheSnapshotSection {
+    // 비어 있는 슬롯의 UTC epoch 시간
+    private static final int EMPTY = Integer.MIN_VALUE;
+    // 적재 중에 변화량이 반영된 업체의 최대 적재 시도 횟수
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final CompanyRepository companyRepository;
+    private final EnergyRepository energyRepository;
+    // 적재하는 동안 조회 결과를 스트림으로 읽기 위한 읽기 전용 트랜잭션 템플릿
+    private final TransactionTemplate readOnly;
+    private final boolean enabled;
+    // IoT 장비별 링 버퍼의 슬롯 수 (시간)
+    private final int capacity;
+    // 업체 ID별 최근 사용량
+    private final Map<Long, CompanyWindow> windows = new ConcurrentHashMap<>();
+
+    public EnergyHotWindow(CompanyRepository companyRepository,
+                           EnergyRepository energyRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${energy.hot-window.enabled:false}") boolean enabled,
+                           @Value("${energy.hot-window.days:35}") int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("energy.hot-window.days must be positive.");
+        }
+        this.companyRepository = companyRepository;
+        this.energyRepository = energyRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.enabled = enabled;
+        this.capacity = days * 24;
+    }
+
+    /**
+     * 애플리케이션이 시작된 뒤 모든 업체의 최근 사용량을 가상 스레드에서 데이터베이스로부터 적재합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startLoading() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("energy-hot-window").start(() -> {
+            try {
+                var startedAt = System.currentTimeMillis();
+                var companies = companyRepository.findAll();
+                companies.forEach(company -> load(company.getId(), company.getCountry().getZoneId()));
+                log.info("Loaded recent energy usage of {} companies into the hot window in {} ms.",
+                        companies.size(), System.currentTimeMillis() - startedAt);
+            } catch (Exception e) {
+                log.error("Failed to load recent energy usage into the hot window.", e);
+            }
+        });
+    }
+
+    /**
+     * 저장한 에너지 사용량의 변화량을 반영합니다. 트랜잭션 안에서 호출되면 커밋된 후에 반영합니다.
+     * 아직 적재되지 않은 업체의 변화량은 반영하지 않고, 처음 보는 업체는 가상 스레드에서 적재를 시작합니다.
+     *
+     * @param usageDeltas 에너지 사용량 변화량 목록 (facilityUsage가 변화량, epochHour가 시간대)
+     * @param zoneIdByCompanyId 업체 ID별 타임존 (처음 보는 업체를 적재할 때 사용)
+     */
+    public void addAll(List<EnergyDto.ReadingRow> usageDeltas, Map<Long, ZoneId> zoneIdByCompanyId) {
+        if (!enabled || usageDeltas.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            var oldestEpochHour = currentEpochHour() - capacity;
+            var unknownCompanyIds = new HashSet<Long>();
+            for (var usageDelta : usageDeltas) {
+                var window = windows.get(usageDelta.getCompanyId());
+                if (window == null) {
+                    unknownCompanyIds.add(usageDelta.getCompanyId());
+                    continue;
+                }
+                synchronized (window) {
+                    window.version++;
+                    if (window.loaded && usageDelta.getEpochHour() != null && usageDelta.getEpochHour() > oldestEpochHour) {
+                        window.seriesByIotId.computeIfAbsent(usageDelta.getIotId(), iotId -> new Series(capacity))
+                                .add(usageDelta.getEpochHour(), toFixedPoint(usageDelta.getFacilityUsage()));
+                    }
+                }
+            }
+            unknownCompanyIds.forEach(companyId -> Thread.ofVirtual().name("energy-hot-window-" + companyId)
+                    .start(() -> load(companyId, zoneIdByCompanyId.get(companyId))));
+        });
+    }
+
+    /**
+     * 삭제된 IoT 장비의 최근 사용량을 제거합니다. 트랜잭션 안에서 호출되면 커밋된 후에 제거합니다.
+     *
+     * @param companyId 업체 ID
+     * @param iotId IoT 장비 ID
+     */
+    public void removeIot(Long companyId, Long iotId) {
+        afterCommit(() -> {
+            var window = windows.get(companyId);
+            if (window != null) {
+                synchronized (window) {
+                    window.version++;
+                    window.seriesByIotId.remove(iotId);
+                }
+            }
+        });
+    }
+
+    /**
+     * 삭제된 업체의 최근 사용량을 제거합니다. 트랜잭션 안에서 호출되면 커밋된 후에 제거합니다.
+     *
+     * @param companyId 업체 ID
+     */
+    public void removeCompany(Long companyId) {
+        afterCommit(() -> windows.remove(companyId));
+    }
+
+    /**
+     * 업체의 기간 내 에너지 사용량을 시간대별로 합산합니다.
+     *
+     * @param companyId 업체 ID
+     * @param zoneId 업체 타임존
+     * @param start 조회 시작 일시 (업체 타임존 기준)
+     * @param end 조회 종료 일시 (업체 타임존 기준)
+     * @return 시간대(정각, 업체 타임존 기준)별 에너지 사용량 합계 리스트 (사용량이 있는 시간대만 포함),
+     *         업체가 적재되지 않았거나 시작 일시가 보관 기간을 벗어나면 빈 Optional
+     */
+    public Optional<List<EnergyDto.UsageSum>> sumByHour(Long companyId, ZoneId zoneId, LocalDateTime start, LocalDateTime end) {
+        var window = windows.get(companyId);
+        var startHour = Energy.toEpochHour(start, zoneId);
+        var endHour = Energy.toEpochHour(end, zoneId);
+        if (!enabled || window == null || startHour <= currentEpochHour() - capacity) {
+            return Optional.empty();
+        }
+        synchronized (window) {
+            if (!window.loaded) {
+                return Optional.empty();
+            }
+            var usageSums = new ArrayList<EnergyDto.UsageSum>();
+            for (int epochHour = startHour; epochHour <= endHour; epochHour++) {
+                var sum = 0L;
+                var found = false;
+                for (var series : window.seriesByIotId.values()) {
+                    var slot = series.slotOf(epochHour);
+                    if (slot >= 0) {
+                        sum += series.usage[slot];
+                        found = true;
+                    }
+                }
+                if (found) {
+                    usageSums.add(new EnergyDto.UsageSum(Energy.fromEpochHour(epochHour, zoneId), toUsage(sum)));
+                }
+            }
+            return Optional.of(usageSums);
+        }
+    }
+
+    /**
+     * 업체의 한 시간대 에너지 사용량 합계를 반환합니다.
+     *
+     * @param companyId 업체 ID
+     * @param epochHour 시간대의 UTC epoch 시간 (Energy.toEpochHour())
+     * @return 시간대의 에너지 사용량 합계 (없으면 0), 업체가 적재되지 않았거나 시간대가 보관 기간을 벗어나면 빈 Optional
+     */
+    public Optional<BigDecimal> sumByEpochHour(Long companyId, int epochHour) {
+        var window = windows.get(companyId);
+        if (!enabled || window == null || epochHour <= currentEpochHour() - capacity) {
+            return Optional.empty();
+        }
+        synchronized (window) {
+            if (!window.loaded) {
+                return Optional.empty();
+            }
+            var sum = 0L;
+            for (var series : window.seriesByIotId.values()) {
+                var slot = series.slotOf(epochHour);
+                if (slot >= 0) {
+                    sum += series.usage[slot];
+                }
+            }
+            return Optional.of(toUsage(sum));
+        }
+    }
+
+    @Override
+    public String snapshotName() {
+        return "energy-hot-window";
+    }
+
+    @Override
+    public int snapshotVersion() {
+        return 1;
+    }
+
+    /**
+     * 종료할 때 적재를 마친 업체의 IoT 장비별 사용량이 있는 슬롯만 저장합니다.
+     * 형식: [슬롯 수][업체 수] 다음에 업체마다 [업체 ID][IoT 장비 수], IoT 장비마다 [IoT 장비 ID][슬롯 수][UTC epoch 시간, 사용량]...
+     */
+    @Override
+    public void writeSnapshot(DataOutputStream out, boolean clean) throws IOException {
+        out.writeInt(capacity);
+        if (!enabled || !clean) {
+            out.writeInt(0);
+            return;
+        }
+        var companies = new ByteArrayOutputStream();
+        var companiesOut = new DataOutputStream(companies);
+        var companyCount = 0;
+        for (var entry : windows.entrySet()) {
+            var window = entry.getValue();
+            synchronized (window) {
+                if (!window.loaded) {
+                    continue;
+                }
+                companiesOut.writeLong(entry.getKey());
+                companiesOut.writeInt(window.seriesByIotId.size());
+                for (var series : window.seriesByIotId.entrySet()) {
+                    var epochHours = series.getValue().epochHours;
+                    var usage = series.getValue().usage;
+                    companiesOut.writeLong(series.getKey());
+                    companiesOut.writeInt((int) Arrays.stream(epochHours).filter(epochHour -> epochHour != EMPTY).count());
+                    for (int slot = 0; slot < epochHours.length; slot++) {
+                        if (epochHours[slot] != EMPTY) {
+                            companiesOut.writeInt(epochHours[slot]);
+                            companiesOut.writeLong(usage[slot]);
+                        }
+                    }
+                }
+                companyCount++;
+            }
+        }
+        out.writeInt(companyCount);
+        companiesOut.flush();
+        companies.writeTo(out);
+    }
+
+    /**
+     * 종료할 때 저장한 스냅샷이고 슬롯 수가 같으면 업체별 사용량을 적재한 상태로 복원합니다.
+     */
+    @Override
+    public void restoreSnapshot(ByteBuffer in, Instant writtenAt, boolean clean) {
+        if (!enabled || !clean || in.getInt() != capacity) {
+            return;
+        }
+        var oldestEpochHour = currentEpochHour() - capacity;
+        var companyCount = in.getInt();
+        for (int i = 0; i < companyCount; i++) {
+            var companyId = in.getLong();
+            var window = new CompanyWindow();
+            var iotCount = in.getInt();
+            for (int j = 0; j < iotCount; j++) {
+                var series = new Series(capacity);
+                window.seriesByIotId.put(in.getLong(), series);
+                var slotCount = in.getInt();
+                for (int k = 0; k < slotCount; k++) {
+                    var epochHour = in.getInt();
+                    var usage = in.getLong();
+                    if (epochHour > oldestEpochHour) {
+                        series.add(epochHour, usage);
+                    }
+                }
+            }
+            window.loaded = true;
+            windows.putIfAbsent(companyId, window);
+        }
+        log.info("Restored recent energy usage of {} companies from the cache snapshot.", companyCount);
+    }
+
+    /**
+     * 업체의 최근 사용량을 데이터베이스에서 적재합니다.
+     * 읽는 동안 변화량이 반영되면 읽은 결과에 포함되었는지 알 수 없으므로 다시 읽습니다.
+     *
+     * @param companyId 업체 ID
+     * @param zoneId 업체 타임존
+     */
+    private void load(Long companyId, ZoneId zoneId) {
+        var window = windows.computeIfAbsent(companyId, id -> new CompanyWindow());
+        synchronized (window) {
+            if (window.loaded || window.loading) {
+                return;
+            }
+            window.loading = true;
+        }
+        try {
+            for (int attempt = 1; attempt <= MAX_LOAD_ATTEMPTS; attempt++) {
+                long version;
+                synchronized (window) {
+                    version = window.version;
+                }
+                var firstEpochHour = currentEpochHour() - capacity + 1;
+                var seriesByIotId = new HashMap<Long, Series>();
+                // 별도 스레드에는 트랜잭션이 없으므로, 스트림을 모두 읽을 때까지 연결을 유지하도록 트랜잭션 안에서 읽음
+                readOnly.executeWithoutResult(status -> energyRepository.streamByCompany(companyId,
+                        Energy.fromEpochHour(firstEpochHour, zoneId), LocalDateTime.now(zoneId),
+                        (iotId, referenceTime, usage) -> seriesByIotId.computeIfAbsent(iotId, id -> new Series(capacity))
+                                .add(Energy.toEpochHour(referenceTime, zoneId), usage)));
+                synchronized (window) {
+                    if (window.version == version) {
+                        window.seriesByIotId = seriesByIotId;
+                        window.loaded = true;
+                        return;
+                    }
+                }
+            }
+            log.warn("Recent energy usage of company {} kept changing while loading; reading it from the database.", companyId);
+        } catch (Exception e) {
+            log.error("Failed to load recent energy usage of company {} into the hot window.", companyId, e);
+        } finally {
+            synchronized (window) {
+                window.loading = false;
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋된 후에, 아니면 바로 실행합니다.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 현재 시각이 속한 UTC 정각의 epoch 시간을 반환합니다.
+     */
+    private static int currentEpochHour() {
+        return Math.toIntExact(Instant.now().getEpochSecond() / 3600);
+    }
+
+    /**
+     * 사용량을 소수점 4자리 고정소수점 정수로 변환합니다.
+     */
+    private static long toFixedPoint(BigDecimal usage) {
+        return usage.setScale(EnergyBucketJdbcRepository.USAGE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 고정소수점 정수 사용량을 BigDecimal로 변환합니다.
+     */
+    private static BigDecimal toUsage(long usage) {
+        return BigDecimal.valueOf(usage, EnergyBucketJdbcRepository.USAGE_SCALE);
+    }
+
+    /**
+     * 업체의 IoT 장비별 최근 사용량입니다. 모든 접근은 이 객체로 동기화합니다.
+     */
+    private static final class CompanyWindow {
+        // IoT 장비 ID별 링 버퍼
+        private Map<Long, Series> seriesByIotId = new HashMap<>();
+        // 데이터베이스에서 적재를 마쳤는지 여부
+        private boolean loaded;
+        // 적재 중인지 여부
+        private boolean loading;
+        // 변화량을 반영할 때마다 증가하는 버전 (적재 중 변경 감지용)
+        private long version;
+    }
+
+    /**
+     * IoT 장비 한 대의 시간대별 사용량 링 버퍼입니다. 슬롯은 UTC epoch 시간을 슬롯 수로 나눈 나머지입니다.
+     */
+    private static final class Series {
+        // 슬롯에 저장된 시간대의 UTC epoch 시간
+        private final int[] epochHours;
+        // 슬롯에 저장된 소수점 4자리 고정소수점 사용량
+        private final long[] usage;
+
+        private Series(int capacity) {
+            epochHours = new int[capacity];
+            usage = new long[capacity];
+            Arrays.fill(epochHours, EMPTY);
+        }
+
+        /**
+         * 시간대의 사용량을 더합니다. 슬롯에 더 오래된 시간대가 있으면 덮어쓰고, 더 최근 시간대가 있으면 무시합니다.
+         */
+        private void add(int epochHour, long delta) {
+            var slot = Math.floorMod(epochHour, epochHours.length);
+            if (epochHours[slot] == epochHour) {
+                usage[slot] += delta;
+            } else if (epochHours[slot] < epochHour) {
+                epochHours[slot] = epochHour;
+                usage[slot] = delta;
+            }
+        }
+
+        /**
+         * 시간대가 저장된 슬롯을 반환합니다.
+         *
+         * @return 슬롯 번호, 저장되지 않았으면 -1
+         */
+        private int slotOf(int epochHour) {
+            var slot = Math.floorMod(epochHour, epochHours.length);
+            return epochHours[slot] == epochHour ? slot : -1;
+        }
+    }
+}
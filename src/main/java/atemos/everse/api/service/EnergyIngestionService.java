@@ -0,0 +1,44 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.dto.EnergyDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * EnergyIngestionService는 계량기 또는 게이트웨이가 보낸 에너지 사용량을 일괄 수집하는 서비스 인터페이스입니다.
+ */
+public interface EnergyIngestionService {
+    /**
+     * 에너지 사용량 목록을 검증하여 저장하고 업체별 집계 데이터에 반영합니다.
+     * 검증에 실패한 에너지 사용량은 저장하지 않고 사유와 함께 응답합니다.
+     *
+     * @param ingestRequest 에너지 사용량 일괄 수집 요청
+     * @return 저장 건수와 저장하지 않은 에너지 사용량 목록
+     */
+    EnergyDto.IngestResponse ingest(EnergyDto.IngestRequest ingestRequest);
+    /**
+     * 검증을 마친 에너지 사용량을 저장하고 업체별 집계 데이터에 반영합니다.
+     * 같은 IoT 장비, 같은 기준 시각의 사용량이 이미 있으면 설정된 처리 방식에 따라 갱신합니다.
+     *
+     * @param rows 저장할 에너지 사용량 목록
+     * @return 저장/갱신/무시한 건수
+     */
+    EnergyDto.IngestResponse upsert(List<EnergyDto.ReadingRow> rows);
+    /**
+     * 중복 저장된 에너지 사용량을 정리하는 배치 작업을 백그라운드에서 시작합니다.
+     * 에너지 사용량에 유일 제약 조건을 추가하기 전에 쌓인 중복 데이터를 정리하기 위해 한 번 실행합니다.
+     */
+    void startCompaction();
+    /**
+     * 업체의 기간 내 에너지 사용량을 에너지 버킷 테이블에 복사한 뒤, 저장 방식별 저장 크기와 기간 조회 성능을 비교합니다.
+     * 에너지 저장 방식을 BUCKETED로 바꾸기 전에 실제 데이터로 효과를 확인하기 위해 사용합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 비교 기간 시작일
+     * @param endDate 비교 기간 종료일
+     * @param iterations 저장 방식별 기간 조회 반복 횟수
+     * @return 저장 방식별 저장 크기와 기간 조회 소요 시간
+     */
+    EnergyDto.StorageLayoutBenchmarkResponse benchmarkStorageLayout(Long companyId, LocalDate startDate, LocalDate endDate, int iterations);
+}
@@ -0,0 +1,437 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.EnergyConflictPolicy;
+import atemos.everse.api.domain.EnergyStorageLayout;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.dto.IotDto;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyJdbcRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 에너지 사용량 일괄 수집 서비스 구현 클래스입니다.
+ * IoT 장비는 장비 식별 정보 캐시로 검증하고, 에너지 사용량은 엔티티를 거치지 않고 JDBC 여러 행 Insert로 저장한 뒤
+ * 업체별 시간대 합계만 집계 데이터에 반영하므로 요청당 쿼리 수가 에너지 사용량 건수에 비례하지 않습니다.
+ * 에너지 사용량은 IoT 장비와 기준 시각으로 유일하며, 다시 수집된 사용량은 설정된 처리 방식에 따라 저장합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EnergyIngestionServiceImpl implements EnergyIngestionService {
+    private final EnergyJdbcRepository energyJdbcRepository;
+    private final CompanyRepository companyRepository;
+    private final EnergyRollupService energyRollupService;
+    private final IotRegistry iotRegistry;
+    private final AuthenticationServiceImpl authenticationService;
+    private final JobLauncher jobLauncher;
+    private final Job energyCompactionJob;
+    private final EnergyBucketJdbcRepository energyBucketJdbcRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EnergyHotWindow energyHotWindow;
+
+    @Value("${energy.conflict-policy:REPLACE}")
+    private EnergyConflictPolicy conflictPolicy;
+    @Value("${energy.storage-layout:ROW}")
+    private EnergyStorageLayout storageLayout;
+
+    /**
+     * 에너지 사용량 목록을 검증하여 저장하고 업체별 집계 데이터에 반영합니다.
+     * - IoT 장비 ID 또는 시리얼 넘버 중 하나는 있어야 하며, 둘 다 있으면 같은 장비를 가리켜야 합니다.
+     * - 기준 시각은 업체 타임존 기준으로 미래일 수 없으며, IoT 장비의 수집 간격(예: 15분) 시작 시각으로 내림하여 저장합니다.
+     * - ADMIN이 아니면 자신이 속한 업체의 IoT 장비에 대해서만 저장할 수 있습니다.
+     *
+     * @param ingestRequest 에너지 사용량 일괄 수집 요청
+     * @return 저장 건수와 저장하지 않은 에너지 사용량 목록
+     */
+    @Override
+    @PreAuthorize("hasRole('MANAGER') or hasRole('ADMIN')")
+    @Transactional
+    public EnergyDto.IngestResponse ingest(EnergyDto.IngestRequest ingestRequest) {
+        var readings = ingestRequest.getReadings();
+        // 요청에 포함된 IoT 장비의 식별 정보를 한 번에 조회
+        var entriesById = iotRegistry.findByIds(readings.stream()
+                .map(EnergyDto.Reading::getIotId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        var entriesBySerialNumber = iotRegistry.findBySerialNumbers(readings.stream()
+                .map(EnergyDto.Reading::getSerialNumber)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        // 에너지 사용량별로 IoT 장비 검증
+        var rows = new ArrayList<EnergyDto.ReadingRow>(readings.size());
+        var rowIndexes = new ArrayList<Integer>(readings.size());
+        var rejected = new ArrayList<EnergyDto.Rejection>();
+        for (int index = 0; index < readings.size(); index++) {
+            var reading = readings.get(index);
+            try {
+                var entry = resolve(reading, entriesById, entriesBySerialNumber);
+                if (reading.getReferenceTime().isAfter(LocalDateTime.now(entry.getZoneId()))) {
+                    throw new IllegalArgumentException("referenceTime is in the future.");
+                }
+                // 기준 시각을 IoT 장비의 수집 간격 시작 시각으로 맞춤
+                var referenceTime = Iot.truncateToReadingInterval(reading.getReferenceTime(), entry.getReadingIntervalMinutes());
+                rows.add(new EnergyDto.ReadingRow(entry.getIotId(), entry.getCompanyId(), referenceTime,
+                        reading.getFacilityUsage().setScale(4, RoundingMode.HALF_UP), Energy.toEpochHour(referenceTime, entry.getZoneId())));
+                rowIndexes.add(index);
+            } catch (IllegalArgumentException e) {
+                rejected.add(new EnergyDto.Rejection(index, e.getMessage()));
+            }
+        }
+        // 호출하는 사용자가 접근할 수 없는 업체의 에너지 사용량 제외
+        var deniedCompanyIds = new HashSet<Long>();
+        rows.stream().map(EnergyDto.ReadingRow::getCompanyId).distinct().forEach(companyId -> {
+            try {
+                authenticationService.validateCompanyAccess(companyId);
+            } catch (AccessDeniedException e) {
+                deniedCompanyIds.add(companyId);
+            }
+        });
+        var accepted = new ArrayList<EnergyDto.ReadingRow>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (deniedCompanyIds.contains(rows.get(i).getCompanyId())) {
+                rejected.add(new EnergyDto.Rejection(rowIndexes.get(i), "You do not have permission to ingest energy for this company."));
+            } else {
+                accepted.add(rows.get(i));
+            }
+        }
+        rejected.sort(Comparator.comparingInt(EnergyDto.Rejection::getIndex));
+        // 에너지 사용량 저장
+        var result = upsert(accepted);
+        log.info("Ingested {} energy readings: {} inserted, {} updated, {} skipped, {} rejected.",
+                readings.size(), result.getInserted(), result.getUpdated(), result.getSkipped(), rejected.size());
+        return EnergyDto.IngestResponse.builder()
+                .received(readings.size())
+                .inserted(result.getInserted())
+                .updated(result.getUpdated())
+                .skipped(result.getSkipped())
+                .rejected(rejected)
+                .build();
+    }
+
+    /**
+     * 검증을 마친 에너지 사용량을 저장하고 업체별 집계 데이터에 반영합니다.
+     * 같은 IoT 장비, 같은 기준 시각의 사용량이 이미 있거나 목록 안에서 중복되면 설정된 처리 방식(energy.conflict-policy)을 따르며,
+     * 집계 데이터에는 기존 사용량 대비 변화량만 반영하므로 재전송이나 재실행으로 사용량이 중복 합산되지 않습니다.
+     *
+     * @param rows 저장할 에너지 사용량 목록
+     * @return 저장/갱신/무시한 건수
+     */
+    @Override
+    @Transactional
+    public EnergyDto.IngestResponse upsert(List<EnergyDto.ReadingRow> rows) {
+        // 목록 안에서 중복된 사용량을 처리 방식에 따라 합치기
+        var mergedRows = new LinkedHashMap<EnergyJdbcRepository.Key, EnergyDto.ReadingRow>();
+        rows.forEach(row -> mergedRows.merge(new EnergyJdbcRepository.Key(row.getIotId(), row.getReferenceTime()), row, this::merge));
+        // 기존 사용량 조회 (트랜잭션이 끝날 때까지 잠금)
+        var previousUsage = energyJdbcRepository.findUsageForUpdate(mergedRows.keySet());
+        // 저장할 사용량과 업체별 시간대별 집계 데이터 변화량 계산
+        var rowsToWrite = new ArrayList<EnergyDto.ReadingRow>(mergedRows.size());
+        var hourlyUsageDeltaByCompanyId = new TreeMap<Long, TreeMap<LocalDateTime, BigDecimal>>();
+        var usageDeltas = new ArrayList<EnergyDto.ReadingRow>(mergedRows.size());
+        var inserted = 0;
+        var updated = 0;
+        for (var entry : mergedRows.entrySet()) {
+            var row = entry.getValue();
+            var previous = previousUsage.get(entry.getKey());
+            BigDecimal usageDelta;
+            if (previous == null) {
+                inserted++;
+                usageDelta = row.getFacilityUsage();
+            } else if (conflictPolicy == EnergyConflictPolicy.KEEP_FIRST) {
+                continue;
+            } else {
+                updated++;
+                usageDelta = conflictPolicy == EnergyConflictPolicy.REPLACE
+                        ? row.getFacilityUsage().subtract(previous)
+                        : row.getFacilityUsage();
+            }
+            rowsToWrite.add(row);
+            usageDeltas.add(new EnergyDto.ReadingRow(row.getIotId(), row.getCompanyId(), row.getReferenceTime(), usageDelta, row.getEpochHour()));
+            hourlyUsageDeltaByCompanyId.computeIfAbsent(row.getCompanyId(), companyId -> new TreeMap<>())
+                    .merge(row.getReferenceTime().truncatedTo(ChronoUnit.HOURS), usageDelta, BigDecimal::add);
+        }
+        energyJdbcRepository.upsertAll(rowsToWrite, conflictPolicy);
+        // 업체별 시간대별 변화량을 집계 데이터에 반영 (집계 행을 잠그는 순서를 맞추기 위해 업체 ID 순)
+        var zoneIdByCompanyId = new HashMap<Long, ZoneId>();
+        hourlyUsageDeltaByCompanyId.forEach((companyId, hourlyUsageDelta) -> {
+            var company = companyRepository.findById(companyId)
+                    .orElseThrow(() -> new EntityNotFoundException("No such company."));
+            energyRollupService.accumulate(company, hourlyUsageDelta);
+            zoneIdByCompanyId.put(companyId, company.getCountry().getZoneId());
+        });
+        // 커밋된 후 IoT 장비별 변화량을 메모리의 최근 사용량에 반영
+        energyHotWindow.addAll(usageDeltas, zoneIdByCompanyId);
+        return EnergyDto.IngestResponse.builder()
+                .received(rows.size())
+                .inserted(inserted)
+                .updated(updated)
+                .skipped(rows.size() - inserted - updated)
+                .rejected(List.of())
+                .build();
+    }
+
+    /**
+     * 중복 저장된 에너지 사용량을 정리하는 배치 작업을 가상 스레드에서 시작합니다.
+     * 작업은 IoT 장비별로 나누어 커밋하므로 오래 걸릴 수 있으며, 진행 상황은 로그와 배치 메타데이터로 확인합니다.
+     */
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public void startCompaction() {
+        var jobParameters = new JobParametersBuilder()
+                .addLong("time", System.currentTimeMillis())
+                .toJobParameters();
+        Thread.ofVirtual().name("energy-compaction").start(() -> {
+            try {
+                log.info("**** [START] Compacting duplicated energy readings.");
+                jobLauncher.run(energyCompactionJob, jobParameters);
+                log.info("**** [END] Compacting duplicated energy readings.");
+            } catch (Exception e) {
+                log.error("Failed to compact duplicated energy readings.", e);
+            }
+        });
+    }
+
+    /**
+     * 업체의 기간 내 에너지 사용량을 저장 방식 비교용 임시 버킷 테이블에 복사한 뒤, 저장 방식별 저장 크기와 기간 조회 성능을 비교합니다.
+     * 운영 중인 에너지 버킷 테이블에는 쓰지 않으며, 임시 테이블은 비교가 끝나면(실패해도) 삭제합니다.
+     * 에너지 저장 방식이 BUCKETED이면 에너지 테이블이 최신 데이터가 아니므로 비교하지 않습니다.
+     * - 저장 크기: 테이블 통계를 갱신한 뒤 테이블의 데이터/인덱스 크기와 에너지 사용량 한 건당 저장 크기를 구합니다.
+     * - 기간 조회: 두 저장 방식 모두 업체의 기간 내 사용량을 읽어 같은 방식으로 시간대별 합계를 구하며,
+     *   번갈아 반복 조회하여 소요 시간의 중앙값과 95백분위수를 구합니다.
+     *
+     * @param companyId 업체 ID
+     * @param startDate 비교 기간 시작일
+     * @param endDate 비교 기간 종료일
+     * @param iterations 저장 방식별 기간 조회 반복 횟수 (1~50)
+     * @return 저장 방식별 저장 크기와 기간 조회 소요 시간
+     */
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public EnergyDto.StorageLayoutBenchmarkResponse benchmarkStorageLayout(Long companyId, LocalDate startDate, LocalDate endDate, int iterations) {
+        if (storageLayout == EnergyStorageLayout.BUCKETED) {
+            throw new IllegalStateException("The storage layout benchmark cannot run while energy.storage-layout is BUCKETED.");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate.");
+        }
+        if (iterations < 1 || iterations > 50) {
+            throw new IllegalArgumentException("iterations must be between 1 and 50.");
+        }
+        companyRepository.findById(companyId)
+                .orElseThrow(() -> new EntityNotFoundException("No such company."));
+        var start = startDate.atStartOfDay();
+        var end = endDate.atTime(LocalTime.MAX);
+        var benchmarkTable = energyBucketJdbcRepository.createBenchmarkTable();
+        try {
+            // 에너지 사용량을 임시 버킷 테이블에 복사하고 테이블 통계 갱신
+            var copiedReadings = Objects.requireNonNullElse(new TransactionTemplate(transactionManager).execute(status ->
+                    energyBucketJdbcRepository.copyFromEnergy(benchmarkTable, companyId, start, endDate.plusDays(1).atStartOfDay())), 0L);
+            jdbcTemplate.execute("ANALYZE TABLE energy, " + benchmarkTable);
+            // 저장 방식별 시간대별 합계 기간 조회를 번갈아 반복 (두 저장 방식 모두 사용량을 읽어 같은 방식으로 합산)
+            var rowMillis = new double[iterations];
+            var bucketedMillis = new double[iterations];
+            var rowScan = new HourlySums();
+            var bucketScan = new HourlySums();
+            for (int i = 0; i < iterations; i++) {
+                var startedAt = System.nanoTime();
+                rowScan = new HourlySums();
+                var scan = rowScan;
+                jdbcTemplate.query("""
+                                SELECT e.iot_id, e.reference_time, e.facility_usage
+                                FROM energy e JOIN iot i ON i.id = e.iot_id
+                                WHERE i.company_id = ? AND e.reference_time BETWEEN ? AND ?
+                                ORDER BY e.iot_id, e.reference_time
+                                """,
+                        resultSet -> {
+                            scan.accept(resultSet.getLong(1), resultSet.getTimestamp(2).toLocalDateTime(),
+                                    resultSet.getBigDecimal(3).setScale(EnergyBucketJdbcRepository.USAGE_SCALE, RoundingMode.HALF_UP)
+                                            .unscaledValue().longValueExact());
+                        },
+                        companyId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+                rowMillis[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+                startedAt = System.nanoTime();
+                bucketScan = new HourlySums();
+                energyBucketJdbcRepository.streamByCompany(benchmarkTable, companyId, start, end, bucketScan);
+                bucketedMillis[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+            }
+            if (!rowScan.equalSums(bucketScan)) {
+                log.warn("Hourly sums of company {} differ between the energy table and the benchmark bucket table.", companyId);
+            }
+            var tableStats = new HashMap<String, long[]>();
+            jdbcTemplate.query("""
+                            SELECT table_name, table_rows, data_length, index_length FROM information_schema.TABLES
+                            WHERE table_schema = DATABASE() AND table_name IN ('energy', ?)
+                            """,
+                    resultSet -> {
+                        tableStats.put(resultSet.getString(1).toLowerCase(),
+                                new long[]{resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4)});
+                    },
+                    benchmarkTable);
+            log.info("Benchmarked energy storage layouts of company {} from {} to {} with {} readings.",
+                    companyId, startDate, endDate, copiedReadings);
+            return EnergyDto.StorageLayoutBenchmarkResponse.builder()
+                    .companyId(companyId)
+                    .startDate(startDate)
+                    .endDate(endDate)
+                    .copiedReadings(copiedReadings)
+                    .iterations(iterations)
+                    .layouts(List.of(
+                            toStorageLayoutBenchmark(EnergyStorageLayout.ROW, "energy", tableStats,
+                                    rowScan.readings, rowScan.readings, rowMillis),
+                            toStorageLayoutBenchmark(EnergyStorageLayout.BUCKETED, benchmarkTable, tableStats,
+                                    bucketScan.rows, bucketScan.readings, bucketedMillis)))
+                    .build();
+        } finally {
+            energyBucketJdbcRepository.dropBenchmarkTable(benchmarkTable);
+        }
+    }
+
+    /**
+     * 같은 IoT 장비, 같은 기준 시각의 두 사용량을 처리 방식에 따라 하나로 합칩니다.
+     *
+     * @param first 먼저 수집된 사용량
+     * @param second 나중에 수집된 사용량
+     * @return 합친 사용량
+     */
+    private EnergyDto.ReadingRow merge(EnergyDto.ReadingRow first, EnergyDto.ReadingRow second) {
+        return switch (conflictPolicy) {
+            case REPLACE -> second;
+            case KEEP_FIRST -> first;
+            case SUM -> new EnergyDto.ReadingRow(first.getIotId(), first.getCompanyId(), first.getReferenceTime(),
+                    first.getFacilityUsage().add(second.getFacilityUsage()), first.getEpochHour());
+        };
+    }
+
+    /**
+     * 저장 방식 하나의 테이블 통계와 기간 조회 소요 시간으로 비교 결과를 만듭니다.
+     *
+     * @param layout 저장 방식
+     * @param tableName 테이블 이름
+     * @param tableStats 테이블 이름별 통계 (행 수, 데이터 크기, 인덱스 크기)
+     * @param scannedRows 기간 조회로 읽은 행 수
+     * @param readings 기간 조회로 읽은 에너지 사용량 건수
+     * @param millis 기간 조회 소요 시간 목록 (밀리초)
+     * @return 저장 방식의 비교 결과
+     */
+    private static EnergyDto.StorageLayoutBenchmark toStorageLayoutBenchmark(EnergyStorageLayout layout, String tableName,
+                                                                             Map<String, long[]> tableStats, long scannedRows,
+                                                                             long readings, double[] millis) {
+        var stats = tableStats.getOrDefault(tableName, new long[3]);
+        Arrays.sort(millis);
+        // 행당 평균 크기를 행당 사용량 건수로 나누어 사용량 한 건당 저장 크기 계산
+        Double bytesPerReading = stats[0] > 0 && readings > 0
+                ? (double) (stats[1] + stats[2]) / stats[0] * scannedRows / readings
+                : null;
+        return EnergyDto.StorageLayoutBenchmark.builder()
+                .layout(layout)
+                .tableName(tableName)
+                .tableRows(stats[0])
+                .dataBytes(stats[1])
+                .indexBytes(stats[2])
+                .scannedRows(scannedRows)
+                .readings(readings)
+                .bytesPerReading(bytesPerReading)
+                .medianMillis(millis[(millis.length - 1) / 2])
+                .p95Millis(millis[(int) Math.ceil(millis.length * 0.95) - 1])
+                .build();
+    }
+
+    /**
+     * 에너지 사용량이 가리키는 IoT 장비를 찾습니다.
+     *
+     * @param reading 에너지 사용량
+     * @param entriesById IoT 장비 ID별 식별 정보
+     * @param entriesBySerialNumber 시리얼 넘버별 식별 정보
+     * @return IoT 장비 식별 정보
+     * @throws IllegalArgumentException IoT 장비를 특정할 수 없는 경우
+     */
+    private IotDto.RegistryEntry resolve(EnergyDto.Reading reading,
+                                         Map<Long, Optional<IotDto.RegistryEntry>> entriesById,
+                                         Map<String, List<IotDto.RegistryEntry>> entriesBySerialNumber) {
+        if (reading.getIotId() == null && reading.getSerialNumber() == null) {
+            throw new IllegalArgumentException("Either iotId or serialNumber is required.");
+        }
+        IotDto.RegistryEntry entry = null;
+        if (reading.getIotId() != null) {
+            entry = entriesById.get(reading.getIotId())
+                    .orElseThrow(() -> new IllegalArgumentException("No such IoT: " + reading.getIotId()));
+        }
+        if (reading.getSerialNumber() != null) {
+            var candidates = entriesBySerialNumber.get(reading.getSerialNumber());
+            if (candidates.isEmpty()) {
+                throw new IllegalArgumentException("No such IoT: " + reading.getSerialNumber());
+            }
+            if (entry == null) {
+                if (candidates.size() > 1) {
+                    throw new IllegalArgumentException("Serial number " + reading.getSerialNumber() + " matches more than one IoT; use iotId.");
+                }
+                entry = candidates.getFirst();
+            } else {
+                var iotId = entry.getIotId();
+                if (candidates.stream().noneMatch(candidate -> candidate.getIotId().equals(iotId))) {
+                    throw new IllegalArgumentException("iotId and serialNumber refer to different IoT devices.");
+                }
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * 기간 조회 결과를 시간대별로 합산하면서 읽은 행 수(IoT 장비와 기준 일 단위)와 사용량 건수를 셉니다.
+     * 두 저장 방식의 기간 조회가 같은 방식으로 시간대별 합계를 구하도록 함께 사용합니다.
+     */
+    private static class HourlySums implements EnergyBucketJdbcRepository.ReadingHandler {
+        private final Map<LocalDateTime, long[]> sums = new HashMap<>();
+        private long rows;
+        private long readings;
+        private long lastIotId = -1;
+        private LocalDate lastDate;
+
+        @Override
+        public void accept(long iotId, LocalDateTime referenceTime, long usage) {
+            if (iotId != lastIotId || !referenceTime.toLocalDate().equals(lastDate)) {
+                rows++;
+                lastIotId = iotId;
+                lastDate = referenceTime.toLocalDate();
+            }
+            readings++;
+            sums.computeIfAbsent(referenceTime.truncatedTo(ChronoUnit.HOURS), key -> new long[1])[0] += usage;
+        }
+
+        /**
+         * 다른 기간 조회 결과와 시간대별 합계가 같은지 확인합니다.
+         */
+        boolean equalSums(HourlySums other) {
+            return sums.size() == other.sums.size() && sums.entrySet().stream()
+                    .allMatch(entry -> other.sums.containsKey(entry.getKey()) && other.sums.get(entry.getKey())[0] == entry.getValue()[0]);
+        }
+    }
+}
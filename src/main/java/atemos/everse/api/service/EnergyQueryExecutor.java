@@ -0,0 +1,157 @@
+package atemos.everse.api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * 에너지 조회에서 서로 독립적인 기간 조회 쿼리를 가상 스레드에서 동시에 실행하는 실행기입니다.
+ * 동시에 실행되는 쿼리 수는 커넥션 풀 크기에서 예비 커넥션 수를 뺀 만큼으로 제한하여 다른 요청(저장, 배치 작업 등)이 커넥션을 얻지 못하는 일이 없도록 하고,
+ * 요청별 마감 시각까지 결과를 받지 못하면 요청 시간 초과(408)로 응답합니다.
+ * 각 쿼리는 남은 시간을 제한 시간으로 하는 읽기 전용 트랜잭션에서 실행하므로, 커넥션 풀의 대기 시간(connection-timeout)보다 마감 시각이 먼저 적용됩니다.
+ * 여러 업체의 조회 결과를 업체별로 집계하는 작업은 쿼리와 별도로 CPU 코어 수만큼만 동시에 실행합니다.
+ */
+@Slf4j
+@Component
+public class EnergyQueryExecutor {
+    // 쿼리마다 가상 스레드를 생성하는 실행기
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // 동시에 실행할 수 있는 쿼리 수 (커넥션 풀 크기 - 예비 커넥션 수)
+    private final Semaphore permits;
+    // 쿼리를 읽기 전용 트랜잭션에서 실행하기 위한 트랜잭션 관리자
+    private final PlatformTransactionManager transactionManager;
+    // 동시에 실행할 수 있는 집계 작업 수 (CPU 코어 수)
+    private final Semaphore computePermits = new Semaphore(Runtime.getRuntime().availableProcessors(), true);
+    // 요청별 최대 대기 시간
+    private final Duration timeout;
+
+    /**
+     * @param maximumPoolSize 커넥션 풀의 최대 크기
+     * @param connectionReserve 조회 쿼리가 사용하지 않고 남겨 둘 커넥션 수
+     * @param timeout 요청별 최대 대기 시간
+     * @param transactionManager 트랜잭션 관리자
+     */
+    public EnergyQueryExecutor(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+                               @Value("${energy.query-connection-reserve:4}") int connectionReserve,
+                               @Value("${energy.query-timeout:10s}") Duration timeout,
+                               PlatformTransactionManager transactionManager) {
+        if (connectionReserve < 0 || connectionReserve >= maximumPoolSize) {
+            throw new IllegalArgumentException("energy.query-connection-reserve must be between 0 and the connection pool size - 1.");
+        }
+        this.permits = new Semaphore(maximumPoolSize - connectionReserve, true);
+        this.timeout = timeout;
+        this.transactionManager = transactionManager;
+    }
+
+    /**
+     * 요청의 마감 시각을 계산합니다.
+     *
+     * @return 현재 시각에 최대 대기 시간을 더한 마감 시각
+     */
+    public Instant deadline() {
+        return Instant.now().plus(timeout);
+    }
+
+    /**
+     * 쿼리를 가상 스레드에서 실행합니다. 마감 시각까지 커넥션 풀 여유가 생기지 않으면 실패합니다.
+     * 쿼리는 남은 시간(초 단위 올림)을 제한 시간으로 하는 읽기 전용 트랜잭션에서 실행되며,
+     * 마감 시각이 지나 Future가 취소되면 커넥션을 기다리던 스레드도 중단됩니다.
+     *
+     * @param query 실행할 쿼리
+     * @param deadline 요청의 마감 시각
+     * @return 쿼리 결과를 담은 Future
+     */
+    public <T> Future<T> submit(Supplier<T> query, Instant deadline) {
+        return executor.submit(() -> {
+            if (!permits.tryAcquire(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                throw new TimeoutException("No database connection became available before the deadline.");
+            }
+            try {
+                var remainingMillis = remainingMillis(deadline);
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("No time left to run the query before the deadline.");
+                }
+                var transactionTemplate = new TransactionTemplate(transactionManager);
+                transactionTemplate.setReadOnly(true);
+                transactionTemplate.setTimeout((int) Math.ceil(remainingMillis / 1000.0));
+                return transactionTemplate.execute(status -> query.get());
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * 쿼리 결과를 집계하는 작업을 가상 스레드에서 실행합니다.
+     * 작업 안에서 submit()으로 실행한 쿼리를 기다릴 수 있도록 커넥션 풀 대신 별도의 동시 실행 수 제한을 사용합니다.
+     *
+     * @param task 실행할 집계 작업
+     * @param deadline 요청의 마감 시각
+     * @return 집계 결과를 담은 Future
+     */
+    public <T> Future<T> compute(Supplier<T> task, Instant deadline) {
+        return executor.submit(() -> {
+            if (!computePermits.tryAcquire(remainingMillis(deadline), TimeUnit.MILLISECONDS)) {
+                throw new TimeoutException("No aggregation slot became available before the deadline.");
+            }
+            try {
+                return task.get();
+            } finally {
+                computePermits.release();
+            }
+        });
+    }
+
+    /**
+     * 마감 시각까지 쿼리 결과를 기다립니다. 시간을 초과하면 쿼리를 취소하고 요청 시간 초과로 응답합니다.
+     *
+     * @param future 쿼리 결과를 담은 Future
+     * @param deadline 요청의 마감 시각
+     * @return 쿼리 결과
+     */
+    public <T> T await(Future<T> future, Instant deadline) {
+        try {
+            return future.get(remainingMillis(deadline), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT, "Energy query did not complete in time.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for energy query.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT, e.getCause().getMessage());
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * 애플리케이션 종료 시 실행기를 종료합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 마감 시각까지 남은 시간(밀리초)을 반환합니다.
+     */
+    private static long remainingMillis(Instant deadline) {
+        return Math.max(0L, Duration.between(Instant.now(), deadline).toMillis());
+    }
+}
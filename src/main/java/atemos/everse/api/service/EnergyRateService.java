@@ -1,6 +1,8 @@
 package atemos.everse.api.service;
 
+import atemos.everse.api.domain.CompanyType;
 import atemos.everse.api.dto.EnergyRateDto;
+import atemos.everse.api.entity.EnergyRate;
 import org.springframework.data.domain.Pageable;
 
 /**
@@ -29,6 +31,15 @@ public interface EnergyRateService {
      * @return 시간별 에너지 사용 요금을 담은 응답 객체
      */
     EnergyRateDto.HourlyRatesResponse readHourlyRates(Long companyId);
+    /**
+     * 에너지 요금 정보와 업체 타입에 해당하는 시간별 요금표를 조회합니다.
+     * 요금표는 한 번 계산된 뒤 캐시되며, 에너지 요금이 수정되거나 삭제되면 무효화됩니다.
+     *
+     * @param energyRate 에너지 요금 정보
+     * @param companyType 업체 타입
+     * @return 시간(0~23)별 요금과 피크 타입을 담은 요금표
+     */
+    EnergyTariff getTariff(EnergyRate energyRate, CompanyType companyType);
     /**
      * 기존의 에너지 요금을 수정합니다.
      *
@@ -1,6 +1,6 @@
 package atemos.everse.api.service;
 
-import atemos.everse.api.domain.EnergyRatePeakType;
+import atemos.everse.api.domain.CompanyType;
 import atemos.everse.api.dto.EnergyRateDto;
 import atemos.everse.api.entity.Country;
 import atemos.everse.api.entity.EnergyRate;
@@ -8,14 +8,17 @@ import atemos.everse.api.repository.CompanyRepository;
 import atemos.everse.api.repository.CountryRepository;
 import atemos.everse.api.repository.EnergyRateRepository;
 import atemos.everse.api.specification.EnergyRateSpecification;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.math.BigDecimal;
 import java.util.*;
 
 /**
@@ -28,6 +31,12 @@ public class EnergyRateServiceImpl implements EnergyRateService {
     private final EnergyRateRepository energyRateRepository;
     private final CountryRepository countryRepository;
     private final CompanyRepository companyRepository;
+    private final EnergySummaryCache energySummaryCache;
+
+    // 에너지 요금 ID와 업체 타입별 시간별 요금표 캐시 (에너지 요금 수정/삭제 시 무효화)
+    private final Cache<TariffKey, EnergyTariff> tariffCache = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .build();
 
     /**
      * 에너지 요금을 생성합니다.
@@ -99,8 +108,8 @@ public class EnergyRateServiceImpl implements EnergyRateService {
             // 조회된 업체의 국가에 해당하는 에너지 요금 정보를 조회. 없으면 예외 발생
             var energyRate = energyRateRepository.findByCountry(company.getCountry())
                     .orElseThrow(() -> new EntityNotFoundException("No energy rate found for this country."));
-            // 시간대별 요금을 계산
-            var hourlyRates = calculateHourlyRates(energyRate);
+            // 업체에 적용되는 시간별 요금표로 시간대별 요금을 계산
+            var hourlyRates = calculateHourlyRates(getTariff(energyRate, company.getType()));
             // 특정 업체의 시간대별 요금을 응답 리스트에 추가
             var response = EnergyRateDto.HourlyRate.builder()
                     .companyId(companyId)
@@ -120,8 +129,8 @@ public class EnergyRateServiceImpl implements EnergyRateService {
                 // 각 업체의 국가에 해당하는 에너지 요금을 조회. 없으면 예외 발생
                 var energyRate = energyRateRepository.findByCountry(company.getCountry())
                         .orElseThrow(() -> new EntityNotFoundException("No energy rate found for this country."));
-                // 시간대별 요금을 계산
-                var hourlyRates = calculateHourlyRates(energyRate);
+                // 업체에 적용되는 시간별 요금표로 시간대별 요금을 계산
+                var hourlyRates = calculateHourlyRates(getTariff(energyRate, company.getType()));
                 // 각 업체의 ID와 시간대별 요금을 리스트에 추가
                 var companyHourlyRate = EnergyRateDto.HourlyRate.builder()
                         .companyId(company.getId())
@@ -137,41 +146,31 @@ public class EnergyRateServiceImpl implements EnergyRateService {
     }
 
     /**
-     * 주어진 에너지 요금 정보를 기반으로 시간대별 요금을 계산합니다.
+     * 에너지 요금 정보와 업체 타입에 해당하는 시간별 요금표를 조회합니다.
+     * 캐시에 없으면 피크/경피크/비피크 시간대를 한 번 계산하여 캐시에 저장합니다.
+     *
+     * @param energyRate 에너지 요금 정보
+     * @param companyType 업체 타입
+     * @return 시간(0~23)별 요금과 피크 타입을 담은 요금표
+     */
+    @Override
+    public EnergyTariff getTariff(EnergyRate energyRate, CompanyType companyType) {
+        return tariffCache.get(new TariffKey(energyRate.getId(), companyType), key -> new EnergyTariff(energyRate, companyType));
+    }
+
+    /**
+     * 시간별 요금표를 기반으로 시간대별 요금을 계산합니다.
      *
-     * @param energyRate 에너지 요금 정보를 담은 엔티티
+     * @param tariff 업체에 적용되는 시간별 요금표
      * @return 시간대별 요금을 담은 맵 (시간대 -> 요금)
      */
-    private Map<Integer, EnergyRateDto.HourlyRateDetail> calculateHourlyRates(EnergyRate energyRate) {
+    private Map<Integer, EnergyRateDto.HourlyRateDetail> calculateHourlyRates(EnergyTariff tariff) {
         Map<Integer, EnergyRateDto.HourlyRateDetail> hourlyRates = new HashMap<>();
-        // 0시부터 23시까지 순회하며 해당 시간대의 요금을 계산합니다.
+        // 0시부터 23시까지 순회하며 해당 시간대의 요금과 상태를 맵에 추가
         for (int hour = 0; hour < 24; hour++) {
-            BigDecimal rate;
-            EnergyRatePeakType status;
-            // 해당 시간대가 피크 시간대인지 확인
-            if (energyRate.getPeakHours().contains(hour)) {
-                rate = energyRate.getCommercialRate().multiply(energyRate.getPeakMultiplier());
-                status = EnergyRatePeakType.PEAK;
-            }
-            // 해당 시간대가 경피크 시간대인지 확인
-            else if (energyRate.getMidPeakHours().contains(hour)) {
-                rate = energyRate.getCommercialRate().multiply(energyRate.getMidPeakMultiplier());
-                status = EnergyRatePeakType.MID_PEAK;
-            }
-            // 해당 시간대가 비피크 시간대인지 확인
-            else if (energyRate.getOffPeakHours().contains(hour)) {
-                rate = energyRate.getCommercialRate().multiply(energyRate.getOffPeakMultiplier());
-                status = EnergyRatePeakType.OFF_PEAK;
-            }
-            // 해당 시간대가 정의되지 않은 경우 기본 상업용 요금을 적용
-            else {
-                rate = energyRate.getCommercialRate();
-                status = EnergyRatePeakType.UNKNOWN;
-            }
-            // 시간대별 요금과 상태를 맵에 추가
             hourlyRates.put(hour, EnergyRateDto.HourlyRateDetail.builder()
-                    .rate(rate)
-                    .status(status)
+                    .rate(tariff.getRate(hour))
+                    .status(tariff.getPeakType(hour))
                     .build());
         }
         return hourlyRates;
@@ -200,8 +199,11 @@ public class EnergyRateServiceImpl implements EnergyRateService {
         Optional.ofNullable(updateEnergyRateDto.getPeakHours()).ifPresent(energyRate::setPeakHours);
         Optional.ofNullable(updateEnergyRateDto.getMidPeakHours()).ifPresent(energyRate::setMidPeakHours);
         Optional.ofNullable(updateEnergyRateDto.getOffPeakHours()).ifPresent(energyRate::setOffPeakHours);
-        // 엔티티 저장 및 DTO로 변환하여 반환
-        return new EnergyRateDto.ReadEnergyRateResponse(energyRateRepository.save(energyRate));
+        // 엔티티 저장 및 시간별 요금표 캐시 무효화
+        var savedEnergyRate = energyRateRepository.save(energyRate);
+        evictTariff(energyRateId);
+        // DTO로 변환하여 반환
+        return new EnergyRateDto.ReadEnergyRateResponse(savedEnergyRate);
     }
 
     /**
@@ -216,7 +218,44 @@ public class EnergyRateServiceImpl implements EnergyRateService {
         // 에너지 요금이 존재하는지 확인
         EnergyRate energyRate = energyRateRepository.findById(energyRateId)
                 .orElseThrow(() -> new EntityNotFoundException("No such energy rate."));
-        // 에너지 요금 정보 삭제
+        // 에너지 요금 정보 삭제 및 시간별 요금표 캐시 무효화
         energyRateRepository.delete(energyRate);
+        evictTariff(energyRateId);
+    }
+
+    /**
+     * 에너지 요금에 해당하는 시간별 요금표와, 요금이 반영된 에너지 사용량 캐시를 제거합니다.
+     * 트랜잭션 커밋 전에 다른 요청이 이전 요금으로 다시 캐시하지 않도록 커밋 이후에도 한 번 더 제거합니다.
+     *
+     * @param energyRateId 에너지 요금 ID
+     */
+    private void evictTariff(Long energyRateId) {
+        evictTariffNow(energyRateId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictTariffNow(energyRateId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 에너지 요금에 해당하는 시간별 요금표와 에너지 사용량 캐시를 즉시 제거합니다.
+     *
+     * @param energyRateId 에너지 요금 ID
+     */
+    private void evictTariffNow(Long energyRateId) {
+        tariffCache.asMap().keySet().removeIf(key -> key.energyRateId().equals(energyRateId));
+        energySummaryCache.invalidateAll();
     }
+
+    /**
+     * 시간별 요금표 캐시의 키입니다.
+     *
+     * @param energyRateId 에너지 요금 ID
+     * @param companyType 업체 타입
+     */
+    private record TariffKey(Long energyRateId, CompanyType companyType) {}
 }
\ No newline at end of file
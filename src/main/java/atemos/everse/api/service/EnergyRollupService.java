@@ -0,0 +1,38 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Energy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EnergyRollupService는 업체별 시간별/일별/월별 에너지 사용량과 요금 집계 데이터를 관리하는 서비스 인터페이스입니다.
+ */
+public interface EnergyRollupService {
+    /**
+     * 새로 수집된 에너지 데이터를 업체별 집계 데이터에 증분 반영합니다.
+     *
+     * @param energyList 새로 저장된 에너지 데이터 리스트
+     */
+    void accumulate(List<Energy> energyList);
+    /**
+     * 업체의 시간대별 에너지 사용량 변화량을 시간별/일별/월별 집계 데이터에 반영합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param hourlyUsageDelta 시간대(업체 타임존 기준 정각)별 에너지 사용량 변화량
+     */
+    void accumulate(Company company, Map<LocalDateTime, BigDecimal> hourlyUsageDelta);
+    /**
+     * 업체의 기간 내 집계 데이터를 원본 에너지 데이터로부터 다시 생성합니다.
+     * 기존 시간별 집계와의 차이만큼 일별/월별 집계에 반영하며, 시간별 집계를 보관 기간이 지나 삭제한 날은 제외합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param startDate 재생성 시작일
+     * @param endDate 재생성 종료일
+     */
+    void rebuild(Company company, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,285 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.repository.EnergyRateRepository;
+import atemos.everse.api.repository.EnergyRepository;
+import atemos.everse.api.repository.EnergyRollupJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 업체별 시간별/일별/월별 에너지 사용량과 요금 집계 데이터를 관리하는 서비스 구현 클래스입니다.
+ * 에너지 사용량이 수집될 때마다 변화량만큼 집계 데이터를 갱신하므로,
+ * 조회 비용이 원본 데이터 건수가 아닌 집계 구간의 개수에 비례합니다.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EnergyRollupServiceImpl implements EnergyRollupService {
+    private final EnergyRollupRepository energyRollupRepository;
+    private final EnergyRollupJdbcRepository energyRollupJdbcRepository;
+    private final EnergyRepository energyRepository;
+    private final EnergyRateRepository energyRateRepository;
+    private final EnergyService energyService;
+    private final EnergySummaryCache energySummaryCache;
+    private final EnergyDemandService energyDemandService;
+    private final EnergyHeatmap energyHeatmap;
+
+    /**
+     * 새로 수집된 에너지 데이터를 업체별, 시간대별로 합산하여 집계 데이터에 증분 반영합니다.
+     *
+     * @param energyList 새로 저장된 에너지 데이터 리스트
+     */
+    @Override
+    @Transactional
+    public void accumulate(List<Energy> energyList) {
+        // 업체별로 에너지 데이터를 그룹화 (집계 행을 잠그는 순서를 맞추기 위해 업체 ID 순)
+        var energyByCompanyId = energyList.stream()
+                .collect(Collectors.groupingBy(energy -> energy.getIot().getCompany().getId(), TreeMap::new, Collectors.toList()));
+        energyByCompanyId.values().forEach(companyEnergyList -> {
+            var company = companyEnergyList.getFirst().getIot().getCompany();
+            // 시간대별 사용량 변화량을 합산
+            var hourlyUsageDelta = companyEnergyList.stream()
+                    .collect(Collectors.groupingBy(
+                            energy -> energy.getReferenceTime().truncatedTo(ChronoUnit.HOURS),
+                            TreeMap::new,
+                            Collectors.reducing(BigDecimal.ZERO, Energy::getFacilityUsage, BigDecimal::add)));
+            accumulate(company, hourlyUsageDelta);
+        });
+    }
+
+    /**
+     * 업체의 시간대별 에너지 사용량 변화량을 시간별/일별/월별 집계 데이터에 반영합니다.
+     * 시간별 요금은 누적 사용량에 시간대별 요금을 곱해 다시 계산하고,
+     * 일별/월별 요금에는 시간별 요금의 변화량만큼 반영합니다.
+     * 보관 기간이 지나 삭제된 집계 구간에서 사용량을 차감하면 (IoT 장비 삭제 등) 집계 행을 다시 만들지 않고 상위 집계에만 반영하며,
+     * 사용량과 요금은 0 아래로 내려가지 않습니다.
+     * 집계 행은 시간별, 일별, 월별 순서로 잠근 뒤 갱신하므로, 같은 업체를 동시에 갱신하는 요청은 차례로 반영됩니다.
+     * 한 트랜잭션에서 여러 업체를 갱신할 때는 업체 ID 순서로 호출해야 합니다.
+     *
+     * @param company 집계 대상 업체
+     * @param hourlyUsageDelta 시간대(업체 타임존 기준 정각)별 에너지 사용량 변화량
+     */
+    @Override
+    @Transactional
+    public void accumulate(Company company, Map<LocalDateTime, BigDecimal> hourlyUsageDelta) {
+        if (hourlyUsageDelta.isEmpty()) {
+            return;
+        }
+        // 업체가 속한 국가의 에너지 요금 정보 조회
+        var energyRate = energyRateRepository.findByCountry(company.getCountry())
+                .orElseThrow(() -> new EntityNotFoundException("No energy rate found for country: " + company.getCountry().getName()));
+        // 보관 기간이 지나 삭제된 집계 구간에서 차감하려고 새로 만든 집계 행
+        var purgedRollups = new ArrayList<EnergyRollup>();
+        // 시간별 집계 갱신 및 일별 변화량 계산
+        var hourlyRollups = findOrCreate(company, EnergyRollupGranularity.HOURLY, hourlyUsageDelta.keySet());
+        var dailyUsageDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        var dailyBillDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        var previousHourlyUsage = new HashMap<LocalDateTime, BigDecimal>();
+        hourlyUsageDelta.forEach((hour, usageDelta) -> {
+            var rollup = hourlyRollups.get(hour);
+            var rate = energyService.getRate(company, energyRate, hour.getHour());
+            var day = hour.truncatedTo(ChronoUnit.DAYS);
+            if (isPurged(rollup, usageDelta)) {
+                // 삭제된 시간별 집계의 요금은 남아 있지 않으므로 현재 시간대별 요금으로 계산하여 일별 집계에서 차감
+                purgedRollups.add(hourlyRollups.remove(hour));
+                dailyUsageDelta.merge(day, usageDelta, BigDecimal::add);
+                dailyBillDelta.merge(day, usageDelta.multiply(rate).setScale(4, RoundingMode.HALF_UP), BigDecimal::add);
+                return;
+            }
+            var previousUsage = rollup.getFacilityUsage();
+            var previousBill = rollup.getBill();
+            // 이번에 새로 만든 집계 행은 수정 일시가 비어 있음
+            if (rollup.getModifiedDate() != null) {
+                previousHourlyUsage.put(hour, previousUsage);
+            }
+            rollup.setFacilityUsage(previousUsage.add(usageDelta).max(BigDecimal.ZERO));
+            rollup.setBill(rollup.getFacilityUsage().multiply(rate).setScale(4, RoundingMode.HALF_UP));
+            rollup.setModifiedDate(Instant.now());
+            // 0 아래로 내려가지 않도록 조정된 실제 변화량을 일별 집계에 반영
+            dailyUsageDelta.merge(day, rollup.getFacilityUsage().subtract(previousUsage), BigDecimal::add);
+            dailyBillDelta.merge(day, rollup.getBill().subtract(previousBill), BigDecimal::add);
+        });
+        // 일별 집계 갱신 및 월별 변화량 계산
+        var dailyRollups = findOrCreate(company, EnergyRollupGranularity.DAILY, dailyUsageDelta.keySet());
+        var monthlyUsageDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        var monthlyBillDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        dailyUsageDelta.forEach((day, usageDelta) -> {
+            var rollup = dailyRollups.get(day);
+            var month = day.withDayOfMonth(1);
+            if (isPurged(rollup, usageDelta)) {
+                purgedRollups.add(dailyRollups.remove(day));
+                monthlyUsageDelta.merge(month, usageDelta, BigDecimal::add);
+                monthlyBillDelta.merge(month, dailyBillDelta.get(day), BigDecimal::add);
+                return;
+            }
+            var previousUsage = rollup.getFacilityUsage();
+            var previousBill = rollup.getBill();
+            addDelta(rollup, usageDelta, dailyBillDelta.get(day));
+            monthlyUsageDelta.merge(month, rollup.getFacilityUsage().subtract(previousUsage), BigDecimal::add);
+            monthlyBillDelta.merge(month, rollup.getBill().subtract(previousBill), BigDecimal::add);
+        });
+        // 월별 집계 갱신 (월별 집계는 영구 보관하므로, 없는 월에서 차감하는 변화량은 버림)
+        var monthlyRollups = findOrCreate(company, EnergyRollupGranularity.MONTHLY, monthlyUsageDelta.keySet());
+        monthlyUsageDelta.forEach((month, usageDelta) -> {
+            var rollup = monthlyRollups.get(month);
+            if (isPurged(rollup, usageDelta)) {
+                purgedRollups.add(monthlyRollups.remove(month));
+                return;
+            }
+            addDelta(rollup, usageDelta, monthlyBillDelta.get(month));
+        });
+        // 변경된 집계 데이터 저장 및 차감하려고 새로 만든 집계 행 삭제
+        energyRollupRepository.saveAll(hourlyRollups.values());
+        energyRollupRepository.saveAll(dailyRollups.values());
+        energyRollupRepository.saveAll(monthlyRollups.values());
+        energyRollupRepository.deleteAll(purgedRollups);
+        // 변경된 날짜의 시간별 수요 분위수 스케치 갱신
+        energyDemandService.accumulate(company, hourlyRollups.values(), previousHourlyUsage);
+        // 요일·시각별 사용량 집계 갱신 (커밋 후)
+        energyHeatmap.update(company.getId(), hourlyRollups.values());
+        // 변경된 날짜의 에너지 사용량 캐시 무효화 (커밋 후 한 번 더)
+        energySummaryCache.invalidate(company.getId(), dailyUsageDelta.keySet().stream().map(LocalDateTime::toLocalDate).toList());
+    }
+
+    /**
+     * 업체의 기간 내 집계 데이터를 원본 에너지 데이터로부터 다시 생성합니다.
+     * 기존 시간별 집계와 원본 데이터의 시간대별 합계의 차이만큼 반영하므로, 일별/월별 집계의 기간 밖 데이터는 그대로 유지됩니다.
+     * 보관 기간이 지나 시간별 집계를 삭제한 날(일별 집계만 남은 날)은 다시 생성하지 않습니다.
+     * 변화량은 시간별 집계 행을 잠근 뒤 읽은 원본 합계와 집계 값으로 계산하므로, 같은 시간대를 동시에 수집하거나 다시 생성하는 요청의 사용량이 두 번 반영되지 않습니다.
+     * 잠근 뒤 다른 트랜잭션이 커밋한 원본 데이터를 읽을 수 있도록 READ COMMITTED 격리 수준으로 실행합니다.
+     * (다른 트랜잭션 안에서 호출할 때는 호출하는 쪽의 격리 수준을 따르므로, 배치 Step도 같은 격리 수준으로 실행해야 합니다.)
+     *
+     * @param company 집계 대상 업체
+     * @param startDate 재생성 시작일
+     * @param endDate 재생성 종료일
+     */
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void rebuild(Company company, LocalDate startDate, LocalDate endDate) {
+        var start = startDate.atStartOfDay();
+        var end = endDate.atTime(23, 59, 59);
+        // 다시 생성할 시간대 (기존 시간별 집계나 원본 데이터가 있는 시간대, 상위 집계만 남은 날 제외)
+        var hours = new TreeSet<LocalDateTime>();
+        energyRollupRepository.findUsageByCompanyIdAndGranularity(company.getId(), EnergyRollupGranularity.HOURLY, start, end)
+                .forEach(usageSum -> hours.add(usageSum.getReferenceTime()));
+        var purgedDays = findPurgedDays(company, start, end, hours);
+        energyRepository.sumFacilityUsageByHour(company.getId(), company.getCountry().getZoneId(), start, end)
+                .forEach(usageSum -> hours.add(usageSum.getReferenceTime()));
+        hours.removeIf(hour -> purgedDays.contains(hour.truncatedTo(ChronoUnit.DAYS)));
+        if (hours.isEmpty()) {
+            return;
+        }
+        // 시간별 집계 행을 잠근 뒤, 원본 데이터의 시간대별 합계에서 기존 시간별 집계를 뺀 변화량을 계산하여 다시 집계
+        energyRollupJdbcRepository.lock(company.getId(), EnergyRollupGranularity.HOURLY, hours);
+        var hourlyUsageDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        energyRollupRepository.findUsageByCompanyIdAndGranularity(company.getId(), EnergyRollupGranularity.HOURLY, start, end)
+                .forEach(usageSum -> hourlyUsageDelta.merge(usageSum.getReferenceTime(), usageSum.getUsage().negate(), BigDecimal::add));
+        energyRepository.sumFacilityUsageByHour(company.getId(), company.getCountry().getZoneId(), start, end)
+                .forEach(usageSum -> hourlyUsageDelta.merge(usageSum.getReferenceTime(), usageSum.getUsage(), BigDecimal::add));
+        // 잠그지 않은 시간대는 처음 조회한 뒤 수집된 사용량이므로, 수집한 요청이 이미 집계 데이터에 반영함
+        hourlyUsageDelta.keySet().retainAll(hours);
+        hourlyUsageDelta.values().removeIf(usageDelta -> usageDelta.signum() == 0);
+        accumulate(company, hourlyUsageDelta);
+        energyDemandService.rebuild(company, start.toLocalDate(), end.toLocalDate());
+        energySummaryCache.invalidateCompany(company.getId());
+        log.info("Rebuilt energy rollups for company {} from {} to {} ({} hours changed).", company.getId(), start, end, hourlyUsageDelta.size());
+    }
+
+    /**
+     * 기간 내에서 보관 기간이 지나 하위 집계를 삭제한 날을 찾습니다.
+     * 시간별 집계는 하루 단위로, 일별 집계는 한 달 단위로 삭제하므로,
+     * 일별 집계는 있지만 시간별 집계가 없는 날과 월별 집계는 있지만 일별 집계가 없는 달의 날이 해당합니다.
+     * 이런 날의 원본 데이터를 다시 집계하면 남아 있는 일별/월별 집계에 사용량이 두 번 반영됩니다.
+     *
+     * @param company 집계 대상 업체
+     * @param start 기간 시작 시각
+     * @param end 기간 종료 시각
+     * @param hourlyBucketTimes 기간 내 시간별 집계 시각
+     * @return 하위 집계를 삭제한 날 (자정 기준)
+     */
+    private Set<LocalDateTime> findPurgedDays(Company company, LocalDateTime start, LocalDateTime end,
+                                              Collection<LocalDateTime> hourlyBucketTimes) {
+        var monthStart = start.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        var hourlyDays = hourlyBucketTimes.stream().map(hour -> hour.truncatedTo(ChronoUnit.DAYS)).collect(Collectors.toSet());
+        var dailyDays = energyRollupRepository.findUsageByCompanyIdAndGranularity(company.getId(), EnergyRollupGranularity.DAILY, monthStart, end)
+                .stream()
+                .map(EnergyDto.UsageSum::getReferenceTime)
+                .collect(Collectors.toSet());
+        var dailyMonths = dailyDays.stream().map(day -> day.withDayOfMonth(1)).collect(Collectors.toSet());
+        var purgedMonths = energyRollupRepository.findUsageByCompanyIdAndGranularity(company.getId(), EnergyRollupGranularity.MONTHLY, monthStart, end)
+                .stream()
+                .map(EnergyDto.UsageSum::getReferenceTime)
+                .filter(month -> !dailyMonths.contains(month))
+                .collect(Collectors.toSet());
+        var purgedDays = new HashSet<LocalDateTime>();
+        for (var day = start.truncatedTo(ChronoUnit.DAYS); !day.isAfter(end); day = day.plusDays(1)) {
+            if ((dailyDays.contains(day) && !hourlyDays.contains(day)) || purgedMonths.contains(day.withDayOfMonth(1))) {
+                purgedDays.add(day);
+            }
+        }
+        return purgedDays;
+    }
+
+    /**
+     * 주어진 집계 시각들의 집계 데이터를 잠그고 조회합니다. 없는 시각은 사용량과 요금이 0인 집계 데이터를 만들어 반환합니다.
+     * 다른 트랜잭션이 같은 집계 데이터를 갱신하고 있으면 커밋될 때까지 기다린 뒤 커밋된 값을 읽습니다.
+     *
+     * @param company 집계 대상 업체
+     * @param granularity 집계 단위
+     * @param bucketTimes 집계 시각 목록
+     * @return 집계 시각별 집계 데이터 맵
+     */
+    private Map<LocalDateTime, EnergyRollup> findOrCreate(Company company,
+                                                          EnergyRollupGranularity granularity,
+                                                          Collection<LocalDateTime> bucketTimes) {
+        energyRollupJdbcRepository.lock(company.getId(), granularity, bucketTimes);
+        return energyRollupRepository.findForUpdate(company.getId(), granularity, bucketTimes)
+                .stream()
+                .collect(Collectors.toMap(EnergyRollup::getBucketTime, Function.identity()));
+    }
+
+    /**
+     * 보관 기간이 지나 삭제된 집계 구간에서 사용량을 차감하려는지 확인합니다.
+     * 집계 행이 없던 구간(이번 트랜잭션에서 새로 만든 행)에 음수 변화량이 들어오면, 원본 데이터보다 집계 데이터를 먼저 삭제한 구간입니다.
+     *
+     * @param rollup 잠근 집계 데이터
+     * @param usageDelta 사용량 변화량
+     * @return 삭제된 집계 구간이면 true
+     */
+    private static boolean isPurged(EnergyRollup rollup, BigDecimal usageDelta) {
+        return rollup.getModifiedDate() == null && usageDelta.signum() < 0;
+    }
+
+    /**
+     * 집계 데이터에 사용량과 요금의 변화량을 더합니다. 사용량과 요금은 0 아래로 내려가지 않습니다.
+     *
+     * @param rollup 갱신할 집계 데이터
+     * @param usageDelta 사용량 변화량
+     * @param billDelta 요금 변화량
+     */
+    private void addDelta(EnergyRollup rollup, BigDecimal usageDelta, BigDecimal billDelta) {
+        rollup.setFacilityUsage(rollup.getFacilityUsage().add(usageDelta).max(BigDecimal.ZERO));
+        rollup.setBill(rollup.getBill().add(billDelta).max(BigDecimal.ZERO));
+        rollup.setModifiedDate(Instant.now());
+    }
+}
@@ -1,11 +1,14 @@
 package atemos.everse.api.service;
 
+import atemos.everse.api.config.JsonStreamWriter;
 import atemos.everse.api.dto.EnergyDto;
 import atemos.everse.api.entity.Company;
 import atemos.everse.api.entity.EnergyRate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
 
 /**
  * EnergyService는 업체의 에너지 사용량과 요금 등의 데이터를 조회하고 엑셀로 제공하는 기능을 제공하는 서비스 인터페이스입니다.
@@ -22,6 +25,56 @@ public interface EnergyService {
      * @return 기간 내 업체가 사용한 에너지 사용량과 요금을 담은 응답 객체입니다.
      */
     EnergyDto.SummaryResponse readEnergy(Long companyId, LocalDate startDate, LocalDate endDate);
+    /**
+     * 기간 내 업체가 사용한 에너지 사용량과 요금을 월 단위로 생성하는 대로 출력 스트림에 기록합니다.
+     * 응답 구조는 readEnergy()와 같으며, 긴 기간을 조회할 때 메모리 사용량을 한 달치로 제한합니다.
+     *
+     * @param companyId 업체 ID입니다.
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다.
+     * @return 에너지 사용량과 요금을 출력 스트림에 기록하는 writer입니다.
+     */
+    JsonStreamWriter streamEnergy(Long companyId, LocalDate startDate, LocalDate endDate);
+    /**
+     * 여러 업체의 기간 내 에너지 사용량과 요금을 업체별로 요약하고 전체 합계를 함께 조회합니다.
+     * 업체, 국가, 에너지 요금은 한 번에 조회하고, 업체별 조회와 집계는 동시에 실행합니다.
+     *
+     * @param companyIds 업체 ID 목록 (최대 100개)
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다. 없으면 시작일로 처리합니다.
+     * @return 업체별 요약과 전체 합계를 담은 응답 객체입니다.
+     */
+    EnergyDto.PortfolioResponse readPortfolioEnergy(Set<Long> companyIds, LocalDate startDate, LocalDate endDate);
+    /**
+     * 기간 내 에너지 사용량 상위 IoT 장비와 각 장비의 요금 비율을 피크 타입별로 조회합니다.
+     * 장비와 시각별 사용량 합계만 조회하여 피크 타입별로 상위 장비를 고르므로, 기간 길이와 관계없이 장비 수 × 24개의 합계만 읽습니다.
+     *
+     * @param companyId 업체 ID입니다. null이면 전체 업체를 조회합니다 (ADMIN 전용).
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다. 없으면 시작일로 처리합니다.
+     * @param limit 피크 타입별 상위 장비 수 (최대 100)
+     * @return 피크 타입별 상위 장비를 담은 응답 객체입니다.
+     */
+    EnergyDto.TopDevicesResponse readTopDevices(Long companyId, LocalDate startDate, LocalDate endDate, int limit);
+    /**
+     * 최근 주들의 요일·시각(7 × 24)별 평균 에너지 사용량과 요금을 조회합니다.
+     * 메모리에 누적해 둔 요일·시각별 집계를 읽으므로 몇 주치 에너지 데이터를 다시 읽지 않습니다.
+     *
+     * @param companyId 업체 ID입니다.
+     * @param weeks 이번 주를 포함한 최근 주 수입니다. 없으면 보관하는 전체 주 수로 처리합니다.
+     * @return 요일·시각별 평균 사용량과 요금을 담은 응답 객체입니다.
+     */
+    EnergyDto.HeatmapResponse readHeatmap(Long companyId, Integer weeks);
+    /**
+     * 기간 내 업체가 사용한 에너지 사용량과 요금을 1시간보다 짧은 간격(예: 15분)으로 조회합니다.
+     *
+     * @param companyId 업체 ID입니다.
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다.
+     * @param intervalMinutes 조회 간격(분)입니다. 5분 이상이며 60의 약수여야 합니다.
+     * @return 간격별 에너지 사용량과 요금 리스트
+     */
+    List<EnergyDto.HourlyResponse> readIntervalEnergy(Long companyId, LocalDate startDate, LocalDate endDate, int intervalMinutes);
     /**
      * 업체의 실시간 및 전월 에너지 사용량과 요금을 조회하는 메서드입니다.
      *
@@ -36,6 +89,12 @@ public interface EnergyService {
      * @return 이번 달 및 저번 달의 에너지 사용량과 요금을 담은 응답 객체
      */
     EnergyDto.ThisAndLastMonthResponse getThisAndLastMonthEnergy(Long companyId);
+    /**
+     * 마감된 기간의 에너지 사용량 캐시 통계를 조회합니다.
+     *
+     * @return 일별/월별 캐시의 적중/실패/제거 통계 리스트
+     */
+    List<EnergyDto.CacheStatsResponse> readCacheStats();
     /**
      * 해당 업체의 1kw당 요금을 조회합니다.
      *
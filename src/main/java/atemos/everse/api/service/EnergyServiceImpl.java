@@ -1,29 +1,48 @@
 package atemos.everse.api.service;
 
-import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.config.JsonStreamWriter;
+import atemos.everse.api.domain.ArchiveKind;
+import atemos.everse.api.domain.EnergyRatePeakType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.domain.MemberRole;
 import atemos.everse.api.dto.EnergyDto;
-import atemos.everse.api.entity.AIForecastEnergy;
+import atemos.everse.api.dto.IotDto;
 import atemos.everse.api.entity.Company;
 import atemos.everse.api.entity.Energy;
 import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.entity.Iot;
 import atemos.everse.api.repository.*;
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,11 +53,27 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class EnergyServiceImpl implements EnergyService {
+    // 간격별 조회의 최대 기간(일)
+    private static final int MAX_INTERVAL_QUERY_DAYS = 31;
+    // 포트폴리오 조회의 최대 업체 수
+    private static final int MAX_PORTFOLIO_COMPANIES = 100;
+    // 사용량 상위 장비 조회의 최대 장비 수
+    private static final int MAX_TOP_DEVICES = 100;
+
     private final CompanyRepository companyRepository;
     private final EnergyRepository energyRepository;
+    private final EnergyRollupRepository energyRollupRepository;
     private final EnergyRateRepository energyRateRepository;
     private final AIForecastEnergyRepository aiForecastEnergyRepository;
+    private final EnergyRateService energyRateService;
+    private final EnergySummaryCache energySummaryCache;
+    private final EnergyQueryExecutor energyQueryExecutor;
+    private final EnergyArchive energyArchive;
+    private final EpochHourBackfillStatus epochHourBackfillStatus;
+    private final EnergyHotWindow energyHotWindow;
+    private final AuthenticationService authenticationService;
     private final IotRepository iotRepository;
+    private final EnergyHeatmap energyHeatmap;
 
     /**
      * 기간 내 업체가 사용한 에너지 사용량과 요금을 조회합니다.
@@ -54,286 +89,932 @@ public class EnergyServiceImpl implements EnergyService {
     public EnergyDto.SummaryResponse readEnergy(Long companyId, LocalDate startDate, LocalDate endDate) {
         // 종료일이 null이면 시작일로 설정
         endDate = (endDate == null) ? startDate : endDate;
-        // 회사 정보와 타임존 조회
+        // 업체, 에너지 요금, 오늘 날짜 등 공통 참조 데이터 조회
+        var context = resolveContext(companyId);
+        // 기간 조회 쿼리를 동시에 실행한 뒤 결과를 취합하여 반환
+        var deadline = energyQueryExecutor.deadline();
+        var periodQuery = startPeriodQuery(context, startDate, endDate, deadline);
+        return completePeriodQuery(context, periodQuery, deadline);
+    }
+
+    /**
+     * 기간 내 업체가 사용한 에너지 사용량과 요금을 월 단위로 생성하는 대로 출력 스트림에 기록합니다.
+     * 응답 구조는 readEnergy()와 같지만, 한 번에 한 달치 데이터만 메모리에 유지하며 다음 달의 조회 쿼리는 미리 실행해 둡니다.
+     * 월별 데이터(monthlyResponse)를 먼저 기록하고, 전체 합계는 마지막에 기록합니다.
+     *
+     * @param companyId 업체 ID입니다.
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다.
+     * @return 에너지 사용량과 요금을 출력 스트림에 기록하는 writer입니다.
+     */
+    @Override
+    public JsonStreamWriter streamEnergy(Long companyId, LocalDate startDate, LocalDate endDate) {
+        // 종료일이 null이면 시작일로 설정
+        var lastDate = (endDate == null) ? startDate : endDate;
+        // 업체 정보 등 공통 참조 데이터는 요청 스레드에서 미리 조회 (업체가 없으면 스트리밍 전에 오류 응답)
+        var context = resolveContext(companyId);
+        return generator -> writeEnergy(context, startDate, lastDate, generator);
+    }
+
+    /**
+     * 기간 내 업체가 사용한 에너지 사용량과 요금을 1시간보다 짧은 간격으로 조회합니다.
+     * 시간별/일별/월별 조회는 집계 데이터를 사용하므로, 수집 간격 단위의 에너지 사용량은 이 메서드로만 조회합니다.
+     * IoT 장비의 수집 간격보다 짧은 간격으로 조회하면 해당 장비의 사용량은 수집 간격의 시작 시각에만 나타납니다.
+     *
+     * @param companyId 업체 ID입니다.
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다.
+     * @param intervalMinutes 조회 간격(분)입니다.
+     * @return 간격별 에너지 사용량과 요금 리스트 (기준 시각 오름차순, 사용량이 없는 간격은 제외)
+     */
+    @Override
+    public List<EnergyDto.HourlyResponse> readIntervalEnergy(Long companyId, LocalDate startDate, LocalDate endDate, int intervalMinutes) {
+        // 종료일이 null이면 시작일로 설정
+        endDate = (endDate == null) ? startDate : endDate;
+        Iot.validateReadingInterval(intervalMinutes);
+        if (endDate.isBefore(startDate) || startDate.plusDays(MAX_INTERVAL_QUERY_DAYS).isBefore(endDate)) {
+            throw new IllegalArgumentException("The interval query period must be within " + MAX_INTERVAL_QUERY_DAYS + " days.");
+        }
+        // 업체, 에너지 요금 등 공통 참조 데이터 조회
+        var context = resolveContext(companyId);
+        // 기준 시각별 사용량 합계를 조회 간격으로 묶음
+        var usageByInterval = new TreeMap<LocalDateTime, BigDecimal>();
+        energyRepository.sumFacilityUsageByReferenceTime(companyId, startDate.atStartOfDay(), endDate.atTime(LocalTime.MAX))
+                .forEach(usageSum -> usageByInterval.merge(
+                        Iot.truncateToReadingInterval(usageSum.getReferenceTime(), intervalMinutes),
+                        usageSum.getUsage(), BigDecimal::add));
+        // 간격별 요금 계산
+        var intervalResponse = new ArrayList<EnergyDto.HourlyResponse>(usageByInterval.size());
+        usageByInterval.forEach((referenceTime, usage) -> intervalResponse.add(EnergyDto.HourlyResponse.builder()
+                .referenceTime(referenceTime)
+                .usage(usage)
+                .bill(usage.multiply(context.tariff().getRate(referenceTime.getHour())).setScale(4, RoundingMode.HALF_UP))
+                .build()));
+        return intervalResponse;
+    }
+
+    /**
+     * 여러 업체의 기간 내 에너지 사용량과 요금을 업체별로 요약하고 전체 합계를 함께 조회합니다.
+     * 업체(국가 포함)와 에너지 요금은 한 번의 쿼리로 조회하고, 모든 업체의 기간 조회 쿼리를 먼저 실행한 뒤
+     * 업체별 집계를 동시에 실행하므로 응답 시간은 업체 수의 합이 아니라 가장 느린 업체에 가깝습니다.
+     * ADMIN이 아니면 자신이 속한 업체만 조회할 수 있습니다.
+     *
+     * @param companyIds 업체 ID 목록 (최대 100개)
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일 (없으면 시작일)
+     * @return 업체별 요약과 전체 합계를 담은 응답 객체
+     */
+    @Override
+    public EnergyDto.PortfolioResponse readPortfolioEnergy(Set<Long> companyIds, LocalDate startDate, LocalDate endDate) {
+        if (companyIds == null || companyIds.isEmpty() || companyIds.size() > MAX_PORTFOLIO_COMPANIES) {
+            throw new IllegalArgumentException("companyIds must contain between 1 and " + MAX_PORTFOLIO_COMPANIES + " companies.");
+        }
+        var end = (endDate == null) ? startDate : endDate;
+        if (end.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate.");
+        }
+        // ADMIN이 아니면 자신이 속한 업체만 조회 가능
+        var currentUser = authenticationService.getCurrentUserInfo();
+        if (currentUser.getRole() != MemberRole.ADMIN && companyIds.stream().anyMatch(id -> !id.equals(currentUser.getCompanyId()))) {
+            throw new AccessDeniedException("You do not have permission to perform this operation on this company.");
+        }
+        // 업체와 국가별 에너지 요금을 한 번에 조회하여 업체별 공통 참조 데이터 생성
+        var companies = companyRepository.findByIdIn(companyIds);
+        if (companies.size() != companyIds.size()) {
+            throw new EntityNotFoundException("No such company.");
+        }
+        var energyRateByCountryId = energyRateRepository.findByCountryIn(companies.stream().map(Company::getCountry).distinct().toList()).stream()
+                .collect(Collectors.toMap(energyRate -> energyRate.getCountry().getId(), Function.identity()));
+        var contexts = companies.stream()
+                .sorted(Comparator.comparing(Company::getId))
+                .map(company -> toContext(company, Optional.ofNullable(energyRateByCountryId.get(company.getCountry().getId()))
+                        .orElseThrow(() -> new EntityNotFoundException("No energy rate found for country: " + company.getCountry().getName()))))
+                .toList();
+        // 모든 업체의 기간 조회 쿼리를 먼저 실행한 뒤, 업체별 집계를 동시에 실행
+        var deadline = energyQueryExecutor.deadline();
+        var periodQueries = contexts.stream()
+                .map(context -> startPeriodQuery(context, startDate, end, deadline))
+                .toList();
+        var summaries = new ArrayList<Future<EnergyDto.SummaryResponse>>(contexts.size());
+        for (int i = 0; i < contexts.size(); i++) {
+            var context = contexts.get(i);
+            var periodQuery = periodQueries.get(i);
+            summaries.add(energyQueryExecutor.compute(() -> completePeriodQuery(context, periodQuery, deadline), deadline));
+        }
+        // 업체별 요약과 전체 합계 생성
+        var portfolioCompanies = new ArrayList<EnergyDto.PortfolioCompany>(contexts.size());
+        var totalUsage = BigDecimal.ZERO;
+        var totalForecastUsage = BigDecimal.ZERO;
+        var totalBill = BigDecimal.ZERO;
+        var totalForecastBill = BigDecimal.ZERO;
+        for (int i = 0; i < contexts.size(); i++) {
+            var company = contexts.get(i).company();
+            var summary = energyQueryExecutor.await(summaries.get(i), deadline);
+            portfolioCompanies.add(EnergyDto.PortfolioCompany.builder()
+                    .companyId(company.getId())
+                    .companyName(company.getName())
+                    .summary(toSummaryResponse(summary.getSummaryUsage(), summary.getSummaryForecastUsage(),
+                            summary.getSummaryBill(), summary.getSummaryForecastBill()))
+                    .build());
+            totalUsage = totalUsage.add(summary.getSummaryUsage());
+            totalForecastUsage = totalForecastUsage.add(summary.getSummaryForecastUsage());
+            totalBill = totalBill.add(summary.getSummaryBill());
+            totalForecastBill = totalForecastBill.add(summary.getSummaryForecastBill());
+        }
+        return EnergyDto.PortfolioResponse.builder()
+                .startDate(startDate)
+                .endDate(end)
+                .companies(portfolioCompanies)
+                .total(toSummaryResponse(totalUsage, totalForecastUsage, totalBill, totalForecastBill))
+                .build();
+    }
+
+    /**
+     * 기간 내 에너지 사용량 상위 IoT 장비와 각 장비의 요금 비율을 피크 타입별로 조회하는 메서드입니다.
+     * 장비와 시각(0~23)별 사용량 합계를 한 번의 집계 쿼리로 읽고(전체 업체도 한 번), 피크 타입마다 크기가 limit인 최소 힙으로 상위 장비를 고릅니다.
+     * 요금은 상위 장비와 피크 타입 전체 합계에 대해서만 계산하며, 소수점 4자리로 반올림합니다.
+     * 전체 업체 조회에서는 에너지 요금 정보가 없는 국가의 업체를 경고 로그를 남기고 제외합니다.
+     *
+     * @param companyId 업체 ID, null이면 전체 업체 (ADMIN 전용)
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일, 없으면 시작일로 처리
+     * @param limit 피크 타입별 상위 장비 수
+     * @return 피크 타입별 상위 장비
+     */
+    @Override
+    public EnergyDto.TopDevicesResponse readTopDevices(Long companyId, LocalDate startDate, LocalDate endDate, int limit) {
+        if (limit < 1 || limit > MAX_TOP_DEVICES) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP_DEVICES + ".");
+        }
+        var end = (endDate == null) ? startDate : endDate;
+        if (end.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate.");
+        }
+        // 전체 업체는 ADMIN만, 업체는 ADMIN이 아니면 자신이 속한 업체만 조회 가능
+        var currentUser = authenticationService.getCurrentUserInfo();
+        if (currentUser.getRole() != MemberRole.ADMIN && (companyId == null || !companyId.equals(currentUser.getCompanyId()))) {
+            throw new AccessDeniedException("You do not have permission to perform this operation on this company.");
+        }
+        // 업체별 요금 정보 (전체 업체는 에너지 요금이 없는 국가의 업체를 제외)
+        var contextByCompanyId = new HashMap<Long, EnergyContext>();
+        if (companyId != null) {
+            contextByCompanyId.put(companyId, resolveContext(companyId));
+        } else {
+            var companies = companyRepository.findAll();
+            var energyRateByCountryId = energyRateRepository.findByCountryIn(companies.stream().map(Company::getCountry).distinct().toList()).stream()
+                    .collect(Collectors.toMap(energyRate -> energyRate.getCountry().getId(), Function.identity()));
+            for (var company : companies) {
+                var energyRate = energyRateByCountryId.get(company.getCountry().getId());
+                if (energyRate == null) {
+                    log.warn("Skipping company {} in top devices: no energy rate found for country: {}", company.getId(), company.getCountry().getName());
+                    continue;
+                }
+                contextByCompanyId.put(company.getId(), toContext(company, energyRate));
+            }
+        }
+        // 장비·시각별 사용량 합계를 한 번의 집계 쿼리로 읽어 장비별 24시간 사용량으로 모음
+        var deadline = energyQueryExecutor.deadline();
+        var start = startDate.atStartOfDay();
+        var endTime = end.atTime(LocalTime.MAX);
+        var hourlyUsageQuery = energyQueryExecutor.submit(() -> {
+            var hourlyUsageByIotId = new HashMap<Long, DeviceUsage>();
+            energyRepository.sumUsageByIotAndHourOfDay(companyId, start, endTime, (deviceCompanyId, iotId, hourOfDay, usage) -> {
+                var context = contextByCompanyId.get(deviceCompanyId);
+                if (context != null) {
+                    hourlyUsageByIotId.computeIfAbsent(iotId, key -> new DeviceUsage(iotId, context, new long[24], 0)).hourlyUsage()[hourOfDay] += usage;
+                }
+            });
+            return hourlyUsageByIotId.values();
+        }, deadline);
+        // 피크 타입별로 장비 사용량 상위 limit개를 최소 힙으로 유지하고, 전체 사용량과 요금을 합산
+        var peakTypes = EnergyRatePeakType.values();
+        var topDevices = new EnumMap<EnergyRatePeakType, PriorityQueue<DeviceUsage>>(EnergyRatePeakType.class);
+        var totalUsage = new long[peakTypes.length];
+        var totalBill = new BigDecimal[peakTypes.length];
+        Arrays.fill(totalBill, BigDecimal.ZERO);
+        for (var peakType : peakTypes) {
+            topDevices.put(peakType, new PriorityQueue<>(limit + 1, DeviceUsage.ASCENDING));
+        }
+        var hourlyUsageByCompanyId = new HashMap<Long, long[]>();
+        var usageByPeakType = new long[peakTypes.length];
+        for (var device : energyQueryExecutor.await(hourlyUsageQuery, deadline)) {
+            var context = device.context();
+            var hourlyUsage = device.hourlyUsage();
+            var companyHourlyUsage = hourlyUsageByCompanyId.computeIfAbsent(context.company().getId(), key -> new long[24]);
+            Arrays.fill(usageByPeakType, 0);
+            for (int hour = 0; hour < 24; hour++) {
+                usageByPeakType[context.tariff().getPeakType(hour).ordinal()] += hourlyUsage[hour];
+                companyHourlyUsage[hour] += hourlyUsage[hour];
+            }
+            for (var peakType : peakTypes) {
+                var usage = usageByPeakType[peakType.ordinal()];
+                if (usage == 0) {
+                    continue;
+                }
+                var heap = topDevices.get(peakType);
+                var deviceUsage = new DeviceUsage(device.iotId(), context, hourlyUsage, usage);
+                if (heap.size() < limit) {
+                    heap.add(deviceUsage);
+                } else if (DeviceUsage.ASCENDING.compare(deviceUsage, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(deviceUsage);
+                }
+            }
+        }
+        hourlyUsageByCompanyId.forEach((id, companyHourlyUsage) -> {
+            var tariff = contextByCompanyId.get(id).tariff();
+            for (int hour = 0; hour < 24; hour++) {
+                var peakType = tariff.getPeakType(hour).ordinal();
+                totalUsage[peakType] += companyHourlyUsage[hour];
+                totalBill[peakType] = totalBill[peakType].add(toUsage(companyHourlyUsage[hour]).multiply(tariff.getRate(hour)));
+            }
+        });
+        // 상위 장비의 시리얼 번호를 한 번에 조회
+        var serialNumberByIotId = iotRepository.findRegistryEntriesByIdIn(topDevices.values().stream()
+                        .flatMap(Collection::stream)
+                        .map(DeviceUsage::iotId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(IotDto.RegistryEntry::getIotId, IotDto.RegistryEntry::getSerialNumber));
+        var peakTypeResponses = new ArrayList<EnergyDto.PeakTypeTopDevices>();
+        for (var peakType : peakTypes) {
+            if (totalUsage[peakType.ordinal()] == 0) {
+                continue;
+            }
+            var peakTypeBill = totalBill[peakType.ordinal()].setScale(4, RoundingMode.HALF_UP);
+            var devices = topDevices.get(peakType).stream()
+                    .sorted(DeviceUsage.ASCENDING.reversed())
+                    .map(deviceUsage -> {
+                        var bill = deviceUsage.bill(peakType);
+                        return EnergyDto.DeviceConsumption.builder()
+                                .iotId(deviceUsage.iotId())
+                                .companyId(deviceUsage.context().company().getId())
+                                .serialNumber(serialNumberByIotId.get(deviceUsage.iotId()))
+                                .usage(toUsage(deviceUsage.usage()))
+                                .bill(bill)
+                                .billShare(peakTypeBill.signum() == 0 ? BigDecimal.ZERO : bill
+                                        .divide(peakTypeBill, 10, RoundingMode.HALF_UP)
+                                        .multiply(BigDecimal.valueOf(100))
+                                        .setScale(4, RoundingMode.HALF_UP))
+                                .build();
+                    })
+                    .toList();
+            peakTypeResponses.add(EnergyDto.PeakTypeTopDevices.builder()
+                    .peakType(peakType)
+                    .totalUsage(toUsage(totalUsage[peakType.ordinal()]))
+                    .totalBill(peakTypeBill)
+                    .devices(devices)
+                    .build());
+        }
+        return EnergyDto.TopDevicesResponse.builder()
+                .companyId(companyId)
+                .startDate(startDate)
+                .endDate(end)
+                .peakTypes(peakTypeResponses)
+                .build();
+    }
+
+    /**
+     * 최근 주들의 요일·시각(7 × 24)별 평균 에너지 사용량과 요금을 조회하는 메서드입니다.
+     *
+     * @param companyId 업체 ID
+     * @param weeks 이번 주를 포함한 최근 주 수, 없으면 보관하는 전체 주 수
+     * @return 요일·시각별 평균 사용량과 요금
+     */
+    @Override
+    public EnergyDto.HeatmapResponse readHeatmap(Long companyId, Integer weeks) {
+        var weekCount = (weeks == null) ? energyHeatmap.getWeeks() : weeks;
+        if (weekCount < 1 || weekCount > energyHeatmap.getWeeks()) {
+            throw new IllegalArgumentException("weeks must be between 1 and " + energyHeatmap.getWeeks() + ".");
+        }
+        // ADMIN이 아니면 자신이 속한 업체만 조회 가능
+        var currentUser = authenticationService.getCurrentUserInfo();
+        if (currentUser.getRole() != MemberRole.ADMIN && !companyId.equals(currentUser.getCompanyId())) {
+            throw new AccessDeniedException("You do not have permission to perform this operation on this company.");
+        }
         var company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new EntityNotFoundException("Company with ID " + companyId + " not found."));
+                .orElseThrow(() -> new EntityNotFoundException("No such company."));
         var zoneId = company.getCountry().getZoneId();
-        // 에너지 요금 정보 조회
-        var energyRate = energyRateRepository.findByCountry(company.getCountry())
-                .orElseThrow(() -> new EntityNotFoundException("No energy rate found for country: " + company.getCountry().getName()));
-        // IoT 장비 목록과 기간 내 에너지 사용량/예측 사용량 조회
-        var iotList = iotRepository.findByCompanyId(companyId);
-        var energyList = energyRepository.findByIotInAndReferenceTimeBetween(iotList,
-                startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
-        var aiForecastList = aiForecastEnergyRepository.findByCompanyIdAndForecastTimeBetween(
-                companyId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
-        // 데이터 그룹화 및 시간별 처리
-        var hourlyData = processHourlyData(energyList, aiForecastList, zoneId, energyRate, company);
-        var dailyData = processDailyData(hourlyData);
-        var monthlyData = processMonthlyData(dailyData);
-        // SummaryResponse 생성 및 반환
-        return processSummaryData(hourlyData, monthlyData);
+        var cells = energyHeatmap.read(companyId, zoneId, weekCount);
+        var responseCells = new ArrayList<EnergyDto.HeatmapCell>(EnergyHeatmap.CELLS);
+        for (int cell = 0; cell < EnergyHeatmap.CELLS; cell++) {
+            var count = cells.count()[cell];
+            var builder = EnergyDto.HeatmapCell.builder()
+                    .dayOfWeek(DayOfWeek.of(cell / 24 + 1))
+                    .hour(cell % 24)
+                    .hours(count);
+            if (count > 0) {
+                builder.averageUsage(toUsage(cells.usageSum()[cell]).divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP))
+                        .minUsage(toUsage(cells.minUsage()[cell]))
+                        .maxUsage(toUsage(cells.maxUsage()[cell]))
+                        .averageBill(toUsage(cells.billSum()[cell]).divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP));
+            }
+            responseCells.add(builder.build());
+        }
+        var today = LocalDateTime.ofInstant(Instant.now(), zoneId).toLocalDate();
+        return EnergyDto.HeatmapResponse.builder()
+                .companyId(companyId)
+                .weeks(weekCount)
+                .startDate(today.with(DayOfWeek.MONDAY).minusWeeks(weekCount - 1L))
+                .endDate(today)
+                .cells(responseCells)
+                .build();
     }
 
     /**
      * 업체의 실시간 및 전월 에너지 사용량과 요금을 조회하는 메서드입니다.
+     * 공통 참조 데이터는 한 번만 조회하고, 두 기간의 조회 쿼리는 동시에 실행합니다.
      *
      * @param companyId 업체 ID
      * @return 실시간 및 전월 에너지 사용량과 요금을 담은 응답 객체
      */
     @Override
     public EnergyDto.RealTimeAndLastMonthResponse getRealTimeAndLastMonthEnergy(Long companyId) {
-        // 회사 정보 조회 및 타임존 설정
-        var company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new EntityNotFoundException("No such company."));
-        var country = Optional.ofNullable(company.getCountry())
-                .orElseThrow(() -> new EntityNotFoundException("Company does not have an associated country."));
-        // 현재 UTC 시간과 현지 시간 계산
-        var today = LocalDateTime.ofInstant(Instant.now(), country.getZoneId()).toLocalDate();
+        // 업체, 에너지 요금, 현지 날짜 등 공통 참조 데이터 조회
+        var context = resolveContext(companyId);
+        var today = context.today();
         var dayOfPreviousMonth = today.minusMonths(1);
-        // 실시간 데이터와 전월의 같은 날짜 데이터를 조회 후 리턴
+        // 실시간 데이터와 전월의 같은 날짜 데이터의 조회 쿼리를 동시에 실행
+        var deadline = energyQueryExecutor.deadline();
+        var realTimeQuery = startPeriodQuery(context, today, today, deadline);
+        var lastMonthQuery = startPeriodQuery(context, dayOfPreviousMonth, dayOfPreviousMonth, deadline);
+        // 조회 결과를 취합하여 리턴
         return new EnergyDto.RealTimeAndLastMonthResponse(
-                readEnergy(companyId, today, today),
-                readEnergy(companyId, dayOfPreviousMonth, dayOfPreviousMonth));
+                completePeriodQuery(context, realTimeQuery, deadline),
+                completePeriodQuery(context, lastMonthQuery, deadline));
     }
 
     /**
      * 이번 달 및 저번 달의 에너지 사용량과 요금을 조회하는 메서드입니다.
+     * 공통 참조 데이터는 한 번만 조회하고, 두 기간의 조회 쿼리는 동시에 실행합니다.
      *
      * @param companyId 업체 ID
      * @return 이번 달 및 저번 달의 에너지 사용량과 요금을 담은 응답 객체
      */
     @Override
     public EnergyDto.ThisAndLastMonthResponse getThisAndLastMonthEnergy(Long companyId) {
-        // 회사 정보 조회 및 타임존 설정
-        var company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new EntityNotFoundException("No such company."));
-        var country = Optional.ofNullable(company.getCountry())
-                .orElseThrow(() -> new EntityNotFoundException("Company does not have an associated country."));
-        // 현재 현지 날짜 계산
-        var today = LocalDateTime.ofInstant(Instant.now(), country.getZoneId()).toLocalDate();
+        // 업체, 에너지 요금, 현지 날짜 등 공통 참조 데이터 조회
+        var context = resolveContext(companyId);
         // 이번 달의 첫 번째 날과 마지막 날 계산
-        var firstDayOfThisMonth = today.withDayOfMonth(1);
+        var firstDayOfThisMonth = context.today().withDayOfMonth(1);
         var lastDayOfThisMonth = firstDayOfThisMonth.withDayOfMonth(firstDayOfThisMonth.lengthOfMonth());
         // 저번 달의 첫 번째 날과 마지막 날 계산
         var firstDayOfLastMonth = firstDayOfThisMonth.minusMonths(1);
         var lastDayOfLastMonth = firstDayOfLastMonth.withDayOfMonth(firstDayOfLastMonth.lengthOfMonth());
-        // 이번 달과 저번 달의 에너지 사용량 및 요금을 조회하여 리턴
+        // 이번 달과 저번 달의 조회 쿼리를 동시에 실행
+        var deadline = energyQueryExecutor.deadline();
+        var thisMonthQuery = startPeriodQuery(context, firstDayOfThisMonth, lastDayOfThisMonth, deadline);
+        var lastMonthQuery = startPeriodQuery(context, firstDayOfLastMonth, lastDayOfLastMonth, deadline);
+        // 이번 달과 저번 달의 에너지 사용량 및 요금을 취합하여 리턴
         return new EnergyDto.ThisAndLastMonthResponse(
-                readEnergy(companyId, firstDayOfThisMonth, lastDayOfThisMonth),
-                readEnergy(companyId, firstDayOfLastMonth, lastDayOfLastMonth)
+                completePeriodQuery(context, thisMonthQuery, deadline),
+                completePeriodQuery(context, lastMonthQuery, deadline)
         );
     }
 
     /**
-     * 주어진 에너지 사용량 및 AI 예측 데이터를 시간별로 그룹화하여 HourlyResponse 객체 리스트를 생성합니다.
-     * 각 시간대별 실제 사용량, 예측 사용량, 요금 등을 계산하여 반환합니다.
+     * 에너지 조회에 공통으로 필요한 업체, 시간별 요금표, 업체 타임존 기준 오늘 날짜를 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @return 에너지 조회 공통 참조 데이터
+     */
+    private EnergyContext resolveContext(Long companyId) {
+        // 회사 정보와 타임존 조회
+        var company = companyRepository.findById(companyId)
+                .orElseThrow(() -> new EntityNotFoundException("Company with ID " + companyId + " not found."));
+        var country = Optional.ofNullable(company.getCountry())
+                .orElseThrow(() -> new EntityNotFoundException("Company does not have an associated country."));
+        // 에너지 요금 정보 조회
+        var energyRate = energyRateRepository.findByCountry(country)
+                .orElseThrow(() -> new EntityNotFoundException("No energy rate found for country: " + country.getName()));
+        return toContext(company, energyRate);
+    }
+
+    /**
+     * 업체와 에너지 요금으로 에너지 조회 공통 참조 데이터를 생성합니다.
+     *
+     * @param company 업체 (국가 포함)
+     * @param energyRate 업체 국가의 에너지 요금
+     * @return 에너지 조회 공통 참조 데이터
+     */
+    private EnergyContext toContext(Company company, EnergyRate energyRate) {
+        // 업체 타임존 기준 오늘 날짜 (오늘 이후는 아직 마감되지 않은 날로 캐시하지 않음)
+        var today = LocalDateTime.ofInstant(Instant.now(), company.getCountry().getZoneId()).toLocalDate();
+        return new EnergyContext(company, energyRateService.getTariff(energyRate, company.getType()), today);
+    }
+
+    /**
+     * 소수점 4자리 고정소수점 사용량을 BigDecimal로 변환합니다.
+     */
+    private static BigDecimal toUsage(long usage) {
+        return BigDecimal.valueOf(usage, EnergyBucketJdbcRepository.USAGE_SCALE);
+    }
+
+    /**
+     * 사용량과 요금 합계로 월별 데이터가 없는 요약 응답을 생성합니다.
      *
-     * @param energyList       실제 에너지 사용량 리스트입니다. 각 IoT 장비에서 수집된 에너지 데이터를 포함합니다.
-     * @param aiForecastList   AI가 예측한 에너지 사용량 리스트입니다. 회사별 AI 예측 데이터를 포함합니다.
-     * @param zoneId           해당 회사의 시간대 정보입니다. 에너지 사용량이 기록된 시간을 올바르게 처리하기 위해 사용됩니다.
-     * @param energyRate       회사가 속한 국가의 에너지 요금 정보를 나타냅니다. 요금을 계산할 때 사용됩니다.
-     * @param company          에너지 사용량과 요금이 계산될 회사의 정보입니다.
-     * @return                 각 시간대별 에너지 사용량과 요금을 포함한 HourlyResponse 리스트를 반환합니다.
-     */
-    private List<EnergyDto.HourlyResponse> processHourlyData(List<Energy> energyList,
-                                                             List<AIForecastEnergy> aiForecastList,
-                                                             ZoneId zoneId,
-                                                             EnergyRate energyRate,
-                                                             Company company
-    ) {
-        // 실제 에너지 사용량을 시간대별로 그룹화 (Records 사용)
-        var energyMap = energyList.stream()
-                .collect(Collectors.groupingBy(e -> e.getReferenceTime().atZone(zoneId).truncatedTo(ChronoUnit.HOURS).toInstant()));
-        // AI 예측 에너지도 시간대별로 그룹화
-        var aiForecastMap = aiForecastList.stream()
-                .collect(Collectors.groupingBy(a -> a.getForecastTime().atZone(zoneId).truncatedTo(ChronoUnit.HOURS).toInstant()));
-        return energyMap.entrySet().stream()
-                .map(entry -> {
-                    var hour = entry.getKey();
-                    var hourlyEnergyList = entry.getValue();
-                    var hourlyForecastList = aiForecastMap.getOrDefault(hour, List.of());
-                    // 실제 사용량과 예측 사용량을 합산
-                    var totalUsage = hourlyEnergyList.stream()
-                            .map(Energy::getFacilityUsage)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    var totalForecastUsage = hourlyForecastList.stream()
-                            .map(AIForecastEnergy::getForecastUsage)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 요금 계산
-                    var hourOfDay = hour.atZone(zoneId).getHour();
-                    var rate = getRate(company, energyRate, hourOfDay).setScale(4, RoundingMode.HALF_UP);
-                    var totalBill = totalUsage.multiply(rate).setScale(4, RoundingMode.HALF_UP);
-                    var totalForecastBill = totalForecastUsage.multiply(rate).setScale(4, RoundingMode.HALF_UP);
-                    // 편차율과 예측 정확도 계산
-                    var deviationRate = calculateDeviationRate(totalUsage, totalForecastUsage);
-                    var forecastAccuracy = calculateForecastAccuracy(totalUsage, totalForecastUsage);
-                    // HourlyResponse 생성
-                    return new EnergyDto.HourlyResponse(
-                            hour.atZone(zoneId).toLocalDateTime(),
-                            totalUsage,
-                            totalForecastUsage,
-                            totalUsage.subtract(totalForecastUsage),
-                            totalBill,
-                            totalForecastBill,
-                            totalBill.subtract(totalForecastBill),
-                            deviationRate,
-                            forecastAccuracy
-                    );
-                })
-                .sorted(Comparator.comparing(EnergyDto.HourlyResponse::getReferenceTime))  // 시간 오름차순 정렬
+     * @param usage 실제 에너지 사용량
+     * @param forecastUsage AI 예측 사용량
+     * @param bill 실제 요금
+     * @param forecastBill AI 예측 요금
+     * @return 요약 응답
+     */
+    private EnergyDto.SummaryResponse toSummaryResponse(BigDecimal usage, BigDecimal forecastUsage, BigDecimal bill, BigDecimal forecastBill) {
+        return EnergyDto.SummaryResponse.builder()
+                .summaryUsage(usage)
+                .summaryForecastUsage(forecastUsage)
+                .summaryUsageForecastDifference(usage.subtract(forecastUsage))
+                .summaryBill(bill)
+                .summaryForecastBill(forecastBill)
+                .summaryBillForecastDifference(bill.subtract(forecastBill))
+                .summaryDeviationRate(calculateDeviationRate(usage, forecastUsage))
+                .summaryForecastAccuracy(calculateForecastAccuracy(usage, forecastUsage))
+                .build();
+    }
+
+    /**
+     * 기간 조회를 시작합니다. 마감된 날은 캐시에서 조회하고,
+     * 캐시에 없는 범위의 시간대별 사용량과 예측 사용량 쿼리는 가상 스레드에서 동시에 실행합니다.
+     *
+     * @param context 에너지 조회 공통 참조 데이터
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일
+     * @param deadline 요청의 마감 시각
+     * @return 진행 중인 기간 조회
+     */
+    private PeriodQuery startPeriodQuery(EnergyContext context, LocalDate startDate, LocalDate endDate, Instant deadline) {
+        var companyId = context.company().getId();
+        // 마감된 날은 캐시에서 조회하고, 캐시에 없는 날과 마감되지 않은 날의 범위를 계산
+        var dailyResponses = new TreeMap<LocalDate, Optional<EnergyDto.DailyResponse>>();
+        LocalDate uncachedStartDate = null;
+        LocalDate uncachedEndDate = null;
+        for (var date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            var cached = date.isBefore(context.today()) ? energySummaryCache.getDaily(companyId, date) : null;
+            if (cached != null) {
+                dailyResponses.put(date, cached);
+            } else {
+                uncachedStartDate = (uncachedStartDate == null) ? date : uncachedStartDate;
+                uncachedEndDate = date;
+            }
+        }
+        if (uncachedStartDate == null) {
+            return new PeriodQuery(startDate, endDate, dailyResponses, null, null, null, null);
+        }
+        var startDateTime = uncachedStartDate.atStartOfDay();
+        var endDateTime = uncachedEndDate.atTime(23, 59, 59);
+        // 기간 내 시간대별 에너지 사용량 조회 (최근 기간은 메모리의 최근 사용량에서 합산하고, 그 외에는 시간별 집계 데이터를 사용하며,
+        // 집계 데이터가 없으면 원본 데이터를 데이터베이스에서 시간대별로 합산)
+        // 보관 기간이 지나 삭제된 월은 아카이브 파일에서 합산
+        var hourlyUsage = energyQueryExecutor.submit(() -> {
+            var recentUsageList = energyHotWindow.sumByHour(companyId, context.company().getCountry().getZoneId(), startDateTime, endDateTime);
+            if (recentUsageList.isPresent()) {
+                return recentUsageList.get();
+            }
+            var hourlyUsageList = energyRollupRepository.findUsageByCompanyIdAndGranularity(
+                    companyId, EnergyRollupGranularity.HOURLY, startDateTime, endDateTime);
+            return hourlyUsageList.isEmpty()
+                    ? energyArchive.readHourly(companyId, ArchiveKind.ENERGY, startDateTime, endDateTime,
+                    (start, end) -> energyRepository.sumFacilityUsageByHour(companyId, context.company().getCountry().getZoneId(), start, end))
+                    : hourlyUsageList;
+        }, deadline);
+        // 기간 내 시간대별 AI 예측 사용량을 데이터베이스(보관 기간이 지난 월은 아카이브 파일)에서 합산하여 조회
+        var hourlyForecast = energyQueryExecutor.submit(
+                () -> energyArchive.readHourly(companyId, ArchiveKind.AI_FORECAST_ENERGY, startDateTime, endDateTime,
+                        (start, end) -> sumForecastUsageByHour(context.company(), start, end)), deadline);
+        return new PeriodQuery(startDate, endDate, dailyResponses, uncachedStartDate, uncachedEndDate, hourlyUsage, hourlyForecast);
+    }
+
+    /**
+     * 기간 내 업체의 시간대별 AI 예측 사용량을 데이터베이스에서 합산합니다.
+     * UTC epoch 시간 백필이 끝났으면 UTC epoch 시간으로 조회하고 그룹화하며, 끝나기 전에는 예측 시각으로 조회합니다.
+     *
+     * @param company 업체
+     * @param start 조회 시작 시각 (업체 타임존 기준)
+     * @param end 조회 종료 시각 (업체 타임존 기준)
+     * @return 시간대(정각, 업체 타임존 기준)별 AI 예측 사용량 합계 리스트
+     */
+    private List<EnergyDto.UsageSum> sumForecastUsageByHour(Company company, LocalDateTime start, LocalDateTime end) {
+        if (!epochHourBackfillStatus.isComplete()) {
+            return aiForecastEnergyRepository.sumForecastUsageByHour(company.getId(), start, end);
+        }
+        var zoneId = company.getCountry().getZoneId();
+        return aiForecastEnergyRepository.sumForecastUsageByEpochHour(company.getId(),
+                        Energy.toEpochHour(start, zoneId), Energy.toEpochHour(end, zoneId)).stream()
+                .map(usageSum -> usageSum.toUsageSum(zoneId))
                 .toList();
     }
 
     /**
-     * 시간별 데이터를 일별로 그룹화하여 DailyResponse 객체 리스트를 생성합니다.
-     * 각 날짜별로 사용량, 예측 사용량, 요금 등을 합산하고, 편차율 및 예측 정확도를 계산하여 반환합니다.
+     * 기간 조회 쿼리의 결과를 기다려 일별 데이터를 계산하고(마감된 날은 캐시에 저장), 월별, 전체 데이터를 생성합니다.
+     *
+     * @param context 에너지 조회 공통 참조 데이터
+     * @param periodQuery 진행 중인 기간 조회
+     * @param deadline 요청의 마감 시각
+     * @return 기간 내 업체가 사용한 에너지 사용량과 요금을 담은 응답 객체
+     */
+    private EnergyDto.SummaryResponse completePeriodQuery(EnergyContext context, PeriodQuery periodQuery, Instant deadline) {
+        var companyId = context.company().getId();
+        var dailyResponses = periodQuery.dailyResponses();
+        // 캐시에 없는 범위의 일별 데이터를 계산하고, 마감된 날은 캐시에 저장
+        if (periodQuery.uncachedStartDate() != null) {
+            var computed = processDailyData(context,
+                    periodQuery.uncachedStartDate(),
+                    periodQuery.uncachedEndDate(),
+                    energyQueryExecutor.await(periodQuery.hourlyUsage(), deadline),
+                    energyQueryExecutor.await(periodQuery.hourlyForecast(), deadline));
+            // 시간별 데이터가 없는 마감된 날은 일별 집계에서 조회 (보관 기간이 지나 시간별 집계를 삭제한 날)
+            var downsampled = readDownsampledDays(context, periodQuery.uncachedStartDate(), periodQuery.uncachedEndDate(), computed);
+            for (var date = periodQuery.uncachedStartDate(); !date.isAfter(periodQuery.uncachedEndDate()); date = date.plusDays(1)) {
+                if (!dailyResponses.containsKey(date)) {
+                    var dailyResponse = Optional.ofNullable(computed.getOrDefault(date, downsampled.get(date)));
+                    dailyResponses.put(date, dailyResponse);
+                    if (date.isBefore(context.today())) {
+                        energySummaryCache.putDaily(companyId, date, dailyResponse);
+                    }
+                }
+            }
+        }
+        // 일별 데이터로 월별, 전체 데이터를 생성하여 반환
+        return processSummaryData(companyId, periodQuery.startDate(), periodQuery.endDate(), context.today(), dailyResponses);
+    }
+
+    /**
+     * 시간별 데이터가 없는 마감된 날의 일별 데이터를 일별 집계로 생성합니다.
+     * 원본 데이터와 시간별 집계의 보관 기간이 지난 날은 일별 집계만 남아 있으므로, 시간별 데이터와 AI 예측 없이 사용량과 요금만 제공합니다.
+     *
+     * @param context 에너지 조회 공통 참조 데이터
+     * @param startDate 조회 시작일
+     * @param endDate 조회 종료일
+     * @param computed 시간별 데이터로 계산한 날짜별 일별 데이터
+     * @return 날짜별 일별 데이터 (일별 집계가 있는 날만 포함)
+     */
+    private Map<LocalDate, EnergyDto.DailyResponse> readDownsampledDays(EnergyContext context,
+                                                                        LocalDate startDate,
+                                                                        LocalDate endDate,
+                                                                        Map<LocalDate, EnergyDto.DailyResponse> computed) {
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (var date = startDate; !date.isAfter(endDate) && date.isBefore(context.today()); date = date.plusDays(1)) {
+            if (!computed.containsKey(date)) {
+                firstMissing = (firstMissing == null) ? date : firstMissing;
+                lastMissing = date;
+            }
+        }
+        if (firstMissing == null) {
+            return Map.of();
+        }
+        var downsampled = new TreeMap<LocalDate, EnergyDto.DailyResponse>();
+        energyRollupRepository.findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(
+                        context.company().getId(), EnergyRollupGranularity.DAILY, firstMissing.atStartOfDay(), lastMissing.atStartOfDay())
+                .forEach(rollup -> {
+                    var date = rollup.getBucketTime().toLocalDate();
+                    if (!computed.containsKey(date)) {
+                        downsampled.put(date, toDailyResponse(date, rollup));
+                    }
+                });
+        return downsampled;
+    }
+
+    /**
+     * 기간을 월 단위로 나누어 조회하면서 SummaryResponse 구조의 JSON을 기록합니다.
+     *
+     * @param context 에너지 조회 공통 참조 데이터
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일
+     * @param generator 출력 스트림에 연결된 JsonGenerator
+     * @throws IOException 출력 중 오류가 발생한 경우
+     */
+    private void writeEnergy(EnergyContext context, LocalDate startDate, LocalDate endDate, JsonGenerator generator) throws IOException {
+        var totalUsage = BigDecimal.ZERO;
+        var totalForecastUsage = BigDecimal.ZERO;
+        var totalBill = BigDecimal.ZERO;
+        var totalForecastBill = BigDecimal.ZERO;
+        generator.writeStartObject();
+        generator.writeFieldName("monthlyResponse");
+        generator.writeStartObject();
+        // 첫 달의 조회 쿼리 실행
+        var deadline = energyQueryExecutor.deadline();
+        var periodQuery = startMonthQuery(context, startDate, endDate, deadline);
+        while (periodQuery != null) {
+            // 현재 달의 결과를 기다리는 동안 다음 달의 조회 쿼리를 미리 실행
+            var nextStartDate = periodQuery.endDate().plusDays(1);
+            var nextDeadline = energyQueryExecutor.deadline();
+            var nextPeriodQuery = nextStartDate.isAfter(endDate) ? null : startMonthQuery(context, nextStartDate, endDate, nextDeadline);
+            // 현재 달의 월별 데이터를 기록하고 전체 합계에 누적
+            var summary = completePeriodQuery(context, periodQuery, deadline);
+            for (var monthly : summary.getMonthlyResponse().entrySet()) {
+                generator.writeObjectField(monthly.getKey(), monthly.getValue());
+            }
+            totalUsage = totalUsage.add(summary.getSummaryUsage());
+            totalForecastUsage = totalForecastUsage.add(summary.getSummaryForecastUsage());
+            totalBill = totalBill.add(summary.getSummaryBill());
+            totalForecastBill = totalForecastBill.add(summary.getSummaryForecastBill());
+            generator.flush();
+            periodQuery = nextPeriodQuery;
+            deadline = nextDeadline;
+        }
+        generator.writeEndObject();
+        // 전체 합계 기록
+        generator.writeObjectField("summaryUsage", totalUsage);
+        generator.writeObjectField("summaryForecastUsage", totalForecastUsage);
+        generator.writeObjectField("summaryUsageForecastDifference", totalUsage.subtract(totalForecastUsage));
+        generator.writeObjectField("summaryBill", totalBill);
+        generator.writeObjectField("summaryForecastBill", totalForecastBill);
+        generator.writeObjectField("summaryBillForecastDifference", totalBill.subtract(totalForecastBill));
+        generator.writeObjectField("summaryDeviationRate", calculateDeviationRate(totalUsage, totalForecastUsage));
+        generator.writeObjectField("summaryForecastAccuracy", calculateForecastAccuracy(totalUsage, totalForecastUsage));
+        generator.writeEndObject();
+    }
+
+    /**
+     * 시작일이 속한 달(종료일을 넘지 않는 범위)의 기간 조회를 시작합니다.
      *
-     * @param hourlyData 시간별 사용량 및 요금 데이터 리스트입니다. HourlyResponse 객체들이 포함됩니다.
-     * @return 일별 사용량과 요금 데이터를 담은 DailyResponse 리스트를 반환합니다.
-     */
-    private List<EnergyDto.DailyResponse> processDailyData(List<EnergyDto.HourlyResponse> hourlyData) {
-        return hourlyData.stream()
-                .collect(Collectors.groupingBy(h -> h.getReferenceTime().toLocalDate()))  // 시간별 데이터를 일별로 그룹화
-                .entrySet().stream()
-                .map(entry -> {
-                    var date = entry.getKey();
-                    var hourlyList = entry.getValue();
-                    // 일별 사용량과 예측 사용량을 합산
-                    var totalUsage = hourlyList.stream()
-                            .map(EnergyDto.HourlyResponse::getUsage)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    var totalForecastUsage = hourlyList.stream()
-                            .map(EnergyDto.HourlyResponse::getForecastUsage)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 일별 요금과 예측 요금을 합산
-                    var totalBill = hourlyList.stream()
-                            .map(EnergyDto.HourlyResponse::getBill)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    var totalForecastBill = hourlyList.stream()
-                            .map(EnergyDto.HourlyResponse::getForecastBill)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 편차율 및 예측 정확도 계산
-                    var deviationRate = calculateDeviationRate(totalUsage, totalForecastUsage);
-                    var forecastAccuracy = calculateForecastAccuracy(totalUsage, totalForecastUsage);
-                    // DailyResponse 생성
-                    return new EnergyDto.DailyResponse(
-                            date,
-                            totalUsage,
-                            totalForecastUsage,
-                            totalUsage.subtract(totalForecastUsage),
-                            totalBill,
-                            totalForecastBill,
-                            totalBill.subtract(totalForecastBill),
-                            deviationRate,
-                            forecastAccuracy,
-                            hourlyList  // 시간별 데이터 리스트
-                    );
-                })
-                .sorted(Comparator.comparing(EnergyDto.DailyResponse::getReferenceDate))  // 날짜별로 오름차순 정렬
-                .toList();  // 리스트로 반환
+     * @param context 에너지 조회 공통 참조 데이터
+     * @param startDate 조회 시작일
+     * @param endDate 전체 기간 조회 종료일
+     * @param deadline 요청의 마감 시각
+     * @return 진행 중인 기간 조회
+     */
+    private PeriodQuery startMonthQuery(EnergyContext context, LocalDate startDate, LocalDate endDate, Instant deadline) {
+        var lastDayOfMonth = startDate.withDayOfMonth(startDate.lengthOfMonth());
+        return startPeriodQuery(context, startDate, lastDayOfMonth.isAfter(endDate) ? endDate : lastDayOfMonth, deadline);
     }
 
     /**
-     * 일별 데이터를 월별로 그룹화하여 MonthlyResponse 객체 리스트를 생성합니다.
-     * 각 월별로 사용량, 예측 사용량, 요금 등을 합산하고, 편차율 및 예측 정확도를 계산하여 반환합니다.
+     * 기간 내 시간대별 에너지 사용량과 AI 예측 사용량을 누적하여 일별 DailyResponse 객체를 생성합니다.
+     * 실제 사용량이 존재하는 시간대만 응답에 포함하며, 일별 합계는 시간별 값(반올림된 요금 포함)을 합산한 값입니다.
      *
-     * @param dailyData 일별 사용량 및 요금 데이터를 담은 DailyResponse 리스트입니다.
-     * @return 월별 사용량과 요금 데이터를 담은 MonthlyResponse 리스트를 반환합니다.
-     */
-    private List<EnergyDto.MonthlyResponse> processMonthlyData(List<EnergyDto.DailyResponse> dailyData) {
-        return dailyData.stream()
-                .collect(Collectors.groupingBy(d -> d.getReferenceDate().withDayOfMonth(1)))  // 일별 데이터를 월별로 그룹화
-                .entrySet().stream()
-                .map(entry -> {
-                    var month = entry.getKey();
-                    var dailyList = entry.getValue();
-                    // 월별 사용량과 예측 사용량을 합산
-                    var totalUsage = dailyList.stream()
-                            .map(EnergyDto.DailyResponse::getDailyUsage)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    var totalForecastUsage = dailyList.stream()
-                            .map(EnergyDto.DailyResponse::getDailyForecastUsage)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 월별 요금과 예측 요금을 합산
-                    var totalBill = dailyList.stream()
-                            .map(EnergyDto.DailyResponse::getDailyBill)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    var totalForecastBill = dailyList.stream()
-                            .map(EnergyDto.DailyResponse::getDailyForecastBill)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    // 편차율 및 예측 정확도 계산
-                    var deviationRate = calculateDeviationRate(totalUsage, totalForecastUsage);
-                    var forecastAccuracy = calculateForecastAccuracy(totalUsage, totalForecastUsage);
-                    // MonthlyResponse 생성
-                    return new EnergyDto.MonthlyResponse(
-                            month,
-                            totalUsage,
-                            totalForecastUsage,
-                            totalUsage.subtract(totalForecastUsage),
-                            totalBill,
-                            totalForecastBill,
-                            totalBill.subtract(totalForecastBill),
-                            deviationRate,
-                            forecastAccuracy,
-                            dailyList.stream().collect(Collectors.toMap(
-                                    d -> d.getReferenceDate().toString(), // 날짜별 키로 맵핑
-                                    d -> d,
-                                    (oldValue, newValue) -> oldValue,
-                                    LinkedHashMap::new
-                            ))
-                    );
-                })
-                .sorted(Comparator.comparing(EnergyDto.MonthlyResponse::getReferenceMonth))  // 월별로 오름차순 정렬
-                .toList();  // 리스트로 반환
+     * @param context 에너지 조회 공통 참조 데이터입니다.
+     * @param startDate 계산 시작일입니다.
+     * @param endDate 계산 종료일입니다.
+     * @param hourlyUsageList 시간대별 에너지 사용량 합계 리스트입니다.
+     * @param hourlyForecastList 시간대별 AI 예측 사용량 합계 리스트입니다.
+     * @return 날짜별 DailyResponse 맵을 반환합니다. 실제 사용량이 없는 날은 포함하지 않습니다.
+     */
+    private Map<LocalDate, EnergyDto.DailyResponse> processDailyData(EnergyContext context,
+                                                                     LocalDate startDate,
+                                                                     LocalDate endDate,
+                                                                     List<EnergyDto.UsageSum> hourlyUsageList,
+                                                                     List<EnergyDto.UsageSum> hourlyForecastList) {
+        // 시간대별 사용량, 예측 사용량, 요금을 고정소수점으로 누적
+        var accumulator = new EnergyAccumulator(startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+        hourlyUsageList.forEach(hourlyUsage -> accumulator.addUsage(hourlyUsage.getReferenceTime(), hourlyUsage.getUsage()));
+        hourlyForecastList.forEach(hourlyForecast -> accumulator.addForecastUsage(hourlyForecast.getReferenceTime(), hourlyForecast.getUsage()));
+        accumulator.applyRates(context.tariff());
+        // 시간대를 한 번 순회하며 시간별 데이터와 일별 합계를 생성
+        var dailyResponse = new LinkedHashMap<LocalDate, EnergyDto.DailyResponse>();
+        var dailyTotals = new EnergyAccumulator.Totals();
+        var hourlyResponse = new ArrayList<EnergyDto.HourlyResponse>();
+        LocalDate currentDate = null;
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            if (!accumulator.hasUsage(slot)) {
+                continue;
+            }
+            var referenceTime = accumulator.timeOf(slot);
+            var date = referenceTime.toLocalDate();
+            // 날짜가 바뀌면 이전 날짜의 일별 데이터를 생성
+            if (currentDate != null && !date.equals(currentDate)) {
+                dailyResponse.put(currentDate, toDailyResponse(currentDate, dailyTotals, hourlyResponse));
+                dailyTotals.reset();
+                hourlyResponse = new ArrayList<>();
+            }
+            currentDate = date;
+            hourlyResponse.add(toHourlyResponse(referenceTime, accumulator, slot));
+            dailyTotals.add(accumulator, slot);
+        }
+        // 마지막 날짜의 일별 데이터 생성
+        if (currentDate != null) {
+            dailyResponse.put(currentDate, toDailyResponse(currentDate, dailyTotals, hourlyResponse));
+        }
+        return dailyResponse;
     }
 
     /**
-     * 시간별, 일별, 월별 데이터를 모두 합산하여 SummaryResponse 객체를 생성합니다.
-     * 전체 사용량, 예측 사용량, 요금 등을 합산하고, 편차율 및 예측 정확도를 계산하여 반환합니다.
+     * 일별 데이터를 월별로 묶어 MonthlyResponse를 생성하고, 전체 합계를 담은 SummaryResponse 객체를 생성합니다.
+     * 조회 기간이 월 전체를 포함하고 이미 마감된 월은 월별 캐시를 사용합니다.
      *
-     * @param hourlyData 시간별 사용량 및 요금 데이터를 담은 HourlyResponse 리스트입니다.
-     * @param monthlyData 월별 사용량 및 요금 데이터를 담은 MonthlyResponse 리스트입니다.
+     * @param companyId 업체 ID입니다.
+     * @param startDate 기간 조회 시작일입니다.
+     * @param endDate 기간 조회 종료일입니다.
+     * @param today 업체 타임존 기준 오늘 날짜입니다.
+     * @param dailyResponses 기간 내 날짜별 일별 데이터입니다. 실제 사용량이 없는 날은 빈 Optional입니다.
      * @return 전체 사용량과 요금 데이터를 담은 SummaryResponse 객체를 반환합니다.
      */
-    private EnergyDto.SummaryResponse processSummaryData(List<EnergyDto.HourlyResponse> hourlyData,
-                                                         List<EnergyDto.MonthlyResponse> monthlyData) {
+    private EnergyDto.SummaryResponse processSummaryData(Long companyId,
+                                                         LocalDate startDate,
+                                                         LocalDate endDate,
+                                                         LocalDate today,
+                                                         TreeMap<LocalDate, Optional<EnergyDto.DailyResponse>> dailyResponses) {
+        var monthlyResponse = new LinkedHashMap<String, EnergyDto.MonthlyResponse>();
+        // 일별 데이터가 없는 마감된 월이 있을 때만 조회하는 월별 집계
+        Map<LocalDate, EnergyRollup> monthlyRollups = null;
+        for (var month = startDate.withDayOfMonth(1); !month.isAfter(endDate); month = month.plusMonths(1)) {
+            var lastDayOfMonth = month.withDayOfMonth(month.lengthOfMonth());
+            // 월 전체를 조회하고 이미 마감된 월인지 확인
+            var isClosedFullMonth = !month.isBefore(startDate) && !lastDayOfMonth.isAfter(endDate) && lastDayOfMonth.isBefore(today);
+            var cached = isClosedFullMonth ? energySummaryCache.getMonthly(companyId, month) : null;
+            if (cached != null) {
+                monthlyResponse.put(month.format(DateTimeFormatter.ofPattern("yyyy-MM")), cached);
+                continue;
+            }
+            // 해당 월의 일별 데이터로 월별 데이터 생성
+            var dailyList = dailyResponses.subMap(month, true, lastDayOfMonth, true).values().stream()
+                    .flatMap(Optional::stream)
+                    .toList();
+            EnergyDto.MonthlyResponse monthly;
+            if (!dailyList.isEmpty()) {
+                monthly = toMonthlyResponse(month, dailyList);
+            } else if (isClosedFullMonth) {
+                // 일별 데이터가 없는 마감된 월은 월별 집계에서 조회 (보관 기간이 지나 일별 집계를 삭제한 월)
+                if (monthlyRollups == null) {
+                    monthlyRollups = energyRollupRepository.findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(
+                                    companyId, EnergyRollupGranularity.MONTHLY, startDate.atStartOfDay(), endDate.atStartOfDay()).stream()
+                            .collect(Collectors.toMap(rollup -> rollup.getBucketTime().toLocalDate(), Function.identity()));
+                }
+                var rollup = monthlyRollups.get(month);
+                if (rollup == null) {
+                    continue;
+                }
+                monthly = toMonthlyResponse(month, rollup);
+            } else {
+                continue;
+            }
+            if (isClosedFullMonth) {
+                energySummaryCache.putMonthly(companyId, month, monthly);
+            }
+            monthlyResponse.put(month.format(DateTimeFormatter.ofPattern("yyyy-MM")), monthly);
+        }
         // 전체 사용량 및 요금 계산
-        var totalUsage = hourlyData.stream()
-                .map(EnergyDto.HourlyResponse::getUsage)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        var totalForecastUsage = hourlyData.stream()
-                .map(EnergyDto.HourlyResponse::getForecastUsage)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        var totalBill = hourlyData.stream()
-                .map(EnergyDto.HourlyResponse::getBill)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        var totalForecastBill = hourlyData.stream()
-                .map(EnergyDto.HourlyResponse::getForecastBill)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        var deviationRate = calculateDeviationRate(totalUsage, totalForecastUsage);
-        var forecastAccuracy = calculateForecastAccuracy(totalUsage, totalForecastUsage);
+        var totalUsage = BigDecimal.ZERO;
+        var totalForecastUsage = BigDecimal.ZERO;
+        var totalBill = BigDecimal.ZERO;
+        var totalForecastBill = BigDecimal.ZERO;
+        for (var monthly : monthlyResponse.values()) {
+            totalUsage = totalUsage.add(monthly.getMonthlyUsage());
+            totalForecastUsage = totalForecastUsage.add(monthly.getMonthlyForecastUsage());
+            totalBill = totalBill.add(monthly.getMonthlyBill());
+            totalForecastBill = totalForecastBill.add(monthly.getMonthlyForecastBill());
+        }
         // SummaryResponse 생성
         return EnergyDto.SummaryResponse.builder()
-                .monthlyResponse(monthlyData.stream()
-                        .collect(Collectors.toMap(
-                                m -> m.getReferenceMonth().format(DateTimeFormatter.ofPattern("yyyy-MM")), // 월별 키로 맵핑
-                                Function.identity(), // m -> m 대체 가능
-                                (existing, replacement) -> existing, // 중복 처리
-                                LinkedHashMap::new // 삽입 순서 보장
-                        ))
-                )
+                .monthlyResponse(monthlyResponse)
                 .summaryUsage(totalUsage)
                 .summaryForecastUsage(totalForecastUsage)
                 .summaryUsageForecastDifference(totalUsage.subtract(totalForecastUsage))
                 .summaryBill(totalBill)
                 .summaryForecastBill(totalForecastBill)
                 .summaryBillForecastDifference(totalBill.subtract(totalForecastBill))
-                .summaryDeviationRate(deviationRate)
-                .summaryForecastAccuracy(forecastAccuracy)
+                .summaryDeviationRate(calculateDeviationRate(totalUsage, totalForecastUsage))
+                .summaryForecastAccuracy(calculateForecastAccuracy(totalUsage, totalForecastUsage))
                 .build();
     }
 
+    /**
+     * 특정 시간대의 누적 데이터로 HourlyResponse 객체를 생성합니다.
+     *
+     * @param referenceTime 기준 시각입니다.
+     * @param accumulator 시간대별 누적 데이터입니다.
+     * @param slot 시간대 오프셋입니다.
+     * @return 시간별 사용량과 요금 데이터를 담은 HourlyResponse 객체를 반환합니다.
+     */
+    private EnergyDto.HourlyResponse toHourlyResponse(LocalDateTime referenceTime, EnergyAccumulator accumulator, int slot) {
+        var usage = accumulator.getUsage(slot);
+        var forecastUsage = accumulator.getForecastUsage(slot);
+        var bill = accumulator.getBill(slot);
+        var forecastBill = accumulator.getForecastBill(slot);
+        return new EnergyDto.HourlyResponse(
+                referenceTime,
+                usage,
+                forecastUsage,
+                usage.subtract(forecastUsage),
+                bill,
+                forecastBill,
+                bill.subtract(forecastBill),
+                calculateDeviationRate(usage, forecastUsage),
+                calculateForecastAccuracy(usage, forecastUsage)
+        );
+    }
+
+    /**
+     * 하루 동안의 누적 합계로 DailyResponse 객체를 생성합니다.
+     *
+     * @param date 기준 일입니다.
+     * @param totals 일별 누적 합계입니다.
+     * @param hourlyResponse 해당 일의 시간별 데이터 리스트입니다.
+     * @return 일별 사용량과 요금 데이터를 담은 DailyResponse 객체를 반환합니다.
+     */
+    private EnergyDto.DailyResponse toDailyResponse(LocalDate date,
+                                                    EnergyAccumulator.Totals totals,
+                                                    List<EnergyDto.HourlyResponse> hourlyResponse) {
+        var usage = totals.getUsage();
+        var forecastUsage = totals.getForecastUsage();
+        var bill = totals.getBill();
+        var forecastBill = totals.getForecastBill();
+        return new EnergyDto.DailyResponse(
+                date,
+                usage,
+                forecastUsage,
+                usage.subtract(forecastUsage),
+                bill,
+                forecastBill,
+                bill.subtract(forecastBill),
+                calculateDeviationRate(usage, forecastUsage),
+                calculateForecastAccuracy(usage, forecastUsage),
+                hourlyResponse
+        );
+    }
+
+    /**
+     * 한 달 동안의 일별 데이터를 합산하여 MonthlyResponse 객체를 생성합니다.
+     *
+     * @param month 월의 첫날입니다.
+     * @param dailyList 해당 월의 일별 데이터 리스트입니다. 날짜 오름차순으로 정렬되어 있습니다.
+     * @return 월별 사용량과 요금 데이터를 담은 MonthlyResponse 객체를 반환합니다.
+     */
+    private EnergyDto.MonthlyResponse toMonthlyResponse(LocalDate month, List<EnergyDto.DailyResponse> dailyList) {
+        var usage = BigDecimal.ZERO;
+        var forecastUsage = BigDecimal.ZERO;
+        var bill = BigDecimal.ZERO;
+        var forecastBill = BigDecimal.ZERO;
+        var dailyResponse = new LinkedHashMap<String, EnergyDto.DailyResponse>();
+        for (var daily : dailyList) {
+            usage = usage.add(daily.getDailyUsage());
+            forecastUsage = forecastUsage.add(daily.getDailyForecastUsage());
+            bill = bill.add(daily.getDailyBill());
+            forecastBill = forecastBill.add(daily.getDailyForecastBill());
+            dailyResponse.put(daily.getReferenceDate().toString(), daily);
+        }
+        return new EnergyDto.MonthlyResponse(
+                month,
+                usage,
+                forecastUsage,
+                usage.subtract(forecastUsage),
+                bill,
+                forecastBill,
+                bill.subtract(forecastBill),
+                calculateDeviationRate(usage, forecastUsage),
+                calculateForecastAccuracy(usage, forecastUsage),
+                dailyResponse
+        );
+    }
+
+    /**
+     * 일별 집계로 DailyResponse 객체를 생성합니다. 시간별 데이터와 AI 예측 데이터는 포함하지 않습니다.
+     *
+     * @param date 기준 일입니다.
+     * @param rollup 해당 일의 일별 집계입니다.
+     * @return 일별 사용량과 요금 데이터를 담은 DailyResponse 객체를 반환합니다.
+     */
+    private EnergyDto.DailyResponse toDailyResponse(LocalDate date, EnergyRollup rollup) {
+        var usage = rollup.getFacilityUsage();
+        var bill = rollup.getBill();
+        return new EnergyDto.DailyResponse(
+                date,
+                usage,
+                BigDecimal.ZERO,
+                usage,
+                bill,
+                BigDecimal.ZERO,
+                bill,
+                calculateDeviationRate(usage, BigDecimal.ZERO),
+                calculateForecastAccuracy(usage, BigDecimal.ZERO),
+                null
+        );
+    }
+
+    /**
+     * 월별 집계로 MonthlyResponse 객체를 생성합니다. 일별 데이터와 AI 예측 데이터는 포함하지 않습니다.
+     *
+     * @param month 월의 첫날입니다.
+     * @param rollup 해당 월의 월별 집계입니다.
+     * @return 월별 사용량과 요금 데이터를 담은 MonthlyResponse 객체를 반환합니다.
+     */
+    private EnergyDto.MonthlyResponse toMonthlyResponse(LocalDate month, EnergyRollup rollup) {
+        var usage = rollup.getFacilityUsage();
+        var bill = rollup.getBill();
+        return new EnergyDto.MonthlyResponse(
+                month,
+                usage,
+                BigDecimal.ZERO,
+                usage,
+                bill,
+                BigDecimal.ZERO,
+                bill,
+                calculateDeviationRate(usage, BigDecimal.ZERO),
+                calculateForecastAccuracy(usage, BigDecimal.ZERO),
+                null
+        );
+    }
+
+    /**
+     * 마감된 기간의 에너지 사용량 캐시 통계를 조회합니다.
+     *
+     * @return 일별/월별 캐시의 적중/실패/제거 통계 리스트
+     */
+    @Override
+    public List<EnergyDto.CacheStatsResponse> readCacheStats() {
+        return energySummaryCache.getStats();
+    }
+
     /**
      * 특정 시간대의 요금을 반환합니다.
      *
@@ -344,16 +1025,8 @@ public class EnergyServiceImpl implements EnergyService {
      */
     @Override
     public BigDecimal getRate(Company company, EnergyRate energyRate, int hour) {
-        // 회사 타입에 따른 기본 요금을 설정
-        BigDecimal baseRate = company.getType() == CompanyType.FEMS ? energyRate.getIndustrialRate() : energyRate.getCommercialRate();
-        // 시간대에 따른 요금 증감율을 적용
-        if (energyRate.getPeakHours().contains(hour)) {
-            return baseRate.multiply(energyRate.getPeakMultiplier()).setScale(4, RoundingMode.HALF_UP);
-        } else if (energyRate.getMidPeakHours().contains(hour)) {
-            return baseRate.multiply(energyRate.getMidPeakMultiplier()).setScale(4, RoundingMode.HALF_UP);
-        } else {
-            return baseRate.multiply(energyRate.getOffPeakMultiplier()).setScale(4, RoundingMode.HALF_UP);
-        }
+        // 업체 타입과 에너지 요금 정보로 미리 계산된 시간별 요금표에서 조회
+        return energyRateService.getTariff(energyRate, company.getType()).getRate(hour);
     }
 
     /**
@@ -394,4 +1067,59 @@ public class EnergyServiceImpl implements EnergyService {
                 .multiply(BigDecimal.valueOf(100))
                 .setScale(4, RoundingMode.HALF_UP);
     }
-}
\ No newline at end of file
+
+    /**
+     * 에너지 조회에 공통으로 필요한 참조 데이터입니다. 복합 조회에서 한 번만 조회하여 공유합니다.
+     *
+     * @param company 업체
+     * @param tariff 업체에 적용되는 시간별 요금표
+     * @param today 업체 타임존 기준 오늘 날짜
+     */
+    private record EnergyContext(Company company, EnergyTariff tariff, LocalDate today) {}
+
+    /**
+     * 사용량 상위 장비 후보입니다.
+     *
+     * @param iotId IoT 장비 ID
+     * @param context 장비가 속한 업체의 참조 데이터
+     * @param hourlyUsage 시각(0~23)별 사용량 합계 (소수점 4자리 고정소수점)
+     * @param usage 피크 타입 시간대의 사용량 합계 (소수점 4자리 고정소수점)
+     */
+    private record DeviceUsage(long iotId, EnergyContext context, long[] hourlyUsage, long usage) {
+        // 사용량 오름차순, 사용량이 같으면 장비 ID 내림차순 (최소 힙에서 먼저 제외할 순서)
+        static final Comparator<DeviceUsage> ASCENDING = Comparator.comparingLong(DeviceUsage::usage)
+                .thenComparing(Comparator.comparingLong(DeviceUsage::iotId).reversed());
+
+        /**
+         * 피크 타입 시간대의 요금을 계산합니다. (소수점 4자리, 반올림)
+         */
+        BigDecimal bill(EnergyRatePeakType peakType) {
+            var bill = BigDecimal.ZERO;
+            for (int hour = 0; hour < hourlyUsage.length; hour++) {
+                if (context.tariff().getPeakType(hour) == peakType) {
+                    bill = bill.add(toUsage(hourlyUsage[hour]).multiply(context.tariff().getRate(hour)));
+                }
+            }
+            return bill.setScale(4, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * 진행 중인 기간 조회입니다.
+     *
+     * @param startDate 기간 조회 시작일
+     * @param endDate 기간 조회 종료일
+     * @param dailyResponses 캐시에서 조회한 일별 데이터 (계산한 일별 데이터도 추가됨)
+     * @param uncachedStartDate 캐시에 없는 범위의 시작일, 모두 캐시된 경우 null
+     * @param uncachedEndDate 캐시에 없는 범위의 종료일, 모두 캐시된 경우 null
+     * @param hourlyUsage 캐시에 없는 범위의 시간대별 에너지 사용량 조회 결과
+     * @param hourlyForecast 캐시에 없는 범위의 시간대별 AI 예측 사용량 조회 결과
+     */
+    private record PeriodQuery(LocalDate startDate,
+                               LocalDate endDate,
+                               TreeMap<LocalDate, Optional<EnergyDto.DailyResponse>> dailyResponses,
+                               LocalDate uncachedStartDate,
+                               LocalDate uncachedEndDate,
+                               Future<List<EnergyDto.UsageSum>> hourlyUsage,
+                               Future<List<EnergyDto.UsageSum>> hourlyForecast) {}
+}
@@ -0,0 +1,169 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.dto.EnergyDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 이미 지난(마감된) 일/월의 업체별 에너지 사용량과 요금 응답을 보관하는 캐시입니다.
+ * 마감된 기간의 데이터는 더 이상 바뀌지 않으므로 만료 없이 크기 제한 내에서 보관하며,
+ * 에너지 사용량 수집, 에너지 요금 수정, AI 예측 데이터 생성 시 해당 항목을 무효화하며, 트랜잭션 안에서 무효화하면 커밋된 후에 다시 무효화합니다.
+ * 키의 날짜는 업체 타임존 기준 날짜입니다.
+ */
+@Component
+public class EnergySummaryCache {
+    // 일별 캐시 최대 항목 수 (업체 수 × 보관 일수)
+    private static final long DAILY_MAXIMUM_SIZE = 100_000;
+    // 월별 캐시 최대 항목 수 (업체 수 × 보관 월수)
+    private static final long MONTHLY_MAXIMUM_SIZE = 10_000;
+
+    // 업체 ID와 날짜별 일별 응답 캐시 (사용량이 없는 날은 빈 Optional)
+    private final Cache<Key, Optional<EnergyDto.DailyResponse>> dailyCache = Caffeine.newBuilder()
+            .maximumSize(DAILY_MAXIMUM_SIZE)
+            .recordStats()
+            .build();
+    // 업체 ID와 월의 첫날별 월별 응답 캐시 (월 전체를 조회한 경우에만 저장)
+    private final Cache<Key, EnergyDto.MonthlyResponse> monthlyCache = Caffeine.newBuilder()
+            .maximumSize(MONTHLY_MAXIMUM_SIZE)
+            .recordStats()
+            .build();
+
+    /**
+     * 마감된 날의 일별 응답을 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param date 날짜 (업체 타임존 기준)
+     * @return 캐시된 일별 응답 (사용량이 없는 날은 빈 Optional), 캐시에 없으면 null
+     */
+    public Optional<EnergyDto.DailyResponse> getDaily(Long companyId, LocalDate date) {
+        return dailyCache.getIfPresent(new Key(companyId, date));
+    }
+
+    /**
+     * 마감된 날의 일별 응답을 저장합니다.
+     *
+     * @param companyId 업체 ID
+     * @param date 날짜 (업체 타임존 기준)
+     * @param dailyResponse 일별 응답 (사용량이 없는 날은 빈 Optional)
+     */
+    public void putDaily(Long companyId, LocalDate date, Optional<EnergyDto.DailyResponse> dailyResponse) {
+        dailyCache.put(new Key(companyId, date), dailyResponse);
+    }
+
+    /**
+     * 마감된 월의 월별 응답을 조회합니다.
+     *
+     * @param companyId 업체 ID
+     * @param month 월의 첫날 (업체 타임존 기준)
+     * @return 캐시된 월별 응답, 캐시에 없으면 null
+     */
+    public EnergyDto.MonthlyResponse getMonthly(Long companyId, LocalDate month) {
+        return monthlyCache.getIfPresent(new Key(companyId, month));
+    }
+
+    /**
+     * 마감된 월의 월별 응답을 저장합니다.
+     *
+     * @param companyId 업체 ID
+     * @param month 월의 첫날 (업체 타임존 기준)
+     * @param monthlyResponse 월별 응답
+     */
+    public void putMonthly(Long companyId, LocalDate month, EnergyDto.MonthlyResponse monthlyResponse) {
+        monthlyCache.put(new Key(companyId, month), monthlyResponse);
+    }
+
+    /**
+     * 업체의 특정 날짜들과 해당 날짜가 속한 월의 캐시를 무효화합니다.
+     * 트랜잭션 안에서 호출되면 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로, 커밋된 후에 한 번 더 무효화합니다.
+     *
+     * @param companyId 업체 ID
+     * @param dates 데이터가 변경된 날짜 목록 (업체 타임존 기준)
+     */
+    public void invalidate(Long companyId, Collection<LocalDate> dates) {
+        var changedDates = List.copyOf(dates);
+        Runnable invalidation = () -> changedDates.forEach(date -> {
+            dailyCache.invalidate(new Key(companyId, date));
+            monthlyCache.invalidate(new Key(companyId, date.withDayOfMonth(1)));
+        });
+        invalidation.run();
+        afterCommit(invalidation);
+    }
+
+    /**
+     * 업체의 모든 캐시를 무효화합니다. 트랜잭션 안에서 호출되면 커밋된 후에 한 번 더 무효화합니다.
+     *
+     * @param companyId 업체 ID
+     */
+    public void invalidateCompany(Long companyId) {
+        Runnable invalidation = () -> {
+            dailyCache.asMap().keySet().removeIf(key -> key.companyId().equals(companyId));
+            monthlyCache.asMap().keySet().removeIf(key -> key.companyId().equals(companyId));
+        };
+        invalidation.run();
+        afterCommit(invalidation);
+    }
+
+    /**
+     * 모든 업체의 캐시를 무효화합니다. 에너지 요금이 변경되어 요금을 다시 계산해야 할 때 사용합니다.
+     */
+    public void invalidateAll() {
+        dailyCache.invalidateAll();
+        monthlyCache.invalidateAll();
+    }
+
+    /**
+     * 일별/월별 캐시의 적중/실패/제거 통계를 조회합니다.
+     *
+     * @return 캐시별 통계 리스트
+     */
+    public List<EnergyDto.CacheStatsResponse> getStats() {
+        return List.of(toStatsResponse("daily", dailyCache, DAILY_MAXIMUM_SIZE),
+                toStatsResponse("monthly", monthlyCache, MONTHLY_MAXIMUM_SIZE));
+    }
+
+    /**
+     * 트랜잭션 안에서 호출되면 커밋된 후에 실행하도록 등록합니다.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 캐시 통계를 응답 객체로 변환합니다.
+     */
+    private EnergyDto.CacheStatsResponse toStatsResponse(String name, Cache<?, ?> cache, long maximumSize) {
+        var stats = cache.stats();
+        return EnergyDto.CacheStatsResponse.builder()
+                .name(name)
+                .estimatedSize(cache.estimatedSize())
+                .maximumSize(maximumSize)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    /**
+     * 캐시 키입니다.
+     *
+     * @param companyId 업체 ID
+     * @param date 날짜 또는 월의 첫날 (업체 타임존 기준)
+     */
+    private record Key(Long companyId, LocalDate date) {}
+}
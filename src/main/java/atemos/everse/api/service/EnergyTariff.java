@@ -0,0 +1,78 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRatePeakType;
+import atemos.everse.api.entity.EnergyRate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashSet;
+
+/**
+ * 에너지 요금 정보와 업체 타입으로부터 미리 계산한 시간(0~23)별 요금표입니다.
+ * 시간대별 요금과 피크 타입을 길이 24의 배열로 보관하므로, 요금 조회 시 피크 시간대 컬렉션을 탐색하지 않고 배열 인덱스로 조회합니다.
+ * 생성 후 변경되지 않으므로 여러 스레드에서 공유할 수 있습니다.
+ */
+public final class EnergyTariff {
+    // 시간별 요금 (소수점 4자리 반올림)
+    private final BigDecimal[] rates = new BigDecimal[24];
+    // 시간별 요금 (소수점 4자리 고정소수점)
+    private final long[] fixedRates = new long[24];
+    // 시간별 피크 타입
+    private final EnergyRatePeakType[] peakTypes = new EnergyRatePeakType[24];
+
+    /**
+     * 에너지 요금 정보와 업체 타입으로 시간별 요금표를 생성합니다.
+     * - 기본 요금: FEMS 업체는 산업용 요금, 그 외 업체는 상업용 요금
+     * - 피크/경피크 시간대는 각 증감율을, 그 외 시간대는 비피크 증감율을 적용
+     * - 피크 타입: 피크, 경피크, 비피크 시간대 중 어디에도 속하지 않으면 UNKNOWN
+     *
+     * @param energyRate 에너지 요금 정보
+     * @param companyType 업체 타입
+     */
+    public EnergyTariff(EnergyRate energyRate, CompanyType companyType) {
+        var baseRate = companyType == CompanyType.FEMS ? energyRate.getIndustrialRate() : energyRate.getCommercialRate();
+        var peakHours = new HashSet<>(energyRate.getPeakHours());
+        var midPeakHours = new HashSet<>(energyRate.getMidPeakHours());
+        var offPeakHours = new HashSet<>(energyRate.getOffPeakHours());
+        for (int hour = 0; hour < 24; hour++) {
+            BigDecimal multiplier;
+            if (peakHours.contains(hour)) {
+                multiplier = energyRate.getPeakMultiplier();
+                peakTypes[hour] = EnergyRatePeakType.PEAK;
+            } else if (midPeakHours.contains(hour)) {
+                multiplier = energyRate.getMidPeakMultiplier();
+                peakTypes[hour] = EnergyRatePeakType.MID_PEAK;
+            } else {
+                multiplier = energyRate.getOffPeakMultiplier();
+                peakTypes[hour] = offPeakHours.contains(hour) ? EnergyRatePeakType.OFF_PEAK : EnergyRatePeakType.UNKNOWN;
+            }
+            rates[hour] = baseRate.multiply(multiplier).setScale(4, RoundingMode.HALF_UP);
+            fixedRates[hour] = EnergyAccumulator.toFixed(rates[hour]);
+        }
+    }
+
+    /**
+     * @param hour 시간 (0~23)
+     * @return 해당 시간에 적용되는 요금
+     */
+    public BigDecimal getRate(int hour) {
+        return rates[hour];
+    }
+
+    /**
+     * @param hour 시간 (0~23)
+     * @return 해당 시간에 적용되는 요금 (소수점 4자리 고정소수점)
+     */
+    long getFixedRate(int hour) {
+        return fixedRates[hour];
+    }
+
+    /**
+     * @param hour 시간 (0~23)
+     * @return 해당 시간의 피크 타입
+     */
+    public EnergyRatePeakType getPeakType(int hour) {
+        return peakTypes[hour];
+    }
+}
@@ -0,0 +1,48 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.repository.EpochHourJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 에너지와 AI 예측 에너지 테이블의 UTC epoch 시간 컬럼(epoch_hour)이 모두 채워졌는지를 나타냅니다.
+ * epoch_hour로 기간을 조회하는 쿼리는 백필이 끝나기 전에는 비어 있는 행을 놓치므로,
+ * 백필이 끝날 때까지는 업체 타임존 기준 시각으로 조회합니다.
+ * - 처음 확인할 때 비어 있는 행이 없으면 완료로 기록합니다.
+ * - 비어 있는 행이 있으면 백필 작업이 모든 업체를 처리한 뒤 완료로 기록합니다.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EpochHourBackfillStatus {
+    private final EpochHourJdbcRepository epochHourJdbcRepository;
+    // 백필 완료 여부 (확인 전이면 null)
+    private volatile Boolean complete;
+
+    /**
+     * epoch_hour가 모두 채워졌는지 확인합니다. 처음 호출할 때 한 번만 데이터베이스에서 확인합니다.
+     *
+     * @return 모두 채워졌으면 true
+     */
+    public boolean isComplete() {
+        var result = complete;
+        if (result == null) {
+            synchronized (this) {
+                if (complete == null) {
+                    complete = !epochHourJdbcRepository.hasMissing();
+                    log.info("Epoch hour backfill is {}.", complete ? "complete" : "pending");
+                }
+                result = complete;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 백필 작업이 모든 업체를 처리했음을 기록합니다.
+     */
+    public void markComplete() {
+        complete = true;
+    }
+}
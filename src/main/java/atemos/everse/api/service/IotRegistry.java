@@ -0,0 +1,99 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.dto.IotDto;
+import atemos.everse.api.repository.IotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 에너지 사용량 수집 시 IoT 장비를 검증하기 위한 장비 식별 정보 캐시입니다.
+ * 수집 요청마다 장비 엔티티를 조회하지 않도록 ID와 시리얼 넘버별 식별 정보를 보관하며,
+ * 캐시에 없는 장비는 한 번의 쿼리로 모아서 조회합니다.
+ * IoT 장비가 등록/수정/삭제되면 전체 캐시를 무효화하고, 다른 노드에서의 변경을 반영하기 위해 일정 시간 후 만료합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class IotRegistry {
+    // 최대 항목 수
+    private static final long MAXIMUM_SIZE = 100_000;
+    // 만료 시간
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private final IotRepository iotRepository;
+
+    // IoT 장비 ID별 식별 정보 (없는 장비는 빈 Optional)
+    private final Cache<Long, Optional<IotDto.RegistryEntry>> byId = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRE_AFTER_WRITE)
+            .build();
+    // 시리얼 넘버별 식별 정보 (없는 장비는 빈 리스트, 시리얼 넘버가 중복되면 여러 개)
+    private final Cache<String, List<IotDto.RegistryEntry>> bySerialNumber = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRE_AFTER_WRITE)
+            .build();
+
+    /**
+     * IoT 장비 ID별 식별 정보를 조회합니다.
+     *
+     * @param ids IoT 장비 ID 목록
+     * @return IoT 장비 ID별 식별 정보 (없는 장비는 빈 Optional)
+     */
+    public Map<Long, Optional<IotDto.RegistryEntry>> findByIds(Collection<Long> ids) {
+        return byId.getAll(ids, missingIds -> {
+            var found = iotRepository.findRegistryEntriesByIdIn(new HashSet<>(missingIds)).stream()
+                    .collect(Collectors.toMap(IotDto.RegistryEntry::getIotId, Function.identity()));
+            var result = new HashMap<Long, Optional<IotDto.RegistryEntry>>();
+            missingIds.forEach(id -> result.put(id, Optional.ofNullable(found.get(id))));
+            return result;
+        });
+    }
+
+    /**
+     * 시리얼 넘버별 식별 정보를 조회합니다.
+     *
+     * @param serialNumbers 시리얼 넘버 목록
+     * @return 시리얼 넘버별 식별 정보 리스트 (없는 장비는 빈 리스트)
+     */
+    public Map<String, List<IotDto.RegistryEntry>> findBySerialNumbers(Collection<String> serialNumbers) {
+        return bySerialNumber.getAll(serialNumbers, missingSerialNumbers -> {
+            var found = iotRepository.findRegistryEntriesBySerialNumberIn(new HashSet<>(missingSerialNumbers)).stream()
+                    .collect(Collectors.groupingBy(IotDto.RegistryEntry::getSerialNumber));
+            var result = new HashMap<String, List<IotDto.RegistryEntry>>();
+            missingSerialNumbers.forEach(serialNumber -> result.put(serialNumber, found.getOrDefault(serialNumber, List.of())));
+            return result;
+        });
+    }
+
+    /**
+     * 전체 캐시를 무효화합니다. IoT 장비가 등록/수정/삭제되었을 때 호출합니다.
+     * 트랜잭션 안에서 호출되면 커밋 전에 다른 요청이 이전 정보를 다시 캐시할 수 있으므로 커밋 후 한 번 더 무효화합니다.
+     */
+    public void invalidateAll() {
+        invalidateAllNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAllNow();
+                }
+            });
+        }
+    }
+
+    /**
+     * 전체 캐시를 즉시 무효화합니다.
+     */
+    private void invalidateAllNow() {
+        byId.invalidateAll();
+        bySerialNumber.invalidateAll();
+    }
+}
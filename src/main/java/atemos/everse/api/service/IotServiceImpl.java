@@ -1,6 +1,7 @@
 package atemos.everse.api.service;
 
 import atemos.everse.api.config.JwtUtil;
+import atemos.everse.api.dto.EnergyDto;
 import atemos.everse.api.dto.IotDto;
 import atemos.everse.api.entity.Iot;
 import atemos.everse.api.repository.CompanyRepository;
@@ -16,7 +17,10 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
  * IotServiceImpl 클래스는 IoT 장치의 생성, 조회, 수정, 삭제 등의 기능을 제공하는 서비스 클래스입니다.
@@ -32,6 +36,9 @@ public class IotServiceImpl implements IotService {
     private final EnergyRepository energyRepository;
     private final IotStatusHistoryRepository iotStatusHistoryRepository;
     private final AuthenticationServiceImpl authenticationService;
+    private final EnergyRollupService energyRollupService;
+    private final IotRegistry iotRegistry;
+    private final EnergyHotWindow energyHotWindow;
     private final JwtUtil jwtUtil;
 
     /**
@@ -58,8 +65,16 @@ public class IotServiceImpl implements IotService {
                 .location(createIotDto.getLocation())
                 .price(createIotDto.getPrice())
                 .build();
+        // 에너지 사용량 수집 간격 설정 (없으면 기본값 60분)
+        Optional.ofNullable(createIotDto.getReadingIntervalMinutes()).ifPresent(readingIntervalMinutes -> {
+            Iot.validateReadingInterval(readingIntervalMinutes);
+            iot.setReadingIntervalMinutes(readingIntervalMinutes);
+        });
         // IoT Insert 및 엔티티 리턴
-        return new IotDto.ReadIotResponse(iotRepository.save(iot), company.getCountry().getZoneId());
+        var savedIot = iotRepository.save(iot);
+        // 에너지 사용량 수집 시 새 장비를 인식하도록 장비 식별 정보 캐시 무효화
+        iotRegistry.invalidateAll();
+        return new IotDto.ReadIotResponse(savedIot, company.getCountry().getZoneId());
     }
 
     /**
@@ -117,8 +132,14 @@ public class IotServiceImpl implements IotService {
         Optional.ofNullable(updateIotDto.getLocation()).ifPresent(iot::setLocation);
         Optional.ofNullable(updateIotDto.getPrice()).ifPresent(iot::setPrice);
         Optional.ofNullable(updateIotDto.getStatus()).ifPresent(iot::setStatus);
-        // IoT 정보 저장
-        return new IotDto.ReadIotResponse(iotRepository.save(iot), iot.getCompany().getCountry().getZoneId());
+        Optional.ofNullable(updateIotDto.getReadingIntervalMinutes()).ifPresent(readingIntervalMinutes -> {
+            Iot.validateReadingInterval(readingIntervalMinutes);
+            iot.setReadingIntervalMinutes(readingIntervalMinutes);
+        });
+        // IoT 정보 저장 후 장비 식별 정보 캐시 무효화
+        var savedIot = iotRepository.save(iot);
+        iotRegistry.invalidateAll();
+        return new IotDto.ReadIotResponse(savedIot, savedIot.getCompany().getCountry().getZoneId());
     }
 
     /**
@@ -135,11 +156,24 @@ public class IotServiceImpl implements IotService {
                 .orElseThrow(() -> new EntityNotFoundException("No such IoT."));
         // 호출하는 사용자가 ADMIN이거나 사용자의 companyId와 삭제하려는 IoT 정보의 companyId가 일치할 때만 실행
         authenticationService.validateCompanyAccess(iot.getCompany().getId());
+        // 삭제되는 IoT 장비의 사용량을 집계 데이터에서 차감 (해당 날짜의 에너지 사용량 캐시도 함께 무효화)
+        // 보관 기간이 지나 시간별 집계가 삭제된 구간은 남아 있는 일별/월별 집계에서만 차감됨
+        var hourlyUsageDelta = energyRepository.sumFacilityUsageByHourAndIotId(iot.getId()).stream()
+                .collect(Collectors.toMap(
+                        EnergyDto.UsageSum::getReferenceTime,
+                        usageSum -> usageSum.getUsage().negate(),
+                        BigDecimal::add,
+                        TreeMap::new));
+        energyRollupService.accumulate(iot.getCompany(), hourlyUsageDelta);
         // 연관된 energy 데이터 삭제
         energyRepository.deleteByIot(iot);
         // IoT와 연관된 IotStatusHistory 데이터를 삭제
         iotStatusHistoryRepository.deleteByIot(iot);
         // IoT 정보 삭제
         iotRepository.delete(iot);
+        // 삭제된 장비의 에너지 사용량이 수집되지 않도록 장비 식별 정보 캐시 무효화
+        iotRegistry.invalidateAll();
+        // 메모리의 최근 사용량에서 삭제된 장비 제거
+        energyHotWindow.removeIot(iot.getCompany().getId(), iot.getId());
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package atemos.everse.api.service;
 
+import atemos.everse.api.domain.IotStatus;
 import atemos.everse.api.dto.IotStatusHistoryDto;
 import atemos.everse.api.entity.IotStatusHistory;
 import atemos.everse.api.repository.CompanyRepository;
@@ -13,10 +14,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -72,6 +74,7 @@ public class IotStatusHistoryServiceImpl implements IotStatusHistoryService {
 
     /**
      * 특정 업체의 특정 기간 내 시간별 IoT 상태 이력 조회 API.
+     * 오늘의 정시마다 그 시각에 유지 중이던 상태 구간을 상태별로 셉니다.
      *
      * @param readIotHistoryRequestDto IoT 현황 조회 조건을 포함하는 데이터 전송 객체입니다.
      * @return 특정 업체의 특정 날짜 범위에 해당하는 IoT 상태 이력 데이터
@@ -85,25 +88,29 @@ public class IotStatusHistoryServiceImpl implements IotStatusHistoryService {
         // 국가 정보에서 타임존 가져오기
         var zoneId = company.getCountry().getZoneId();
         // 조회할 기간의 시작과 끝 시간 계산 (해당 업체의 타임존 고려)
-        var startDateTime = LocalDate.now(zoneId).atStartOfDay().atZone(zoneId).toInstant();
-        var endDateTime = LocalDate.now(zoneId).atTime(23, 59, 59).atZone(zoneId).toInstant();
-        // 특정 기간에 해당하는 IoT 이력 조회 (UTC 기준으로 데이터베이스에서 조회)
-        var iotHistories = iotStatusHistoryRepository.findByIot_Company_IdAndCreatedDateBetween(
+        var startOfDay = LocalDate.now(zoneId).atStartOfDay(zoneId);
+        var startDateTime = startOfDay.toInstant();
+        var endDateTime = LocalDate.now(zoneId).plusDays(1).atStartOfDay(zoneId).toInstant();
+        // 오늘과 겹치는 IoT 상태 구간 조회 (UTC 기준으로 데이터베이스에서 조회)
+        var iotHistories = iotStatusHistoryRepository.findOverlappingByCompanyId(
                 readIotHistoryRequestDto.getCompanyId(), startDateTime, endDateTime);
-        // 시간대별 및 상태별로 데이터 그룹화
-        var groupedByHourAndStatus = iotHistories.stream()
-                .collect(Collectors.groupingBy(
-                        iotHistory -> iotHistory.getCreatedDate().atZone(zoneId).truncatedTo(ChronoUnit.HOURS),
-                        Collectors.groupingBy(IotStatusHistory::getStatus, Collectors.counting())));
-        // IoT 현황 응답 리스트 생성
+        // 오늘의 각 정시(현재 시각까지)에 유지 중이던 구간을 상태별로 집계
+        var now = Instant.now();
         var responseList = new ArrayList<IotStatusHistoryDto.ReadIotHistoryResponse>();
-        for (var hour : groupedByHourAndStatus.keySet()) {
-            var statusMap = groupedByHourAndStatus.get(hour);
-            var hourlyResponse = IotStatusHistoryDto.ReadIotHistoryResponse.builder()
+        for (var hour = startOfDay; hour.toInstant().isBefore(endDateTime) && !hour.toInstant().isAfter(now); hour = hour.plusHours(1)) {
+            var referenceTime = hour.toInstant();
+            var statusMap = iotHistories.stream()
+                    .filter(iotHistory -> !iotHistory.getCreatedDate().isAfter(referenceTime)
+                            && (iotHistory.getEndDate() == null || iotHistory.getEndDate().isAfter(referenceTime)))
+                    .collect(Collectors.groupingBy(IotStatusHistory::getStatus, () -> new EnumMap<>(IotStatus.class), Collectors.counting()));
+            // 상태가 기록된 장비가 없는 시간대는 제외
+            if (statusMap.isEmpty()) {
+                continue;
+            }
+            responseList.add(IotStatusHistoryDto.ReadIotHistoryResponse.builder()
                     .referenceTime(hour.toLocalDateTime())  // 클라이언트의 시간대에 맞게 변환된 시간
                     .iotStatus(statusMap)
-                    .build();
-            responseList.add(hourlyResponse);
+                    .build());
         }
         // 최종 응답 객체 생성 및 반환
         return IotStatusHistoryDto.ReadIotHistoryPageResponse.builder()
@@ -29,6 +29,7 @@ public class StorageServiceImpl implements StorageService {
 
     /**
      * 주어진 업체 ID에 해당하는 데이터베이스 사용량을 조회합니다.
+     * 테이블마다 업체의 행 수에 테이블의 행당 평균 크기(데이터와 인덱스 포함)를 곱해 업체가 차지하는 크기를 계산합니다.
      *
      * @param companyId 조회할 업체의 ID
      * @return 업체의 데이터베이스 사용량 정보가 담긴 StorageResponse 객체
@@ -39,38 +40,40 @@ public class StorageServiceImpl implements StorageService {
         // 주어진 업체 ID에 해당하는 업체가 존재하는지 확인
         var company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No such company."));
-        // 각 테이블의 데이터 사용량을 조회하는 SQL 쿼리 정의
+        // 각 테이블에서 업체의 행 수를 세고, 테이블 크기를 행 수로 나눈 행당 크기를 곱해 업체의 데이터 사용량을 계산하는 SQL 쿼리 정의
+        // (보관 기간이 지나 삭제하거나 집계 데이터로 줄인 만큼 사용량이 줄어듦)
         String query = """
-            SELECT table_name AS 'tableName',
-                   data_length + index_length AS 'sizeInBytes'
-            FROM information_schema.TABLES
-            WHERE table_schema = ?
-            AND table_name IN (
-                SELECT DISTINCT table_name
-                FROM (
-                    SELECT 'alarm' AS table_name FROM alarm WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'energy' AS table_name FROM energy WHERE iot_id IN (SELECT id FROM iot WHERE company_id = ?)
-                    UNION ALL
-                    SELECT 'api_call_log' AS table_name FROM api_call_log WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'ai_forecast_energy' AS table_name FROM ai_forecast_energy WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'anomaly' AS table_name FROM anomaly WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'iot' AS table_name FROM iot WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'iot_status_history' AS table_name FROM iot_status_history WHERE iot_id IN (SELECT id FROM iot WHERE company_id = ?)
-                    UNION ALL
-                    SELECT 'member' AS table_name FROM member WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'metered_usage' AS table_name FROM metered_usage WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'payment' AS table_name FROM payment WHERE company_id = ?
-                    UNION ALL
-                    SELECT 'subscription' AS table_name FROM subscription WHERE company_id = ?
-                ) AS temp
-            )
+            SELECT c.table_name AS 'tableName',
+                   ROUND(c.row_count * (t.data_length + t.index_length) / GREATEST(t.table_rows, c.row_count, 1)) AS 'sizeInBytes'
+            FROM (
+                SELECT 'alarm' AS table_name, COUNT(*) AS row_count FROM alarm WHERE company_id = ?
+                UNION ALL
+                SELECT 'energy' AS table_name, COUNT(*) AS row_count FROM energy WHERE iot_id IN (SELECT id FROM iot WHERE company_id = ?)
+                UNION ALL
+                SELECT 'energy_bucket' AS table_name, COUNT(*) AS row_count FROM energy_bucket WHERE iot_id IN (SELECT id FROM iot WHERE company_id = ?)
+                UNION ALL
+                SELECT 'energy_rollup' AS table_name, COUNT(*) AS row_count FROM energy_rollup WHERE company_id = ?
+                UNION ALL
+                SELECT 'api_call_log' AS table_name, COUNT(*) AS row_count FROM api_call_log WHERE company_id = ?
+                UNION ALL
+                SELECT 'ai_forecast_energy' AS table_name, COUNT(*) AS row_count FROM ai_forecast_energy WHERE company_id = ?
+                UNION ALL
+                SELECT 'anomaly' AS table_name, COUNT(*) AS row_count FROM anomaly WHERE company_id = ?
+                UNION ALL
+                SELECT 'iot' AS table_name, COUNT(*) AS row_count FROM iot WHERE company_id = ?
+                UNION ALL
+                SELECT 'iot_status_history' AS table_name, COUNT(*) AS row_count FROM iot_status_history WHERE iot_id IN (SELECT id FROM iot WHERE company_id = ?)
+                UNION ALL
+                SELECT 'member' AS table_name, COUNT(*) AS row_count FROM member WHERE company_id = ?
+                UNION ALL
+                SELECT 'metered_usage' AS table_name, COUNT(*) AS row_count FROM metered_usage WHERE company_id = ?
+                UNION ALL
+                SELECT 'payment' AS table_name, COUNT(*) AS row_count FROM payment WHERE company_id = ?
+                UNION ALL
+                SELECT 'subscription' AS table_name, COUNT(*) AS row_count FROM subscription WHERE company_id = ?
+            ) AS c
+            JOIN information_schema.TABLES t ON t.table_name = c.table_name AND t.table_schema = ?
+            WHERE c.row_count > 0
             """;
         // 테이블별 데이터 사용량 정보를 담는 리스트를 선언
         var tableStorageUsageList = new ArrayList<StorageDto.TableStorageUsage>();
@@ -78,7 +81,6 @@ public class StorageServiceImpl implements StorageService {
         try {
             jdbcTemplate.query(query,
                     new Object[]{
-                            databaseName,
                             companyId,
                             companyId,
                             companyId,
@@ -89,7 +91,10 @@ public class StorageServiceImpl implements StorageService {
                             companyId,
                             companyId,
                             companyId,
-                            companyId
+                            companyId,
+                            companyId,
+                            companyId,
+                            databaseName
                     },
                     rs -> {
                         var tableStorageUsage = StorageDto.TableStorageUsage.builder()
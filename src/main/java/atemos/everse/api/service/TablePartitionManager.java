@@ -0,0 +1,160 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.PartitionedTable;
+import atemos.everse.api.repository.PartitionJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 시계열 테이블(PartitionedTable)의 월 단위 RANGE 파티션을 관리합니다.
+ * - 테이블을 파티션으로 나누는 스키마 변경(외래 키 삭제, 기본 키 변경)은 애플리케이션에서 실행하지 않습니다.
+ *   점검 시간에 db/partition-time-series-tables.sql 마이그레이션을 실행한 뒤 retention.partition.enabled로 켭니다.
+ * - 앞으로 사용할 월의 파티션을 미리 만들어 두어 새 행이 마지막 파티션(pmax)에 쌓이지 않도록 합니다.
+ * - 보관 기간이 지난 월의 파티션은 행 단위 삭제 없이 한 번에 삭제합니다.
+ * - 파티션으로 삭제할 수 없는 행(보관 기간이 다른 업체, 월 중간까지 지난 행)은 BulkPurger로 나누어 삭제합니다.
+ * 파티션 변경 쿼리는 실행 즉시 커밋되므로, 호출한 쪽의 트랜잭션을 중단하고 별도의 커넥션에서 실행합니다.
+ */
+@Component
+@Slf4j
+public class TablePartitionManager {
+    private final PartitionJdbcRepository partitionJdbcRepository;
+    // 파티션 변경 쿼리를 트랜잭션 밖에서 실행하기 위한 템플릿
+    private final TransactionTemplate nonTransactional;
+    private final BulkPurger bulkPurger;
+    // 파티션 관리 사용 여부
+    private final boolean enabled;
+    // 미리 만들어 둘 파티션의 개월 수
+    private final int monthsAhead;
+
+    public TablePartitionManager(PartitionJdbcRepository partitionJdbcRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 BulkPurger bulkPurger,
+                                 @Value("${retention.partition.enabled:false}") boolean enabled,
+                                 @Value("${retention.partition.months-ahead:3}") int monthsAhead) {
+        this.partitionJdbcRepository = partitionJdbcRepository;
+        this.nonTransactional = new TransactionTemplate(transactionManager);
+        this.nonTransactional.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.bulkPurger = bulkPurger;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(1, monthsAhead);
+    }
+
+    /**
+     * 테이블의 파티션을 점검하고, 앞으로 사용할 월의 파티션을 미리 만듭니다.
+     * 파티션을 관리할 수 없는 경우(설정으로 꺼져 있거나, 마이그레이션으로 파티션을 나누지 않은 테이블인 경우) false를 반환합니다.
+     *
+     * @param table 테이블
+     * @return 테이블이 월별 파티션으로 나뉘어 있으면 true
+     */
+    public boolean maintain(PartitionedTable table) {
+        if (!enabled) {
+            return false;
+        }
+        // 업체 타임존 기준 시각 컬럼은 UTC보다 앞설 수 있으므로 최소 한 달 뒤까지 만듦
+        var lastMonth = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead);
+        try {
+            return Boolean.TRUE.equals(nonTransactional.execute(status -> {
+                var partitionNames = partitionJdbcRepository.findPartitionNames(table);
+                if (partitionNames.isEmpty()) {
+                    log.warn("Table {} is not partitioned. Run db/partition-time-series-tables.sql to partition it.", table.getTableName());
+                    return false;
+                }
+                return createPartitionsAhead(table, partitionNames, lastMonth);
+            }));
+        } catch (DataAccessException e) {
+            log.warn("Failed to maintain partitions of {}. Falling back to row deletes.", table.getTableName(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 상한이 기준 시각 이하인 월 파티션을 삭제합니다. 삭제된 파티션의 모든 행은 기준 시각 이전의 행입니다.
+     *
+     * @param table 테이블 (maintain()으로 파티션을 점검한 테이블)
+     * @param boundary 기준 시각 (UTC 시각 컬럼이면 UTC 기준)
+     * @return 삭제한 파티션 이름 목록
+     */
+    public List<String> dropPartitionsBefore(PartitionedTable table, LocalDateTime boundary) {
+        var expired = new ArrayList<String>();
+        try {
+            nonTransactional.executeWithoutResult(status -> {
+                partitionJdbcRepository.findPartitionNames(table).forEach(partitionName ->
+                        PartitionJdbcRepository.parseMonth(partitionName)
+                                .filter(month -> !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(boundary))
+                                .ifPresent(month -> expired.add(partitionName)));
+                if (!expired.isEmpty()) {
+                    partitionJdbcRepository.dropPartitions(table, expired);
+                }
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to drop partitions {} of {}. Falling back to row deletes.", expired, table.getTableName(), e);
+            return List.of();
+        }
+        return expired;
+    }
+
+    /**
+     * 주어진 업체들의 행 중 기준 시각 이전의 행을 기본 키 범위 단위로 나누어 삭제합니다.
+     *
+     * @param table 테이블
+     * @param companyIds 업체 ID 목록
+     * @param cutoff 기준 시각 (UTC 시각 컬럼이면 UTC 기준)
+     * @return 삭제된 행 수
+     */
+    public long deleteOlderThan(PartitionedTable table, List<Long> companyIds, LocalDateTime cutoff) {
+        if (companyIds.isEmpty()) {
+            return 0;
+        }
+        var args = new ArrayList<Object>(companyIds.size() + 1);
+        args.add(table.isUtc() ? cutoff.toInstant(ZoneOffset.UTC) : cutoff);
+        args.addAll(companyIds);
+        var condition = table.getColumnName() + " < ? AND "
+                + table.getCompanyCondition().formatted(String.join(", ", Collections.nCopies(companyIds.size(), "?")));
+        return bulkPurger.purge(new BulkPurger.Target(table.getTableName(), table.getTableName(), condition, args)).deleted();
+    }
+
+    /**
+     * 마지막 월 파티션 이후부터 lastMonth까지의 파티션을 만듭니다.
+     */
+    private boolean createPartitionsAhead(PartitionedTable table, List<String> partitionNames, YearMonth lastMonth) {
+        var latestMonth = partitionNames.stream()
+                .map(PartitionJdbcRepository::parseMonth)
+                .flatMap(Optional::stream)
+                .max(Comparator.naturalOrder());
+        if (latestMonth.isEmpty()) {
+            log.warn("Table {} is partitioned but has no monthly partitions.", table.getTableName());
+            return false;
+        }
+        if (latestMonth.get().isBefore(lastMonth)) {
+            var months = months(latestMonth.get().plusMonths(1), lastMonth);
+            partitionJdbcRepository.addPartitions(table, months, partitionNames.contains(PartitionJdbcRepository.MAX_PARTITION_NAME));
+            log.info("Added partitions {} to {}.", months, table.getTableName());
+        }
+        return true;
+    }
+
+    /**
+     * 시작 월부터 마지막 월까지의 월 목록을 생성합니다.
+     */
+    private static List<YearMonth> months(YearMonth first, YearMonth last) {
+        var months = new ArrayList<YearMonth>();
+        for (var month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+}
@@ -0,0 +1,242 @@
+package atemos.everse.api.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 시계열 데이터를 압축하여 인코딩/디코딩하는 유틸리티 클래스입니다.
+ * - 시각: 첫 값, 첫 간격, 이후 간격의 변화량(delta-of-delta)을 가변 길이 정수로 저장합니다.
+ *   일정한 간격으로 수집된 시계열은 시각 하나당 1바이트를 사용합니다.
+ * - 값: 고정소수점 정수로 변환한 뒤 이전 값과의 차이를 가변 길이 정수로 저장합니다.
+ * - 상태 코드: 같은 코드가 연속되는 구간을 (코드, 길이) 쌍으로 저장합니다(run-length).
+ * 가변 길이 정수는 7비트씩 나누어 저장하며, 음수는 지그재그 인코딩으로 작은 양수로 바꾸어 저장합니다.
+ */
+public final class TimeSeriesCodec {
+    private TimeSeriesCodec() {
+    }
+
+    /**
+     * 인코딩한 바이트를 모으는 버퍼입니다.
+     */
+    public static final class Encoder {
+        private byte[] bytes = new byte[1024];
+        private int size;
+
+        /**
+         * 부호 없는 가변 길이 정수를 기록합니다.
+         */
+        public Encoder writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+            return this;
+        }
+
+        /**
+         * 부호 있는 가변 길이 정수를 지그재그 인코딩으로 기록합니다.
+         */
+        public Encoder writeSignedVarLong(long value) {
+            return writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * 4바이트 정수를 기록합니다.
+         */
+        public Encoder writeInt(int value) {
+            writeByte(value >>> 24);
+            writeByte(value >>> 16);
+            writeByte(value >>> 8);
+            writeByte(value);
+            return this;
+        }
+
+        /**
+         * 문자열을 길이와 UTF-8 바이트로 기록합니다.
+         */
+        public Encoder writeString(String value) {
+            return writeBytes(value.getBytes(StandardCharsets.UTF_8), true);
+        }
+
+        /**
+         * 바이트 배열을 기록합니다.
+         *
+         * @param value 바이트 배열
+         * @param withLength 길이를 먼저 기록할지 여부
+         */
+        public Encoder writeBytes(byte[] value, boolean withLength) {
+            if (withLength) {
+                writeVarLong(value.length);
+            }
+            for (var b : value) {
+                writeByte(b);
+            }
+            return this;
+        }
+
+        /**
+         * 오름차순 시각 배열을 delta-of-delta로 기록합니다. 개수는 기록하지 않습니다.
+         */
+        public Encoder writeTimestamps(long[] timestamps, int count) {
+            long previous = 0;
+            long previousDelta = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0) {
+                    writeSignedVarLong(timestamps[0]);
+                } else {
+                    var delta = timestamps[i] - previous;
+                    writeSignedVarLong(i == 1 ? delta : delta - previousDelta);
+                    previousDelta = delta;
+                }
+                previous = timestamps[i];
+            }
+            return this;
+        }
+
+        /**
+         * 고정소수점 값 배열을 이전 값과의 차이로 기록합니다. 개수는 기록하지 않습니다.
+         */
+        public Encoder writeValues(long[] values, int count) {
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                writeSignedVarLong(values[i] - previous);
+                previous = values[i];
+            }
+            return this;
+        }
+
+        /**
+         * 상태 코드 배열을 (코드, 길이) 쌍으로 기록합니다. 구간 수를 먼저 기록합니다.
+         */
+        public Encoder writeRuns(int[] codes, int count) {
+            var runs = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || codes[i] != codes[i - 1]) {
+                    runs++;
+                }
+            }
+            writeVarLong(runs);
+            for (int start = 0; start < count; ) {
+                var end = start;
+                while (end < count && codes[end] == codes[start]) {
+                    end++;
+                }
+                writeVarLong(codes[start]).writeVarLong(end - start);
+                start = end;
+            }
+            return this;
+        }
+
+        /**
+         * @return 기록한 바이트 배열
+         */
+        public byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void writeByte(int value) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = (byte) value;
+        }
+    }
+
+    /**
+     * 버퍼(메모리 매핑된 파일 등)에서 인코딩된 값을 읽습니다.
+     */
+    public static final class Decoder {
+        private final ByteBuffer buffer;
+
+        public Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * 부호 없는 가변 길이 정수를 읽습니다.
+         */
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                var b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed variable-length integer.");
+        }
+
+        /**
+         * 지그재그 인코딩된 부호 있는 가변 길이 정수를 읽습니다.
+         */
+        public long readSignedVarLong() {
+            var value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        /**
+         * 4바이트 정수를 읽습니다.
+         */
+        public int readInt() {
+            return buffer.getInt();
+        }
+
+        /**
+         * 길이와 UTF-8 바이트로 기록된 문자열을 읽습니다.
+         */
+        public String readString() {
+            var bytes = new byte[(int) readVarLong()];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * delta-of-delta로 기록된 시각 배열을 읽습니다.
+         */
+        public long[] readTimestamps(int count) {
+            var timestamps = new long[count];
+            long delta = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0) {
+                    timestamps[0] = readSignedVarLong();
+                } else {
+                    delta = (i == 1) ? readSignedVarLong() : delta + readSignedVarLong();
+                    timestamps[i] = timestamps[i - 1] + delta;
+                }
+            }
+            return timestamps;
+        }
+
+        /**
+         * 이전 값과의 차이로 기록된 고정소수점 값 배열을 읽습니다.
+         */
+        public long[] readValues(int count) {
+            var values = new long[count];
+            long previous = 0;
+            for (int i = 0; i < count; i++) {
+                previous += readSignedVarLong();
+                values[i] = previous;
+            }
+            return values;
+        }
+
+        /**
+         * (코드, 길이) 쌍으로 기록된 상태 코드 배열을 읽습니다.
+         */
+        public int[] readRuns(int count) {
+            var codes = new int[count];
+            var runs = readVarLong();
+            var index = 0;
+            for (long run = 0; run < runs; run++) {
+                var code = (int) readVarLong();
+                var length = (int) readVarLong();
+                Arrays.fill(codes, index, index + length, code);
+                index += length;
+            }
+            return codes;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+-- 시계열 테이블을 월 단위 RANGE 파티션으로 변환하는 마이그레이션입니다.
+-- 애플리케이션은 파티션이 없는 테이블의 스키마를 변경하지 않습니다.
+-- 점검 시간에 백업 후 이 스크립트를 실행하고, 이후 retention.partition.enabled=true로 설정하여 파티션 관리(미리 만들기, 보관 기간이 지난 파티션 삭제)를 켭니다.
+-- - MySQL은 외래 키가 있는 테이블을 파티션으로 나눌 수 없으므로 테이블의 외래 키를 삭제합니다.
+-- - 모든 유일 키가 파티션 기준 컬럼을 포함해야 하므로 기본 키를 (id, 파티션 기준 컬럼)으로 변경합니다.
+-- - 가장 이른 행의 월(행이 없으면 이번 달)부터 3개월 뒤까지의 월 파티션(p{연월})과 마지막 파티션(pmax)을 만듭니다.
+-- - 테이블 전체를 복사하므로 행이 많은 테이블은 오래 걸립니다.
+-- 이미 파티션으로 나뉜 테이블과 다른 테이블이 외래 키로 참조하는 테이블은 건너뜁니다.
+
+DROP PROCEDURE IF EXISTS partition_time_series_table;
+
+DELIMITER //
+CREATE PROCEDURE partition_time_series_table(IN p_table VARCHAR(64), IN p_column VARCHAR(64))
+BEGIN
+    DECLARE v_done INT DEFAULT 0;
+    DECLARE v_foreign_key VARCHAR(64);
+    DECLARE v_column_type VARCHAR(64);
+    DECLARE v_month DATE;
+    DECLARE v_last_month DATE;
+    DECLARE v_definitions TEXT DEFAULT '';
+    DECLARE foreign_keys CURSOR FOR
+        SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND CONSTRAINT_TYPE = 'FOREIGN KEY';
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET v_done = 1;
+
+    IF EXISTS(SELECT 1 FROM information_schema.PARTITIONS
+              WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND PARTITION_NAME IS NOT NULL) THEN
+        SELECT CONCAT(p_table, ' is already partitioned.') AS message;
+    ELSEIF EXISTS(SELECT 1 FROM information_schema.REFERENTIAL_CONSTRAINTS
+                  WHERE CONSTRAINT_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME = p_table) THEN
+        SELECT CONCAT(p_table, ' is referenced by a foreign key and cannot be partitioned.') AS message;
+    ELSE
+        -- 외래 키 삭제
+        OPEN foreign_keys;
+        drop_foreign_keys: LOOP
+            FETCH foreign_keys INTO v_foreign_key;
+            IF v_done = 1 THEN
+                LEAVE drop_foreign_keys;
+            END IF;
+            SET @ddl = CONCAT('ALTER TABLE `', p_table, '` DROP FOREIGN KEY `', v_foreign_key, '`');
+            PREPARE stmt FROM @ddl;
+            EXECUTE stmt;
+            DEALLOCATE PREPARE stmt;
+        END LOOP;
+        CLOSE foreign_keys;
+
+        -- 기본 키에 파티션 기준 컬럼 추가
+        SET @ddl = CONCAT('ALTER TABLE `', p_table, '` DROP PRIMARY KEY, ADD PRIMARY KEY (id, `', p_column, '`)');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+
+        -- 가장 이른 행의 월부터 3개월 뒤까지의 월 파티션 정의 (상한은 다음 달 1일 0시)
+        SELECT DATA_TYPE INTO v_column_type FROM information_schema.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND COLUMN_NAME = p_column;
+        SET @minimum_month = NULL;
+        SET @query = CONCAT('SELECT DATE_FORMAT(MIN(`', p_column, '`), ''%Y-%m-01'') INTO @minimum_month FROM `', p_table, '`');
+        PREPARE stmt FROM @query;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SET v_last_month = DATE_FORMAT(UTC_DATE() + INTERVAL 3 MONTH, '%Y-%m-01');
+        SET v_month = LEAST(COALESCE(@minimum_month, DATE_FORMAT(UTC_DATE(), '%Y-%m-01')), DATE_FORMAT(UTC_DATE(), '%Y-%m-01'));
+        WHILE v_month <= v_last_month DO
+            SET v_definitions = CONCAT(v_definitions, 'PARTITION p', DATE_FORMAT(v_month, '%Y%m'), ' VALUES LESS THAN (',
+                    IF(v_column_type = 'timestamp',
+                       TIMESTAMPDIFF(SECOND, '1970-01-01', v_month + INTERVAL 1 MONTH),
+                       CONCAT('''', v_month + INTERVAL 1 MONTH, '''')),
+                    '), ');
+            SET v_month = v_month + INTERVAL 1 MONTH;
+        END WHILE;
+
+        -- 월별 파티션과 마지막 파티션(pmax)으로 나눔 (TIMESTAMP 컬럼은 UNIX_TIMESTAMP()로만 RANGE 파티션을 만들 수 있음)
+        SET @ddl = CONCAT('ALTER TABLE `', p_table, '` PARTITION BY ',
+                IF(v_column_type = 'timestamp',
+                   CONCAT('RANGE (UNIX_TIMESTAMP(`', p_column, '`))'),
+                   CONCAT('RANGE COLUMNS(`', p_column, '`)')),
+                ' (', v_definitions, 'PARTITION pmax VALUES LESS THAN ',
+                IF(v_column_type = 'timestamp', 'MAXVALUE', '(MAXVALUE)'), ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+        SELECT CONCAT(p_table, ' partitioned by month.') AS message;
+    END IF;
+END //
+DELIMITER ;
+
+-- PartitionedTable과 같은 테이블과 파티션 기준 컬럼
+CALL partition_time_series_table('energy', 'reference_time');
+CALL partition_time_series_table('energy_bucket', 'bucket_date');
+CALL partition_time_series_table('iot_status_history', 'created_date');
+CALL partition_time_series_table('api_call_log', 'request_time');
+CALL partition_time_series_table('ai_forecast_energy', 'forecast_time');
+
+DROP PROCEDURE partition_time_series_table;
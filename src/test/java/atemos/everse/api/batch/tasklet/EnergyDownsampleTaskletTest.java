@@ -0,0 +1,174 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import atemos.everse.api.repository.SubscriptionRepository;
+import atemos.everse.api.service.BulkPurger;
+import atemos.everse.api.service.DataRetentionPolicy;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * EnergyDownsampleTasklet이 업체 타임존 기준으로 원본 보관 기간이 지난 날의 시간별 집계와
+ * 일별 보관 기간이 지난 월의 일별 집계만 삭제하고 월별 집계는 남기는지 H2(MySQL 호환 모드)로 확인합니다.
+ * BulkPurger가 묶음마다 커밋하므로 테스트 메서드를 트랜잭션으로 감싸지 않고, 테스트가 끝나면 데이터를 삭제합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BulkPurger.class, EnergyBucketJdbcRepository.class})
+class EnergyDownsampleTaskletTest {
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EnergyRollupRepository energyRollupRepository;
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private BulkPurger bulkPurger;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        var country = countryRepository.save(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone(ZONE_ID.getId())
+                .build());
+        company = companyRepository.save(Company.builder()
+                .country(country)
+                .name("Company")
+                .type(CompanyType.FEMS)
+                .email("company@example.com")
+                .tel("02000000001")
+                .fax("02000000001")
+                .address("Seoul")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (var table : List.of("energy_rollup", "company", "country")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void removesHourlyAndDailyRollupsPastTheirRetention() {
+        // 원본 3개월, 일별 집계 6개월 보관
+        var tasklet = tasklet(3, 6);
+        var localNow = LocalDateTime.now(ZONE_ID);
+        var hourlyCutoff = localNow.minusMonths(3).toLocalDate().atStartOfDay();
+        var dailyCutoff = localNow.minusMonths(6).toLocalDate().withDayOfMonth(1).atStartOfDay();
+        var expiredMonth = dailyCutoff.minusMonths(1);
+        insertRollup(EnergyRollupGranularity.HOURLY, hourlyCutoff.minusHours(1));
+        insertRollup(EnergyRollupGranularity.HOURLY, hourlyCutoff);
+        insertRollup(EnergyRollupGranularity.DAILY, dailyCutoff.minusDays(1));
+        insertRollup(EnergyRollupGranularity.DAILY, dailyCutoff);
+        insertRollup(EnergyRollupGranularity.MONTHLY, expiredMonth);
+
+        var contribution = execute(tasklet);
+
+        assertThat(contribution.getWriteCount()).isEqualTo(2);
+        assertThat(bucketTimes(EnergyRollupGranularity.HOURLY)).containsExactly(hourlyCutoff);
+        assertThat(bucketTimes(EnergyRollupGranularity.DAILY)).containsExactly(dailyCutoff);
+        // 월별 집계는 영구 보관
+        assertThat(bucketTimes(EnergyRollupGranularity.MONTHLY)).containsExactly(expiredMonth);
+    }
+
+    @Test
+    void keepsDailyRollupsAtLeastAsLongAsRawData() {
+        // 일별 집계 보관 기간(1개월)이 원본 보관 기간(6개월)보다 짧으면 원본 보관 기간이 지난 월부터 삭제
+        var tasklet = tasklet(6, 1);
+        var localNow = LocalDateTime.now(ZONE_ID);
+        var dailyCutoff = localNow.minusMonths(6).toLocalDate().withDayOfMonth(1).atStartOfDay();
+        var withinRawRetention = localNow.minusMonths(2).toLocalDate().atStartOfDay();
+        insertRollup(EnergyRollupGranularity.DAILY, dailyCutoff.minusDays(1));
+        insertRollup(EnergyRollupGranularity.DAILY, dailyCutoff);
+        insertRollup(EnergyRollupGranularity.DAILY, withinRawRetention);
+
+        execute(tasklet);
+
+        assertThat(bucketTimes(EnergyRollupGranularity.DAILY)).containsExactly(dailyCutoff, withinRawRetention);
+    }
+
+    @Test
+    void skipsCompaniesWithNothingPastTheCutoff() {
+        var tasklet = tasklet(3, 6);
+        var hourlyCutoff = LocalDateTime.now(ZONE_ID).minusMonths(3).toLocalDate().atStartOfDay();
+        insertRollup(EnergyRollupGranularity.HOURLY, hourlyCutoff.minusDays(1));
+        insertRollup(EnergyRollupGranularity.HOURLY, hourlyCutoff.plusDays(1));
+        assertThat(execute(tasklet).getWriteCount()).isEqualTo(1);
+        clearInvocations(bulkPurger);
+
+        // 가장 이른 집계 시각이 삭제 기준 시각 이후이므로 삭제 쿼리를 실행하지 않음
+        assertThat(execute(tasklet).getWriteCount()).isZero();
+        verify(bulkPurger, never()).purge(any());
+        assertThat(bucketTimes(EnergyRollupGranularity.HOURLY)).containsExactly(hourlyCutoff.plusDays(1));
+    }
+
+    private EnergyDownsampleTasklet tasklet(int rawMonths, int dailyMonths) {
+        return new EnergyDownsampleTasklet(companyRepository, energyRollupRepository,
+                new DataRetentionPolicy(subscriptionRepository, rawMonths, dailyMonths, "", ""), bulkPurger);
+    }
+
+    private StepContribution execute(EnergyDownsampleTasklet tasklet) {
+        var stepExecution = new StepExecution("energyDownsampleStep", new JobExecution(1L));
+        var contribution = new StepContribution(stepExecution);
+        tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+        return contribution;
+    }
+
+    private void insertRollup(EnergyRollupGranularity granularity, LocalDateTime bucketTime) {
+        jdbcTemplate.update("INSERT INTO energy_rollup (company_id, granularity, bucket_time, facility_usage, bill, created_date) "
+                + "VALUES (?, ?, ?, 1, 100, CURRENT_TIMESTAMP)", company.getId(), granularity.name(), bucketTime);
+    }
+
+    private List<LocalDateTime> bucketTimes(EnergyRollupGranularity granularity) {
+        return jdbcTemplate.queryForList("SELECT bucket_time FROM energy_rollup WHERE company_id = ? AND granularity = ? ORDER BY bucket_time",
+                LocalDateTime.class, company.getId(), granularity.name());
+    }
+}
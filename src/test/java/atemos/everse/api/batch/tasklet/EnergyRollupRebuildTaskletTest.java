@@ -0,0 +1,283 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyRateRepository;
+import atemos.everse.api.repository.EnergyRepository;
+import atemos.everse.api.repository.EnergyRollupJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import atemos.everse.api.repository.IotRepository;
+import atemos.everse.api.service.EnergyDemandService;
+import atemos.everse.api.service.EnergyHeatmap;
+import atemos.everse.api.service.EnergyRollupService;
+import atemos.everse.api.service.EnergyRollupServiceImpl;
+import atemos.everse.api.service.EnergyService;
+import atemos.everse.api.service.EnergySummaryCache;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * EnergyRollupRebuildTasklet이 집계 데이터가 비어 있을 때만 업체별로 원본 에너지 데이터의 집계 데이터를 생성하고,
+ * 생성하는 동안 커밋된 에너지 사용량을 두 번 반영하지 않는지 H2(MySQL 호환 모드)로 확인합니다.
+ * 집계 데이터를 다른 스레드에서 동시에 갱신하므로 테스트 메서드를 트랜잭션으로 감싸지 않고, 테스트가 끝나면 데이터를 삭제합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EnergyRollupRebuildTasklet.class, EnergyRollupServiceImpl.class, EnergyRollupJdbcRepository.class,
+        EnergyBucketJdbcRepository.class, EnergySummaryCache.class})
+class EnergyRollupRebuildTaskletTest {
+    private static final LocalDateTime HOUR = LocalDateTime.of(2024, 6, 3, 10, 0);
+
+    @Autowired
+    private EnergyRollupRebuildTasklet energyRollupRebuildTasklet;
+    @Autowired
+    private EnergyRollupService energyRollupService;
+    @Autowired
+    private EnergyRollupRepository energyRollupRepository;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EnergyRateRepository energyRateRepository;
+    @Autowired
+    private IotRepository iotRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @SpyBean
+    private EnergyRepository energyRepository;
+    @MockBean
+    private EnergyService energyService;
+    @MockBean
+    private EnergyDemandService energyDemandService;
+    @MockBean
+    private EnergyHeatmap energyHeatmap;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company companyA;
+    private Company companyB;
+    private Iot iotA;
+    private Iot iotB;
+
+    @BeforeEach
+    void setUp() {
+        // 모든 시간대의 요금 100
+        when(energyService.getRate(any(), any(), anyInt())).thenReturn(new BigDecimal("100.0000"));
+        var country = countryRepository.save(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        energyRateRepository.save(EnergyRate.builder()
+                .country(country)
+                .industrialRate(new BigDecimal("100.0000"))
+                .commercialRate(new BigDecimal("100.0000"))
+                .peakMultiplier(BigDecimal.ONE)
+                .midPeakMultiplier(BigDecimal.ONE)
+                .offPeakMultiplier(BigDecimal.ONE)
+                .build());
+        companyA = companyRepository.save(company(country, "A", "02000000001"));
+        companyB = companyRepository.save(company(country, "B", "02000000002"));
+        // 원본 데이터가 없는 업체는 건너뜀
+        companyRepository.save(company(country, "C", "02000000003"));
+        iotA = iotRepository.save(iot(companyA, "SN-A"));
+        iotB = iotRepository.save(iot(companyB, "SN-B"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (var table : List.of("energy", "energy_rollup", "iot", "energy_rate", "company", "country")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void rebuildsEveryCompanyWhenRollupsAreEmpty() {
+        energyRepository.saveAll(List.of(
+                energy(iotA, HOUR.minusDays(40), "1.0000"),
+                energy(iotA, HOUR, "2.0000"),
+                energy(iotA, HOUR.plusMinutes(15), "0.5000"),
+                energy(iotB, HOUR.plusHours(1), "4.0000")));
+        var stepExecution = new StepExecution("energyRollupRebuildStep", new JobExecution(1L));
+
+        var writeCount = executeUntilFinished(stepExecution);
+
+        // 원본 데이터가 있는 업체 A, B
+        assertThat(writeCount).isEqualTo(2);
+        assertThat(usage(companyA, EnergyRollupGranularity.HOURLY, HOUR.minusDays(40))).isEqualByComparingTo("1.0000");
+        assertThat(usage(companyA, EnergyRollupGranularity.HOURLY, HOUR)).isEqualByComparingTo("2.5000");
+        assertThat(usage(companyA, EnergyRollupGranularity.MONTHLY, HOUR.minusDays(40).toLocalDate().withDayOfMonth(1).atStartOfDay()))
+                .isEqualByComparingTo("1.0000");
+        assertThat(usage(companyA, EnergyRollupGranularity.MONTHLY, HOUR.toLocalDate().withDayOfMonth(1).atStartOfDay()))
+                .isEqualByComparingTo("2.5000");
+        assertThat(usage(companyB, EnergyRollupGranularity.DAILY, HOUR.toLocalDate().atStartOfDay())).isEqualByComparingTo("4.0000");
+    }
+
+    @Test
+    void skipsWhenRollupsAlreadyExist() {
+        energyRepository.saveAll(List.of(energy(iotA, HOUR, "2.0000"), energy(iotB, HOUR, "4.0000")));
+        accumulate(companyA, HOUR, "1.0000");
+        var stepExecution = new StepExecution("energyRollupRebuildStep", new JobExecution(1L));
+
+        var writeCount = executeUntilFinished(stepExecution);
+
+        assertThat(writeCount).isZero();
+        assertThat(usage(companyA, EnergyRollupGranularity.HOURLY, HOUR)).isEqualByComparingTo("1.0000");
+        assertThat(energyRollupRepository.findAll()).allSatisfy(rollup -> assertThat(rollup.getCompany().getId()).isEqualTo(companyA.getId()));
+    }
+
+    @Test
+    void doesNotDoubleCountReadingsCommittedDuringRebuild() throws InterruptedException {
+        energyRepository.save(energy(iotA, HOUR, "1.0000"));
+        var stepExecution = new StepExecution("energyRollupRebuildStep", new JobExecution(1L));
+        // 집계 데이터가 비어 있으므로 생성 필요
+        assertThat(execute(stepExecution)).isEqualTo(RepeatStatus.CONTINUABLE);
+        // 다른 요청이 같은 시간대의 사용량을 저장하고 집계 데이터에 반영한 뒤, 커밋하기 전에 대기
+        var ingested = new CountDownLatch(1);
+        var commit = new CountDownLatch(1);
+        var ingestion = Thread.ofVirtual().start(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            energyRepository.save(energy(iotA, HOUR.plusMinutes(15), "2.0000"));
+            energyRollupService.accumulate(companyRepository.findById(companyA.getId()).orElseThrow(), Map.of(HOUR, new BigDecimal("2.0000")));
+            ingested.countDown();
+            await(commit);
+        }));
+        assertThat(ingested.await(10, TimeUnit.SECONDS)).isTrue();
+        // 집계 데이터를 다시 생성하는 도중 (기존 집계 데이터를 읽은 뒤, 원본 데이터를 읽기 전에) 다른 요청이 커밋
+        var realMethod = mockingDetails(energyRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            if (commit.getCount() > 0) {
+                commit.countDown();
+                ingestion.join();
+            }
+            return realMethod.answer(invocation);
+        }).when(energyRepository).sumFacilityUsageByHour(any(), any(), any(), any());
+
+        executeUntilFinished(stepExecution);
+
+        ingestion.join();
+        assertThat(usage(companyA, EnergyRollupGranularity.HOURLY, HOUR)).isEqualByComparingTo("3.0000");
+        assertThat(usage(companyA, EnergyRollupGranularity.DAILY, HOUR.toLocalDate().atStartOfDay())).isEqualByComparingTo("3.0000");
+        assertThat(usage(companyA, EnergyRollupGranularity.MONTHLY, HOUR.toLocalDate().withDayOfMonth(1).atStartOfDay()))
+                .isEqualByComparingTo("3.0000");
+    }
+
+    private RepeatStatus execute(StepExecution stepExecution) {
+        return energyRollupRebuildTasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution)));
+    }
+
+    /**
+     * Step처럼 Tasklet을 끝날 때까지 반복 실행하고, 집계 데이터를 생성한 업체 수를 반환합니다.
+     */
+    private long executeUntilFinished(StepExecution stepExecution) {
+        long writeCount = 0;
+        RepeatStatus status;
+        do {
+            var contribution = new StepContribution(stepExecution);
+            status = energyRollupRebuildTasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+            writeCount += contribution.getWriteCount();
+        } while (status == RepeatStatus.CONTINUABLE);
+        return writeCount;
+    }
+
+    private void accumulate(Company company, LocalDateTime hour, String usage) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                energyRollupService.accumulate(companyRepository.findById(company.getId()).orElseThrow(),
+                        new TreeMap<>(Map.of(hour, new BigDecimal(usage)))));
+    }
+
+    private BigDecimal usage(Company company, EnergyRollupGranularity granularity, LocalDateTime bucketTime) {
+        return jdbcTemplate.queryForObject("SELECT facility_usage FROM energy_rollup WHERE company_id = ? AND granularity = ? AND bucket_time = ?",
+                BigDecimal.class, company.getId(), granularity.name(), bucketTime).setScale(4, RoundingMode.HALF_UP);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Company company(Country country, String name, String tel) {
+        return Company.builder()
+                .country(country)
+                .name("Company " + name)
+                .type(CompanyType.FEMS)
+                .email("company" + name + "@example.com")
+                .tel(tel)
+                .fax(tel)
+                .address("Seoul")
+                .build();
+    }
+
+    private static Iot iot(Company company, String serialNumber) {
+        return Iot.builder()
+                .company(company)
+                .serialNumber(serialNumber)
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .readingIntervalMinutes(15)
+                .build();
+    }
+
+    private static Energy energy(Iot iot, LocalDateTime referenceTime, String facilityUsage) {
+        return Energy.builder()
+                .iot(iot)
+                .referenceTime(referenceTime)
+                .facilityUsage(new BigDecimal(facilityUsage))
+                .epochHour(Energy.toEpochHour(referenceTime, iot.getCompany().getCountry().getZoneId()))
+                .build();
+    }
+}
@@ -0,0 +1,275 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.batch.partition.CompanyRangePartitioner;
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.IotRepository;
+import atemos.everse.api.service.EnergyIngestionService;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CompanyRangePartitioner가 업체를 나누지 않고 장비 수가 비슷한 업체 ID 범위로 나누며,
+ * EnergyUsageTasklet이 범위 내 장비만 ID 순으로 한 묶음씩 수집하고 진행 위치를 실행 컨텍스트에 저장하는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import(EnergyBucketJdbcRepository.class)
+class EnergyUsageTaskletTest {
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+    // 작업 시작 시각 (서울 기준 2024-06-01 10:07:30)
+    private static final long TIME = LocalDateTime.of(2024, 6, 1, 10, 7, 30).atZone(SEOUL).toInstant().toEpochMilli();
+
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private IotRepository iotRepository;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private final EnergyIngestionService energyIngestionService = mock(EnergyIngestionService.class);
+    // upsert()에 전달된 에너지 데이터 (호출 순)
+    private final List<List<EnergyDto.ReadingRow>> upserts = new ArrayList<>();
+
+    private Company first;
+    private Company second;
+    private Company third;
+    private Company empty;
+    private Company india;
+    private Iot quarterHourlyIot;
+    private Iot errorIot;
+
+    @BeforeEach
+    void setUp() {
+        when(energyIngestionService.upsert(anyList())).thenAnswer(invocation -> {
+            List<EnergyDto.ReadingRow> rows = invocation.getArgument(0);
+            upserts.add(List.copyOf(rows));
+            return EnergyDto.IngestResponse.builder()
+                    .received(rows.size())
+                    .inserted(rows.size())
+                    .rejected(List.of())
+                    .build();
+        });
+        var korea = countryRepository.save(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone(SEOUL.getId())
+                .build());
+        var indiaCountry = countryRepository.save(Country.builder()
+                .name("India")
+                .languageCode("hi")
+                .timeZone(KOLKATA.getId())
+                .build());
+        // 업체 ID 순으로 장비 3, 2, 2, 0, 1대
+        first = companyRepository.save(company(korea, "First", "02000000001"));
+        second = companyRepository.save(company(korea, "Second", "02000000002"));
+        third = companyRepository.save(company(korea, "Third", "02000000003"));
+        empty = companyRepository.save(company(korea, "Empty", "02000000004"));
+        india = companyRepository.save(company(indiaCountry, "India", "02000000005"));
+        iot(first, IotStatus.NORMAL, 60);
+        quarterHourlyIot = iot(first, IotStatus.NORMAL, 15);
+        iot(first, IotStatus.NORMAL, 60);
+        iot(second, IotStatus.NORMAL, 60);
+        errorIot = iot(second, IotStatus.ERROR, 60);
+        iot(third, IotStatus.NORMAL, 60);
+        iot(third, IotStatus.NORMAL, 60);
+        iot(india, IotStatus.NORMAL, 60);
+    }
+
+    @Test
+    void partitionsByDeviceCountWithoutSplittingCompanies() {
+        var partitioner = new CompanyRangePartitioner(iotRepository);
+
+        // 범위마다 목표 장비 수(8 / 2 = 4)를 채우면 닫고, 마지막 범위는 남은 업체를 모두 포함
+        var partitions = partitioner.partition(2);
+        assertThat(partitions).containsOnlyKeys("partition0", "partition1");
+        assertRange(partitions.get("partition0"), first, second);
+        assertRange(partitions.get("partition1"), third, india);
+
+        // 범위 수가 업체 수보다 많아도 한 업체를 여러 범위로 나누지 않고, 장비가 없는 업체는 범위의 경계가 되지 않음
+        partitions = partitioner.partition(10);
+        assertThat(partitions).hasSize(4);
+        assertRange(partitions.get("partition0"), first, first);
+        assertRange(partitions.get("partition1"), second, second);
+        assertRange(partitions.get("partition2"), third, third);
+        assertRange(partitions.get("partition3"), india, india);
+        assertThat(empty.getId()).isBetween(third.getId(), india.getId());
+
+        // 장비가 없으면 빈 범위 하나
+        iotRepository.deleteAll();
+        partitions = partitioner.partition(2);
+        assertThat(partitions).containsOnlyKeys("partition0");
+        assertThat(partitions.get("partition0").getLong(CompanyRangePartitioner.MIN_COMPANY_ID))
+                .isGreaterThan(partitions.get("partition0").getLong(CompanyRangePartitioner.MAX_COMPANY_ID));
+    }
+
+    @Test
+    void collectsDevicesOfRangeOneChunkAtATime() {
+        var tasklet = tasklet(first, second, 2);
+        var executionContext = new ExecutionContext();
+        var statuses = new ArrayList<RepeatStatus>();
+        var writeCount = 0L;
+        RepeatStatus status;
+        do {
+            var stepExecution = stepExecution(executionContext);
+            var contribution = new StepContribution(stepExecution);
+            status = tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+            statuses.add(status);
+            writeCount += contribution.getWriteCount();
+        } while (status == RepeatStatus.CONTINUABLE && statuses.size() < 10);
+
+        // 범위 내 장비 5대를 2대씩 나누어 수집하고, 마지막으로 처리한 장비 ID를 저장
+        assertThat(statuses).containsExactly(RepeatStatus.CONTINUABLE, RepeatStatus.CONTINUABLE, RepeatStatus.FINISHED);
+        assertThat(upserts).hasSize(3);
+        var rowsByIotId = upserts.stream().flatMap(List::stream)
+                .collect(Collectors.groupingBy(EnergyDto.ReadingRow::getIotId));
+        var rangeIotIds = iotRepository.findAll().stream()
+                .filter(iot -> iot.getCompany().getId() <= second.getId())
+                .map(Iot::getId)
+                .toList();
+        assertThat(rowsByIotId).containsOnlyKeys(rangeIotIds);
+        assertThat(executionContext.getLong("lastIotId")).isEqualTo(rangeIotIds.getLast());
+        // 15분 간격 장비는 4건, 나머지 장비는 1건 (4 + 4 = 8건)
+        assertThat(writeCount).isEqualTo(8);
+
+        // 지난 1시간(서울 기준 09:07부터)을 수집 간격별로 나누어 같은 시간대 키로 저장
+        assertThat(rowsByIotId.get(quarterHourlyIot.getId())).extracting(EnergyDto.ReadingRow::getReferenceTime)
+                .containsExactly(LocalDateTime.of(2024, 6, 1, 9, 0), LocalDateTime.of(2024, 6, 1, 9, 15),
+                        LocalDateTime.of(2024, 6, 1, 9, 30), LocalDateTime.of(2024, 6, 1, 9, 45));
+        var epochHour = Energy.toEpochHour(LocalDateTime.of(2024, 6, 1, 9, 0), SEOUL);
+        assertThat(upserts.stream().flatMap(List::stream)).allSatisfy(row -> assertThat(row.getEpochHour()).isEqualTo(epochHour));
+
+        // ERROR 장비는 0, NORMAL 장비는 업체의 NORMAL 장비 수로 나눈 사용량(935 / 3, 935 / 1)의 ±20%
+        assertThat(rowsByIotId.get(errorIot.getId())).singleElement()
+                .satisfies(row -> assertThat(row.getFacilityUsage()).isEqualByComparingTo("0"));
+        var usageByIotId = rowsByIotId.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+                entry -> entry.getValue().stream().map(EnergyDto.ReadingRow::getFacilityUsage).reduce(BigDecimal.ZERO, BigDecimal::add)));
+        rowsByIotId.forEach((iotId, rows) -> {
+            if (iotId.equals(errorIot.getId())) {
+                return;
+            }
+            var expected = rows.getFirst().getCompanyId().equals(first.getId()) ? 935.0 / 3 : 935.0;
+            assertThat(usageByIotId.get(iotId).doubleValue()).isBetween(expected * 0.8 - 0.0001, expected * 1.2 + 0.0001);
+        });
+
+        // 모두 처리한 뒤 다시 실행하면 저장하지 않고 종료
+        assertThat(execute(tasklet, stepExecution(executionContext))).isEqualTo(RepeatStatus.FINISHED);
+        assertThat(upserts).hasSize(3);
+    }
+
+    @Test
+    void usesTimeZoneOfEachCompany() {
+        var tasklet = tasklet(third, india, 1000);
+
+        assertThat(execute(tasklet, stepExecution(new ExecutionContext()))).isEqualTo(RepeatStatus.FINISHED);
+
+        // 서울 10:07은 콜카타 06:37이므로 지난 1시간은 콜카타 기준 05시 시간대
+        var rows = upserts.getFirst();
+        assertThat(rows).hasSize(3);
+        assertThat(rows).filteredOn(row -> row.getCompanyId().equals(india.getId())).singleElement().satisfies(row -> {
+            assertThat(row.getReferenceTime()).isEqualTo(LocalDateTime.of(2024, 6, 1, 5, 0));
+            assertThat(row.getEpochHour()).isEqualTo(Energy.toEpochHour(LocalDateTime.of(2024, 6, 1, 5, 0), KOLKATA));
+        });
+        assertThat(rows).filteredOn(row -> row.getCompanyId().equals(third.getId()))
+                .extracting(EnergyDto.ReadingRow::getReferenceTime)
+                .containsOnly(LocalDateTime.of(2024, 6, 1, 9, 0));
+    }
+
+    @Test
+    void finishesWithoutSavingWhenRangeHasNoDevices() {
+        var tasklet = tasklet(empty, empty, 1000);
+
+        assertThat(execute(tasklet, stepExecution(new ExecutionContext()))).isEqualTo(RepeatStatus.FINISHED);
+        verify(energyIngestionService, never()).upsert(anyList());
+    }
+
+    private EnergyUsageTasklet tasklet(Company minCompany, Company maxCompany, int chunkSize) {
+        var tasklet = new EnergyUsageTasklet(iotRepository, energyIngestionService);
+        ReflectionTestUtils.setField(tasklet, "activeProfile", "test");
+        ReflectionTestUtils.setField(tasklet, "chunkSize", chunkSize);
+        ReflectionTestUtils.setField(tasklet, "minCompanyId", minCompany.getId());
+        ReflectionTestUtils.setField(tasklet, "maxCompanyId", maxCompany.getId());
+        ReflectionTestUtils.setField(tasklet, "time", TIME);
+        return tasklet;
+    }
+
+    private static StepExecution stepExecution(ExecutionContext executionContext) {
+        var stepExecution = new StepExecution("energyUsageStep", new JobExecution(1L));
+        stepExecution.setExecutionContext(executionContext);
+        return stepExecution;
+    }
+
+    private static RepeatStatus execute(EnergyUsageTasklet tasklet, StepExecution stepExecution) {
+        return tasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution)));
+    }
+
+    private static void assertRange(ExecutionContext executionContext, Company minCompany, Company maxCompany) {
+        assertThat(executionContext.getLong(CompanyRangePartitioner.MIN_COMPANY_ID)).isEqualTo(minCompany.getId());
+        assertThat(executionContext.getLong(CompanyRangePartitioner.MAX_COMPANY_ID)).isEqualTo(maxCompany.getId());
+    }
+
+    private Iot iot(Company company, IotStatus status, int readingIntervalMinutes) {
+        return iotRepository.save(Iot.builder()
+                .company(company)
+                .serialNumber("SN-" + company.getName() + "-" + iotRepository.count())
+                .status(status)
+                .type(IotType.MOTOR)
+                .readingIntervalMinutes(readingIntervalMinutes)
+                .build());
+    }
+
+    private static Company company(Country country, String name, String tel) {
+        return Company.builder()
+                .country(country)
+                .name(name)
+                .type(CompanyType.FEMS)
+                .email(name.toLowerCase() + "@example.com")
+                .tel(tel)
+                .fax(tel)
+                .address("Seoul")
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EpochHourJdbcRepository;
+import atemos.everse.api.repository.IotRepository;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * UTC epoch 시간 키가 서머타임과 정각 단위가 아닌 타임존에서도 업체 타임존 기준 시간대마다 하나씩 정해지고,
+ * EpochHourBackfillTasklet이 컬럼 추가 이전에 저장된 에너지와 AI 예측 에너지 행을 업체별로 한 달씩 나누어
+ * 저장 경로와 같은 키로 채운 뒤 완료를 기록하는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import({EpochHourJdbcRepository.class, EnergyBucketJdbcRepository.class})
+class EpochHourBackfillTaskletTest {
+    // 2024-11-03 01시(현지)는 서머타임 종료로 두 번 반복되는 시간대
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private IotRepository iotRepository;
+    @Autowired
+    private EpochHourJdbcRepository epochHourJdbcRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company company;
+    private Iot iot;
+
+    @BeforeEach
+    void setUp() {
+        var country = countryRepository.save(Country.builder()
+                .name("United States")
+                .languageCode("en")
+                .timeZone(NEW_YORK.getId())
+                .build());
+        company = companyRepository.save(company(country, "Company", "02000000001"));
+        // 행이 없는 업체는 건너뜀
+        companyRepository.save(company(country, "Empty Company", "02000000002"));
+        iot = iotRepository.save(Iot.builder()
+                .company(company)
+                .serialNumber("SN-0001")
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .build());
+    }
+
+    @Test
+    void assignsOneKeyPerLocalHour() {
+        // 정각 단위 오프셋: 시간대의 시작 시각이 UTC 정각
+        var seoulHour = LocalDateTime.of(2024, 6, 1, 9, 0);
+        var seoul = ZoneId.of("Asia/Seoul");
+        assertThat(Energy.toEpochHour(seoulHour.plusMinutes(45), seoul)).isEqualTo(Energy.toEpochHour(seoulHour, seoul));
+        assertThat(Energy.fromEpochHour(Energy.toEpochHour(seoulHour, seoul), seoul)).isEqualTo(seoulHour);
+        // 30분 단위 오프셋(+05:30): 9시 시간대 안의 UTC 정각(9:30 현지)을 키로 사용하고, 이웃한 시간대와 키가 겹치지 않음
+        var kolkata = ZoneId.of("Asia/Kolkata");
+        var kolkataHour = LocalDateTime.of(2024, 6, 1, 9, 0);
+        assertThat(Energy.toEpochHour(kolkataHour, kolkata) * 3600L)
+                .isEqualTo(kolkataHour.plusMinutes(30).atZone(kolkata).toEpochSecond());
+        assertThat(Energy.toEpochHour(kolkataHour.plusHours(1), kolkata)).isEqualTo(Energy.toEpochHour(kolkataHour, kolkata) + 1);
+        assertThat(Energy.fromEpochHour(Energy.toEpochHour(kolkataHour, kolkata), kolkata)).isEqualTo(kolkataHour);
+        // 서머타임 종료로 반복되는 01시는 앞선 오프셋 기준의 키 하나로 합쳐지고, 02시는 두 시간 뒤의 키
+        var repeatedHour = LocalDateTime.of(2024, 11, 3, 1, 0);
+        var key = Energy.toEpochHour(repeatedHour, NEW_YORK);
+        assertThat(key * 3600L).isEqualTo(repeatedHour.atZone(NEW_YORK).withEarlierOffsetAtOverlap().toEpochSecond());
+        assertThat(Energy.toEpochHour(repeatedHour.plusHours(1), NEW_YORK)).isEqualTo(key + 2);
+        // 뒤의 오프셋 기준 키는 만들어지지 않지만, 변환하면 같은 01시
+        assertThat(Energy.fromEpochHour(key + 1, NEW_YORK)).isEqualTo(repeatedHour);
+        // 서머타임 시작으로 건너뛰는 02시는 03시의 키로 합쳐짐
+        var skippedHour = LocalDateTime.of(2024, 3, 10, 2, 0);
+        assertThat(Energy.toEpochHour(skippedHour.plusMinutes(30), NEW_YORK)).isEqualTo(Energy.toEpochHour(skippedHour.plusHours(1), NEW_YORK));
+        assertThat(Energy.toEpochHour(skippedHour.plusHours(1), NEW_YORK)).isEqualTo(Energy.toEpochHour(skippedHour.minusHours(1), NEW_YORK) + 1);
+    }
+
+    @Test
+    void backfillsMissingKeysOneCompanyMonthAtATime() {
+        var october = LocalDateTime.of(2024, 10, 31, 23, 0);
+        var repeatedHour = LocalDateTime.of(2024, 11, 3, 1, 30);
+        var november = LocalDateTime.of(2024, 11, 30, 12, 0);
+        for (var referenceTime : new LocalDateTime[]{october, repeatedHour, november}) {
+            insertEnergy(referenceTime);
+            insertForecast(referenceTime);
+        }
+        var tasklet = new EpochHourBackfillTasklet(companyRepository, epochHourJdbcRepository, epochHourBackfillStatus);
+        var executionContext = new ExecutionContext();
+        assertThat(epochHourJdbcRepository.hasMissing()).isTrue();
+
+        // 10월을 채운 뒤 중단되어도, 실행 컨텍스트의 진행 위치로 11월부터 이어서 실행
+        assertThat(execute(tasklet, executionContext)).isEqualTo(RepeatStatus.CONTINUABLE);
+        assertThat(epochHour("energy", "reference_time", october)).isEqualTo(Energy.toEpochHour(october, NEW_YORK));
+        assertThat(epochHour("energy", "reference_time", november)).isNull();
+        var resumedContext = new ExecutionContext(executionContext);
+        var statuses = new ArrayList<RepeatStatus>();
+        RepeatStatus status;
+        do {
+            status = execute(tasklet, resumedContext);
+            statuses.add(status);
+        } while (status == RepeatStatus.CONTINUABLE && statuses.size() < 10);
+
+        // 11월, 행이 없는 업체, 완료 순서로 실행
+        assertThat(statuses).containsExactly(RepeatStatus.CONTINUABLE, RepeatStatus.CONTINUABLE, RepeatStatus.FINISHED);
+        assertThat(epochHourJdbcRepository.hasMissing()).isFalse();
+        for (var referenceTime : new LocalDateTime[]{october, repeatedHour, november}) {
+            assertThat(epochHour("energy", "reference_time", referenceTime)).isEqualTo(Energy.toEpochHour(referenceTime, NEW_YORK));
+            assertThat(epochHour("ai_forecast_energy", "forecast_time", referenceTime)).isEqualTo(Energy.toEpochHour(referenceTime, NEW_YORK));
+        }
+        verify(epochHourBackfillStatus).markComplete();
+    }
+
+    private RepeatStatus execute(EpochHourBackfillTasklet tasklet, ExecutionContext executionContext) {
+        var stepExecution = new StepExecution("epochHourBackfillStep", new JobExecution(1L));
+        stepExecution.setExecutionContext(executionContext);
+        return tasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution)));
+    }
+
+    private void insertEnergy(LocalDateTime referenceTime) {
+        jdbcTemplate.update("INSERT INTO energy (iot_id, reference_time, facility_usage, created_date) VALUES (?, ?, ?, ?)",
+                iot.getId(), Timestamp.valueOf(referenceTime), BigDecimal.ONE, Timestamp.from(Instant.now()));
+    }
+
+    private void insertForecast(LocalDateTime forecastTime) {
+        jdbcTemplate.update("INSERT INTO ai_forecast_energy (company_id, forecast_time, forecast_usage, created_date) VALUES (?, ?, ?, ?)",
+                company.getId(), Timestamp.valueOf(forecastTime), BigDecimal.ONE, Timestamp.from(Instant.now()));
+    }
+
+    private Integer epochHour(String table, String column, LocalDateTime time) {
+        return jdbcTemplate.queryForObject("SELECT epoch_hour FROM " + table + " WHERE " + column + " = ?",
+                Integer.class, Timestamp.valueOf(time));
+    }
+
+    private static Company company(Country country, String name, String tel) {
+        return Company.builder()
+                .country(country)
+                .name(name)
+                .type(CompanyType.FEMS)
+                .email(name.replace(" ", "").toLowerCase() + "@example.com")
+                .tel(tel)
+                .fax(tel)
+                .address("New York")
+                .build();
+    }
+}
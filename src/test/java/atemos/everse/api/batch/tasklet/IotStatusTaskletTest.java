@@ -0,0 +1,255 @@
+package atemos.everse.api.batch.tasklet;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.dto.IotStatusHistoryDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.entity.IotStatusHistory;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.IotRepository;
+import atemos.everse.api.repository.IotStatusHistoryRepository;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import atemos.everse.api.service.IotStatusHistoryService;
+import atemos.everse.api.service.IotStatusHistoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * IotStatusTasklet이 상태가 바뀐 장비만 변경하고 상태 구간을 새로 기록하며, 지난달에 시작된 구간을 이번 달 시작 일시에서 나누고,
+ * 조회 API가 구간으로 시간별 상태 수와 설치 장비 수를 계산하는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import({IotStatusHistoryServiceImpl.class, EnergyBucketJdbcRepository.class})
+class IotStatusTaskletTest {
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private IotRepository iotRepository;
+    @Autowired
+    private IotStatusHistoryRepository iotStatusHistoryRepository;
+    @Autowired
+    private IotStatusHistoryService iotStatusHistoryService;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    // 장비 ID 순으로 수집할 상태
+    private final Queue<IotStatus> collectedStatuses = new ArrayDeque<>();
+
+    private Company company;
+    private Iot first;
+    private Iot second;
+    private Iot third;
+
+    @BeforeEach
+    void setUp() {
+        var country = countryRepository.save(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone(SEOUL.getId())
+                .build());
+        company = companyRepository.save(Company.builder()
+                .country(country)
+                .name("Company")
+                .type(CompanyType.FEMS)
+                .email("company@example.com")
+                .tel("02000000001")
+                .fax("02000000001")
+                .address("Seoul")
+                .build());
+        first = iot("SN-0001");
+        second = iot("SN-0002");
+        third = iot("SN-0003");
+    }
+
+    @Test
+    void recordsOnlyStatusTransitions() {
+        var tasklet = tasklet();
+
+        // 처음 실행하면 모든 장비의 구간을 열고, 상태가 바뀐 장비만 변경
+        assertThat(execute(tasklet, IotStatus.NORMAL, IotStatus.NORMAL, IotStatus.ERROR)).isEqualTo(1);
+        assertThat(statuses()).containsExactly(IotStatus.NORMAL, IotStatus.NORMAL, IotStatus.ERROR);
+        assertThat(intervals()).hasSize(3).allSatisfy(interval -> assertThat(interval.getEndDate()).isNull());
+
+        // 상태가 그대로이면 장비와 구간을 저장하지 않음
+        assertThat(execute(tasklet, IotStatus.NORMAL, IotStatus.NORMAL, IotStatus.ERROR)).isZero();
+        assertThat(intervals()).hasSize(3);
+
+        // 상태가 바뀐 장비만 기존 구간을 닫고 새 구간을 추가
+        assertThat(execute(tasklet, IotStatus.NORMAL, IotStatus.ERROR, IotStatus.NORMAL)).isEqualTo(2);
+        assertThat(statuses()).containsExactly(IotStatus.NORMAL, IotStatus.ERROR, IotStatus.NORMAL);
+        var intervals = intervals();
+        assertThat(intervals).hasSize(5);
+        assertThat(intervals).filteredOn(interval -> interval.getEndDate() == null)
+                .extracting(interval -> interval.getIot().getId(), IotStatusHistory::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), IotStatus.NORMAL),
+                        tuple(second.getId(), IotStatus.ERROR),
+                        tuple(third.getId(), IotStatus.NORMAL));
+        assertThat(intervals).filteredOn(interval -> interval.getEndDate() != null)
+                .extracting(interval -> interval.getIot().getId(), IotStatusHistory::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(second.getId(), IotStatus.NORMAL),
+                        tuple(third.getId(), IotStatus.ERROR));
+    }
+
+    @Test
+    void splitsIntervalsOpenAcrossTheMonthStart() {
+        var monthStart = ZonedDateTime.now(ZoneOffset.UTC).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS).toInstant();
+        var lastMonth = monthStart.minus(3, ChronoUnit.DAYS);
+        for (var iot : List.of(first, second, third)) {
+            interval(iot, IotStatus.NORMAL, lastMonth, null);
+        }
+
+        assertThat(execute(tasklet(), IotStatus.NORMAL, IotStatus.NORMAL, IotStatus.NORMAL)).isZero();
+
+        // 지난달 구간은 이번 달 시작 일시에 닫고, 같은 상태의 구간을 이번 달 시작 일시부터 다시 열며, 상태가 그대로이므로 더 추가하지 않음
+        var intervals = intervals();
+        assertThat(intervals).hasSize(6);
+        assertThat(intervals).filteredOn(interval -> interval.getCreatedDate().equals(lastMonth))
+                .hasSize(3).allSatisfy(interval -> assertThat(interval.getEndDate()).isEqualTo(monthStart));
+        assertThat(intervals).filteredOn(interval -> interval.getCreatedDate().equals(monthStart))
+                .hasSize(3).allSatisfy(interval -> {
+                    assertThat(interval.getEndDate()).isNull();
+                    assertThat(interval.getStatus()).isEqualTo(IotStatus.NORMAL);
+                });
+    }
+
+    @Test
+    void countsStatusesAndInstallationsFromIntervals() {
+        var today = LocalDate.now(SEOUL);
+        var startOfDay = today.atStartOfDay(SEOUL).toInstant();
+        var yesterday = startOfDay.minus(1, ChronoUnit.DAYS);
+        // 어제부터 유지 중인 NORMAL, 어제 끝난 ERROR, 어제 중에만 있었던 장비
+        interval(first, IotStatus.NORMAL, yesterday, null);
+        interval(second, IotStatus.ERROR, yesterday, startOfDay);
+        interval(third, IotStatus.ERROR, yesterday.plus(1, ChronoUnit.HOURS), yesterday.plus(2, ChronoUnit.HOURS));
+
+        // 오늘의 정시마다 그 시각에 유지 중이던 구간만 셈
+        var response = iotStatusHistoryService.readByCompanyId(IotStatusHistoryDto.ReadIotHistoryRequest.builder()
+                .companyId(company.getId())
+                .build());
+        var hours = ChronoUnit.HOURS.between(startOfDay, Instant.now()) + 1;
+        assertThat(response.getIotHistoryList()).hasSize((int) hours).allSatisfy(hourly ->
+                assertThat(hourly.getIotStatus()).isEqualTo(Map.of(IotStatus.NORMAL, 1L)));
+        assertThat(response.getIotHistoryList().getFirst().getReferenceTime()).isEqualTo(today.atStartOfDay());
+
+        // 기간과 겹치는 구간이 있는 장비를 셈 (구간의 끝은 포함하지 않음)
+        var endOfToday = today.atTime(23, 59, 59).atZone(SEOUL).toInstant();
+        assertThat(iotStatusHistoryRepository.countIotInstallationsByCompanyAndDateRange(company.getId(), startOfDay, endOfToday))
+                .isEqualTo(1);
+        assertThat(iotStatusHistoryRepository.countIotInstallationsByCompanyAndDateRange(company.getId(), yesterday, startOfDay.minusSeconds(1)))
+                .isEqualTo(3);
+    }
+
+    private IotStatusTasklet tasklet() {
+        // 이전 방식의 행을 닫는 쿼리는 H2가 지원하지 않는 MySQL UPDATE ... JOIN 구문이므로, 남은 행이 없는 경우로 대체
+        var historyRepository = mock(IotStatusHistoryRepository.class, delegatesTo(iotStatusHistoryRepository));
+        doReturn(0).when(historyRepository).closeLegacySamples();
+        var tasklet = new IotStatusTasklet(iotRepository, historyRepository);
+        ReflectionTestUtils.setField(tasklet, "activeProfile", "test");
+        // 상태 수집 결과를 정해 둔 순서로 반환 (NORMAL은 0.9 미만, ERROR는 0.9 이상)
+        ReflectionTestUtils.setField(tasklet, "randomGenerator", new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public double nextDouble() {
+                return collectedStatuses.remove() == IotStatus.NORMAL ? 0.0 : 0.95;
+            }
+        });
+        return tasklet;
+    }
+
+    /**
+     * 장비 ID 순으로 주어진 상태를 수집하도록 하고 Tasklet을 실행합니다.
+     *
+     * @return 상태가 바뀐 장비 수
+     */
+    private long execute(IotStatusTasklet tasklet, IotStatus... statuses) {
+        collectedStatuses.addAll(List.of(statuses));
+        var stepExecution = new StepExecution("iotStatusStep", new JobExecution(1L));
+        var contribution = new StepContribution(stepExecution);
+        tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+        assertThat(collectedStatuses).isEmpty();
+        // 벌크 UPDATE 결과를 다시 조회
+        testEntityManager.flush();
+        testEntityManager.clear();
+        return contribution.getWriteCount();
+    }
+
+    private List<IotStatus> statuses() {
+        return iotRepository.findAll().stream()
+                .sorted(Comparator.comparing(Iot::getId))
+                .map(Iot::getStatus)
+                .toList();
+    }
+
+    private List<IotStatusHistory> intervals() {
+        return iotStatusHistoryRepository.findAll();
+    }
+
+    private void interval(Iot iot, IotStatus status, Instant createdDate, Instant endDate) {
+        iotStatusHistoryRepository.save(IotStatusHistory.builder()
+                .iot(iot)
+                .status(status)
+                .createdDate(createdDate)
+                .endDate(endDate)
+                .build());
+    }
+
+    private Iot iot(String serialNumber) {
+        return iotRepository.save(Iot.builder()
+                .company(company)
+                .serialNumber(serialNumber)
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .build());
+    }
+}
@@ -0,0 +1,168 @@
+package atemos.everse.api.config;
+
+import atemos.everse.api.domain.MemberRole;
+import atemos.everse.api.entity.Member;
+import atemos.everse.api.repository.BlacklistedTokenRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.MemberRepository;
+import atemos.everse.api.service.AuthenticationServiceImpl;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import atemos.everse.api.service.MemberService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JwtRequestFilter가 스냅샷에 저장한 회원 캐시를 암호화된 이메일로 다시 조회하여,
+ * 요청을 처리할 때와 같은 키(encryptUtil.encrypt(username))로 복원하는지 H2(MySQL 호환 모드)로 확인합니다.
+ * 블랙리스트 캐시는 블랙리스트에 있는 토큰의 해시만 복원하고, 만료 시간이 지난 항목은 복원하지 않는지도 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import(EnergyBucketJdbcRepository.class)
+class JwtRequestFilterSnapshotTest {
+    private static final String USERNAME = "member@example.com";
+    private static final String TOKEN = "valid-token";
+    private static final String REVOKED_TOKEN = "revoked-token";
+    private static final String UNKNOWN_TOKEN = "unknown-token";
+
+    // 테스트용 AES-256 키
+    private final EncryptUtil encryptUtil = new EncryptUtil(Base64.getEncoder().encodeToString(new byte[32]));
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+
+    @Autowired
+    private MemberRepository memberRepository;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        // 회원 이메일은 암호화하여 저장
+        member = memberRepository.save(Member.builder()
+                .name("Member")
+                .email(encryptUtil.encrypt(USERNAME))
+                .phone("01000000001")
+                .password("password")
+                .role(MemberRole.USER)
+                .build());
+        for (var token : new String[]{TOKEN, REVOKED_TOKEN, UNKNOWN_TOKEN}) {
+            when(jwtUtil.validateToken(token, false)).thenReturn(!token.equals(REVOKED_TOKEN));
+            when(jwtUtil.extractUsername(token)).thenReturn(USERNAME);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void restoresMemberCacheUnderTheKeysUsedByRequests() throws Exception {
+        var memberService = mock(MemberService.class);
+        when(memberService.loadMemberByEmail(USERNAME)).thenReturn(member);
+        var blacklistedTokenRepository = blacklistedTokenRepository();
+        var filter = filter(memberService, blacklistedTokenRepository);
+        filter(filter, TOKEN);
+        filter(filter, REVOKED_TOKEN);
+        filter(filter, UNKNOWN_TOKEN);
+        verify(memberService).loadMemberByEmail(USERNAME);
+
+        var snapshot = snapshot(filter);
+        var restoredMemberService = mock(MemberService.class);
+        var restoredBlacklistedTokenRepository = blacklistedTokenRepository();
+        var restored = filter(restoredMemberService, restoredBlacklistedTokenRepository);
+        restored.restoreSnapshot(ByteBuffer.wrap(snapshot).asReadOnlyBuffer(), Instant.now(), true);
+
+        // 복원한 회원 캐시에서 조회하므로 회원 정보를 다시 조회하지 않고 인증
+        var response = filter(restored, TOKEN);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(USERNAME);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting(Object::toString).containsExactly("ROLE_USER");
+        verify(restoredMemberService, never()).loadMemberByEmail(anyString());
+        // 블랙리스트에 있던 토큰은 복원한 캐시로 거부하고, 블랙리스트에 없던 토큰은 다시 확인
+        assertThat(filter(restored, REVOKED_TOKEN).getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+        verify(restoredBlacklistedTokenRepository, never()).existsByToken(REVOKED_TOKEN);
+        filter(restored, UNKNOWN_TOKEN);
+        verify(restoredBlacklistedTokenRepository).existsByToken(UNKNOWN_TOKEN);
+    }
+
+    @Test
+    void skipsEntriesThatWouldHaveExpired() throws Exception {
+        var memberService = mock(MemberService.class);
+        when(memberService.loadMemberByEmail(USERNAME)).thenReturn(member);
+        var filter = filter(memberService, blacklistedTokenRepository());
+        filter(filter, TOKEN);
+        filter(filter, REVOKED_TOKEN);
+        var snapshot = snapshot(filter);
+
+        // 캐시 만료 시간(10분)보다 오래전에 저장한 스냅샷의 항목은 복원하지 않음
+        var restoredMemberService = mock(MemberService.class);
+        when(restoredMemberService.loadMemberByEmail(USERNAME)).thenReturn(member);
+        var restoredBlacklistedTokenRepository = blacklistedTokenRepository();
+        var restored = filter(restoredMemberService, restoredBlacklistedTokenRepository);
+        restored.restoreSnapshot(ByteBuffer.wrap(snapshot).asReadOnlyBuffer(), Instant.now().minus(Duration.ofMinutes(11)), true);
+
+        filter(restored, TOKEN);
+        verify(restoredMemberService).loadMemberByEmail(USERNAME);
+        filter(restored, REVOKED_TOKEN);
+        verify(restoredBlacklistedTokenRepository).existsByToken(REVOKED_TOKEN);
+    }
+
+    private JwtRequestFilter filter(MemberService memberService, BlacklistedTokenRepository blacklistedTokenRepository) {
+        return new JwtRequestFilter(jwtUtil, blacklistedTokenRepository, memberService,
+                mock(AuthenticationServiceImpl.class), encryptUtil, memberRepository);
+    }
+
+    private static BlacklistedTokenRepository blacklistedTokenRepository() {
+        var blacklistedTokenRepository = mock(BlacklistedTokenRepository.class);
+        when(blacklistedTokenRepository.existsByToken(REVOKED_TOKEN)).thenReturn(true);
+        return blacklistedTokenRepository;
+    }
+
+    /**
+     * 토큰을 담은 요청을 필터로 처리합니다.
+     */
+    private MockHttpServletResponse filter(JwtRequestFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        var request = new MockHttpServletRequest("GET", "/atemos/energy");
+        when(jwtUtil.extractTokenFromRequest(request)).thenReturn(token);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static byte[] snapshot(JwtRequestFilter filter) throws Exception {
+        var contents = new ByteArrayOutputStream();
+        filter.writeSnapshot(new DataOutputStream(contents), true);
+        return contents.toByteArray();
+    }
+}
@@ -0,0 +1,201 @@
+package atemos.everse.api.dto;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 달치 에너지 사용량 응답을 기본(행) 형식과 컬럼 형식으로 직렬화하여 크기와 직렬화 시간을 비교합니다.
+ */
+class EnergyColumnarResponseTest {
+    // 응답과 같은 설정(JavaTimeModule, 날짜를 ISO-8601 문자열로 직렬화)의 ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .featuresToEnable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .build();
+
+    // 시간별 응답의 지표 이름과 값 추출 함수 (ColumnarResponse의 컬럼 순서와 같음)
+    private static final LinkedHashMap<String, Function<EnergyDto.HourlyResponse, BigDecimal>> HOURLY_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        HOURLY_COLUMNS.put("usage", EnergyDto.HourlyResponse::getUsage);
+        HOURLY_COLUMNS.put("forecastUsage", EnergyDto.HourlyResponse::getForecastUsage);
+        HOURLY_COLUMNS.put("actualAndForecastUsageDifference", EnergyDto.HourlyResponse::getActualAndForecastUsageDifference);
+        HOURLY_COLUMNS.put("bill", EnergyDto.HourlyResponse::getBill);
+        HOURLY_COLUMNS.put("forecastBill", EnergyDto.HourlyResponse::getForecastBill);
+        HOURLY_COLUMNS.put("actualAndForecastBillDifference", EnergyDto.HourlyResponse::getActualAndForecastBillDifference);
+        HOURLY_COLUMNS.put("deviationRate", EnergyDto.HourlyResponse::getDeviationRate);
+        HOURLY_COLUMNS.put("forecastAccuracy", EnergyDto.HourlyResponse::getForecastAccuracy);
+    }
+
+    // 직렬화 시간 측정 전 실행 횟수와 측정 횟수
+    private static final int WARM_UP_RUNS = 500;
+    private static final int MEASURED_RUNS = 200;
+
+    @Test
+    void columnarResponseRoundTripsAndIsSmaller() throws Exception {
+        var month = LocalDate.of(2024, 6, 1);
+        var summaryResponse = oneMonth(month, new Random(42));
+        var hours = summaryResponse.getMonthlyResponse().get("2024-06").getDailyResponse().values().stream()
+                .flatMap(day -> day.getHourlyResponse().stream())
+                .toList();
+
+        var rowJson = objectMapper.writeValueAsBytes(summaryResponse);
+        var columnarJson = objectMapper.writeValueAsBytes(new EnergyDto.ColumnarResponse(summaryResponse));
+
+        // 컬럼 형식의 시간별 데이터를 시작 시각, 간격, 지표별 값 배열로부터 다시 행으로 복원
+        var hourly = objectMapper.readTree(columnarJson).get("hourly");
+        assertThat(hourly.get("size").asInt()).isEqualTo(30 * 24);
+        assertThat(hourly.has("time")).isFalse();
+        var start = LocalDateTime.parse(hourly.get("start").asText());
+        var step = Duration.parse(hourly.get("step").asText());
+        var restored = new ArrayList<EnergyDto.HourlyResponse>();
+        for (int i = 0; i < hourly.get("size").asInt(); i++) {
+            var values = hourly.get("values");
+            restored.add(new EnergyDto.HourlyResponse(start.plus(step.multipliedBy(i)),
+                    decimal(values, "usage", i),
+                    decimal(values, "forecastUsage", i),
+                    decimal(values, "actualAndForecastUsageDifference", i),
+                    decimal(values, "bill", i),
+                    decimal(values, "forecastBill", i),
+                    decimal(values, "actualAndForecastBillDifference", i),
+                    decimal(values, "deviationRate", i),
+                    decimal(values, "forecastAccuracy", i)));
+        }
+        assertThat(restored).hasSameSizeAs(hours);
+        for (int i = 0; i < hours.size(); i++) {
+            assertThat(restored.get(i).getReferenceTime()).isEqualTo(hours.get(i).getReferenceTime());
+            for (var column : HOURLY_COLUMNS.entrySet()) {
+                var expected = column.getValue().apply(hours.get(i));
+                var actual = assertThat(column.getValue().apply(restored.get(i)))
+                        .as("%s at %s", column.getKey(), hours.get(i).getReferenceTime());
+                if (expected == null) {
+                    actual.isNull();
+                } else {
+                    actual.isEqualByComparingTo(expected);
+                }
+            }
+        }
+        // 일별 데이터도 빠짐없이 하루 간격으로 전달
+        var daily = objectMapper.readTree(columnarJson).get("daily");
+        assertThat(LocalDate.parse(daily.get("start").asText())).isEqualTo(month);
+        assertThat(daily.get("step").asText()).isEqualTo("P1D");
+        assertThat(daily.get("values").get("usage")).hasSize(30);
+
+        assertThat(columnarJson.length).isLessThan(rowJson.length);
+    }
+
+    @Test
+    void columnarResponseSerializesFaster() throws Exception {
+        var summaryResponse = oneMonth(LocalDate.of(2024, 6, 1), new Random(42));
+
+        // 컬럼 형식은 행 형식 응답을 변환하는 시간까지 포함하여 측정
+        var row = measure("row", () -> objectMapper.writeValueAsBytes(summaryResponse));
+        var columnar = measure("columnar", () -> objectMapper.writeValueAsBytes(new EnergyDto.ColumnarResponse(summaryResponse)));
+
+        assertThat(columnar.bytes()).isLessThan(row.bytes());
+        assertThat(columnar.medianMicros()).isLessThan(row.medianMicros());
+    }
+
+    /**
+     * 응답을 여러 번 직렬화하고 직렬화 시간의 중앙값과 응답 크기를 출력합니다.
+     */
+    private static Serialization measure(String name, Serializer serializer) throws Exception {
+        byte[] json = null;
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            json = serializer.serialize();
+        }
+        var micros = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            var startedAt = System.nanoTime();
+            json = serializer.serialize();
+            micros[i] = (System.nanoTime() - startedAt) / 1_000;
+        }
+        Arrays.sort(micros);
+        var median = micros[MEASURED_RUNS / 2];
+        System.out.printf("%s format: %,d bytes, median %,d us (min %,d, max %,d)%n",
+                name, json.length, median, micros[0], micros[MEASURED_RUNS - 1]);
+        return new Serialization(json.length, median);
+    }
+
+    @FunctionalInterface
+    private interface Serializer {
+        byte[] serialize() throws Exception;
+    }
+
+    private record Serialization(int bytes, long medianMicros) {
+    }
+
+    /**
+     * 값 배열의 i번째 값을 BigDecimal로 읽습니다. null은 null로 반환합니다.
+     */
+    private static BigDecimal decimal(JsonNode values, String name, int index) {
+        var node = values.get(name).get(index);
+        return node.isNull() ? null : node.decimalValue();
+    }
+
+    /**
+     * 한 달치 무작위 시간별 사용량으로 기본 형식의 전체 응답을 생성합니다.
+     * 예측 사용량이 없는 시간대는 편차율과 예측 정확도가 null입니다.
+     */
+    private static EnergyDto.SummaryResponse oneMonth(LocalDate month, Random random) {
+        var dailyResponse = new LinkedHashMap<String, EnergyDto.DailyResponse>();
+        for (var date = month; date.getMonth() == month.getMonth(); date = date.plusDays(1)) {
+            var hourlyResponse = new ArrayList<EnergyDto.HourlyResponse>(24);
+            for (int hour = 0; hour < 24; hour++) {
+                var usage = BigDecimal.valueOf(random.nextInt(10_000_000), 4);
+                var hasForecast = random.nextInt(5) != 0;
+                var forecastUsage = hasForecast ? BigDecimal.valueOf(random.nextInt(10_000_000), 4) : BigDecimal.ZERO.setScale(4);
+                var rate = BigDecimal.valueOf(80_000 + random.nextInt(120_000), 4);
+                var bill = usage.multiply(rate).setScale(4, RoundingMode.HALF_UP);
+                var forecastBill = forecastUsage.multiply(rate).setScale(4, RoundingMode.HALF_UP);
+                hourlyResponse.add(new EnergyDto.HourlyResponse(date.atTime(hour, 0), usage, forecastUsage,
+                        usage.subtract(forecastUsage), bill, forecastBill, bill.subtract(forecastBill),
+                        hasForecast ? BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 4) : null,
+                        hasForecast ? BigDecimal.valueOf(random.nextInt(1_000_000), 4) : null));
+            }
+            dailyResponse.put(date.toString(), EnergyDto.DailyResponse.builder()
+                    .referenceDate(date)
+                    .dailyUsage(sum(hourlyResponse, EnergyDto.HourlyResponse::getUsage))
+                    .dailyForecastUsage(sum(hourlyResponse, EnergyDto.HourlyResponse::getForecastUsage))
+                    .dailyBill(sum(hourlyResponse, EnergyDto.HourlyResponse::getBill))
+                    .dailyForecastBill(sum(hourlyResponse, EnergyDto.HourlyResponse::getForecastBill))
+                    .hourlyResponse(hourlyResponse)
+                    .build());
+        }
+        var monthlyResponse = EnergyDto.MonthlyResponse.builder()
+                .referenceMonth(month)
+                .monthlyUsage(dailyResponse.values().stream().map(EnergyDto.DailyResponse::getDailyUsage).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .monthlyBill(dailyResponse.values().stream().map(EnergyDto.DailyResponse::getDailyBill).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .dailyResponse(dailyResponse)
+                .build();
+        var monthly = new LinkedHashMap<String, EnergyDto.MonthlyResponse>();
+        monthly.put("2024-06", monthlyResponse);
+        return EnergyDto.SummaryResponse.builder()
+                .summaryUsage(monthlyResponse.getMonthlyUsage())
+                .summaryBill(monthlyResponse.getMonthlyBill())
+                .monthlyResponse(monthly)
+                .build();
+    }
+
+    private static BigDecimal sum(List<EnergyDto.HourlyResponse> hours, Function<EnergyDto.HourlyResponse, BigDecimal> extractor) {
+        return hours.stream().map(extractor).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
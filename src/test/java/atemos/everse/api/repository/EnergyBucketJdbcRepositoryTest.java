@@ -0,0 +1,158 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyConflictPolicy;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EnergyBucketJdbcRepository가 IoT 장비의 하루치 사용량을 한 행에 묶어 저장하고,
+ * 더 작은 간격의 사용량이 들어오면 칸을 나누어 기존 사용량을 유지하며, 저장한 사용량을 기간에 맞게 다시 읽는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import(EnergyBucketJdbcRepository.class)
+class EnergyBucketJdbcRepositoryTest {
+    // 에너지 버킷 테이블은 IoT 장비 외래 키가 없으므로 IoT 장비를 저장하지 않음
+    private static final long IOT_ID = 7L;
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private EnergyBucketJdbcRepository energyBucketJdbcRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    @Test
+    void packsOneDeviceDayIntoOneRow() {
+        var rows = new ArrayList<EnergyDto.ReadingRow>();
+        for (int hour = 0; hour < 24; hour++) {
+            rows.add(reading(IOT_ID, DATE.atTime(hour, 0), hour + ".1250"));
+        }
+        // 다음 날 사용량은 별도의 행에 저장
+        rows.add(reading(IOT_ID, DATE.plusDays(1).atStartOfDay(), "9.0000"));
+
+        energyBucketJdbcRepository.upsertAll(rows, EnergyConflictPolicy.REPLACE);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM energy_bucket", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT slot_minutes FROM energy_bucket WHERE bucket_date = ?", Integer.class, DATE))
+                .isEqualTo(60);
+        // 한 시간 칸 24개를 8바이트씩 저장
+        assertThat(jdbcTemplate.queryForObject("SELECT usages FROM energy_bucket WHERE bucket_date = ?", byte[].class, DATE))
+                .hasSize(24 * Long.BYTES);
+        var readings = read(List.of(IOT_ID), DATE.atStartOfDay(), DATE.plusDays(1).atStartOfDay());
+        assertThat(readings).hasSize(25);
+        assertThat(readings.get(10)).isEqualTo(new Reading(IOT_ID, DATE.atTime(10, 0), 101_250));
+        assertThat(readings.getLast()).isEqualTo(new Reading(IOT_ID, DATE.plusDays(1).atStartOfDay(), 90_000));
+    }
+
+    @Test
+    void splitsSlotsWhenSubHourlyReadingsArrive() {
+        energyBucketJdbcRepository.upsertAll(List.of(
+                reading(IOT_ID, DATE.atTime(9, 0), "1.0000"),
+                reading(IOT_ID, DATE.atTime(10, 0), "2.0000")), EnergyConflictPolicy.REPLACE);
+
+        energyBucketJdbcRepository.upsertAll(List.of(reading(IOT_ID, DATE.atTime(9, 15), "0.5000")), EnergyConflictPolicy.REPLACE);
+
+        // 15분 칸 96개로 나누어도 한 행이며, 기존 정시 사용량은 같은 시각에 유지
+        assertThat(jdbcTemplate.queryForObject("SELECT slot_minutes FROM energy_bucket", Integer.class)).isEqualTo(15);
+        assertThat(jdbcTemplate.queryForObject("SELECT usages FROM energy_bucket", byte[].class)).hasSize(96 * Long.BYTES);
+        assertThat(read(List.of(IOT_ID), DATE.atStartOfDay(), DATE.atTime(23, 59))).containsExactly(
+                new Reading(IOT_ID, DATE.atTime(9, 0), 10_000),
+                new Reading(IOT_ID, DATE.atTime(9, 15), 5_000),
+                new Reading(IOT_ID, DATE.atTime(10, 0), 20_000));
+        // 저장하지 않은 시각은 조회 결과에 포함하지 않음
+        var usage = energyBucketJdbcRepository.findUsageForUpdate(List.of(
+                new EnergyJdbcRepository.Key(IOT_ID, DATE.atTime(9, 15)),
+                new EnergyJdbcRepository.Key(IOT_ID, DATE.atTime(9, 30)),
+                new EnergyJdbcRepository.Key(IOT_ID, DATE.plusDays(1).atTime(9, 0))));
+        assertThat(usage).containsOnlyKeys(new EnergyJdbcRepository.Key(IOT_ID, DATE.atTime(9, 15)));
+        assertThat(usage.values()).first().isEqualTo(new BigDecimal("0.5000"));
+    }
+
+    @Test
+    void appliesConflictPolicyPerSlot() {
+        var referenceTime = DATE.atTime(9, 0);
+        energyBucketJdbcRepository.upsertAll(List.of(reading(IOT_ID, referenceTime, "1.0000")), EnergyConflictPolicy.REPLACE);
+
+        energyBucketJdbcRepository.upsertAll(List.of(reading(IOT_ID, referenceTime, "2.0000")), EnergyConflictPolicy.KEEP_FIRST);
+        assertThat(usageAt(referenceTime)).isEqualTo(10_000);
+        energyBucketJdbcRepository.upsertAll(List.of(reading(IOT_ID, referenceTime, "2.5000")), EnergyConflictPolicy.SUM);
+        assertThat(usageAt(referenceTime)).isEqualTo(35_000);
+        energyBucketJdbcRepository.upsertAll(List.of(reading(IOT_ID, referenceTime, "0.1234")), EnergyConflictPolicy.REPLACE);
+        assertThat(usageAt(referenceTime)).isEqualTo(1_234);
+    }
+
+    @Test
+    void readsOnlyReadingsWithinRange() {
+        var otherIotId = IOT_ID + 1;
+        energyBucketJdbcRepository.upsertAll(List.of(
+                reading(IOT_ID, DATE.atTime(8, 0), "1.0000"),
+                reading(IOT_ID, DATE.atTime(12, 0), "2.0000"),
+                reading(IOT_ID, DATE.plusDays(1).atTime(8, 0), "3.0000"),
+                reading(otherIotId, DATE.atTime(12, 0), "4.0000")), EnergyConflictPolicy.REPLACE);
+
+        // 기간과 겹치는 버킷을 읽되, 기간 밖의 칸은 제외
+        assertThat(read(List.of(IOT_ID), DATE.atTime(9, 0), DATE.plusDays(1).atTime(8, 0))).containsExactly(
+                new Reading(IOT_ID, DATE.atTime(12, 0), 20_000),
+                new Reading(IOT_ID, DATE.plusDays(1).atTime(8, 0), 30_000));
+        assertThat(read(List.of(IOT_ID, otherIotId), DATE.atTime(12, 0), DATE.atTime(12, 0))).containsExactly(
+                new Reading(IOT_ID, DATE.atTime(12, 0), 20_000),
+                new Reading(otherIotId, DATE.atTime(12, 0), 40_000));
+        assertThat(read(List.of(), DATE.atStartOfDay(), DATE.plusDays(2).atStartOfDay())).isEmpty();
+    }
+
+    @Test
+    void refusesToTreatLiveTableAsBenchmarkTable() {
+        assertThatThrownBy(() -> energyBucketJdbcRepository.dropBenchmarkTable(EnergyBucketJdbcRepository.TABLE_NAME))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> energyBucketJdbcRepository.copyFromEnergy(EnergyBucketJdbcRepository.TABLE_NAME, 1L,
+                DATE.atStartOfDay(), DATE.plusDays(1).atStartOfDay()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void packRoundTripsAbsentAndNegativeSlots() {
+        var slots = new long[]{Long.MIN_VALUE, -12_345, 0, Long.MAX_VALUE};
+
+        assertThat(EnergyBucketJdbcRepository.unpack(EnergyBucketJdbcRepository.pack(slots))).containsExactly(slots);
+    }
+
+    private List<Reading> read(List<Long> iotIds, LocalDateTime start, LocalDateTime end) {
+        var readings = new ArrayList<Reading>();
+        energyBucketJdbcRepository.streamByIotIds(iotIds, start, end,
+                (iotId, referenceTime, usage) -> readings.add(new Reading(iotId, referenceTime, usage)));
+        return readings;
+    }
+
+    private long usageAt(LocalDateTime referenceTime) {
+        return read(List.of(IOT_ID), referenceTime, referenceTime).getFirst().usage();
+    }
+
+    private static EnergyDto.ReadingRow reading(long iotId, LocalDateTime referenceTime, String facilityUsage) {
+        return new EnergyDto.ReadingRow(iotId, 1L, referenceTime, new BigDecimal(facilityUsage), null);
+    }
+
+    /**
+     * 버킷에서 읽은 에너지 사용량입니다.
+     */
+    private record Reading(long iotId, LocalDateTime referenceTime, long usage) {}
+}
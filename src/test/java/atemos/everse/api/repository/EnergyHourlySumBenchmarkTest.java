@@ -0,0 +1,181 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 3개월, IoT 장비 500대의 에너지 사용량을 H2(MySQL 호환 모드)에 저장하고,
+ * 시간대별 사용량을 SQL 프로젝션으로 합산하는 조회와 엔티티를 불러와 합산하는 조회의 실행 시간과 할당량을 비교합니다.
+ * 약 110만 행을 저장하므로 ENERGY_BENCHMARK=true 환경 변수가 있을 때만 실행합니다.
+ * H2는 데이터가 바뀌지 않으면 같은 쿼리의 이전 결과를 재사용하므로 별도의 DB에서 결과 재사용을 끄고 측정합니다.
+ * H2는 같은 프로세스에서 실행되므로 할당량에는 H2가 행을 읽으며 할당한 양도 포함됩니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties", properties =
+        "spring.datasource.url=jdbc:h2:mem:everse-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;OPTIMIZE_REUSE_RESULTS=FALSE")
+@Import(EnergyBucketJdbcRepository.class)
+@EnabledIfEnvironmentVariable(named = "ENERGY_BENCHMARK", matches = "true")
+class EnergyHourlySumBenchmarkTest {
+    // 조회 기간 (3개월, 시작과 종료 모두 포함)
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 5, 31, 23, 59, 59);
+    // IoT 장비 수
+    private static final int DEVICES = 500;
+    // 측정 전 실행 횟수와 측정 횟수
+    private static final int WARM_UP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EnergyRepository energyRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    @Test
+    void comparesSqlProjectionWithEntityMaterialization() {
+        var country = testEntityManager.persist(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        var company = testEntityManager.persist(Company.builder()
+                .country(country)
+                .name("Company")
+                .type(CompanyType.FEMS)
+                .email("company@example.com")
+                .tel("02000000001")
+                .fax("02000000001")
+                .address("Seoul")
+                .build());
+        var iotList = new ArrayList<Iot>();
+        for (int i = 0; i < DEVICES; i++) {
+            iotList.add(testEntityManager.persist(Iot.builder()
+                    .company(company)
+                    .serialNumber("SN-" + i)
+                    .status(IotStatus.NORMAL)
+                    .type(IotType.MOTOR)
+                    .readingIntervalMinutes(60)
+                    .build()));
+        }
+        testEntityManager.flush();
+        var rows = insertHourlyReadings(iotList, country.getZoneId());
+        testEntityManager.clear();
+        var zoneId = company.getCountry().getZoneId();
+
+        Supplier<Map<LocalDateTime, BigDecimal>> entityPath = () -> {
+            var sums = new TreeMap<LocalDateTime, BigDecimal>();
+            energyRepository.findByIotInAndReferenceTimeBetween(iotList, START, END)
+                    .forEach(energy -> sums.merge(energy.getReferenceTime().truncatedTo(ChronoUnit.HOURS), energy.getFacilityUsage(), BigDecimal::add));
+            return sums;
+        };
+        Supplier<Map<LocalDateTime, BigDecimal>> projectionPath = () -> {
+            var sums = new TreeMap<LocalDateTime, BigDecimal>();
+            energyRepository.sumFacilityUsageByHour(company.getId(), zoneId, START, END)
+                    .forEach(usageSum -> sums.put(usageSum.getReferenceTime(), usageSum.getUsage()));
+            return sums;
+        };
+
+        var entity = measure("entity materialization", rows, entityPath);
+        when(epochHourBackfillStatus.isComplete()).thenReturn(false);
+        var byReferenceTime = measure("SQL projection (reference time)", rows, projectionPath);
+        when(epochHourBackfillStatus.isComplete()).thenReturn(true);
+        var byEpochHour = measure("SQL projection (epoch hour)", rows, projectionPath);
+
+        // 두 방식의 시간대별 합계가 같음
+        assertThat(entity.sums()).hasSize(92 * 24);
+        for (var projection : List.of(byReferenceTime, byEpochHour)) {
+            assertThat(projection.sums().keySet()).containsExactlyElementsOf(entity.sums().keySet());
+            entity.sums().forEach((hour, usage) -> assertThat(projection.sums().get(hour)).isEqualByComparingTo(usage));
+            // SQL 프로젝션은 행마다 엔티티를 만들지 않으므로 할당량과 실행 시간이 적음
+            assertThat(projection.allocatedBytes()).isLessThan(entity.allocatedBytes());
+            assertThat(projection.medianMillis()).isLessThan(entity.medianMillis());
+        }
+    }
+
+    /**
+     * 모든 IoT 장비의 조회 기간 내 1시간 간격 무작위 사용량을 JDBC 일괄 Insert로 저장하고 저장한 행 수를 반환합니다.
+     */
+    private int insertHourlyReadings(List<Iot> iotList, ZoneId zoneId) {
+        var random = new Random(2024);
+        var createdDate = Timestamp.from(Instant.now());
+        var rows = 0;
+        for (var iot : iotList) {
+            var batch = new ArrayList<Object[]>();
+            for (var time = START; time.isBefore(END); time = time.plusHours(1)) {
+                batch.add(new Object[]{iot.getId(), Timestamp.valueOf(time), BigDecimal.valueOf(random.nextInt(1_000_000), 4),
+                        Energy.toEpochHour(time, zoneId), createdDate});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO energy (iot_id, reference_time, facility_usage, epoch_hour, created_date) VALUES (?, ?, ?, ?, ?)", batch);
+            rows += batch.size();
+        }
+        return rows;
+    }
+
+    /**
+     * 조회를 여러 번 실행하고 실행 시간의 중앙값과 한 번 실행할 때의 평균 할당량을 출력합니다.
+     */
+    private Measurement measure(String name, int rows, Supplier<Map<LocalDateTime, BigDecimal>> path) {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<LocalDateTime, BigDecimal> sums = null;
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            sums = path.get();
+            testEntityManager.clear();
+        }
+        var millis = new long[MEASURED_RUNS];
+        var allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            var startedAt = System.nanoTime();
+            sums = path.get();
+            millis[i] = (System.nanoTime() - startedAt) / 1_000_000;
+            testEntityManager.clear();
+        }
+        var allocatedBytes = (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_RUNS;
+        Arrays.sort(millis);
+        var median = millis[MEASURED_RUNS / 2];
+        System.out.printf("%s: %,d rows -> %,d hours, median %,d ms (min %,d, max %,d), %,d MB allocated per run%n",
+                name, rows, sums.size(), median, millis[0], millis[MEASURED_RUNS - 1], allocatedBytes / (1024 * 1024));
+        return new Measurement(sums, median, allocatedBytes);
+    }
+
+    private record Measurement(Map<LocalDateTime, BigDecimal> sums, long medianMillis, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,214 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.AIForecastEnergy;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 시간대별 사용량을 데이터베이스에서 합산하는 조회(SQL 프로젝션)와
+ * 엔티티를 불러와 애플리케이션에서 합산하는 조회의 결과가 같은지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import(EnergyBucketJdbcRepository.class)
+class EnergyHourlySumTest {
+    // 조회 기간 (시작, 종료 모두 포함)
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 31, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 6, 2, 23, 59, 59);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private EnergyRepository energyRepository;
+    @Autowired
+    private AIForecastEnergyRepository aiForecastEnergyRepository;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company company;
+    private List<Iot> iotList;
+
+    @BeforeEach
+    void setUp() {
+        var country = testEntityManager.persist(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        company = testEntityManager.persist(company(country, "1"));
+        // 조회하지 않는 다른 업체의 사용량도 저장
+        var otherCompany = testEntityManager.persist(company(country, "2"));
+        iotList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            iotList.add(testEntityManager.persist(iot(company, "SN-" + i, i == 0 ? 60 : 15)));
+        }
+        var otherIot = testEntityManager.persist(iot(otherCompany, "SN-OTHER", 15));
+        // 기간 앞뒤 하루를 포함하여 IoT 장비의 수집 간격마다 무작위 사용량 저장
+        var random = new Random(2024);
+        var zoneId = country.getZoneId();
+        for (var iot : iotList) {
+            for (var time = START.minusDays(1); time.isBefore(END.plusDays(1)); time = time.plusMinutes(iot.getReadingIntervalMinutes())) {
+                testEntityManager.persist(energy(iot, time, BigDecimal.valueOf(random.nextInt(1_000_000), 4), zoneId));
+            }
+            testEntityManager.persist(AIForecastEnergy.builder()
+                    .company(company)
+                    .forecastTime(START.plusHours(iotList.indexOf(iot) * 7L).plusMinutes(30))
+                    .forecastUsage(BigDecimal.valueOf(random.nextInt(1_000_000), 4))
+                    .epochHour(Energy.toEpochHour(START.plusHours(iotList.indexOf(iot) * 7L), zoneId))
+                    .build());
+        }
+        // 기간 종료 시각과 같은 사용량, 다른 업체의 사용량
+        testEntityManager.persist(energy(iotList.getFirst(), END, new BigDecimal("12.3456"), zoneId));
+        testEntityManager.persist(energy(otherIot, START.plusHours(5), new BigDecimal("99.0000"), zoneId));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void sqlProjectionMatchesEntitySumsByReferenceTime() {
+        // UTC epoch 시간 백필 전에는 기준 시각으로 그룹화
+        when(epochHourBackfillStatus.isComplete()).thenReturn(false);
+
+        var projected = toMap(energyRepository.sumFacilityUsageByHour(company.getId(), company.getCountry().getZoneId(), START, END));
+
+        assertSameSums(projected, entityHourlySums());
+    }
+
+    @Test
+    void sqlProjectionMatchesEntitySumsByEpochHour() {
+        when(epochHourBackfillStatus.isComplete()).thenReturn(true);
+
+        var projected = toMap(energyRepository.sumFacilityUsageByHour(company.getId(), company.getCountry().getZoneId(), START, END));
+
+        assertSameSums(projected, entityHourlySums());
+    }
+
+    @Test
+    void mergesRepeatedDstHourIntoOneHourOnBothPaths() {
+        // 서머타임이 끝나는 날(01시가 두 번 반복)의 뉴욕 업체
+        var newYork = testEntityManager.persist(Country.builder()
+                .name("United States")
+                .languageCode("en")
+                .timeZone("America/New_York")
+                .build());
+        var newYorkCompany = testEntityManager.persist(company(newYork, "3"));
+        var newYorkIot = testEntityManager.persist(iot(newYorkCompany, "SN-NY", 15));
+        var start = LocalDateTime.of(2024, 11, 3, 0, 0);
+        var end = start.plusDays(1).minusSeconds(1);
+        var random = new Random(1103);
+        var expected = new TreeMap<LocalDateTime, BigDecimal>();
+        for (var time = start; time.isBefore(end); time = time.plusMinutes(15)) {
+            var usage = BigDecimal.valueOf(random.nextInt(1_000_000), 4);
+            testEntityManager.persist(energy(newYorkIot, time, usage, newYork.getZoneId()));
+            expected.merge(time.truncatedTo(ChronoUnit.HOURS), usage, BigDecimal::add);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // 기준 시각으로 그룹화해도, UTC epoch 시간으로 그룹화해도 반복되는 01시는 한 시간대이고 하루는 24개 시간대
+        when(epochHourBackfillStatus.isComplete()).thenReturn(false);
+        var byReferenceTime = toMap(energyRepository.sumFacilityUsageByHour(newYorkCompany.getId(), newYork.getZoneId(), start, end));
+        when(epochHourBackfillStatus.isComplete()).thenReturn(true);
+        var byEpochHour = toMap(energyRepository.sumFacilityUsageByHour(newYorkCompany.getId(), newYork.getZoneId(), start, end));
+
+        assertThat(expected).hasSize(24);
+        assertSameSums(byReferenceTime, expected);
+        assertSameSums(byEpochHour, expected);
+    }
+
+    @Test
+    void forecastProjectionMatchesEntitySums() {
+        var expected = new TreeMap<LocalDateTime, BigDecimal>();
+        aiForecastEnergyRepository.findByCompanyIdAndForecastTimeBetween(company.getId(), START, END)
+                .forEach(forecast -> expected.merge(forecast.getForecastTime().truncatedTo(ChronoUnit.HOURS), forecast.getForecastUsage(), BigDecimal::add));
+
+        var projected = toMap(aiForecastEnergyRepository.sumForecastUsageByHour(company.getId(), START, END));
+
+        assertThat(expected).hasSize(3);
+        assertSameSums(projected, expected);
+    }
+
+    /**
+     * 기간 내 에너지 엔티티를 불러와 시간대(정각)별로 합산합니다.
+     */
+    private Map<LocalDateTime, BigDecimal> entityHourlySums() {
+        var sums = new TreeMap<LocalDateTime, BigDecimal>();
+        energyRepository.findByIotInAndReferenceTimeBetween(iotList, START, END)
+                .forEach(energy -> sums.merge(energy.getReferenceTime().truncatedTo(ChronoUnit.HOURS), energy.getFacilityUsage(), BigDecimal::add));
+        return sums;
+    }
+
+    private static Map<LocalDateTime, BigDecimal> toMap(List<EnergyDto.UsageSum> usageSums) {
+        var sums = new TreeMap<LocalDateTime, BigDecimal>();
+        usageSums.forEach(usageSum -> assertThat(sums.put(usageSum.getReferenceTime(), usageSum.getUsage()))
+                .as("duplicated hour %s", usageSum.getReferenceTime())
+                .isNull());
+        return sums;
+    }
+
+    private static void assertSameSums(Map<LocalDateTime, BigDecimal> actual, Map<LocalDateTime, BigDecimal> expected) {
+        assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+        expected.forEach((hour, usage) -> assertThat(actual.get(hour)).as("usage at %s", hour).isEqualByComparingTo(usage));
+    }
+
+    private static Company company(Country country, String suffix) {
+        return Company.builder()
+                .country(country)
+                .name("Company " + suffix)
+                .type(CompanyType.FEMS)
+                .email("company" + suffix + "@example.com")
+                .tel("0200000000" + suffix)
+                .fax("0200000000" + suffix)
+                .address("Seoul")
+                .build();
+    }
+
+    private static Iot iot(Company company, String serialNumber, int readingIntervalMinutes) {
+        return Iot.builder()
+                .company(company)
+                .serialNumber(serialNumber)
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .readingIntervalMinutes(readingIntervalMinutes)
+                .build();
+    }
+
+    private static Energy energy(Iot iot, LocalDateTime referenceTime, BigDecimal facilityUsage, ZoneId zoneId) {
+        return Energy.builder()
+                .iot(iot)
+                .referenceTime(referenceTime)
+                .facilityUsage(facilityUsage)
+                .epochHour(Energy.toEpochHour(referenceTime, zoneId))
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package atemos.everse.api.repository;
+
+import atemos.everse.api.domain.EnergyConflictPolicy;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.service.EpochHourBackfillStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * 에너지 테이블에 IoT 장비와 기준 시각의 유일 키가 없으면 중복 행을 추가하지 않고 중복 정리 작업이 남길 행을 갱신하며,
+ * 중복을 정리하고 유일 키를 추가한 뒤에는 upsert로 저장하는지 H2(MySQL 호환 모드)로 확인합니다.
+ * 유일 키를 삭제하고 다시 추가하는 DDL은 트랜잭션을 커밋하므로 테스트 메서드를 트랜잭션으로 감싸지 않습니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(EnergyBucketJdbcRepository.class)
+class EnergyJdbcRepositoryTest {
+    // 에너지 테이블은 IoT 장비 외래 키가 없으므로 IoT 장비를 저장하지 않음
+    private static final long IOT_ID = 7L;
+    private static final LocalDateTime REFERENCE_TIME = LocalDateTime.of(2024, 6, 1, 9, 15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EnergyBucketJdbcRepository energyBucketJdbcRepository;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM energy");
+        // 유일 키 여부를 캐시하지 않은 새 인스턴스로 확인
+        repository().addUniqueKey();
+    }
+
+    @Test
+    void writesWithoutDuplicatesUntilUniqueKeyIsAdded() {
+        jdbcTemplate.execute("ALTER TABLE energy DROP CONSTRAINT " + EnergyJdbcRepository.UNIQUE_KEY_NAME);
+        insertDirectly("1.0000");
+        insertDirectly("2.0000");
+        var repository = repository();
+        assertThat(repository.hasUniqueKey()).isFalse();
+
+        // 중복된 행이 있으면 가장 나중에 저장된 행을 기존 사용량으로 보고 그 행만 갱신
+        assertThat(repository.findUsageForUpdate(List.of(new EnergyJdbcRepository.Key(IOT_ID, REFERENCE_TIME))))
+                .containsExactly(entry(new EnergyJdbcRepository.Key(IOT_ID, REFERENCE_TIME), new BigDecimal("2.0000")));
+        repository.upsertAll(List.of(reading(REFERENCE_TIME, "3.0000")), EnergyConflictPolicy.REPLACE);
+        assertThat(usages(REFERENCE_TIME)).containsExactly(new BigDecimal("1.0000"), new BigDecimal("3.0000"));
+        // 없는 사용량은 한 번만 추가하고, 다시 저장하면 갱신
+        var nextTime = REFERENCE_TIME.plusMinutes(15);
+        repository.upsertAll(List.of(reading(nextTime, "4.0000")), EnergyConflictPolicy.REPLACE);
+        repository.upsertAll(List.of(reading(nextTime, "5.0000")), EnergyConflictPolicy.REPLACE);
+        assertThat(usages(nextTime)).containsExactly(new BigDecimal("5.0000"));
+
+        // 중복 정리 작업이 남기는 행이 갱신한 행이므로, 정리한 뒤에는 유일 키가 있을 때와 같은 사용량
+        assertThat(repository.compactDuplicates(IOT_ID, EnergyConflictPolicy.REPLACE, 100)).hasSize(1);
+        assertThat(repository.addUniqueKey()).isTrue();
+        assertThat(usages(REFERENCE_TIME)).containsExactly(new BigDecimal("3.0000"));
+        repository.upsertAll(List.of(reading(REFERENCE_TIME, "6.0000")), EnergyConflictPolicy.REPLACE);
+        assertThat(usages(REFERENCE_TIME)).containsExactly(new BigDecimal("6.0000"));
+    }
+
+    @Test
+    void sumsIntoTheRowCompactionKeepsWithoutUniqueKey() {
+        jdbcTemplate.execute("ALTER TABLE energy DROP CONSTRAINT " + EnergyJdbcRepository.UNIQUE_KEY_NAME);
+        insertDirectly("1.0000");
+        insertDirectly("2.0000");
+        var repository = repository();
+
+        // SUM은 가장 먼저 저장된 행에 더하므로, 중복을 합친 사용량이 모든 사용량의 합계
+        repository.upsertAll(List.of(reading(REFERENCE_TIME, "0.5000")), EnergyConflictPolicy.SUM);
+        assertThat(usages(REFERENCE_TIME)).containsExactly(new BigDecimal("1.5000"), new BigDecimal("2.0000"));
+        repository.compactDuplicates(IOT_ID, EnergyConflictPolicy.SUM, 100);
+        assertThat(usages(REFERENCE_TIME)).containsExactly(new BigDecimal("3.5000"));
+    }
+
+    @Test
+    void upsertsWhenUniqueKeyExists() {
+        var repository = repository();
+
+        repository.upsertAll(List.of(reading(REFERENCE_TIME, "1.0000")), EnergyConflictPolicy.SUM);
+        repository.upsertAll(List.of(reading(REFERENCE_TIME, "2.5000")), EnergyConflictPolicy.SUM);
+
+        assertThat(repository.hasUniqueKey()).isTrue();
+        assertThat(count()).isOne();
+        assertThat(jdbcTemplate.queryForObject("SELECT facility_usage FROM energy", BigDecimal.class)).isEqualByComparingTo("3.5000");
+    }
+
+    private EnergyJdbcRepository repository() {
+        return new EnergyJdbcRepository(jdbcTemplate, energyBucketJdbcRepository);
+    }
+
+    private void insertDirectly(String facilityUsage) {
+        jdbcTemplate.update("INSERT INTO energy (iot_id, reference_time, facility_usage, created_date) VALUES (?, ?, ?, ?)",
+                IOT_ID, Timestamp.valueOf(REFERENCE_TIME), new BigDecimal(facilityUsage), Timestamp.from(Instant.now()));
+    }
+
+    private static EnergyDto.ReadingRow reading(LocalDateTime referenceTime, String facilityUsage) {
+        return new EnergyDto.ReadingRow(IOT_ID, 1L, referenceTime, new BigDecimal(facilityUsage), null);
+    }
+
+    /**
+     * 기준 시각의 사용량을 저장된 순서(ID 순)로 조회합니다.
+     */
+    private List<BigDecimal> usages(LocalDateTime referenceTime) {
+        return jdbcTemplate.queryForList("SELECT facility_usage FROM energy WHERE iot_id = ? AND reference_time = ? ORDER BY id",
+                BigDecimal.class, IOT_ID, Timestamp.valueOf(referenceTime));
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM energy", Long.class);
+    }
+}
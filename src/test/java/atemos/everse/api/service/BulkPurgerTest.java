@@ -0,0 +1,155 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BulkPurger의 묶음 크기와 쉬는 시간 조정, 묶음 단위 커밋을 H2(MySQL 호환 모드)의 임시 테이블로 확인합니다.
+ * 묶음마다 별도의 트랜잭션으로 커밋하므로 테스트 메서드를 트랜잭션으로 감싸지 않습니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BulkPurger.class, EnergyBucketJdbcRepository.class})
+class BulkPurgerTest {
+    // 삭제 기준 시각 (이전 행만 삭제)
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Autowired
+    private BulkPurger bulkPurger;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("CREATE TABLE purge_test (id BIGINT AUTO_INCREMENT PRIMARY KEY, created_date TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE purge_test_child (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "purge_test_id BIGINT NOT NULL, FOREIGN KEY (purge_test_id) REFERENCES purge_test (id))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE purge_test_child");
+        jdbcTemplate.execute("DROP TABLE purge_test");
+    }
+
+    @Test
+    void chunkSizeStaysWithinBounds() {
+        // 부하가 계속되면 최소 크기까지 줄이고, 부하가 없으면 최대 크기까지 늘림
+        var chunkSize = 1_000;
+        for (int i = 0; i < 10; i++) {
+            chunkSize = BulkPurger.nextChunkSize(chunkSize, Duration.ofSeconds(1), true);
+        }
+        assertThat(chunkSize).isEqualTo(100);
+        for (int i = 0; i < 10; i++) {
+            chunkSize = BulkPurger.nextChunkSize(chunkSize, Duration.ofMillis(1), false);
+        }
+        assertThat(chunkSize).isEqualTo(10_000);
+        // 목표 실행 시간의 절반 이상이면 크기 유지
+        assertThat(BulkPurger.nextChunkSize(4_000, Duration.ofMillis(150), false)).isEqualTo(4_000);
+        // 무작위 실행 시간과 부하가 이어져도 범위를 벗어나지 않음
+        var random = new Random(13);
+        for (int i = 0; i < 10_000; i++) {
+            chunkSize = BulkPurger.nextChunkSize(chunkSize, Duration.ofMillis(random.nextInt(500)), random.nextInt(4) == 0);
+            assertThat(chunkSize).isBetween(100, 10_000);
+        }
+    }
+
+    @Test
+    void pausesInProportionToLatency() {
+        assertThat(BulkPurger.pauseFor(Duration.ofMillis(50), false)).isEqualTo(Duration.ofMillis(50));
+        // 부하가 있으면 실행 시간의 네 배
+        assertThat(BulkPurger.pauseFor(Duration.ofMillis(50), true)).isEqualTo(Duration.ofMillis(200));
+        // 최소 10ms, 최대 5초
+        assertThat(BulkPurger.pauseFor(Duration.ZERO, false)).isEqualTo(Duration.ofMillis(10));
+        assertThat(BulkPurger.pauseFor(Duration.ofSeconds(2), true)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void deletesOnlyMatchingRowsInChunks() {
+        insert(25_000, CUTOFF.minusDays(1));
+        insert(500, CUTOFF);
+
+        var result = bulkPurger.purge(target());
+
+        assertThat(result.deleted()).isEqualTo(25_000);
+        // 묶음 크기는 최대 10,000이므로 3개 이상의 묶음으로 나누어 삭제
+        assertThat(result.chunks()).isBetween(3, 250);
+        assertThat(count()).isEqualTo(500);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purge_test WHERE created_date < ?", Long.class, CUTOFF)).isZero();
+    }
+
+    @Test
+    void stopsWhenInterruptedWhilePausing() {
+        insert(3_000, CUTOFF.minusDays(1));
+
+        Thread.currentThread().interrupt();
+        BulkPurger.Result result;
+        try {
+            result = bulkPurger.purge(target());
+        } finally {
+            Thread.interrupted();
+        }
+
+        // 첫 묶음(1,000행)을 커밋한 뒤 쉬는 동안 중단
+        assertThat(result.chunks()).isEqualTo(1);
+        assertThat(result.deleted()).isEqualTo(1_000);
+        assertThat(count()).isEqualTo(2_000);
+    }
+
+    @Test
+    void rollsBackOnlyTheFailedChunk() {
+        insert(3_000, CUTOFF.minusDays(1));
+        var referencedId = jdbcTemplate.queryForObject("SELECT id FROM purge_test ORDER BY id LIMIT 1 OFFSET 1500", Long.class);
+        jdbcTemplate.update("INSERT INTO purge_test_child (purge_test_id) VALUES (?)", referencedId);
+
+        // 참조 중인 행이 포함된 두 번째 묶음에서 실패
+        assertThatThrownBy(() -> bulkPurger.purge(target())).isInstanceOf(DataIntegrityViolationException.class);
+
+        // 커밋된 첫 묶음만 삭제되고, 실패한 묶음은 롤백
+        assertThat(count()).isEqualTo(2_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purge_test WHERE id = ?", Long.class, referencedId)).isOne();
+
+        // 참조를 없앤 뒤 다시 실행하면 남은 행부터 삭제
+        jdbcTemplate.update("DELETE FROM purge_test_child");
+        assertThat(bulkPurger.purge(target()).deleted()).isEqualTo(2_000);
+        assertThat(count()).isZero();
+    }
+
+    private static BulkPurger.Target target() {
+        return new BulkPurger.Target("Purge Test", "purge_test", "created_date < ?", List.of(CUTOFF));
+    }
+
+    private void insert(int rows, LocalDateTime createdDate) {
+        jdbcTemplate.batchUpdate("INSERT INTO purge_test (created_date) VALUES (?)",
+                Collections.nCopies(rows, new Object[]{createdDate}));
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purge_test", Long.class);
+    }
+}
@@ -0,0 +1,151 @@
+package atemos.everse.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CacheSnapshotManager가 캐시별 내용을 한 파일에 저장하고 다시 복원하며,
+ * 형식이나 캐시별 저장 형식 버전이 다르거나 오래된 스냅샷은 복원하지 않는지 확인합니다.
+ */
+class CacheSnapshotManagerTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void restoresEverySectionWrittenAtShutdown() {
+        var file = directory.resolve("snapshot/cache.bin");
+        var beforeWrite = Instant.now();
+        manager(file, new FakeSection("members", 1, "alice", "bob"), new FakeSection("tokens", 2, "hash")).writeOnShutdown();
+        assertThat(file).isRegularFile();
+        assertThat(file.resolveSibling("cache.bin.tmp")).doesNotExist();
+
+        var members = new FakeSection("members", 1);
+        var tokens = new FakeSection("tokens", 2);
+        manager(file, members, tokens).restore();
+
+        assertThat(members.restored).containsExactly("alice", "bob");
+        assertThat(tokens.restored).containsExactly("hash");
+        assertThat(members.restoredClean).isTrue();
+        assertThat(members.restoredWrittenAt).isBetween(beforeWrite.minusMillis(1), Instant.now());
+    }
+
+    @Test
+    void marksPeriodicSnapshotsAsNotClean() {
+        var file = directory.resolve("cache.bin");
+        manager(file, new FakeSection("members", 1, "alice")).writePeriodically();
+
+        var members = new FakeSection("members", 1);
+        manager(file, members).restore();
+
+        assertThat(members.restored).containsExactly("alice");
+        assertThat(members.restoredClean).isFalse();
+    }
+
+    @Test
+    void skipsSectionsWithAnotherVersionOrThatFail() {
+        var file = directory.resolve("cache.bin");
+        manager(file, new FakeSection("members", 1, "alice"), new FakeSection("tokens", 1, "hash"),
+                new FakeSection("broken", 1, "value")).writeOnShutdown();
+
+        // 저장 형식 버전이 바뀐 캐시와 복원에 실패한 캐시는 비어 있는 상태로 시작하고, 나머지 캐시는 복원
+        var members = new FakeSection("members", 2);
+        var tokens = new FakeSection("tokens", 1);
+        var broken = new FakeSection("broken", 1) {
+            @Override
+            public void restoreSnapshot(ByteBuffer in, Instant writtenAt, boolean clean) {
+                throw new IllegalStateException("Broken section.");
+            }
+        };
+        manager(file, members, tokens, broken).restore();
+
+        assertThat(members.restored).isEmpty();
+        assertThat(tokens.restored).containsExactly("hash");
+    }
+
+    @Test
+    void ignoresStaleOrForeignFiles() throws IOException {
+        var file = directory.resolve("cache.bin");
+        manager(file, new FakeSection("members", 1, "alice")).writeOnShutdown();
+
+        // 최대 보관 기간이 지난 스냅샷
+        var members = new FakeSection("members", 1);
+        new CacheSnapshotManager(List.of(members), true, file.toString(), Duration.ZERO).restore();
+        assertThat(members.restored).isEmpty();
+
+        // 형식을 알 수 없는 파일
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        manager(file, members).restore();
+        assertThat(members.restored).isEmpty();
+
+        // 사용하지 않으면 저장하지 않음
+        var disabledFile = directory.resolve("disabled.bin");
+        new CacheSnapshotManager(List.of(new FakeSection("members", 1, "alice")), false, disabledFile.toString(), Duration.ofMinutes(10))
+                .writeOnShutdown();
+        assertThat(disabledFile).doesNotExist();
+    }
+
+    private static CacheSnapshotManager manager(Path file, CacheSnapshotSection... sections) {
+        return new CacheSnapshotManager(List.of(sections), true, file.toString(), Duration.ofMinutes(10));
+    }
+
+    /**
+     * 문자열 목록을 저장하고 복원하는 테스트용 캐시입니다.
+     */
+    private static class FakeSection implements CacheSnapshotSection {
+        private final String name;
+        private final int version;
+        private final List<String> values;
+        private final List<String> restored = new ArrayList<>();
+        private Instant restoredWrittenAt;
+        private Boolean restoredClean;
+
+        FakeSection(String name, int version, String... values) {
+            this.name = name;
+            this.version = version;
+            this.values = List.of(values);
+        }
+
+        @Override
+        public String snapshotName() {
+            return name;
+        }
+
+        @Override
+        public int snapshotVersion() {
+            return version;
+        }
+
+        @Override
+        public void writeSnapshot(DataOutputStream out, boolean clean) throws IOException {
+            out.writeInt(values.size());
+            for (var value : values) {
+                out.writeUTF(value);
+            }
+        }
+
+        @Override
+        public void restoreSnapshot(ByteBuffer in, Instant writtenAt, boolean clean) {
+            restoredWrittenAt = writtenAt;
+            restoredClean = clean;
+            var count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                var bytes = new byte[Short.toUnsignedInt(in.getShort())];
+                in.get(bytes);
+                restored.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+    }
+}
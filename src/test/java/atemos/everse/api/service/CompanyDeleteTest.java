@@ -0,0 +1,114 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.config.JwtUtil;
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.EnergyDemandSketch;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 업체를 삭제하면 업체를 외래 키로 참조하는 에너지 집계와 수요 스케치가 먼저 삭제되어
+ * 업체 삭제가 외래 키에 막히지 않는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import({CompanyServiceImpl.class, EnergyBucketJdbcRepository.class})
+class CompanyDeleteTest {
+    @Autowired
+    private CompanyService companyService;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private AuthenticationServiceImpl authenticationService;
+    @MockBean
+    private JwtUtil jwtUtil;
+    @MockBean
+    private BulkPurger bulkPurger;
+    @MockBean
+    private EnergyHotWindow energyHotWindow;
+    @MockBean
+    private EnergyHeatmap energyHeatmap;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    @Test
+    void deletesRollupsAndSketchesWithCompany() {
+        var country = testEntityManager.persist(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        var company = testEntityManager.persist(company(country, "1"));
+        var otherCompany = testEntityManager.persist(company(country, "2"));
+        for (var owner : new Company[]{company, otherCompany}) {
+            for (var granularity : EnergyRollupGranularity.values()) {
+                testEntityManager.persist(EnergyRollup.builder()
+                        .company(owner)
+                        .granularity(granularity)
+                        .bucketTime(LocalDateTime.of(2024, 6, 1, 0, 0))
+                        .facilityUsage(new BigDecimal("12.3400"))
+                        .bill(new BigDecimal("1234.0000"))
+                        .build());
+            }
+            testEntityManager.persist(EnergyDemandSketch.builder()
+                    .company(owner)
+                    .sketchDate(LocalDate.of(2024, 6, 1))
+                    .sketch(new byte[]{1})
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        companyService.delete(company.getId());
+        testEntityManager.flush();
+
+        assertThat(count("company", company.getId())).isZero();
+        assertThat(count("energy_rollup", company.getId())).isZero();
+        assertThat(count("energy_demand_sketch", company.getId())).isZero();
+        // 다른 업체의 데이터는 유지
+        assertThat(count("company", otherCompany.getId())).isOne();
+        assertThat(count("energy_rollup", otherCompany.getId())).isEqualTo(EnergyRollupGranularity.values().length);
+        assertThat(count("energy_demand_sketch", otherCompany.getId())).isOne();
+        verify(energyHotWindow).removeCompany(company.getId());
+        verify(energyHeatmap).removeCompany(company.getId());
+    }
+
+    private long count(String table, Long companyId) {
+        var column = "company".equals(table) ? "id" : "company_id";
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " = ?", Long.class, companyId);
+    }
+
+    private static Company company(Country country, String suffix) {
+        return Company.builder()
+                .country(country)
+                .name("Company " + suffix)
+                .type(CompanyType.FEMS)
+                .email("company" + suffix + "@example.com")
+                .tel("0200000000" + suffix)
+                .fax("0200000000" + suffix)
+                .address("Seoul")
+                .build();
+    }
+}
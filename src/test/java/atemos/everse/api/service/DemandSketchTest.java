@@ -0,0 +1,109 @@
+package atemos.everse.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * DemandSketch가 추정한 분위수의 상대 오차가 1% 이내이고, 병합과 제거가 같은 값으로 만든 스케치와 같은 결과를 내며,
+ * 인코딩한 스케치를 그대로 복원하는지 확인합니다.
+ */
+class DemandSketchTest {
+    private static final double[] QUANTILES = {0.0, 0.25, 0.5, 0.9, 0.95, 0.99, 1.0};
+
+    @Test
+    void estimatesQuantilesWithinRelativeAccuracy() {
+        // 0.0001kWh부터 수천kWh까지 넓게 퍼진 시간별 수요
+        var random = new Random(11);
+        var usages = new long[10_000];
+        for (int i = 0; i < usages.length; i++) {
+            usages[i] = 1 + (long) Math.exp(random.nextGaussian() * 3 + 10);
+        }
+        var sketch = sketchOf(usages);
+
+        var sorted = usages.clone();
+        Arrays.sort(sorted);
+        assertThat(sketch.count()).isEqualTo(usages.length);
+        for (var quantile : QUANTILES) {
+            var exact = sorted[(int) Math.floor(quantile * (sorted.length - 1))];
+            // 고정소수점 정수로 반올림하므로 1만큼의 오차를 더 허용
+            assertThat((double) sketch.quantile(quantile)).as("p%s", quantile * 100)
+                    .isCloseTo(exact, within(exact * DemandSketch.RELATIVE_ACCURACY + 1));
+        }
+    }
+
+    @Test
+    void mergeAndRemoveMatchSketchOfSameValues() {
+        var random = new Random(5);
+        var first = new long[24];
+        var second = new long[25];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = random.nextInt(5_000_000);
+        }
+        for (int i = 0; i < second.length; i++) {
+            second[i] = random.nextInt(5_000_000);
+        }
+        var all = new long[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+
+        var merged = sketchOf(first);
+        merged.merge(sketchOf(second));
+        assertThat(merged.encode()).isEqualTo(sketchOf(all).encode());
+
+        // 두 번째 날의 값을 모두 제거하면 첫 번째 날의 스케치와 같음
+        for (var usage : second) {
+            merged.remove(usage);
+        }
+        assertThat(merged.encode()).isEqualTo(sketchOf(first).encode());
+    }
+
+    @Test
+    void countsZeroAndNegativeHoursSeparately() {
+        var sketch = sketchOf(new long[]{0, -5_000, 0, 20_000});
+
+        assertThat(sketch.count()).isEqualTo(4);
+        assertThat(sketch.quantile(0.5)).isZero();
+        assertThat((double) sketch.quantile(1.0)).isCloseTo(20_000, within(20_000 * DemandSketch.RELATIVE_ACCURACY));
+        sketch.remove(0);
+        sketch.remove(-5_000);
+        sketch.remove(0);
+        assertThat(sketch.count()).isOne();
+        assertThat(new DemandSketch().quantile(0.95)).isZero();
+    }
+
+    @Test
+    void roundTripsCompactEncoding() {
+        // 하루치(25시간) 스케치
+        var random = new Random(3);
+        var usages = new long[25];
+        for (int i = 0; i < usages.length; i++) {
+            usages[i] = random.nextInt(100_000_000);
+        }
+        usages[0] = 0;
+        var sketch = sketchOf(usages);
+
+        var encoded = sketch.encode();
+        var decoded = DemandSketch.decode(encoded);
+
+        assertThat(decoded.encode()).isEqualTo(encoded);
+        assertThat(decoded.count()).isEqualTo(sketch.count());
+        for (var quantile : QUANTILES) {
+            assertThat(decoded.quantile(quantile)).isEqualTo(sketch.quantile(quantile));
+        }
+        // 구간마다 번호 차이와 시간 수를 몇 바이트로 저장
+        assertThat(encoded.length).isLessThan(25 * 4);
+    }
+
+    private static DemandSketch sketchOf(long[] usages) {
+        var sketch = new DemandSketch();
+        for (var usage : usages) {
+            sketch.add(usage);
+        }
+        return sketch;
+    }
+}
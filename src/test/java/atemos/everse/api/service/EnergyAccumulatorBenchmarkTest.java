@@ -0,0 +1,191 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.entity.EnergyRate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1년치 시간대별 사용량과 예측 사용량으로 시간별 요금과 일별, 월별, 전체 합계를 계산할 때,
+ * EnergyAccumulator의 고정소수점 집계와 기존 BigDecimal 스트림 합산(일별, 월별, 전체 합계마다 값별 reduce)의
+ * 실행 시간과 할당량을 비교합니다.
+ * 측정에 수십 초가 걸리므로 ENERGY_BENCHMARK=true 환경 변수가 있을 때만 실행합니다.
+ */
+@EnabledIfEnvironmentVariable(named = "ENERGY_BENCHMARK", matches = "true")
+class EnergyAccumulatorBenchmarkTest {
+    // 조회 기간 (1년, 시작과 종료 모두 포함)
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 12, 31, 23, 59, 59);
+    // 측정 전 실행 횟수와 측정 횟수 (한 번의 측정마다 집계를 INVOCATIONS번 실행)
+    private static final int WARM_UP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+    private static final int INVOCATIONS = 200;
+
+    @Test
+    void comparesFixedPointAccumulatorWithBigDecimalReduction() {
+        var random = new Random(2024);
+        var tariff = tariff();
+        var usageByHour = new ArrayList<Map.Entry<LocalDateTime, BigDecimal>>();
+        var forecastByHour = new HashMap<LocalDateTime, BigDecimal>();
+        for (var time = START; time.isBefore(END); time = time.plusHours(1)) {
+            usageByHour.add(Map.entry(time, BigDecimal.valueOf(random.nextInt(100_000_000), 4)));
+            forecastByHour.put(time, BigDecimal.valueOf(random.nextInt(100_000_000), 4));
+        }
+
+        var bigDecimal = measure("BigDecimal stream reduction", () -> reduceWithBigDecimal(usageByHour, forecastByHour, tariff));
+        var fixedPoint = measure("fixed-point accumulator", () -> reduceWithAccumulator(usageByHour, forecastByHour, tariff));
+
+        // 두 방식의 일별, 월별, 전체 합계가 같음
+        assertThat(fixedPoint.result()).isEqualTo(bigDecimal.result());
+        assertThat(fixedPoint.result().daily()).hasSize(366);
+        // 고정소수점 집계는 합산 중 BigDecimal을 만들지 않으므로 할당량과 실행 시간이 적음
+        assertThat(fixedPoint.allocatedBytes()).isLessThan(bigDecimal.allocatedBytes());
+        assertThat(fixedPoint.medianMicros()).isLessThan(bigDecimal.medianMicros());
+    }
+
+    /**
+     * 기존 구현과 같이 시간별 요금을 BigDecimal로 계산한 뒤 일별, 월별로 그룹화하고 값마다 스트림으로 합산합니다.
+     */
+    private static Totals reduceWithBigDecimal(List<Map.Entry<LocalDateTime, BigDecimal>> usageByHour,
+                                               Map<LocalDateTime, BigDecimal> forecastByHour, EnergyTariff tariff) {
+        var hourly = usageByHour.stream()
+                .map(entry -> {
+                    var usage = entry.getValue();
+                    var forecastUsage = forecastByHour.getOrDefault(entry.getKey(), BigDecimal.ZERO);
+                    var rate = tariff.getRate(entry.getKey().getHour());
+                    return new Hour(entry.getKey(), usage, forecastUsage,
+                            usage.multiply(rate).setScale(4, RoundingMode.HALF_UP),
+                            forecastUsage.multiply(rate).setScale(4, RoundingMode.HALF_UP));
+                })
+                .sorted(Comparator.comparing(Hour::time))
+                .toList();
+        var daily = hourly.stream()
+                .collect(Collectors.groupingBy(hour -> hour.time().toLocalDate()))
+                .entrySet().stream()
+                .map(entry -> sum(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(Hour::time))
+                .toList();
+        var monthly = daily.stream()
+                .collect(Collectors.groupingBy(day -> day.time().toLocalDate().withDayOfMonth(1)))
+                .entrySet().stream()
+                .map(entry -> sum(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparing(Hour::time))
+                .toList();
+        return new Totals(daily, monthly, sum(START.toLocalDate(), hourly));
+    }
+
+    private static Hour sum(LocalDate date, List<Hour> hours) {
+        return new Hour(date.atStartOfDay(),
+                hours.stream().map(Hour::usage).reduce(BigDecimal.ZERO, BigDecimal::add),
+                hours.stream().map(Hour::forecastUsage).reduce(BigDecimal.ZERO, BigDecimal::add),
+                hours.stream().map(Hour::bill).reduce(BigDecimal.ZERO, BigDecimal::add),
+                hours.stream().map(Hour::forecastBill).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    /**
+     * EnergyServiceImpl과 같이 EnergyAccumulator에 누적한 뒤 한 번의 순회로 일별, 월별, 전체 합계를 계산합니다.
+     * 응답 객체에 필요한 시간별 값도 같은 순회에서 BigDecimal로 변환합니다.
+     */
+    private static Totals reduceWithAccumulator(List<Map.Entry<LocalDateTime, BigDecimal>> usageByHour,
+                                                Map<LocalDateTime, BigDecimal> forecastByHour, EnergyTariff tariff) {
+        var accumulator = new EnergyAccumulator(START, END);
+        usageByHour.forEach(entry -> accumulator.addUsage(entry.getKey(), entry.getValue()));
+        forecastByHour.forEach(accumulator::addForecastUsage);
+        accumulator.applyRates(tariff);
+
+        var daily = new ArrayList<Hour>();
+        var monthly = new ArrayList<Hour>();
+        var dayTotals = new EnergyAccumulator.Totals();
+        var monthTotals = new EnergyAccumulator.Totals();
+        var total = new EnergyAccumulator.Totals();
+        var hourly = new ArrayList<Hour>(accumulator.size());
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            var time = accumulator.timeOf(slot);
+            hourly.add(new Hour(time, accumulator.getUsage(slot), accumulator.getForecastUsage(slot),
+                    accumulator.getBill(slot), accumulator.getForecastBill(slot)));
+            dayTotals.add(accumulator, slot);
+            monthTotals.add(accumulator, slot);
+            total.add(accumulator, slot);
+            var next = time.plusHours(1);
+            if (slot == accumulator.size() - 1 || next.getDayOfMonth() != time.getDayOfMonth()) {
+                daily.add(toHour(time.toLocalDate(), dayTotals));
+                dayTotals.reset();
+            }
+            if (slot == accumulator.size() - 1 || next.getMonthValue() != time.getMonthValue()) {
+                monthly.add(toHour(time.toLocalDate().withDayOfMonth(1), monthTotals));
+                monthTotals.reset();
+            }
+        }
+        return new Totals(daily, monthly, toHour(START.toLocalDate(), total));
+    }
+
+    private static Hour toHour(LocalDate date, EnergyAccumulator.Totals totals) {
+        return new Hour(date.atStartOfDay(), totals.getUsage(), totals.getForecastUsage(), totals.getBill(), totals.getForecastBill());
+    }
+
+    /**
+     * 집계를 여러 번 실행하고 실행 시간의 중앙값과 한 번 실행할 때의 평균 할당량을 출력합니다.
+     */
+    private static Measurement measure(String name, Supplier<Totals> path) {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Totals result = null;
+        for (int i = 0; i < WARM_UP_RUNS * INVOCATIONS; i++) {
+            result = path.get();
+        }
+        var micros = new long[MEASURED_RUNS];
+        var allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            var startedAt = System.nanoTime();
+            for (int j = 0; j < INVOCATIONS; j++) {
+                result = path.get();
+            }
+            micros[i] = (System.nanoTime() - startedAt) / 1_000 / INVOCATIONS;
+        }
+        var allocatedBytes = (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore) / ((long) MEASURED_RUNS * INVOCATIONS);
+        Arrays.sort(micros);
+        var median = micros[MEASURED_RUNS / 2];
+        System.out.printf("%s: %,d days, median %,d us (min %,d, max %,d), %,d KB allocated per call%n",
+                name, result.daily().size(), median, micros[0], micros[MEASURED_RUNS - 1], allocatedBytes / 1024);
+        return new Measurement(result, median, allocatedBytes);
+    }
+
+    private static EnergyTariff tariff() {
+        var energyRate = EnergyRate.builder()
+                .industrialRate(new BigDecimal("123.4567"))
+                .commercialRate(new BigDecimal("98.7654"))
+                .peakMultiplier(new BigDecimal("1.35"))
+                .midPeakMultiplier(new BigDecimal("1.125"))
+                .offPeakMultiplier(new BigDecimal("0.8333"))
+                .peakHours(List.of(10, 11, 13, 14, 15, 16))
+                .midPeakHours(List.of(8, 9, 12, 17, 18, 19, 20, 21))
+                .offPeakHours(List.of(0, 1, 2, 3, 4, 5, 6, 7, 22, 23))
+                .build();
+        return new EnergyTariff(energyRate, CompanyType.FEMS);
+    }
+
+    private record Hour(LocalDateTime time, BigDecimal usage, BigDecimal forecastUsage, BigDecimal bill, BigDecimal forecastBill) {
+    }
+
+    private record Totals(List<Hour> daily, List<Hour> monthly, Hour total) {
+    }
+
+    private record Measurement(Totals result, long medianMicros, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,170 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.entity.EnergyRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EnergyAccumulator의 고정소수점 집계 결과가 기존 BigDecimal 스트림 합산 결과와 같은지 확인합니다.
+ */
+class EnergyAccumulatorTest {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 30, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 4, 2, 23, 59, 59);
+
+    @Test
+    void matchesBigDecimalReductionOnRandomInputs() {
+        for (long seed = 1; seed <= 20; seed++) {
+            var random = new Random(seed);
+            assertMatchesBigDecimalReduction(randomTariff(random), random, BigDecimal.valueOf(1_000));
+        }
+    }
+
+    @Test
+    void fallsBackToBigDecimalWhenBillOverflowsLong() {
+        // 사용량(10^11 kWh 이상) × 요금의 고정소수점 곱이 long 범위를 넘는 경우
+        var random = new Random(7);
+        var tariff = randomTariff(random);
+        var usage = new BigDecimal("123456789012.3456");
+        var rate = tariff.getRate(START.getHour());
+        assertThat(EnergyAccumulator.toFixed(usage))
+                .isGreaterThan(Long.MAX_VALUE / EnergyAccumulator.toFixed(rate));
+
+        var accumulator = new EnergyAccumulator(START, END);
+        accumulator.addUsage(START, usage);
+        accumulator.addForecastUsage(START, usage.negate());
+        accumulator.applyRates(tariff);
+
+        assertThat(accumulator.getBill(0)).isEqualByComparingTo(usage.multiply(rate).setScale(4, RoundingMode.HALF_UP));
+        assertThat(accumulator.getForecastBill(0)).isEqualByComparingTo(usage.negate().multiply(rate).setScale(4, RoundingMode.HALF_UP));
+        // 시간대별 곱 대부분이 long 범위를 넘지만 합계는 long 범위 안에 있는 사용량
+        assertMatchesBigDecimalReduction(tariff, random, new BigDecimal("2000000000"));
+    }
+
+    /**
+     * 무작위 사용량과 예측 사용량을 누적한 뒤 시간별 요금과 일별, 월별, 전체 합계를 BigDecimal 계산 결과와 비교합니다.
+     * - 시간별 요금: 사용량 × 요금을 소수점 4자리에서 반올림(HALF_UP)
+     * - 일별, 월별, 전체 합계: 시간별 값을 BigDecimal::add로 합산
+     */
+    private static void assertMatchesBigDecimalReduction(EnergyTariff tariff, Random random, BigDecimal maximumUsage) {
+        var accumulator = new EnergyAccumulator(START, END);
+        var usageByHour = new TreeMap<LocalDateTime, BigDecimal>();
+        var forecastByHour = new TreeMap<LocalDateTime, BigDecimal>();
+        for (int i = 0; i < 500; i++) {
+            // 기간 앞뒤를 벗어난 시각도 포함
+            var time = START.minusHours(3).plusMinutes(random.nextInt(60 * 24 * 4 + 6 * 60));
+            var usage = randomUsage(random, maximumUsage);
+            accumulator.addUsage(time, usage);
+            if (inRange(time)) {
+                usageByHour.merge(time.withMinute(0), usage, BigDecimal::add);
+            }
+            if (random.nextInt(3) == 0) {
+                var forecastUsage = randomUsage(random, maximumUsage);
+                accumulator.addForecastUsage(time, forecastUsage);
+                if (inRange(time)) {
+                    forecastByHour.merge(time.withMinute(0), forecastUsage, BigDecimal::add);
+                }
+            }
+        }
+        accumulator.applyRates(tariff);
+
+        var dailyTotals = new TreeMap<LocalDateTime, List<BigDecimal>>();
+        var monthlyTotals = new TreeMap<LocalDateTime, List<BigDecimal>>();
+        var total = List.of(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        var accumulatorTotals = new EnergyAccumulator.Totals();
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            var time = accumulator.timeOf(slot);
+            var usage = usageByHour.getOrDefault(time, BigDecimal.ZERO);
+            var forecastUsage = forecastByHour.getOrDefault(time, BigDecimal.ZERO);
+            var rate = tariff.getRate(time.getHour());
+            var bill = usage.multiply(rate).setScale(4, RoundingMode.HALF_UP);
+            var forecastBill = forecastUsage.multiply(rate).setScale(4, RoundingMode.HALF_UP);
+
+            assertThat(accumulator.hasUsage(slot)).isEqualTo(usageByHour.containsKey(time));
+            assertThat(accumulator.getUsage(slot)).isEqualByComparingTo(usage);
+            assertThat(accumulator.getForecastUsage(slot)).isEqualByComparingTo(forecastUsage);
+            assertThat(accumulator.getBill(slot)).isEqualByComparingTo(bill);
+            assertThat(accumulator.getForecastBill(slot)).isEqualByComparingTo(forecastBill);
+
+            var values = List.of(usage, forecastUsage, bill, forecastBill);
+            dailyTotals.merge(time.toLocalDate().atStartOfDay(), values, EnergyAccumulatorTest::add);
+            monthlyTotals.merge(time.toLocalDate().withDayOfMonth(1).atStartOfDay(), values, EnergyAccumulatorTest::add);
+            total = add(total, values);
+            accumulatorTotals.add(accumulator, slot);
+        }
+        assertThat(dailyTotals).hasSize(4);
+        assertThat(monthlyTotals).hasSize(2);
+        assertTotals(accumulatorTotals, total);
+        assertGroupTotals(accumulator, dailyTotals, true);
+        assertGroupTotals(accumulator, monthlyTotals, false);
+    }
+
+    /**
+     * 일별 또는 월별로 Totals를 초기화하며 누적한 합계를 BigDecimal 합계와 비교합니다.
+     */
+    private static void assertGroupTotals(EnergyAccumulator accumulator, Map<LocalDateTime, List<BigDecimal>> expected, boolean daily) {
+        var totals = new EnergyAccumulator.Totals();
+        LocalDateTime group = null;
+        for (int slot = 0; slot < accumulator.size(); slot++) {
+            var time = accumulator.timeOf(slot);
+            var slotGroup = daily ? time.toLocalDate().atStartOfDay() : time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            if (group != null && !group.equals(slotGroup)) {
+                assertTotals(totals, expected.get(group));
+                totals.reset();
+            }
+            group = slotGroup;
+            totals.add(accumulator, slot);
+        }
+        assertTotals(totals, expected.get(group));
+    }
+
+    private static void assertTotals(EnergyAccumulator.Totals totals, List<BigDecimal> expected) {
+        assertThat(totals.getUsage()).isEqualByComparingTo(expected.get(0));
+        assertThat(totals.getForecastUsage()).isEqualByComparingTo(expected.get(1));
+        assertThat(totals.getBill()).isEqualByComparingTo(expected.get(2));
+        assertThat(totals.getForecastBill()).isEqualByComparingTo(expected.get(3));
+    }
+
+    private static List<BigDecimal> add(List<BigDecimal> left, List<BigDecimal> right) {
+        return List.of(left.get(0).add(right.get(0)), left.get(1).add(right.get(1)),
+                left.get(2).add(right.get(2)), left.get(3).add(right.get(3)));
+    }
+
+    private static boolean inRange(LocalDateTime time) {
+        return !time.isBefore(START) && !time.isAfter(END);
+    }
+
+    /**
+     * 소수점 4자리 이하의 무작위 사용량을 생성합니다. 보정된 사용량을 고려하여 10%는 음수입니다.
+     */
+    private static BigDecimal randomUsage(Random random, BigDecimal maximumUsage) {
+        var usage = maximumUsage.multiply(BigDecimal.valueOf(random.nextDouble())).setScale(random.nextInt(5), RoundingMode.DOWN);
+        return random.nextInt(10) == 0 ? usage.negate() : usage;
+    }
+
+    /**
+     * 무작위 요금과 증감율로 시간별 요금표를 생성합니다.
+     */
+    private static EnergyTariff randomTariff(Random random) {
+        var energyRate = EnergyRate.builder()
+                .industrialRate(BigDecimal.valueOf(50 + random.nextInt(200_00) / 100.0))
+                .commercialRate(BigDecimal.valueOf(50 + random.nextInt(200_00) / 100.0))
+                .peakMultiplier(new BigDecimal("1.35"))
+                .midPeakMultiplier(new BigDecimal("1.125"))
+                .offPeakMultiplier(new BigDecimal("0.8333"))
+                .peakHours(List.of(10, 11, 13, 14, 15, 16))
+                .midPeakHours(List.of(8, 9, 12, 17, 18, 19, 20, 21))
+                .offPeakHours(List.of(0, 1, 2, 3, 4, 5, 6, 7, 22, 23))
+                .build();
+        return new EnergyTariff(energyRate, random.nextBoolean() ? CompanyType.FEMS : CompanyType.BEMS);
+    }
+}
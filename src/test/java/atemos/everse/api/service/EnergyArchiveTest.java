@@ -0,0 +1,139 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.ArchiveKind;
+import atemos.everse.api.domain.PartitionedTable;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.repository.ArchiveJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 조회 기간이 아카이브 파일과 원본 테이블에 걸쳐 있을 때 EnergyArchive.readHourly가 두 결과를 이어 붙이는지 확인합니다.
+ */
+class EnergyArchiveTest {
+    private static final long COMPANY_ID = 1L;
+    // 아카이브할 원본 데이터의 첫 시각 (4월, 5월을 아카이브)
+    private static final LocalDateTime FIRST_READING = LocalDateTime.of(2024, 4, 28, 0, 0);
+    // 원본 테이블에 남아 있는 데이터의 첫 시각
+    private static final LocalDateTime HOT_START = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @TempDir
+    Path archiveDir;
+
+    private final ArchiveJdbcRepository archiveJdbcRepository = mock(ArchiveJdbcRepository.class);
+    private EnergyArchive energyArchive;
+
+    @BeforeEach
+    void setUp() {
+        // 4월 28일부터 5월 말까지 IoT 장비 2대의 15분 간격 사용량 (값은 시각에 따라 증감)
+        when(archiveJdbcRepository.findMinimum(eq(PartitionedTable.ENERGY), eq(COMPANY_ID))).thenReturn(Optional.of(FIRST_READING));
+        doAnswer(invocation -> {
+            LocalDateTime start = invocation.getArgument(1);
+            LocalDateTime end = invocation.getArgument(2);
+            ArchiveJdbcRepository.RowHandler handler = invocation.getArgument(3);
+            for (long iotId = 10; iotId <= 11; iotId++) {
+                for (var time = FIRST_READING; time.isBefore(HOT_START); time = time.plusMinutes(15)) {
+                    if (!time.isBefore(start) && time.isBefore(end)) {
+                        handler.accept(iotId, ArchiveJdbcRepository.toEpochMinute(time), archivedUsage(iotId, time));
+                    }
+                }
+            }
+            return null;
+        }).when(archiveJdbcRepository).streamEnergy(eq(COMPANY_ID), any(), any(), any());
+        energyArchive = new EnergyArchive(archiveJdbcRepository, archiveDir.toString(), true);
+        assertThat(energyArchive.archiveBefore(COMPANY_ID, ZoneId.of("Asia/Seoul"), YearMonth.of(2024, 6))).isTrue();
+        assertThat(archiveDir.resolve("1").resolve("energy-202404.tsa")).exists();
+        assertThat(archiveDir.resolve("1").resolve("energy-202405.tsa")).exists();
+    }
+
+    @Test
+    void readsArchivedMonthsAndHotTableAcrossBoundary() {
+        var start = LocalDateTime.of(2024, 4, 30, 22, 30);
+        var end = LocalDateTime.of(2024, 6, 1, 2, 0);
+        var hotRows = List.of(
+                new EnergyDto.UsageSum(HOT_START, new BigDecimal("1.5000")),
+                new EnergyDto.UsageSum(HOT_START.plusHours(1), new BigDecimal("2.2500")),
+                new EnergyDto.UsageSum(HOT_START.plusHours(2), new BigDecimal("0.7500")));
+        var hotRanges = new ArrayList<List<LocalDateTime>>();
+
+        var result = energyArchive.readHourly(COMPANY_ID, ArchiveKind.ENERGY, start, end, (hotStart, hotEnd) -> {
+            hotRanges.add(List.of(hotStart, hotEnd));
+            return hotRows;
+        });
+
+        // 아카이브되지 않은 6월부터만 원본 테이블에서 조회
+        assertThat(hotRanges).containsExactly(List.of(HOT_START, end));
+        // 아카이브 구간은 조회 시작 시각(22:30) 이후의 사용량만 시간대별로 합산
+        var expected = new TreeMap<LocalDateTime, BigDecimal>();
+        for (long iotId = 10; iotId <= 11; iotId++) {
+            for (var time = start; time.isBefore(HOT_START); time = time.plusMinutes(15)) {
+                expected.merge(time.withMinute(0), BigDecimal.valueOf(archivedUsage(iotId, time), ArchiveJdbcRepository.USAGE_SCALE), BigDecimal::add);
+            }
+        }
+        hotRows.forEach(row -> expected.put(row.getReferenceTime(), row.getUsage()));
+        assertThat(result).extracting(EnergyDto.UsageSum::getReferenceTime).containsExactlyElementsOf(expected.keySet());
+        for (var row : result) {
+            assertThat(row.getUsage()).as("usage at %s", row.getReferenceTime()).isEqualByComparingTo(expected.get(row.getReferenceTime()));
+        }
+        assertThat(result.getFirst().getReferenceTime()).isEqualTo(LocalDateTime.of(2024, 4, 30, 22, 0));
+    }
+
+    @Test
+    void readsOnlyHotTableWhenStartMonthIsNotArchived() {
+        var start = LocalDateTime.of(2024, 6, 1, 0, 0);
+        var end = LocalDateTime.of(2024, 6, 1, 23, 59);
+        var hotRanges = new ArrayList<List<LocalDateTime>>();
+
+        var result = energyArchive.readHourly(COMPANY_ID, ArchiveKind.ENERGY, start, end, (hotStart, hotEnd) -> {
+            hotRanges.add(List.of(hotStart, hotEnd));
+            return List.of();
+        });
+
+        assertThat(result).isEmpty();
+        assertThat(hotRanges).containsExactly(List.of(start, end));
+    }
+
+    @Test
+    void readsOnlyArchiveWhenRangeEndsBeforeHotTable() {
+        var start = LocalDateTime.of(2024, 5, 31, 23, 0);
+        var end = LocalDateTime.of(2024, 5, 31, 23, 59);
+
+        var result = energyArchive.readHourly(COMPANY_ID, ArchiveKind.ENERGY, start, end, (hotStart, hotEnd) -> {
+            throw new AssertionError("Hot table must not be queried.");
+        });
+
+        assertThat(result).hasSize(1);
+        var expected = 0L;
+        for (long iotId = 10; iotId <= 11; iotId++) {
+            for (var time = start; time.isBefore(HOT_START); time = time.plusMinutes(15)) {
+                expected += archivedUsage(iotId, time);
+            }
+        }
+        assertThat(result.getFirst().getUsage()).isEqualByComparingTo(BigDecimal.valueOf(expected, ArchiveJdbcRepository.USAGE_SCALE));
+    }
+
+    /**
+     * 시각에 따라 늘었다 줄었다 하는 사용량(고정소수점)을 생성합니다.
+     */
+    private static long archivedUsage(long iotId, LocalDateTime time) {
+        return iotId * 1_000 + (time.getMinute() * 37L + time.getHour() * 101L) % 2_500;
+    }
+}
@@ -0,0 +1,208 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.MemberRole;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.dto.MemberDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyRateRepository;
+import atemos.everse.api.repository.EnergyRollupJdbcRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * 시간별 집계가 갱신될 때 날짜별 분위수 스케치와 최대 수요 시간대가 함께 갱신되어,
+ * 기간 내 수요 분석 결과가 시간별 사용량으로 직접 계산한 분위수, 최대 수요와 같은지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import({EnergyDemandServiceImpl.class, EnergyRollupServiceImpl.class, EnergyRollupJdbcRepository.class, EnergyBucketJdbcRepository.class})
+class EnergyDemandServiceTest {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 7, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 7, 3);
+
+    @Autowired
+    private EnergyDemandService energyDemandService;
+    @Autowired
+    private EnergyRollupService energyRollupService;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private EnergyRateRepository energyRateRepository;
+    @MockBean
+    private EnergyService energyService;
+    @MockBean
+    private EnergySummaryCache energySummaryCache;
+    @MockBean
+    private EnergyHeatmap energyHeatmap;
+    @MockBean
+    private AuthenticationService authenticationService;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company company;
+    // 시간대별 누적 사용량
+    private final TreeMap<LocalDateTime, BigDecimal> hourlyUsage = new TreeMap<>();
+
+    @BeforeEach
+    void setUp() {
+        when(authenticationService.getCurrentUserInfo()).thenReturn(MemberDto.EverseUserInfo.builder()
+                .role(MemberRole.ADMIN)
+                .build());
+        when(energyService.getRate(any(), any(), anyInt())).thenReturn(new BigDecimal("100.0000"));
+        var country = countryRepository.save(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        energyRateRepository.save(EnergyRate.builder()
+                .country(country)
+                .industrialRate(new BigDecimal("100.0000"))
+                .commercialRate(new BigDecimal("100.0000"))
+                .peakMultiplier(BigDecimal.ONE)
+                .midPeakMultiplier(BigDecimal.ONE)
+                .offPeakMultiplier(BigDecimal.ONE)
+                .build());
+        company = companyRepository.save(Company.builder()
+                .country(country)
+                .name("Company")
+                .type(CompanyType.FEMS)
+                .email("company@example.com")
+                .tel("02000000001")
+                .fax("02000000001")
+                .address("Seoul")
+                .build());
+        // 3일 동안 시간마다 무작위 사용량을 두 번에 나누어 반영 (두 번째 반영은 갱신 전 사용량을 스케치에서 뺌)
+        var random = new Random(17);
+        for (var date = START_DATE; !date.isAfter(END_DATE); date = date.plusDays(1)) {
+            var first = new TreeMap<LocalDateTime, BigDecimal>();
+            var second = new TreeMap<LocalDateTime, BigDecimal>();
+            for (int hour = 0; hour < 24; hour++) {
+                first.put(date.atTime(hour, 0), BigDecimal.valueOf(random.nextInt(500_000), 4));
+                second.put(date.atTime(hour, 0), BigDecimal.valueOf(random.nextInt(500_000), 4));
+            }
+            accumulate(first);
+            accumulate(second);
+        }
+    }
+
+    @Test
+    void matchesQuantilesAndPeakOfHourlyUsage() {
+        var response = energyDemandService.readDemand(company.getId(), START_DATE, END_DATE);
+
+        assertThat(response.getHours()).isEqualTo(72);
+        assertMatchesHourlyUsage(response, hourlyUsage);
+        // 부하 지속 곡선은 최대 수요에서 시작해 줄어듦
+        var curve = response.getLoadDurationCurve();
+        assertThat(curve).hasSize(101);
+        assertThat(curve.getFirst().getUsage()).isEqualByComparingTo(response.getPeakUsage());
+        for (int i = 1; i < curve.size(); i++) {
+            assertThat(curve.get(i).getUsage()).isLessThanOrEqualTo(curve.get(i - 1).getUsage());
+        }
+        // 하루만 조회하면 그 날의 스케치만 병합
+        var firstDay = energyDemandService.readDemand(company.getId(), START_DATE, null);
+        assertThat(firstDay.getHours()).isEqualTo(24);
+        assertMatchesHourlyUsage(firstDay, hourlyUsage.headMap(START_DATE.plusDays(1).atStartOfDay()));
+    }
+
+    @Test
+    void recalculatesPeakWhenPeakHourDecreases() {
+        var peak = hourlyUsage.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow();
+
+        // 최대 수요 시간대의 사용량을 0으로 줄이면 그 날의 다른 시간대가 최대 수요
+        accumulate(new TreeMap<>(Map.of(peak.getKey(), peak.getValue().negate())));
+
+        var response = energyDemandService.readDemand(company.getId(), START_DATE, END_DATE);
+        assertThat(response.getHours()).isEqualTo(72);
+        assertMatchesHourlyUsage(response, hourlyUsage);
+        assertThat(response.getPeakTime()).isNotEqualTo(peak.getKey());
+        // 시간별 집계로 다시 생성해도 결과가 같음
+        energyDemandService.rebuild(company, START_DATE, END_DATE);
+        var rebuilt = energyDemandService.readDemand(company.getId(), START_DATE, END_DATE);
+        assertThat(rebuilt.getP95()).isEqualByComparingTo(response.getP95());
+        assertThat(rebuilt.getPeakTime()).isEqualTo(response.getPeakTime());
+    }
+
+    @Test
+    void returnsEmptyAnalysisWithoutSketches() {
+        var response = energyDemandService.readDemand(company.getId(), END_DATE.plusDays(1), END_DATE.plusDays(7));
+
+        assertThat(response.getHours()).isZero();
+        assertThat(response.getP95()).isEqualByComparingTo("0");
+        assertThat(response.getPeakTime()).isNull();
+        assertThat(response.getLoadDurationCurve()).isEmpty();
+    }
+
+    @Test
+    void rejectsOtherCompaniesAndInvalidRanges() {
+        assertThatThrownBy(() -> energyDemandService.readDemand(company.getId(), END_DATE, START_DATE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> energyDemandService.readDemand(company.getId() + 100, START_DATE, END_DATE))
+                .isInstanceOf(EntityNotFoundException.class);
+        when(authenticationService.getCurrentUserInfo()).thenReturn(MemberDto.EverseUserInfo.builder()
+                .role(MemberRole.MANAGER)
+                .companyId(company.getId() + 1)
+                .build());
+        assertThatThrownBy(() -> energyDemandService.readDemand(company.getId(), START_DATE, END_DATE))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    /**
+     * 시간대별 사용량 변화량을 수집 경로와 같이 집계에 반영하고, 기대값 계산을 위해 누적 사용량을 함께 갱신합니다.
+     */
+    private void accumulate(TreeMap<LocalDateTime, BigDecimal> hourlyUsageDelta) {
+        energyRollupService.accumulate(company, hourlyUsageDelta);
+        hourlyUsageDelta.forEach((hour, usageDelta) -> hourlyUsage.merge(hour, usageDelta, BigDecimal::add));
+    }
+
+    /**
+     * 분위수는 시간별 사용량으로 직접 계산한 같은 순위의 값과 상대 오차 1% 이내이고, 최대 수요는 정확히 같은지 확인합니다.
+     */
+    private static void assertMatchesHourlyUsage(EnergyDto.DemandResponse response, Map<LocalDateTime, BigDecimal> hourlyUsage) {
+        var sorted = hourlyUsage.values().stream().sorted().toList();
+        for (var quantile : List.of(0.50, 0.95, 0.99)) {
+            var exact = sorted.get((int) Math.floor(quantile * (sorted.size() - 1))).doubleValue();
+            var estimate = switch ((int) Math.round(quantile * 100)) {
+                case 50 -> response.getP50();
+                case 95 -> response.getP95();
+                default -> response.getP99();
+            };
+            assertThat(estimate.doubleValue()).as("p%d", Math.round(quantile * 100))
+                    .isCloseTo(exact, within(exact * DemandSketch.RELATIVE_ACCURACY + 0.0001));
+        }
+        var peak = hourlyUsage.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow();
+        assertThat(response.getPeakTime()).isEqualTo(peak.getKey());
+        assertThat(response.getPeakUsage()).isEqualByComparingTo(peak.getValue());
+    }
+}
@@ -0,0 +1,218 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 요일·시각 히트맵이 시간별 집계를 요일·시각 칸(월요일 0시 = 0번, 일요일 23시 = 167번)에 나누어 담고,
+ * 주별 값으로 합계·시간 수·최소·최대를 계산하며, 커밋된 갱신만 반영하고, 주가 바뀌면 기간이 지난 주를 제거하는지 확인합니다.
+ * 이번 주는 2024-06-03(월)부터 시작하는 주이고, 보관 기간은 3주입니다.
+ */
+class EnergyHeatmapTest {
+    private static final Long COMPANY_ID = 1L;
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+    private static final int WEEKS = 3;
+    // 이번 주 월요일
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 6, 3, 0, 0);
+
+    private final EnergyRollupRepository energyRollupRepository = mock(EnergyRollupRepository.class);
+    private final MutableClock clock = new MutableClock(MONDAY.plusDays(2).plusHours(12).atZone(ZONE_ID).toInstant());
+    private final EnergyHeatmap energyHeatmap = new EnergyHeatmap(energyRollupRepository, true, WEEKS, clock);
+    private final List<EnergyRollup> hourlyRollups = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void mapsWeekdayAndHourToCells() {
+        hourlyRollups.add(rollup(MONDAY, "1.0000", "100.0000"));
+        hourlyRollups.add(rollup(MONDAY.withHour(23), "2.0000", "200.0000"));
+        // 자정이 지나면 다음 요일의 0시 칸
+        hourlyRollups.add(rollup(MONDAY.plusDays(1), "3.0000", "300.0000"));
+        // 지난주와 2주 전 일요일 23시는 마지막 칸
+        hourlyRollups.add(rollup(MONDAY.minusHours(1), "4.0000", "400.0000"));
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(1).minusHours(1), "6.0000", "600.0000"));
+        // 보관 기간 이전의 시간은 무시
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(2).minusHours(1), "8.0000", "800.0000"));
+        stubHourlyRollups();
+
+        var cells = energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS);
+
+        assertThat(cells.usageSum()).hasSize(EnergyHeatmap.CELLS);
+        assertCell(cells, 0, 1, "1.0000", "100.0000", "1.0000", "1.0000");
+        assertCell(cells, 23, 1, "2.0000", "200.0000", "2.0000", "2.0000");
+        assertCell(cells, 24, 1, "3.0000", "300.0000", "3.0000", "3.0000");
+        assertCell(cells, 167, 2, "10.0000", "1000.0000", "4.0000", "6.0000");
+        assertThat(cells.count()).containsOnlyOnce(2);
+        assertThat(Arrays.stream(cells.count()).sum()).isEqualTo(5);
+        // 기간 내 시간별 집계를 이번 주를 포함한 3주의 월요일부터 오늘까지 조회
+        verify(energyRollupRepository).findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(
+                COMPANY_ID, EnergyRollupGranularity.HOURLY, MONDAY.minusWeeks(2), MONDAY.plusDays(3));
+    }
+
+    @Test
+    void readsOnlyRequestedRecentWeeks() {
+        hourlyRollups.add(rollup(MONDAY.withHour(10), "1.0000", "100.0000"));
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(1).withHour(10), "3.0000", "300.0000"));
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(2).withHour(10), "2.0000", "200.0000"));
+        stubHourlyRollups();
+
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, 1), 10, 1, "1.0000", "100.0000", "1.0000", "1.0000");
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, 2), 10, 2, "4.0000", "400.0000", "1.0000", "3.0000");
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, 3), 10, 3, "6.0000", "600.0000", "1.0000", "3.0000");
+        // 처음 조회할 때 한 번만 적재
+        verify(energyRollupRepository, times(1)).findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(
+                eq(COMPANY_ID), eq(EnergyRollupGranularity.HOURLY), any(), any());
+    }
+
+    @Test
+    void overwritesUpdatedHoursAfterCommit() {
+        hourlyRollups.add(rollup(MONDAY.withHour(10), "1.0000", "100.0000"));
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(1).withHour(10), "3.0000", "300.0000"));
+        stubHourlyRollups();
+        energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS);
+
+        // 트랜잭션 안에서는 커밋될 때까지 반영하지 않음
+        TransactionSynchronizationManager.initSynchronization();
+        energyHeatmap.update(COMPANY_ID, List.of(rollup(MONDAY.withHour(10), "5.0000", "500.0000"),
+                rollup(MONDAY.withHour(11), "2.0000", "200.0000")));
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS), 10, 2, "4.0000", "400.0000", "1.0000", "3.0000");
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // 같은 시간의 이전 값을 새 값으로 바꾸고, 최소·최대를 다시 계산
+        var cells = energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS);
+        assertCell(cells, 10, 2, "8.0000", "800.0000", "3.0000", "5.0000");
+        assertCell(cells, 11, 1, "2.0000", "200.0000", "2.0000", "2.0000");
+    }
+
+    @Test
+    void ignoresUpdatesOfCompaniesNotLoaded() {
+        energyHeatmap.update(COMPANY_ID, List.of(rollup(MONDAY.withHour(10), "5.0000", "500.0000")));
+        hourlyRollups.add(rollup(MONDAY.withHour(10), "1.0000", "100.0000"));
+        stubHourlyRollups();
+
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS), 10, 1, "1.0000", "100.0000", "1.0000", "1.0000");
+
+        // 삭제된 업체는 다시 조회할 때 시간별 집계로 적재
+        energyHeatmap.removeCompany(COMPANY_ID);
+        hourlyRollups.clear();
+        assertThat(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS).count()).containsOnly(0);
+    }
+
+    @Test
+    void evictsWeeksOutsideWindowWhenWeekChanges() {
+        hourlyRollups.add(rollup(MONDAY.withHour(10), "1.0000", "100.0000"));
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(1).withHour(10), "2.0000", "200.0000"));
+        hourlyRollups.add(rollup(MONDAY.minusWeeks(2).withHour(10), "3.0000", "300.0000"));
+        stubHourlyRollups();
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS), 10, 3, "6.0000", "600.0000", "1.0000", "3.0000");
+
+        // 업체 타임존 기준 일요일 23시 59분까지는 같은 주
+        clock.set(MONDAY.plusWeeks(1).minusMinutes(1).atZone(ZONE_ID).toInstant());
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS), 10, 3, "6.0000", "600.0000", "1.0000", "3.0000");
+
+        // 다음 주가 되면 2주 전 주를 합계와 최소·최대에서 제거
+        clock.set(MONDAY.plusWeeks(1).atZone(ZONE_ID).toInstant());
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS), 10, 2, "3.0000", "300.0000", "1.0000", "2.0000");
+
+        // 새 주는 비워 둔 슬롯을 다시 사용하고, 기간 밖의 시간은 무시
+        energyHeatmap.update(COMPANY_ID, List.of(rollup(MONDAY.plusWeeks(1).withHour(10), "10.0000", "1000.0000"),
+                rollup(MONDAY.minusWeeks(2).withHour(10), "3.0000", "300.0000")));
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS), 10, 3, "13.0000", "1300.0000", "1.0000", "10.0000");
+        assertCell(energyHeatmap.read(COMPANY_ID, ZONE_ID, 1), 10, 1, "10.0000", "1000.0000", "10.0000", "10.0000");
+
+        // 보관 기간만큼 지나면 모든 주를 제거
+        clock.set(MONDAY.plusWeeks(1 + WEEKS).atZone(ZONE_ID).toInstant());
+        var cells = energyHeatmap.read(COMPANY_ID, ZONE_ID, WEEKS);
+        assertThat(cells.count()).containsOnly(0);
+        assertThat(cells.usageSum()).containsOnly(0L);
+        assertThat(cells.minUsage()).containsOnly(0L);
+        assertThat(cells.maxUsage()).containsOnly(0L);
+    }
+
+    private void stubHourlyRollups() {
+        when(energyRollupRepository.findByCompanyIdAndGranularityAndBucketTimeBetweenOrderByBucketTimeAsc(
+                eq(COMPANY_ID), eq(EnergyRollupGranularity.HOURLY), any(), any()))
+                .thenAnswer(invocation -> List.copyOf(hourlyRollups));
+    }
+
+    private static void assertCell(EnergyHeatmap.Cells cells, int cell, int count, String usageSum, String billSum,
+                                   String minUsage, String maxUsage) {
+        assertThat(cells.count()[cell]).as("count of cell %d", cell).isEqualTo(count);
+        assertThat(cells.usageSum()[cell]).as("usage of cell %d", cell).isEqualTo(fixedPoint(usageSum));
+        assertThat(cells.billSum()[cell]).as("bill of cell %d", cell).isEqualTo(fixedPoint(billSum));
+        assertThat(cells.minUsage()[cell]).as("min usage of cell %d", cell).isEqualTo(fixedPoint(minUsage));
+        assertThat(cells.maxUsage()[cell]).as("max usage of cell %d", cell).isEqualTo(fixedPoint(maxUsage));
+    }
+
+    private static long fixedPoint(String value) {
+        return new BigDecimal(value).movePointRight(EnergyAccumulator.SCALE).longValueExact();
+    }
+
+    private static EnergyRollup rollup(LocalDateTime hour, String facilityUsage, String bill) {
+        return EnergyRollup.builder()
+                .granularity(EnergyRollupGranularity.HOURLY)
+                .bucketTime(hour)
+                .facilityUsage(new BigDecimal(facilityUsage))
+                .bill(new BigDecimal(bill))
+                .build();
+    }
+
+    /**
+     * 테스트에서 현재 시각을 바꿀 수 있는 시계입니다.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyRepository;
+import atemos.everse.api.repository.IotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 최근 사용량 저장소가 데이터베이스에서 적재한 시간대별 사용량이 데이터베이스에서 합산한 결과와 같고,
+ * 링 버퍼의 슬롯을 다시 사용할 때 더 오래된 시간대를 덮어쓰며, 보관 기간의 경계를 벗어난 시간대를 제외하고,
+ * 변화량을 커밋된 후에만 반영하는지 H2(MySQL 호환 모드)로 확인합니다.
+ * 적재는 별도 스레드에서 데이터베이스를 읽으므로 테스트 데이터를 커밋하고 테스트가 끝나면 삭제합니다.
+ * 보관 기간은 1일(슬롯 24개)입니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties",
+        properties = {"energy.hot-window.enabled=true", "energy.hot-window.days=1"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EnergyHotWindow.class, EnergyBucketJdbcRepository.class})
+class EnergyHotWindowTest {
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+    private static final int CAPACITY = 24;
+
+    @Autowired
+    private EnergyHotWindow energyHotWindow;
+    @Autowired
+    private CountryRepository countryRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private IotRepository iotRepository;
+    @Autowired
+    private EnergyRepository energyRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company company;
+    private Iot iot1;
+    private Iot iot2;
+    // 현재 시각이 속한 UTC 정각의 epoch 시간
+    private int currentEpochHour;
+
+    @BeforeEach
+    void setUp() {
+        var country = countryRepository.save(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone(ZONE_ID.getId())
+                .build());
+        company = companyRepository.save(Company.builder()
+                .country(country)
+                .name("Company")
+                .type(CompanyType.FEMS)
+                .email("company@example.com")
+                .tel("02000000001")
+                .fax("02000000001")
+                .address("Seoul")
+                .build());
+        iot1 = iotRepository.save(iot("SN-1"));
+        iot2 = iotRepository.save(iot("SN-2"));
+        currentEpochHour = Math.toIntExact(Instant.now().getEpochSecond() / 3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (var table : List.of("energy", "iot", "company", "country")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void sumsByHourLikeTheDatabase() {
+        // 보관 기간 안의 시간대마다 두 장비가 15분 간격으로 무작위 사용량을 저장
+        var random = new Random(11);
+        var energies = new ArrayList<Energy>();
+        for (int epochHour = currentEpochHour - CAPACITY + 1; epochHour < currentEpochHour; epochHour++) {
+            var hour = Energy.fromEpochHour(epochHour, ZONE_ID);
+            for (int minute = 0; minute < 60; minute += 15) {
+                energies.add(energy(iot1, hour.plusMinutes(minute), BigDecimal.valueOf(random.nextInt(100_000), 4)));
+                if (random.nextBoolean()) {
+                    energies.add(energy(iot2, hour.plusMinutes(minute), BigDecimal.valueOf(random.nextInt(100_000), 4)));
+                }
+            }
+        }
+        energyRepository.saveAll(energies);
+        load();
+
+        var start = Energy.fromEpochHour(currentEpochHour - CAPACITY + 1, ZONE_ID);
+        var end = Energy.fromEpochHour(currentEpochHour, ZONE_ID).plusMinutes(59).plusSeconds(59);
+        var expected = energyRepository.sumFacilityUsageByHour(company.getId(), ZONE_ID, start, end);
+        var actual = energyHotWindow.sumByHour(company.getId(), ZONE_ID, start, end);
+
+        assertThat(actual).isPresent();
+        assertThat(actual.get()).extracting(EnergyDto.UsageSum::getReferenceTime)
+                .containsExactlyElementsOf(expected.stream().map(EnergyDto.UsageSum::getReferenceTime).sorted().toList());
+        for (var usageSum : actual.get()) {
+            var expectedUsage = expected.stream()
+                    .filter(sum -> sum.getReferenceTime().equals(usageSum.getReferenceTime()))
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(usageSum.getUsage()).isEqualByComparingTo(expectedUsage.getUsage());
+        }
+        // 한 시간대의 합계도 데이터베이스와 같음
+        var lastHour = currentEpochHour - 1;
+        assertThat(energyHotWindow.sumByEpochHour(company.getId(), lastHour))
+                .hasValueSatisfying(usage -> assertThat(usage).isEqualByComparingTo(
+                        energyRepository.sumFacilityUsageByEpochHour(company.getId(), ZONE_ID, lastHour)));
+    }
+
+    @Test
+    void overwritesOlderHourWhenSlotIsReused() {
+        var oldestHour = currentEpochHour - CAPACITY + 1;
+        energyRepository.save(energy(iot1, Energy.fromEpochHour(oldestHour, ZONE_ID), new BigDecimal("1.0000")));
+        load();
+        assertThat(sumByEpochHour(oldestHour)).isEqualByComparingTo("1.0000");
+
+        // 슬롯 수만큼 뒤의 시간대는 같은 슬롯을 사용하므로, 더 오래된 시간대를 덮어씀
+        var wrappedHour = oldestHour + CAPACITY;
+        addAll(reading(iot1, wrappedHour, "2.0000"));
+        assertThat(sumByEpochHour(wrappedHour)).isEqualByComparingTo("2.0000");
+        assertThat(sumByEpochHour(oldestHour)).isEqualByComparingTo("0");
+
+        // 슬롯에 더 최근 시간대가 있으면 오래된 시간대의 변화량은 무시
+        addAll(reading(iot1, oldestHour, "4.0000"));
+        assertThat(sumByEpochHour(wrappedHour)).isEqualByComparingTo("2.0000");
+        assertThat(sumByEpochHour(oldestHour)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void excludesHoursOutsideWindow() {
+        load();
+        var edgeHour = currentEpochHour - CAPACITY;
+
+        // 보관 기간의 경계 시간대의 변화량은 반영하지 않고, 경계 다음 시간대부터 반영
+        addAll(reading(iot1, edgeHour, "1.0000"), reading(iot1, edgeHour + 1, "2.0000"));
+        assertThat(energyHotWindow.sumByEpochHour(company.getId(), edgeHour)).isEmpty();
+        assertThat(sumByEpochHour(edgeHour + 1)).isEqualByComparingTo("2.0000");
+
+        // 시작 일시가 보관 기간을 벗어난 조회는 데이터베이스에서 조회하도록 빈 Optional 반환
+        var end = Energy.fromEpochHour(currentEpochHour, ZONE_ID);
+        assertThat(energyHotWindow.sumByHour(company.getId(), ZONE_ID, Energy.fromEpochHour(edgeHour, ZONE_ID), end)).isEmpty();
+        assertThat(energyHotWindow.sumByHour(company.getId(), ZONE_ID, Energy.fromEpochHour(edgeHour + 1, ZONE_ID), end))
+                .hasValueSatisfying(usageSums -> assertThat(usageSums).singleElement()
+                        .satisfies(usageSum -> {
+                            assertThat(usageSum.getReferenceTime()).isEqualTo(Energy.fromEpochHour(edgeHour + 1, ZONE_ID));
+                            assertThat(usageSum.getUsage()).isEqualByComparingTo("2.0000");
+                        }));
+    }
+
+    @Test
+    void appliesUsageDeltasAfterCommit() {
+        load();
+        var hour = currentEpochHour - 1;
+
+        // 트랜잭션 안에서는 커밋될 때까지 반영하지 않음
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            addAll(reading(iot1, hour, "1.5000"), reading(iot2, hour, "0.2500"));
+            assertThat(sumByEpochHour(hour)).isEqualByComparingTo("0");
+        });
+        assertThat(sumByEpochHour(hour)).isEqualByComparingTo("1.7500");
+
+        // 롤백된 변화량은 반영하지 않음
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            addAll(reading(iot1, hour, "3.0000"));
+            status.setRollbackOnly();
+        });
+        assertThat(sumByEpochHour(hour)).isEqualByComparingTo("1.7500");
+    }
+
+    /**
+     * 업체의 최근 사용량을 데이터베이스에서 적재하고, 별도 스레드의 적재가 끝날 때까지 기다립니다.
+     */
+    private void load() {
+        energyHotWindow.startLoading();
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (energyHotWindow.sumByEpochHour(company.getId(), currentEpochHour).isEmpty()) {
+            assertThat(System.currentTimeMillis()).as("hot window loading").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private BigDecimal sumByEpochHour(int epochHour) {
+        Optional<BigDecimal> usage = energyHotWindow.sumByEpochHour(company.getId(), epochHour);
+        assertThat(usage).isPresent();
+        return usage.get();
+    }
+
+    private void addAll(EnergyDto.ReadingRow... usageDeltas) {
+        energyHotWindow.addAll(List.of(usageDeltas), Map.of(company.getId(), ZONE_ID));
+    }
+
+    private EnergyDto.ReadingRow reading(Iot iot, int epochHour, String usageDelta) {
+        return new EnergyDto.ReadingRow(iot.getId(), company.getId(), Energy.fromEpochHour(epochHour, ZONE_ID),
+                new BigDecimal(usageDelta), epochHour);
+    }
+
+    private Iot iot(String serialNumber) {
+        return Iot.builder()
+                .company(company)
+                .serialNumber(serialNumber)
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .readingIntervalMinutes(15)
+                .build();
+    }
+
+    private static Energy energy(Iot iot, LocalDateTime referenceTime, BigDecimal facilityUsage) {
+        return Energy.builder()
+                .iot(iot)
+                .referenceTime(referenceTime)
+                .facilityUsage(facilityUsage)
+                .epochHour(Energy.toEpochHour(referenceTime, ZONE_ID))
+                .build();
+    }
+}
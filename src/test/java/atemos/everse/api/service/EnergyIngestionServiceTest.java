@@ -0,0 +1,300 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * 수천 건의 에너지 사용량을 EnergyIngestionService.upsert로 저장한 뒤,
+ * 저장된 행 수와 업체별 시간별/일별/월별 집계 데이터의 합계가 원본 사용량과 같은지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import({EnergyIngestionServiceImpl.class, EnergyJdbcRepository.class, EnergyBucketJdbcRepository.class,
+        EnergyRollupServiceImpl.class, EnergyRollupJdbcRepository.class, EnergySummaryCache.class})
+class EnergyIngestionServiceTest {
+    // 수집 기간의 시작 시각 (월이 바뀌는 기간)
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 30, 0, 0);
+    // 수집 기간의 일수
+    private static final int DAYS = 3;
+    // 처리량 측정 기간의 일수 (IoT 장비 12대 × 하루 96건 × 60일 = 69,120건)
+    private static final int THROUGHPUT_DAYS = 60;
+    // 처리량 측정 기준 (초당 저장 건수, H2 메모리 DB에서 집계 갱신을 포함해 측정한 약 6,000~7,000건/초보다 낮게 설정)
+    private static final long MIN_ROWS_PER_SECOND = 2_000;
+
+    @Autowired
+    private EnergyIngestionService energyIngestionService;
+    @Autowired
+    private EnergyRollupService energyRollupService;
+    @Autowired
+    private EnergyRollupRepository energyRollupRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private EnergyService energyService;
+    @MockBean
+    private EnergyDemandService energyDemandService;
+    @MockBean
+    private EnergyHeatmap energyHeatmap;
+    @MockBean
+    private EnergyHotWindow energyHotWindow;
+    @MockBean
+    private IotRegistry iotRegistry;
+    @MockBean
+    private AuthenticationServiceImpl authenticationService;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+    @MockBean
+    private JobLauncher jobLauncher;
+    @MockBean(name = "energyCompactionJob")
+    private Job energyCompactionJob;
+
+    private final List<Company> companies = new ArrayList<>();
+    private final List<Iot> iotList = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // 시간대별 요금 (업체와 관계없이 100 + 시간)
+        when(energyService.getRate(any(), any(), anyInt()))
+                .thenAnswer(invocation -> BigDecimal.valueOf(100 + (int) invocation.getArgument(2)).setScale(4, RoundingMode.HALF_UP));
+        var country = testEntityManager.persist(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        testEntityManager.persist(EnergyRate.builder()
+                .country(country)
+                .industrialRate(new BigDecimal("100.0000"))
+                .commercialRate(new BigDecimal("100.0000"))
+                .peakMultiplier(BigDecimal.ONE)
+                .midPeakMultiplier(BigDecimal.ONE)
+                .offPeakMultiplier(BigDecimal.ONE)
+                .peakHours(List.of())
+                .midPeakHours(List.of())
+                .offPeakHours(List.of())
+                .build());
+        for (int c = 1; c <= 3; c++) {
+            var company = testEntityManager.persist(Company.builder()
+                    .country(country)
+                    .name("Company " + c)
+                    .type(CompanyType.FEMS)
+                    .email("company" + c + "@example.com")
+                    .tel("0200000000" + c)
+                    .fax("0200000000" + c)
+                    .address("Seoul")
+                    .build());
+            companies.add(company);
+            for (int i = 0; i < 4; i++) {
+                iotList.add(testEntityManager.persist(Iot.builder()
+                        .company(company)
+                        .serialNumber("SN-" + c + "-" + i)
+                        .status(IotStatus.NORMAL)
+                        .type(IotType.MOTOR)
+                        .readingIntervalMinutes(15)
+                        .build()));
+            }
+        }
+        testEntityManager.flush();
+    }
+
+    @Test
+    void upsertsLargeBatchAndKeepsRollupTotals() {
+        var random = new Random(9);
+        var rows = readings(random, START, DAYS);
+        assertThat(rows).hasSize(iotList.size() * DAYS * 96);
+
+        var response = energyIngestionService.upsert(rows);
+
+        assertThat(response.getInserted()).isEqualTo(rows.size());
+        assertThat(response.getUpdated()).isZero();
+        assertThat(countEnergy()).isEqualTo(rows.size());
+        var usageByKey = new LinkedHashMap<EnergyJdbcRepository.Key, EnergyDto.ReadingRow>();
+        rows.forEach(row -> usageByKey.put(new EnergyJdbcRepository.Key(row.getIotId(), row.getReferenceTime()), row));
+        assertRollups(usageByKey);
+
+        // 일부 사용량을 다시 수집 (기존 사용량 교체, 목록 안의 중복은 나중 값 사용) 하고 새 사용량도 함께 저장
+        var resent = new ArrayList<EnergyDto.ReadingRow>();
+        for (int i = 0; i < rows.size(); i += 3) {
+            resent.add(withUsage(rows.get(i), BigDecimal.valueOf(random.nextInt(1_000_000), 4)));
+        }
+        var duplicated = withUsage(rows.get(6), new BigDecimal("7.7777"));
+        resent.add(duplicated);
+        var newRow = withUsage(rows.getLast(), new BigDecimal("1.2345"));
+        newRow = new EnergyDto.ReadingRow(newRow.getIotId(), newRow.getCompanyId(), newRow.getReferenceTime().plusMinutes(15),
+                newRow.getFacilityUsage(), newRow.getEpochHour());
+        resent.add(newRow);
+
+        var resentResponse = energyIngestionService.upsert(resent);
+
+        var updated = (rows.size() + 2) / 3;
+        assertThat(resentResponse.getUpdated()).isEqualTo(updated);
+        assertThat(resentResponse.getInserted()).isEqualTo(1);
+        assertThat(resentResponse.getSkipped()).isEqualTo(1);
+        assertThat(countEnergy()).isEqualTo(rows.size() + 1);
+        resent.forEach(row -> usageByKey.put(new EnergyJdbcRepository.Key(row.getIotId(), row.getReferenceTime()), row));
+        assertThat(jdbcTemplate.queryForObject("SELECT facility_usage FROM energy WHERE iot_id = ? AND reference_time = ?",
+                BigDecimal.class, duplicated.getIotId(), duplicated.getReferenceTime())).isEqualByComparingTo("7.7777");
+        assertRollups(usageByKey);
+    }
+
+    @Test
+    void measuresIngestionThroughput() {
+        var random = new Random(17);
+        // JIT 컴파일과 커넥션, 쿼리 계획 준비를 위해 측정 전 기간을 먼저 저장
+        var warmUpStart = START.minusDays(THROUGHPUT_DAYS + 7);
+        ingestInBatches(readings(random, warmUpStart, 7));
+        // 측정 기간의 사용량을 API 요청 한도(10,000건) 단위로 시간 순서대로 저장
+        var rows = readings(random, START.minusDays(THROUGHPUT_DAYS), THROUGHPUT_DAYS);
+        rows.sort(Comparator.comparing(EnergyDto.ReadingRow::getReferenceTime));
+        var countBefore = countEnergy();
+
+        var startedAt = System.nanoTime();
+        var inserted = ingestInBatches(rows);
+        var elapsedNanos = System.nanoTime() - startedAt;
+
+        var rowsPerSecond = rows.size() * 1_000_000_000L / elapsedNanos;
+        System.out.printf("Ingested %,d energy readings in %,d ms (%,d rows/s)%n",
+                rows.size(), elapsedNanos / 1_000_000, rowsPerSecond);
+        assertThat(inserted).isEqualTo(rows.size());
+        assertThat(countEnergy()).isEqualTo(countBefore + rows.size());
+        assertThat(rowsPerSecond).isGreaterThanOrEqualTo(MIN_ROWS_PER_SECOND);
+    }
+
+    @Test
+    void keepsRollupsNonNegativeWhenSubtractingMoreThanStored() {
+        // 쌓인 사용량보다 많이 차감하면 시간별/일별 집계는 0에서 멈춤
+        var company = companies.getFirst();
+        var hour = START.plusHours(10);
+        energyRollupService.accumulate(company, Map.of(hour, new BigDecimal("1.0000")));
+        energyRollupService.accumulate(company, Map.of(hour, new BigDecimal("-3.5000")));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        var hourly = energyRollupRepository.findForUpdate(company.getId(), EnergyRollupGranularity.HOURLY, List.of(hour)).getFirst();
+        assertThat(hourly.getFacilityUsage()).isEqualByComparingTo("0.0000");
+        assertThat(hourly.getBill()).isEqualByComparingTo("0.0000");
+        var daily = energyRollupRepository.findForUpdate(company.getId(), EnergyRollupGranularity.DAILY, List.of(hour.truncatedTo(ChronoUnit.DAYS))).getFirst();
+        assertThat(daily.getFacilityUsage()).isEqualByComparingTo("0.0000");
+        assertThat(daily.getBill()).isEqualByComparingTo("0.0000");
+    }
+
+    /**
+     * 사용량을 10,000건씩 나누어 저장하고 저장된 건수를 반환합니다.
+     * 요청마다 트랜잭션이 끝나는 것처럼, 저장할 때마다 영속성 컨텍스트를 비웁니다.
+     */
+    private long ingestInBatches(List<EnergyDto.ReadingRow> rows) {
+        long inserted = 0;
+        for (int from = 0; from < rows.size(); from += 10_000) {
+            inserted += energyIngestionService.upsert(rows.subList(from, Math.min(rows.size(), from + 10_000))).getInserted();
+            testEntityManager.flush();
+            testEntityManager.clear();
+        }
+        return inserted;
+    }
+
+    /**
+     * 모든 IoT 장비의 주어진 기간 내 15분 간격 무작위 사용량을 생성합니다.
+     */
+    private List<EnergyDto.ReadingRow> readings(Random random, LocalDateTime start, int days) {
+        var zoneId = companies.getFirst().getCountry().getZoneId();
+        var rows = new ArrayList<EnergyDto.ReadingRow>();
+        for (var iot : iotList) {
+            for (var time = start; time.isBefore(start.plusDays(days)); time = time.plusMinutes(15)) {
+                rows.add(new EnergyDto.ReadingRow(iot.getId(), iot.getCompany().getId(), time,
+                        BigDecimal.valueOf(random.nextInt(1_000_000), 4), Energy.toEpochHour(time, zoneId)));
+            }
+        }
+        return rows;
+    }
+
+    private static EnergyDto.ReadingRow withUsage(EnergyDto.ReadingRow row, BigDecimal facilityUsage) {
+        return new EnergyDto.ReadingRow(row.getIotId(), row.getCompanyId(), row.getReferenceTime(), facilityUsage, row.getEpochHour());
+    }
+
+    private long countEnergy() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM energy", Long.class);
+    }
+
+    /**
+     * 업체별 시간별 집계가 시간대별 사용량 합계와, 일별/월별 집계가 시간별 집계의 합계와 같은지 확인합니다.
+     * 시간별 요금은 시간별 사용량 × 시간대 요금을 소수점 4자리에서 반올림한 값입니다.
+     */
+    private void assertRollups(Map<EnergyJdbcRepository.Key, EnergyDto.ReadingRow> usageByKey) {
+        // 업체별, 집계 단위별, 집계 시각별 [사용량, 요금]
+        var expected = new TreeMap<String, BigDecimal[]>();
+        var hourlyUsage = new TreeMap<String, BigDecimal>();
+        usageByKey.values().forEach(row -> hourlyUsage.merge(
+                key(row.getCompanyId(), EnergyRollupGranularity.HOURLY, row.getReferenceTime().truncatedTo(ChronoUnit.HOURS)),
+                row.getFacilityUsage(), BigDecimal::add));
+        hourlyUsage.forEach((hourKey, usage) -> {
+            var parts = hourKey.split("\\|");
+            var companyId = Long.valueOf(parts[0]);
+            var hour = LocalDateTime.parse(parts[2]);
+            var bill = usage.multiply(BigDecimal.valueOf(100 + hour.getHour())).setScale(4, RoundingMode.HALF_UP);
+            expected.put(hourKey, new BigDecimal[]{usage, bill});
+            add(expected, key(companyId, EnergyRollupGranularity.DAILY, hour.truncatedTo(ChronoUnit.DAYS)), usage, bill);
+            add(expected, key(companyId, EnergyRollupGranularity.MONTHLY, hour.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)), usage, bill);
+        });
+        var actual = new TreeMap<String, BigDecimal[]>();
+        energyRollupRepository.findAll().forEach(rollup -> actual.put(
+                key(rollup.getCompany().getId(), rollup.getGranularity(), rollup.getBucketTime()),
+                new BigDecimal[]{rollup.getFacilityUsage(), rollup.getBill()}));
+
+        assertThat(actual.keySet()).containsExactlyElementsOf(expected.keySet());
+        expected.forEach((key, values) -> {
+            assertThat(actual.get(key)[0]).as("usage of %s", key).isEqualByComparingTo(values[0]);
+            assertThat(actual.get(key)[1]).as("bill of %s", key).isEqualByComparingTo(values[1]);
+        });
+    }
+
+    private static void add(Map<String, BigDecimal[]> totals, String key, BigDecimal usage, BigDecimal bill) {
+        totals.merge(key, new BigDecimal[]{usage, bill}, (left, right) -> new BigDecimal[]{left[0].add(right[0]), left[1].add(right[1])});
+    }
+
+    private static String key(Long companyId, EnergyRollupGranularity granularity, LocalDateTime bucketTime) {
+        return companyId + "|" + granularity + "|" + bucketTime;
+    }
+}
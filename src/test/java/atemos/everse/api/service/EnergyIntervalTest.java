@@ -0,0 +1,125 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 수집 간격이 15분인 IoT 장비와 60분인 IoT 장비의 에너지 사용량을 수집하면 기준 시각이 각 장비의 수집 간격으로 내림되어 저장되고,
+ * 시간별 집계에는 1시간 단위로 합산되며, 간격별 조회는 요청한 간격으로 묶어 요금을 계산하는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+class EnergyIntervalTest extends EnergyServiceTestSupport {
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    @Autowired
+    private EnergyRollupRepository energyRollupRepository;
+
+    private Company company;
+    private Iot quarterHourlyIot;
+    private Iot hourlyIot;
+
+    @BeforeEach
+    void setUp() {
+        // 10시 150, 11시 80
+        var country = saveCountry("Korea", "ko", "Asia/Seoul");
+        saveEnergyRate(country, List.of(10), List.of(), List.of(11));
+        company = saveCompany(country, "Company", CompanyType.FEMS, "02000000001");
+        quarterHourlyIot = saveIot(company, "SN-15", 15);
+        hourlyIot = saveIot(company, "SN-60", 60);
+    }
+
+    @Test
+    void storesReadingsAtDeviceIntervalAndRollsThemUpHourly() {
+        var response = ingest(
+                reading(quarterHourlyIot, DATE.atTime(10, 0), "1.0000"),
+                reading(quarterHourlyIot, DATE.atTime(10, 17), "2.0000"),
+                reading(quarterHourlyIot, DATE.atTime(10, 44, 59), "3.0000"),
+                reading(quarterHourlyIot, DATE.atTime(11, 50), "0.3333"),
+                reading(hourlyIot, DATE.atTime(10, 20), "4.0000"));
+
+        assertThat(response.getInserted()).isEqualTo(5);
+        // 기준 시각은 장비의 수집 간격 시작 시각으로 저장
+        assertThat(jdbcTemplate.queryForList("SELECT reference_time FROM energy WHERE iot_id = ? ORDER BY reference_time",
+                LocalDateTime.class, quarterHourlyIot.getId()))
+                .containsExactly(DATE.atTime(10, 0), DATE.atTime(10, 15), DATE.atTime(10, 30), DATE.atTime(11, 45));
+        assertThat(jdbcTemplate.queryForList("SELECT reference_time FROM energy WHERE iot_id = ?",
+                LocalDateTime.class, hourlyIot.getId()))
+                .containsExactly(DATE.atTime(10, 0));
+        // 시간별 집계는 1시간 단위로 합산
+        var hourlyRollups = energyRollupRepository.findUsageByCompanyIdAndGranularity(company.getId(), EnergyRollupGranularity.HOURLY,
+                DATE.atStartOfDay(), DATE.atTime(23, 59, 59));
+        assertThat(hourlyRollups).extracting(EnergyDto.UsageSum::getReferenceTime).containsExactly(DATE.atTime(10, 0), DATE.atTime(11, 0));
+        assertThat(hourlyRollups.get(0).getUsage()).isEqualByComparingTo("10.0000");
+        assertThat(hourlyRollups.get(1).getUsage()).isEqualByComparingTo("0.3333");
+    }
+
+    @Test
+    void groupsReadingsByRequestedInterval() {
+        ingest(reading(quarterHourlyIot, DATE.atTime(10, 0), "1.0000"),
+                reading(quarterHourlyIot, DATE.atTime(10, 15), "2.0000"),
+                reading(quarterHourlyIot, DATE.atTime(10, 30), "3.0000"),
+                reading(quarterHourlyIot, DATE.atTime(11, 45), "0.3333"),
+                reading(hourlyIot, DATE.atTime(10, 0), "4.0000"));
+
+        // 60분 간격 장비의 사용량은 수집 간격의 시작 시각(10:00)에만 나타남
+        assertThat(readIntervalEnergy(15))
+                .extracting(EnergyDto.HourlyResponse::getReferenceTime, EnergyDto.HourlyResponse::getUsage, EnergyDto.HourlyResponse::getBill)
+                .containsExactly(
+                        tuple(DATE.atTime(10, 0), new BigDecimal("5.0000"), new BigDecimal("750.0000")),
+                        tuple(DATE.atTime(10, 15), new BigDecimal("2.0000"), new BigDecimal("300.0000")),
+                        tuple(DATE.atTime(10, 30), new BigDecimal("3.0000"), new BigDecimal("450.0000")),
+                        // 0.3333 × 80 = 26.664
+                        tuple(DATE.atTime(11, 45), new BigDecimal("0.3333"), new BigDecimal("26.6640")));
+        assertThat(readIntervalEnergy(30))
+                .extracting(EnergyDto.HourlyResponse::getReferenceTime, EnergyDto.HourlyResponse::getUsage)
+                .containsExactly(
+                        tuple(DATE.atTime(10, 0), new BigDecimal("7.0000")),
+                        tuple(DATE.atTime(10, 30), new BigDecimal("3.0000")),
+                        tuple(DATE.atTime(11, 30), new BigDecimal("0.3333")));
+    }
+
+    @Test
+    void rejectsInvalidIntervalsAndPeriods() {
+        assertThatThrownBy(() -> energyService.readIntervalEnergy(company.getId(), DATE, DATE, 7))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> energyService.readIntervalEnergy(company.getId(), DATE, DATE.plusDays(32), 15))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Iot.validateReadingInterval(45)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(Iot.truncateToReadingInterval(DATE.atTime(23, 59, 59), 20)).isEqualTo(DATE.atTime(23, 40));
+    }
+
+    private EnergyDto.IngestResponse ingest(EnergyDto.Reading... readings) {
+        return energyIngestionService.ingest(EnergyDto.IngestRequest.builder()
+                .readings(List.of(readings))
+                .build());
+    }
+
+    private List<EnergyDto.HourlyResponse> readIntervalEnergy(int intervalMinutes) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                energyService.readIntervalEnergy(company.getId(), DATE, DATE, intervalMinutes));
+    }
+
+    private static EnergyDto.Reading reading(Iot iot, LocalDateTime referenceTime, String facilityUsage) {
+        return EnergyDto.Reading.builder()
+                .iotId(iot.getId())
+                .referenceTime(referenceTime)
+                .facilityUsage(new BigDecimal(facilityUsage))
+                .build();
+    }
+}
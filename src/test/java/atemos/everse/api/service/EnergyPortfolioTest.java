@@ -0,0 +1,124 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.MemberRole;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 여러 업체의 에너지 사용량 요약이 업체별 readEnergy() 응답의 요약과 같고, 전체 합계가 업체별 요약의 합이며,
+ * ADMIN이 아니면 다른 업체를 포함할 수 없는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+class EnergyPortfolioTest extends EnergyServiceTestSupport {
+    private static final LocalDate START_DATE = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 4, 15);
+
+    private Company companyA;
+    private Company companyB;
+    private Company companyC;
+
+    @BeforeEach
+    void setUp() {
+        asUser(MemberRole.ADMIN, null);
+        // 한국은 산업용 100, 상업용 50, 일본은 산업용 200 (모든 시간대 같은 요금)
+        var korea = saveCountry("Korea", "ko", "Asia/Seoul");
+        var japan = saveCountry("Japan", "ja", "Asia/Tokyo");
+        saveFlatEnergyRate(korea, "100.0000", "50.0000");
+        saveFlatEnergyRate(japan, "200.0000", "200.0000");
+        companyA = saveCompany(korea, "Company A", CompanyType.FEMS, "02000000001");
+        companyB = saveCompany(korea, "Company B", CompanyType.BEMS, "02000000002");
+        companyC = saveCompany(japan, "Company C", CompanyType.FEMS, "02000000003");
+        // 기간 밖의 사용량은 요약에 포함하지 않음
+        accumulate(companyA, Map.of(START_DATE.atTime(9, 0), "1.5000", END_DATE.atTime(23, 0), "2.0000",
+                START_DATE.minusDays(1).atTime(9, 0), "100.0000"));
+        accumulate(companyB, Map.of(START_DATE.plusDays(20).atTime(13, 0), "4.0000"));
+        accumulate(companyC, Map.of(END_DATE.minusDays(3).atTime(0, 0), "0.2500", END_DATE.plusDays(1).atTime(0, 0), "100.0000"));
+        insertForecast(companyA, START_DATE.atTime(9, 0), "3.0000");
+    }
+
+    @Test
+    void summarizesEachCompanyLikeReadEnergyAndAddsTotals() {
+        var response = readPortfolio(Set.of(companyC.getId(), companyA.getId(), companyB.getId()));
+
+        assertThat(response.getStartDate()).isEqualTo(START_DATE);
+        assertThat(response.getEndDate()).isEqualTo(END_DATE);
+        // 업체 ID 순서로 정렬
+        assertThat(response.getCompanies()).extracting(EnergyDto.PortfolioCompany::getCompanyId)
+                .containsExactly(companyA.getId(), companyB.getId(), companyC.getId());
+        assertThat(response.getCompanies()).extracting(EnergyDto.PortfolioCompany::getCompanyName)
+                .containsExactly("Company A", "Company B", "Company C");
+        for (var portfolioCompany : response.getCompanies()) {
+            var expected = new TransactionTemplate(transactionManager).execute(status ->
+                    energyService.readEnergy(portfolioCompany.getCompanyId(), START_DATE, END_DATE));
+            var summary = portfolioCompany.getSummary();
+            assertThat(summary.getSummaryUsage()).isEqualByComparingTo(expected.getSummaryUsage());
+            assertThat(summary.getSummaryForecastUsage()).isEqualByComparingTo(expected.getSummaryForecastUsage());
+            assertThat(summary.getSummaryBill()).isEqualByComparingTo(expected.getSummaryBill());
+            assertThat(summary.getSummaryForecastBill()).isEqualByComparingTo(expected.getSummaryForecastBill());
+            // 월별 데이터는 포함하지 않음
+            assertThat(summary.getMonthlyResponse()).isNull();
+        }
+        var summaries = response.getCompanies().stream()
+                .collect(Collectors.toMap(EnergyDto.PortfolioCompany::getCompanyId, EnergyDto.PortfolioCompany::getSummary));
+        assertThat(summaries.get(companyA.getId()).getSummaryUsage()).isEqualByComparingTo("3.5000");
+        assertThat(summaries.get(companyA.getId()).getSummaryBill()).isEqualByComparingTo("350.0000");
+        assertThat(summaries.get(companyA.getId()).getSummaryForecastUsage()).isEqualByComparingTo("3.0000");
+        assertThat(summaries.get(companyB.getId()).getSummaryBill()).isEqualByComparingTo("200.0000");
+        assertThat(summaries.get(companyC.getId()).getSummaryBill()).isEqualByComparingTo("50.0000");
+        var total = response.getTotal();
+        assertThat(total.getSummaryUsage()).isEqualByComparingTo("7.7500");
+        assertThat(total.getSummaryBill()).isEqualByComparingTo("600.0000");
+        assertThat(total.getSummaryForecastUsage()).isEqualByComparingTo("3.0000");
+        assertThat(total.getSummaryUsageForecastDifference())
+                .isEqualByComparingTo(total.getSummaryUsage().subtract(total.getSummaryForecastUsage()));
+    }
+
+    @Test
+    void allowsOnlyOwnCompanyForNonAdmins() {
+        asUser(MemberRole.MANAGER, companyA.getId());
+
+        assertThat(readPortfolio(Set.of(companyA.getId())).getCompanies()).hasSize(1);
+        assertThatThrownBy(() -> readPortfolio(Set.of(companyA.getId(), companyB.getId())))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void rejectsInvalidCompanySets() {
+        assertThatThrownBy(() -> readPortfolio(Set.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> readPortfolio(LongStream.rangeClosed(1, 101).boxed().collect(Collectors.toSet())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> readPortfolio(Set.of(companyA.getId(), companyC.getId() + 100)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    /**
+     * 웹 요청처럼 조회하는 동안 영속성 컨텍스트를 열어 둔 채로 여러 업체의 에너지 사용량 요약을 조회합니다.
+     */
+    private EnergyDto.PortfolioResponse readPortfolio(Set<Long> companyIds) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                energyService.readPortfolioEnergy(companyIds, START_DATE, END_DATE));
+    }
+
+    private void insertForecast(Company company, LocalDateTime forecastTime, String forecastUsage) {
+        jdbcTemplate.update("INSERT INTO ai_forecast_energy (company_id, forecast_time, forecast_usage, created_date) VALUES (?, ?, ?, ?)",
+                company.getId(), Timestamp.valueOf(forecastTime), new BigDecimal(forecastUsage), Timestamp.from(Instant.now()));
+    }
+}
@@ -0,0 +1,169 @@
+package atemos.everse.api.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * EnergyQueryExecutor가 쿼리를 동시에 실행하되 커넥션 풀 크기에서 예비 커넥션 수를 뺀 만큼만 동시에 실행하고,
+ * 요청의 마감 시각이 지나면 요청 시간 초과(408)로 응답하는지 확인합니다.
+ */
+class EnergyQueryExecutorTest {
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    // 커넥션 풀 5개 중 2개를 남겨 두므로 쿼리는 최대 3개까지 동시에 실행
+    private final EnergyQueryExecutor energyQueryExecutor = new EnergyQueryExecutor(5, 2, Duration.ofSeconds(5), transactionManager);
+
+    EnergyQueryExecutorTest() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        energyQueryExecutor.shutdown();
+    }
+
+    @Test
+    void runsIndependentQueriesConcurrentlyInReadOnlyTransactions() {
+        var deadline = energyQueryExecutor.deadline();
+        // 세 쿼리가 모두 시작되어야 끝나므로, 차례로 실행하면 마감 시각을 넘김
+        var started = new CountDownLatch(3);
+        var futures = new ArrayList<Future<Integer>>();
+        for (int i = 0; i < 3; i++) {
+            var value = i;
+            futures.add(energyQueryExecutor.submit(() -> {
+                started.countDown();
+                awaitQuietly(started);
+                return value;
+            }, deadline));
+        }
+
+        assertThat(futures).extracting(future -> energyQueryExecutor.await(future, deadline)).containsExactly(0, 1, 2);
+        var definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definition.capture());
+        assertThat(definition.getAllValues()).allSatisfy(transactionDefinition -> {
+            assertThat(transactionDefinition.isReadOnly()).isTrue();
+            // 남은 시간(5초 이내)을 초 단위로 올림한 제한 시간
+            assertThat(transactionDefinition.getTimeout()).isBetween(1, 5);
+        });
+    }
+
+    @Test
+    void limitsConcurrentQueriesToPoolSizeMinusReserve() {
+        var deadline = energyQueryExecutor.deadline();
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(energyQueryExecutor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                awaitQuietly(release);
+                running.decrementAndGet();
+                return null;
+            }, deadline));
+        }
+        sleep(300);
+        assertThat(running.get()).isEqualTo(3);
+
+        release.countDown();
+        futures.forEach(future -> energyQueryExecutor.await(future, deadline));
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failsWithRequestTimeoutWhenNoConnectionBecomesAvailable() {
+        var release = new CountDownLatch(1);
+        var deadline = Instant.now().plusMillis(300);
+        for (int i = 0; i < 3; i++) {
+            energyQueryExecutor.submit(() -> awaitQuietly(release), energyQueryExecutor.deadline());
+        }
+
+        var waiting = energyQueryExecutor.submit(() -> "never", deadline);
+
+        assertThatThrownBy(() -> energyQueryExecutor.await(waiting, deadline))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.REQUEST_TIMEOUT));
+        release.countDown();
+    }
+
+    @Test
+    void cancelsQueryThatOutlivesTheDeadline() {
+        var interrupted = new CountDownLatch(1);
+        var deadline = Instant.now().plusMillis(200);
+        var slow = energyQueryExecutor.submit(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }, deadline);
+
+        assertThatThrownBy(() -> energyQueryExecutor.await(slow, deadline))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.REQUEST_TIMEOUT));
+        assertThat(slow.isCancelled()).isTrue();
+        // 마감 시각이 지난 쿼리의 스레드는 중단되어 커넥션을 반환
+        awaitQuietly(interrupted);
+        assertThat(interrupted.getCount()).isZero();
+    }
+
+    @Test
+    void rethrowsQueryExceptionsUnchanged() {
+        var deadline = energyQueryExecutor.deadline();
+        var failing = energyQueryExecutor.submit(() -> {
+            throw new EntityNotFoundException("No such company.");
+        }, deadline);
+
+        assertThatThrownBy(() -> energyQueryExecutor.await(failing, deadline))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("No such company.");
+    }
+
+    @Test
+    void rejectsReserveThatLeavesNoConnectionForQueries() {
+        assertThatThrownBy(() -> new EnergyQueryExecutor(4, 4, Duration.ofSeconds(1), transactionManager))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new EnergyQueryExecutor(4, -1, Duration.ofSeconds(1), transactionManager))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRollupGranularity;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.entity.EnergyRollup;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupJdbcRepository;
+import atemos.everse.api.repository.EnergyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * EnergyRollupServiceImpl이 시간대별 사용량 변화량을 시간별 → 일별 → 월별 집계에 사용량과 요금 변화량으로 전파하는지,
+ * 보관 기간이 지나 삭제된 집계 구간에서 차감할 때 집계 행을 다시 만들지 않고 0 아래로 내려가지 않는지,
+ * 원본 데이터로부터 집계를 다시 생성하는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties")
+@Import({EnergyRollupServiceImpl.class, EnergyRollupJdbcRepository.class, EnergyBucketJdbcRepository.class, EnergySummaryCache.class})
+class EnergyRollupServiceTest {
+    // 월초, 월말과 다음 달 첫날
+    private static final LocalDate MAY_1 = LocalDate.of(2024, 5, 1);
+    private static final LocalDate MAY_31 = LocalDate.of(2024, 5, 31);
+    private static final LocalDate JUNE_1 = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private EnergyRollupService energyRollupService;
+    @Autowired
+    private EnergyRollupRepository energyRollupRepository;
+    @Autowired
+    private TestEntityManager testEntityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private EnergyService energyService;
+    @MockBean
+    private EnergyDemandService energyDemandService;
+    @MockBean
+    private EnergyHeatmap energyHeatmap;
+    @MockBean
+    private EpochHourBackfillStatus epochHourBackfillStatus;
+
+    private Company company;
+    private Iot iot;
+
+    @BeforeEach
+    void setUp() {
+        // 시간대별 요금 (100 + 시간)
+        when(energyService.getRate(any(), any(), anyInt()))
+                .thenAnswer(invocation -> BigDecimal.valueOf(100 + (int) invocation.getArgument(2)).setScale(4, RoundingMode.HALF_UP));
+        var country = testEntityManager.persist(Country.builder()
+                .name("Korea")
+                .languageCode("ko")
+                .timeZone("Asia/Seoul")
+                .build());
+        testEntityManager.persist(EnergyRate.builder()
+                .country(country)
+                .industrialRate(new BigDecimal("100.0000"))
+                .commercialRate(new BigDecimal("100.0000"))
+                .peakMultiplier(BigDecimal.ONE)
+                .midPeakMultiplier(BigDecimal.ONE)
+                .offPeakMultiplier(BigDecimal.ONE)
+                .peakHours(List.of())
+                .midPeakHours(List.of())
+                .offPeakHours(List.of())
+                .build());
+        company = testEntityManager.persist(Company.builder()
+                .country(country)
+                .name("Company")
+                .type(CompanyType.FEMS)
+                .email("company@example.com")
+                .tel("02000000001")
+                .fax("02000000001")
+                .address("Seoul")
+                .build());
+        iot = testEntityManager.persist(Iot.builder()
+                .company(company)
+                .serialNumber("SN-1")
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .readingIntervalMinutes(15)
+                .build());
+        testEntityManager.flush();
+    }
+
+    @Test
+    void propagatesHourlyDeltasToDailyAndMonthlyRollups() {
+        accumulate(Map.of(MAY_31.atTime(10, 0), "1.0000", MAY_31.atTime(23, 0), "2.0000", JUNE_1.atTime(0, 0), "0.5000"));
+
+        // 10시 110 × 1.0, 23시 123 × 2.0, 0시 100 × 0.5
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(10, 0), "1.0000", "110.0000");
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(23, 0), "2.0000", "246.0000");
+        assertRollup(EnergyRollupGranularity.HOURLY, JUNE_1.atTime(0, 0), "0.5000", "50.0000");
+        assertRollup(EnergyRollupGranularity.DAILY, MAY_31.atStartOfDay(), "3.0000", "356.0000");
+        assertRollup(EnergyRollupGranularity.DAILY, JUNE_1.atStartOfDay(), "0.5000", "50.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, MAY_1.atStartOfDay(), "3.0000", "356.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, JUNE_1.atStartOfDay(), "0.5000", "50.0000");
+
+        // 기존 시간별 집계의 요금은 누적 사용량으로 다시 계산하고, 그 차이만큼 일별/월별 요금에 반영
+        accumulate(Map.of(MAY_31.atTime(10, 0), "0.3333", MAY_31.atTime(23, 0), "-0.5000"));
+
+        // 10시 110 × 1.3333 = 146.6630, 23시 123 × 1.5 = 184.5
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(10, 0), "1.3333", "146.6630");
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(23, 0), "1.5000", "184.5000");
+        assertRollup(EnergyRollupGranularity.DAILY, MAY_31.atStartOfDay(), "2.8333", "331.1630");
+        assertRollup(EnergyRollupGranularity.MONTHLY, MAY_1.atStartOfDay(), "2.8333", "331.1630");
+        assertRollup(EnergyRollupGranularity.MONTHLY, JUNE_1.atStartOfDay(), "0.5000", "50.0000");
+    }
+
+    @Test
+    void keepsTotalsNonNegative() {
+        accumulate(Map.of(MAY_31.atTime(10, 0), "1.0000", MAY_31.atTime(11, 0), "2.0000"));
+
+        // 10시에 쌓인 사용량보다 많이 차감하면 10시 집계는 0이 되고, 일별/월별 집계에서는 실제로 줄어든 1.0만 차감
+        accumulate(Map.of(MAY_31.atTime(10, 0), "-3.5000"));
+
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(10, 0), "0.0000", "0.0000");
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(11, 0), "2.0000", "222.0000");
+        assertRollup(EnergyRollupGranularity.DAILY, MAY_31.atStartOfDay(), "2.0000", "222.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, MAY_1.atStartOfDay(), "2.0000", "222.0000");
+    }
+
+    @Test
+    void subtractsPurgedBucketsOnlyFromRemainingRollups() {
+        accumulate(Map.of(MAY_31.atTime(10, 0), "2.0000", MAY_31.atTime(11, 0), "3.0000",
+                MAY_31.minusDays(1).atTime(9, 0), "4.0000"));
+        // 보관 기간이 지나 5월 31일 10시의 시간별 집계와 5월 30일의 시간별/일별 집계를 삭제
+        jdbcTemplate.update("DELETE FROM energy_rollup WHERE (granularity = 'HOURLY' AND bucket_time IN (?, ?)) "
+                        + "OR (granularity = 'DAILY' AND bucket_time = ?)",
+                Timestamp.valueOf(MAY_31.atTime(10, 0)), Timestamp.valueOf(MAY_31.minusDays(1).atTime(9, 0)),
+                Timestamp.valueOf(MAY_31.minusDays(1).atStartOfDay()));
+
+        // IoT 장비를 삭제하여 원본 데이터의 사용량을 모두 차감
+        accumulate(Map.of(MAY_31.atTime(10, 0), "-2.0000", MAY_31.atTime(11, 0), "-3.0000",
+                MAY_31.minusDays(1).atTime(9, 0), "-4.0000"));
+
+        // 삭제된 집계 행은 다시 만들지 않고, 남아 있는 일별/월별 집계에서만 차감
+        assertThat(find(EnergyRollupGranularity.HOURLY, MAY_31.atTime(10, 0))).isNull();
+        assertThat(find(EnergyRollupGranularity.HOURLY, MAY_31.minusDays(1).atTime(9, 0))).isNull();
+        assertThat(find(EnergyRollupGranularity.DAILY, MAY_31.minusDays(1).atStartOfDay())).isNull();
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(11, 0), "0.0000", "0.0000");
+        assertRollup(EnergyRollupGranularity.DAILY, MAY_31.atStartOfDay(), "0.0000", "0.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, MAY_1.atStartOfDay(), "0.0000", "0.0000");
+        assertThat(energyRollupRepository.findAll()).allSatisfy(rollup -> {
+            assertThat(rollup.getFacilityUsage()).isNotNegative();
+            assertThat(rollup.getBill()).isNotNegative();
+        });
+    }
+
+    @Test
+    void rebuildsRollupsFromRawData() {
+        // 원본 데이터: 10시 1.0 + 0.5, 11시 2.0 (집계에 반영되지 않음)
+        persistEnergy(MAY_31.atTime(10, 0), "1.0000");
+        persistEnergy(MAY_31.atTime(10, 15), "0.5000");
+        persistEnergy(MAY_31.atTime(11, 0), "2.0000");
+        // 집계 데이터: 10시 4.0 (원본보다 많음), 12시 1.0 (원본 없음)
+        accumulate(Map.of(MAY_31.atTime(10, 0), "4.0000", MAY_31.atTime(12, 0), "1.0000"));
+
+        energyRollupService.rebuild(company, MAY_31, MAY_31);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // 10시 110 × 1.5, 11시 111 × 2.0, 12시 0
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(10, 0), "1.5000", "165.0000");
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(11, 0), "2.0000", "222.0000");
+        assertRollup(EnergyRollupGranularity.HOURLY, MAY_31.atTime(12, 0), "0.0000", "0.0000");
+        assertRollup(EnergyRollupGranularity.DAILY, MAY_31.atStartOfDay(), "3.5000", "387.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, MAY_1.atStartOfDay(), "3.5000", "387.0000");
+    }
+
+    @Test
+    void rebuildSkipsDaysWhoseLowerRollupsWerePurged() {
+        var april10 = LocalDate.of(2024, 4, 10);
+        persistEnergy(april10.atTime(9, 0), "2.0000");
+        persistEnergy(MAY_31.atTime(10, 0), "1.0000");
+        persistEnergy(JUNE_1.atTime(0, 0), "0.5000");
+        accumulate(Map.of(april10.atTime(9, 0), "2.0000", MAY_31.atTime(10, 0), "1.0000"));
+        // 보관 기간이 지나 5월 31일의 시간별 집계와 4월의 시간별/일별 집계를 삭제 (6월 1일 사용량은 집계에 반영되지 않음)
+        jdbcTemplate.update("DELETE FROM energy_rollup WHERE granularity <> 'MONTHLY' AND bucket_time < ?",
+                Timestamp.valueOf(MAY_1.atStartOfDay()));
+        jdbcTemplate.update("DELETE FROM energy_rollup WHERE granularity = 'HOURLY'");
+
+        energyRollupService.rebuild(company, april10, JUNE_1);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        // 남아 있는 일별/월별 집계에 원본 사용량을 다시 더하지 않고, 집계되지 않은 6월 1일만 생성
+        assertThat(find(EnergyRollupGranularity.HOURLY, april10.atTime(9, 0))).isNull();
+        assertThat(find(EnergyRollupGranularity.HOURLY, MAY_31.atTime(10, 0))).isNull();
+        assertThat(find(EnergyRollupGranularity.DAILY, april10.atStartOfDay())).isNull();
+        assertRollup(EnergyRollupGranularity.MONTHLY, april10.withDayOfMonth(1).atStartOfDay(), "2.0000", "218.0000");
+        assertRollup(EnergyRollupGranularity.DAILY, MAY_31.atStartOfDay(), "1.0000", "110.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, MAY_1.atStartOfDay(), "1.0000", "110.0000");
+        assertRollup(EnergyRollupGranularity.HOURLY, JUNE_1.atTime(0, 0), "0.5000", "50.0000");
+        assertRollup(EnergyRollupGranularity.MONTHLY, JUNE_1.atStartOfDay(), "0.5000", "50.0000");
+    }
+
+    /**
+     * 시간대별 사용량 변화량을 집계 데이터에 반영하고, 다음 조회가 데이터베이스 값을 읽도록 영속성 컨텍스트를 비웁니다.
+     */
+    private void accumulate(Map<LocalDateTime, String> usageDeltaByHour) {
+        var hourlyUsageDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        usageDeltaByHour.forEach((hour, usageDelta) -> hourlyUsageDelta.put(hour, new BigDecimal(usageDelta)));
+        energyRollupService.accumulate(company, hourlyUsageDelta);
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private void persistEnergy(LocalDateTime referenceTime, String facilityUsage) {
+        testEntityManager.persist(Energy.builder()
+                .iot(iot)
+                .referenceTime(referenceTime)
+                .facilityUsage(new BigDecimal(facilityUsage))
+                .epochHour(Energy.toEpochHour(referenceTime, company.getCountry().getZoneId()))
+                .build());
+        testEntityManager.flush();
+    }
+
+    private EnergyRollup find(EnergyRollupGranularity granularity, LocalDateTime bucketTime) {
+        return energyRollupRepository.findForUpdate(company.getId(), granularity, List.of(bucketTime)).stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void assertRollup(EnergyRollupGranularity granularity, LocalDateTime bucketTime, String usage, String bill) {
+        var rollup = find(granularity, bucketTime);
+        assertThat(rollup).as("%s rollup of %s", granularity, bucketTime).isNotNull();
+        assertThat(rollup.getFacilityUsage()).as("usage of %s %s", granularity, bucketTime).isEqualByComparingTo(usage);
+        assertThat(rollup.getBill()).as("bill of %s %s", granularity, bucketTime).isEqualByComparingTo(bill);
+    }
+}
@@ -0,0 +1,216 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.IotStatus;
+import atemos.everse.api.domain.IotType;
+import atemos.everse.api.domain.MemberRole;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.dto.MemberDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.Energy;
+import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.entity.Iot;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyBucketJdbcRepository;
+import atemos.everse.api.repository.EnergyJdbcRepository;
+import atemos.everse.api.repository.EnergyRateRepository;
+import atemos.everse.api.repository.EnergyRepository;
+import atemos.everse.api.repository.EnergyRollupJdbcRepository;
+import atemos.everse.api.repository.IotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * 에너지 사용량 조회와 수집, 집계 경로를 H2(MySQL 호환 모드)로 검증하는 테스트의 공통 설정과 테스트 데이터 생성 메서드입니다.
+ * 조회 쿼리는 EnergyQueryExecutor의 별도 스레드와 트랜잭션에서 실행되므로 테스트 데이터를 커밋하고, 테스트가 끝나면 모든 데이터를 삭제합니다.
+ * 하위 클래스가 모두 같은 설정을 사용하므로 스프링 컨텍스트를 한 번만 만들어 재사용합니다.
+ * 다른 테스트의 컨텍스트가 스키마를 다시 만들면 ID가 재사용되어 요금표 캐시가 다른 요금을 반환하므로, 별도의 데이터베이스를 사용합니다.
+ * - 시간대별 요금은 저장한 에너지 요금 정보로 EnergyRateServiceImpl이 계산합니다.
+ * - 아카이브 파일이 없으므로 EnergyArchive는 데이터베이스에서 합산하는 조회를 그대로 호출합니다.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(locations = "classpath:h2-test.properties", properties =
+        "spring.datasource.url=jdbc:h2:mem:everse-energy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;NON_KEYWORDS=HOUR")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EnergyServiceImpl.class, EnergyQueryExecutor.class, EnergyRateServiceImpl.class, EnergyIngestionServiceImpl.class,
+        EnergyJdbcRepository.class, EnergyBucketJdbcRepository.class, EnergyRollupServiceImpl.class, EnergyRollupJdbcRepository.class,
+        EnergySummaryCache.class, IotRegistry.class})
+abstract class EnergyServiceTestSupport {
+    // 테스트가 끝나면 데이터를 삭제할 테이블 (외래 키를 참조하는 테이블부터)
+    private static final List<String> TABLES = List.of("ai_forecast_energy", "energy", "energy_rollup", "iot",
+            "peak_hours", "mid_peak_hours", "off_peak_hours", "energy_rate", "company", "country");
+
+    @Autowired
+    protected EnergyService energyService;
+    @Autowired
+    protected EnergyIngestionService energyIngestionService;
+    @Autowired
+    protected EnergyRollupService energyRollupService;
+    @Autowired
+    protected EnergySummaryCache energySummaryCache;
+    @Autowired
+    protected CountryRepository countryRepository;
+    @Autowired
+    protected CompanyRepository companyRepository;
+    @Autowired
+    protected EnergyRateRepository energyRateRepository;
+    @Autowired
+    protected IotRepository iotRepository;
+    @Autowired
+    protected EnergyRepository energyRepository;
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+    @MockBean
+    protected EnergyArchive energyArchive;
+    @MockBean
+    protected EpochHourBackfillStatus epochHourBackfillStatus;
+    @MockBean
+    protected EnergyHotWindow energyHotWindow;
+    @MockBean
+    protected EnergyHeatmap energyHeatmap;
+    @MockBean
+    protected EnergyDemandService energyDemandService;
+    @MockBean
+    protected AuthenticationServiceImpl authenticationService;
+    @MockBean
+    protected JobLauncher jobLauncher;
+    @MockBean(name = "energyCompactionJob")
+    protected Job energyCompactionJob;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUpEnergyArchive() {
+        when(energyArchive.readHourly(any(), any(), any(), any(), any())).thenAnswer(invocation ->
+                ((BiFunction<LocalDateTime, LocalDateTime, List<EnergyDto.UsageSum>>) invocation.getArgument(4))
+                        .apply(invocation.getArgument(2), invocation.getArgument(3)));
+    }
+
+    @AfterEach
+    void deleteTestData() {
+        energySummaryCache.invalidateAll();
+        for (var table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    protected Country saveCountry(String name, String languageCode, String timeZone) {
+        return countryRepository.save(Country.builder()
+                .name(name)
+                .languageCode(languageCode)
+                .timeZone(timeZone)
+                .build());
+    }
+
+    /**
+     * 모든 시간대에 같은 요금을 적용하는 에너지 요금 정보를 저장합니다.
+     */
+    protected EnergyRate saveFlatEnergyRate(Country country, String industrialRate, String commercialRate) {
+        return energyRateRepository.save(EnergyRate.builder()
+                .country(country)
+                .industrialRate(new BigDecimal(industrialRate))
+                .commercialRate(new BigDecimal(commercialRate))
+                .peakMultiplier(BigDecimal.ONE)
+                .midPeakMultiplier(BigDecimal.ONE)
+                .offPeakMultiplier(BigDecimal.ONE)
+                .peakHours(List.of())
+                .midPeakHours(List.of())
+                .offPeakHours(List.of())
+                .build());
+    }
+
+    /**
+     * 기본 요금 100에 피크 시간대 1.5배(150), 경피크 시간대 1.2배(120), 그 외 시간대 0.8배(80)를 적용하는 에너지 요금 정보를 저장합니다.
+     */
+    protected EnergyRate saveEnergyRate(Country country, List<Integer> peakHours, List<Integer> midPeakHours, List<Integer> offPeakHours) {
+        return energyRateRepository.save(EnergyRate.builder()
+                .country(country)
+                .industrialRate(new BigDecimal("100.0000"))
+                .commercialRate(new BigDecimal("100.0000"))
+                .peakMultiplier(new BigDecimal("1.5"))
+                .midPeakMultiplier(new BigDecimal("1.2"))
+                .offPeakMultiplier(new BigDecimal("0.8"))
+                .peakHours(peakHours)
+                .midPeakHours(midPeakHours)
+                .offPeakHours(offPeakHours)
+                .build());
+    }
+
+    /**
+     * 업체를 저장합니다. 전화번호는 업체마다 달라야 하며, 팩스 번호와 이메일에도 사용합니다.
+     */
+    protected Company saveCompany(Country country, String name, CompanyType type, String tel) {
+        return companyRepository.save(Company.builder()
+                .country(country)
+                .name(name)
+                .type(type)
+                .email(tel + "@example.com")
+                .tel(tel)
+                .fax(tel)
+                .address("Seoul")
+                .build());
+    }
+
+    protected Iot saveIot(Company company, String serialNumber, int readingIntervalMinutes) {
+        return iotRepository.save(Iot.builder()
+                .company(company)
+                .serialNumber(serialNumber)
+                .status(IotStatus.NORMAL)
+                .type(IotType.MOTOR)
+                .readingIntervalMinutes(readingIntervalMinutes)
+                .build());
+    }
+
+    protected static Energy energy(Iot iot, LocalDateTime referenceTime, String facilityUsage) {
+        return Energy.builder()
+                .iot(iot)
+                .referenceTime(referenceTime)
+                .facilityUsage(new BigDecimal(facilityUsage))
+                .epochHour(Energy.toEpochHour(referenceTime, iot.getCompany().getCountry().getZoneId()))
+                .build();
+    }
+
+    /**
+     * 시간대별 사용량 변화량을 수집 경로와 같이 시간별/일별/월별 집계에 반영하고 커밋합니다.
+     */
+    protected void accumulate(Company company, Map<LocalDateTime, String> usageDeltas) {
+        var hourlyUsageDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        usageDeltas.forEach((hour, usageDelta) -> hourlyUsageDelta.merge(hour, new BigDecimal(usageDelta), BigDecimal::add));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                energyRollupService.accumulate(companyRepository.findById(company.getId()).orElseThrow(), hourlyUsageDelta));
+    }
+
+    protected void asUser(MemberRole role, Long companyId) {
+        when(authenticationService.getCurrentUserInfo()).thenReturn(MemberDto.EverseUserInfo.builder()
+                .role(role)
+                .companyId(companyId)
+                .build());
+    }
+}
@@ -0,0 +1,109 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.config.ApiLogComponent;
+import atemos.everse.api.config.ApiResponseManager;
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.entity.Company;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 여러 달에 걸친 에너지 사용량을 스트리밍 응답으로 기록한 결과가 readEnergy() 응답을 직렬화한 결과와 같고,
+ * 전체 기간을 기다리지 않고 한 달씩 출력 스트림에 내보내는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+class EnergyStreamingTest extends EnergyServiceTestSupport {
+    // 조회 기간 (3개월에 걸친 기간)
+    private static final LocalDate START_DATE = LocalDate.of(2024, 3, 10);
+    private static final LocalDate END_DATE = LocalDate.of(2024, 5, 20);
+
+    // 응답과 같은 설정(JavaTimeModule, 날짜를 ISO-8601 문자열로 직렬화)의 ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .featuresToEnable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .build();
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        // 10~17시 150, 그 외 시간 80
+        var country = saveCountry("Korea", "ko", "Asia/Seoul");
+        saveEnergyRate(country, List.of(10, 11, 12, 13, 14, 15, 16, 17), List.of(), List.of());
+        company = saveCompany(country, "Company", CompanyType.FEMS, "02000000001");
+        // 기간 앞뒤를 포함한 날마다 무작위 시간대 사용량을 시간별/일별/월별 집계에 반영
+        var random = new Random(7);
+        var hourlyUsageDelta = new TreeMap<LocalDateTime, BigDecimal>();
+        for (var date = START_DATE.minusDays(2); !date.isAfter(END_DATE.plusDays(2)); date = date.plusDays(1)) {
+            for (int i = 0; i < 4; i++) {
+                hourlyUsageDelta.merge(date.atTime(random.nextInt(24), 0), BigDecimal.valueOf(random.nextInt(1_000_000), 4), BigDecimal::add);
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                energyRollupService.accumulate(companyRepository.findById(company.getId()).orElseThrow(), hourlyUsageDelta));
+    }
+
+    @Test
+    void streamsSameDocumentAsReadEnergyOneMonthAtATime() throws Exception {
+        var expected = new TransactionTemplate(transactionManager).execute(status ->
+                energyService.readEnergy(company.getId(), START_DATE, END_DATE));
+        var apiResponseManager = new ApiResponseManager(mock(ApiLogComponent.class), objectMapper);
+        var output = new FlushRecordingOutputStream();
+
+        // 웹 요청처럼 응답을 기록하는 동안 영속성 컨텍스트를 열어 둠
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var response = apiResponseManager.stream(energyService.streamEnergy(company.getId(), START_DATE, END_DATE));
+            try {
+                response.getBody().writeTo(output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        var streamed = objectMapper.readTree(output.toByteArray());
+        assertThat(streamed.get("status").asInt()).isEqualTo(200);
+        assertThat(streamed.get("data")).isEqualTo(objectMapper.valueToTree(expected));
+        assertThat(streamed.get("data").get("monthlyResponse").size()).isEqualTo(3);
+        // 응답 머리말과 각 달의 데이터를 기록할 때마다 출력 스트림으로 내보냄
+        var flushed = output.flushedContents();
+        assertThat(flushed).anySatisfy(content -> assertThat(content)
+                .contains("\"2024-03\"").doesNotContain("\"2024-04\"").doesNotContain("\"summaryUsage\""));
+        assertThat(flushed).anySatisfy(content -> assertThat(content)
+                .contains("\"2024-04\"").doesNotContain("\"2024-05\"").doesNotContain("\"summaryUsage\""));
+    }
+
+    /**
+     * flush()가 호출될 때마다 그때까지 기록된 내용을 보관하는 출력 스트림입니다.
+     */
+    private static class FlushRecordingOutputStream extends ByteArrayOutputStream {
+        private final List<String> flushedContents = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            flushedContents.add(toString(StandardCharsets.UTF_8));
+        }
+
+        List<String> flushedContents() {
+            return flushedContents;
+        }
+    }
+}
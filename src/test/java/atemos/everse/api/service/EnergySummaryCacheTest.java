@@ -0,0 +1,85 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.entity.Company;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 에너지 사용량 조회가 마감된 날의 일별 응답을 캐시에서 재사용하고 오늘은 매번 다시 계산하며,
+ * 에너지 사용량이 집계에 반영되면 변경된 날의 캐시가 무효화되는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+class EnergySummaryCacheTest extends EnergyServiceTestSupport {
+    private static final ZoneId ZONE_ID = ZoneId.of("Asia/Seoul");
+
+    private Company company;
+    private LocalDate today;
+    private LocalDate yesterday;
+
+    @BeforeEach
+    void setUp() {
+        // 모든 시간대의 요금 100
+        var country = saveCountry("Korea", "ko", ZONE_ID.getId());
+        saveFlatEnergyRate(country, "100.0000", "100.0000");
+        company = saveCompany(country, "Company", CompanyType.FEMS, "02000000001");
+        today = LocalDate.now(ZONE_ID);
+        yesterday = today.minusDays(1);
+        accumulate(company, Map.of(yesterday.atTime(10, 0), "1.0000"));
+        accumulate(company, Map.of(today.atStartOfDay(), "2.0000"));
+    }
+
+    @Test
+    void cachesClosedDaysAndRecomputesToday() {
+        assertThat(readUsage()).isEqualByComparingTo("3.0000");
+        assertThat(energySummaryCache.getDaily(company.getId(), yesterday)).isPresent();
+        assertThat(energySummaryCache.getDaily(company.getId(), today)).isNull();
+
+        // 캐시를 무효화하지 않고 집계 데이터를 직접 변경하면 어제는 캐시한 값을, 오늘은 변경된 값을 조회
+        setHourlyUsage(yesterday.atTime(10, 0), "5.0000");
+        setHourlyUsage(today.atStartOfDay(), "7.0000");
+        var hitCount = dailyHitCount();
+        assertThat(readUsage()).isEqualByComparingTo("8.0000");
+        assertThat(dailyHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    void invalidatesChangedDayWhenUsageIsAccumulated() {
+        assertThat(readUsage()).isEqualByComparingTo("3.0000");
+
+        accumulate(company, Map.of(yesterday.atTime(11, 0), "4.0000"));
+
+        assertThat(energySummaryCache.getDaily(company.getId(), yesterday)).isNull();
+        assertThat(readUsage()).isEqualByComparingTo("7.0000");
+        var yesterdayResponse = energySummaryCache.getDaily(company.getId(), yesterday).orElseThrow();
+        assertThat(yesterdayResponse.getDailyUsage()).isEqualByComparingTo("5.0000");
+        assertThat(yesterdayResponse.getDailyBill()).isEqualByComparingTo("500.0000");
+    }
+
+    private long dailyHitCount() {
+        var dailyStats = energySummaryCache.getStats().getFirst();
+        assertThat(dailyStats.getName()).isEqualTo("daily");
+        return dailyStats.getHitCount();
+    }
+
+    private void setHourlyUsage(LocalDateTime hour, String usage) {
+        jdbcTemplate.update("UPDATE energy_rollup SET facility_usage = ? WHERE company_id = ? AND granularity = 'HOURLY' AND bucket_time = ?",
+                new BigDecimal(usage), company.getId(), hour);
+    }
+
+    /**
+     * 웹 요청처럼 조회하는 동안 영속성 컨텍스트를 열어 둔 채로 어제부터 오늘까지의 전체 사용량을 조회합니다.
+     */
+    private BigDecimal readUsage() {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                energyService.readEnergy(company.getId(), yesterday, today)).getSummaryUsage();
+    }
+}
@@ -0,0 +1,130 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRatePeakType;
+import atemos.everse.api.dto.EnergyRateDto;
+import atemos.everse.api.entity.Country;
+import atemos.everse.api.entity.EnergyRate;
+import atemos.everse.api.repository.CompanyRepository;
+import atemos.everse.api.repository.CountryRepository;
+import atemos.everse.api.repository.EnergyRateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * EnergyTariff가 기존 요금 계산(기본 요금 × 시간대 증감율을 소수점 4자리에서 반올림)과 같은 시간별 요금과 피크 타입을 만들고,
+ * EnergyRateServiceImpl이 요금표를 에너지 요금과 업체 타입별로 캐시하며 요금 수정, 삭제 시 무효화하는지 확인합니다.
+ */
+class EnergyTariffTest {
+    private final EnergyRateRepository energyRateRepository = mock(EnergyRateRepository.class);
+    private final EnergySummaryCache energySummaryCache = mock(EnergySummaryCache.class);
+    private final EnergyRateServiceImpl energyRateService = new EnergyRateServiceImpl(energyRateRepository,
+            mock(CountryRepository.class), mock(CompanyRepository.class), energySummaryCache);
+
+    @Test
+    void matchesRateFormulaAndPeakTypesForEveryHour() {
+        var energyRate = energyRate();
+
+        for (var companyType : CompanyType.values()) {
+            var tariff = new EnergyTariff(energyRate, companyType);
+            var baseRate = companyType == CompanyType.FEMS ? energyRate.getIndustrialRate() : energyRate.getCommercialRate();
+            for (int hour = 0; hour < 24; hour++) {
+                BigDecimal multiplier;
+                EnergyRatePeakType peakType;
+                if (energyRate.getPeakHours().contains(hour)) {
+                    multiplier = energyRate.getPeakMultiplier();
+                    peakType = EnergyRatePeakType.PEAK;
+                } else if (energyRate.getMidPeakHours().contains(hour)) {
+                    multiplier = energyRate.getMidPeakMultiplier();
+                    peakType = EnergyRatePeakType.MID_PEAK;
+                } else {
+                    multiplier = energyRate.getOffPeakMultiplier();
+                    peakType = energyRate.getOffPeakHours().contains(hour) ? EnergyRatePeakType.OFF_PEAK : EnergyRatePeakType.UNKNOWN;
+                }
+                var rate = baseRate.multiply(multiplier).setScale(4, RoundingMode.HALF_UP);
+                assertThat(tariff.getRate(hour)).as("%s %d시", companyType, hour).isEqualTo(rate);
+                assertThat(tariff.getFixedRate(hour)).isEqualTo(rate.unscaledValue().longValueExact());
+                assertThat(tariff.getPeakType(hour)).as("%s %d시", companyType, hour).isEqualTo(peakType);
+            }
+        }
+        // 23시는 어느 시간대에도 속하지 않아 비피크 증감율을 적용하고 피크 타입은 UNKNOWN
+        var femsTariff = new EnergyTariff(energyRate, CompanyType.FEMS);
+        assertThat(femsTariff.getRate(23)).isEqualTo(new BigDecimal("0.6258"));
+        assertThat(femsTariff.getPeakType(23)).isEqualTo(EnergyRatePeakType.UNKNOWN);
+        // 0.7823 × 1.5 = 1.17345는 반올림하여 1.1735
+        assertThat(femsTariff.getRate(10)).isEqualTo(new BigDecimal("1.1735"));
+    }
+
+    @Test
+    void cachesTariffPerEnergyRateAndCompanyType() {
+        var energyRate = energyRate();
+
+        var fems = energyRateService.getTariff(energyRate, CompanyType.FEMS);
+
+        assertThat(energyRateService.getTariff(energyRate, CompanyType.FEMS)).isSameAs(fems);
+        assertThat(energyRateService.getTariff(energyRate, CompanyType.BEMS)).isNotSameAs(fems);
+        // 같은 요금 ID면 전달한 엔티티가 바뀌어도 캐시한 요금표를 반환
+        energyRate.setIndustrialRate(new BigDecimal("2.0000"));
+        assertThat(energyRateService.getTariff(energyRate, CompanyType.FEMS)).isSameAs(fems);
+    }
+
+    @Test
+    void rebuildsTariffAfterUpdate() {
+        var energyRate = energyRate();
+        when(energyRateRepository.findById(energyRate.getId())).thenReturn(Optional.of(energyRate));
+        when(energyRateRepository.save(energyRate)).thenReturn(energyRate);
+        var before = energyRateService.getTariff(energyRate, CompanyType.FEMS);
+
+        energyRateService.update(energyRate.getId(), new EnergyRateDto.UpdateEnergyRate(
+                new BigDecimal("1.0000"), null, null, null, null, null, null, null));
+
+        var after = energyRateService.getTariff(energyRate, CompanyType.FEMS);
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getRate(10)).isEqualTo(new BigDecimal("1.5000"));
+        verify(energySummaryCache).invalidateAll();
+    }
+
+    @Test
+    void rebuildsTariffAfterDelete() {
+        var energyRate = energyRate();
+        var otherEnergyRate = energyRate();
+        otherEnergyRate.setId(2L);
+        when(energyRateRepository.findById(energyRate.getId())).thenReturn(Optional.of(energyRate));
+        var before = energyRateService.getTariff(energyRate, CompanyType.BEMS);
+        var other = energyRateService.getTariff(otherEnergyRate, CompanyType.BEMS);
+
+        energyRateService.delete(energyRate.getId());
+
+        assertThat(energyRateService.getTariff(energyRate, CompanyType.BEMS)).isNotSameAs(before);
+        // 다른 요금의 요금표는 유지
+        assertThat(energyRateService.getTariff(otherEnergyRate, CompanyType.BEMS)).isSameAs(other);
+        verify(energySummaryCache).invalidateAll();
+    }
+
+    private static EnergyRate energyRate() {
+        return EnergyRate.builder()
+                .id(1L)
+                .country(Country.builder()
+                        .id(1L)
+                        .name("Korea")
+                        .build())
+                .industrialRate(new BigDecimal("0.7823"))
+                .commercialRate(new BigDecimal("0.6319"))
+                .peakMultiplier(new BigDecimal("1.5"))
+                .midPeakMultiplier(new BigDecimal("1.2"))
+                .offPeakMultiplier(new BigDecimal("0.8"))
+                .peakHours(List.of(10, 11, 13, 14, 15, 16))
+                .midPeakHours(List.of(8, 9, 12, 17, 18, 19, 20, 21))
+                .offPeakHours(List.of(0, 1, 2, 3, 4, 5, 6, 7, 22))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.CompanyType;
+import atemos.everse.api.domain.EnergyRatePeakType;
+import atemos.everse.api.domain.MemberRole;
+import atemos.everse.api.dto.EnergyDto;
+import atemos.everse.api.entity.Company;
+import atemos.everse.api.entity.Iot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 사용량 상위 IoT 장비 조회가 전체 업체를 한 번에 집계하고, 에너지 요금이 없는 국가의 업체를 제외하며,
+ * 장비 요금을 소수점 4자리로 반올림하는지 H2(MySQL 호환 모드)로 확인합니다.
+ */
+class EnergyTopDevicesTest extends EnergyServiceTestSupport {
+    private static final LocalDate DATE = LocalDate.of(2024, 6, 3);
+
+    private Company companyA;
+    private Iot iotA1;
+    private Iot iotA2;
+    private Iot iotB1;
+
+    @BeforeEach
+    void setUp() {
+        asUser(MemberRole.ADMIN, null);
+        var korea = saveCountry("Korea", "ko", "Asia/Seoul");
+        // 에너지 요금 정보가 없는 국가
+        var japan = saveCountry("Japan", "ja", "Asia/Tokyo");
+        // 10시 피크(150), 14시 경피크(120), 그 외 시간 80
+        saveEnergyRate(korea, List.of(10), List.of(14), List.of(2));
+        companyA = saveCompany(korea, "Company A", CompanyType.FEMS, "02000000001");
+        var companyB = saveCompany(korea, "Company B", CompanyType.FEMS, "02000000002");
+        var companyC = saveCompany(japan, "Company C", CompanyType.FEMS, "02000000003");
+        iotA1 = saveIot(companyA, "SN-A1", 15);
+        iotA2 = saveIot(companyA, "SN-A2", 15);
+        iotB1 = saveIot(companyB, "SN-B1", 15);
+        var iotC1 = saveIot(companyC, "SN-C1", 15);
+        energyRepository.saveAll(List.of(
+                energy(iotA1, DATE.atTime(10, 0), "1.2345"),
+                energy(iotA1, DATE.atTime(10, 15), "2.0001"),
+                energy(iotA2, DATE.atTime(10, 0), "5.0000"),
+                energy(iotB1, DATE.atTime(10, 0), "0.3333"),
+                energy(iotB1, DATE.atTime(14, 0), "1.1111"),
+                energy(iotC1, DATE.atTime(10, 0), "100.0000"),
+                // 기간 밖의 사용량
+                energy(iotA1, DATE.plusDays(1).atTime(10, 0), "50.0000")));
+    }
+
+    @Test
+    void ranksDevicesAcrossCompaniesAndSkipsCompaniesWithoutEnergyRate() {
+        var response = readTopDevices(null, 3);
+
+        var peak = peakType(response, EnergyRatePeakType.PEAK);
+        // 에너지 요금이 없는 국가의 장비(100.0000)는 제외
+        assertThat(peak.getDevices()).extracting(EnergyDto.DeviceConsumption::getIotId)
+                .containsExactly(iotA2.getId(), iotA1.getId(), iotB1.getId());
+        assertThat(peak.getDevices()).extracting(EnergyDto.DeviceConsumption::getSerialNumber)
+                .containsExactly("SN-A2", "SN-A1", "SN-B1");
+        assertThat(peak.getTotalUsage()).isEqualByComparingTo("8.5679");
+        assertThat(peak.getTotalBill()).isEqualTo(new BigDecimal("1285.1850"));
+        var a1 = peak.getDevices().get(1);
+        assertThat(a1.getUsage()).isEqualByComparingTo("3.2346");
+        assertThat(a1.getBill()).isEqualTo(new BigDecimal("485.1900"));
+        // 1285.1850 중 485.1900의 비율(%)
+        assertThat(a1.getBillShare()).isEqualTo(new BigDecimal("37.7525"));
+        var midPeak = peakType(response, EnergyRatePeakType.MID_PEAK);
+        assertThat(midPeak.getDevices()).extracting(EnergyDto.DeviceConsumption::getIotId).containsExactly(iotB1.getId());
+        assertThat(midPeak.getTotalBill()).isEqualTo(new BigDecimal("133.3320"));
+    }
+
+    @Test
+    void keepsOnlyLimitDevicesPerPeakType() {
+        var peak = peakType(readTopDevices(null, 1), EnergyRatePeakType.PEAK);
+
+        assertThat(peak.getDevices()).extracting(EnergyDto.DeviceConsumption::getIotId).containsExactly(iotA2.getId());
+        // 전체 합계는 상위 장비 수와 관계없이 모든 장비의 합계
+        assertThat(peak.getTotalUsage()).isEqualByComparingTo("8.5679");
+    }
+
+    @Test
+    void readsOnlyDevicesOfTheCompany() {
+        var response = readTopDevices(companyA.getId(), 10);
+
+        assertThat(response.getPeakTypes()).extracting(EnergyDto.PeakTypeTopDevices::getPeakType)
+                .containsExactly(EnergyRatePeakType.PEAK);
+        var peak = peakType(response, EnergyRatePeakType.PEAK);
+        assertThat(peak.getDevices()).extracting(EnergyDto.DeviceConsumption::getCompanyId)
+                .containsOnly(companyA.getId());
+        assertThat(peak.getTotalUsage()).isEqualByComparingTo("8.2346");
+        assertThat(peak.getDevices()).allSatisfy(device -> assertThat(device.getBill().scale()).isEqualTo(4));
+    }
+
+    /**
+     * 웹 요청처럼 조회하는 동안 영속성 컨텍스트를 열어 둔 채로 상위 장비를 조회합니다.
+     */
+    private EnergyDto.TopDevicesResponse readTopDevices(Long companyId, int limit) {
+        return new TransactionTemplate(transactionManager).execute(status -> energyService.readTopDevices(companyId, DATE, DATE, limit));
+    }
+
+    private static EnergyDto.PeakTypeTopDevices peakType(EnergyDto.TopDevicesResponse response, EnergyRatePeakType peakType) {
+        return response.getPeakTypes().stream()
+                .filter(peakTypeTopDevices -> peakTypeTopDevices.getPeakType() == peakType)
+                .findFirst()
+                .orElseThrow();
+    }
+}
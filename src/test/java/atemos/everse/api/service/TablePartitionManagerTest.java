@@ -0,0 +1,93 @@
+package atemos.everse.api.service;
+
+import atemos.everse.api.domain.PartitionedTable;
+import atemos.everse.api.repository.PartitionJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * TablePartitionManager가 파티션이 없는 테이블의 스키마를 변경하지 않고,
+ * 파티션으로 나뉜 테이블에만 월 파티션을 미리 만들고 보관 기간이 지난 파티션을 삭제하는지 확인합니다.
+ */
+class TablePartitionManagerTest {
+    private final PartitionJdbcRepository partitionJdbcRepository = mock(PartitionJdbcRepository.class);
+    private final BulkPurger bulkPurger = mock(BulkPurger.class);
+
+    @Test
+    void doesNothingWhenDisabled() {
+        var manager = manager(false);
+
+        assertThat(manager.maintain(PartitionedTable.ENERGY)).isFalse();
+        verifyNoInteractions(partitionJdbcRepository);
+    }
+
+    @Test
+    void leavesUnpartitionedTablesUnchanged() {
+        when(partitionJdbcRepository.findPartitionNames(PartitionedTable.ENERGY)).thenReturn(List.of());
+
+        assertThat(manager(true).maintain(PartitionedTable.ENERGY)).isFalse();
+        verify(partitionJdbcRepository, never()).addPartitions(any(), anyList(), anyBoolean());
+        verify(partitionJdbcRepository, never()).dropPartitions(any(), anyList());
+    }
+
+    @Test
+    void createsPartitionsAheadFromLastMonthlyPartition() {
+        var currentMonth = YearMonth.now(ZoneOffset.UTC);
+        when(partitionJdbcRepository.findPartitionNames(PartitionedTable.API_CALL_LOG)).thenReturn(List.of(
+                PartitionJdbcRepository.partitionName(currentMonth.minusMonths(1)),
+                PartitionJdbcRepository.partitionName(currentMonth),
+                PartitionJdbcRepository.MAX_PARTITION_NAME));
+
+        assertThat(manager(true).maintain(PartitionedTable.API_CALL_LOG)).isTrue();
+        // pmax를 나누어 다음 달부터 3개월 뒤까지 추가
+        verify(partitionJdbcRepository).addPartitions(PartitionedTable.API_CALL_LOG,
+                List.of(currentMonth.plusMonths(1), currentMonth.plusMonths(2), currentMonth.plusMonths(3)), true);
+    }
+
+    @Test
+    void dropsOnlyPartitionsEndingBeforeBoundary() {
+        when(partitionJdbcRepository.findPartitionNames(PartitionedTable.ENERGY)).thenReturn(List.of(
+                "p202401", "p202402", "p202403", PartitionJdbcRepository.MAX_PARTITION_NAME));
+
+        // 2024년 3월 1일 0시는 2월 파티션의 상한과 같으므로 2월 파티션까지 삭제
+        var dropped = manager(true).dropPartitionsBefore(PartitionedTable.ENERGY, LocalDateTime.of(2024, 3, 1, 0, 0));
+
+        assertThat(dropped).containsExactly("p202401", "p202402");
+        verify(partitionJdbcRepository).dropPartitions(PartitionedTable.ENERGY, List.of("p202401", "p202402"));
+    }
+
+    @Test
+    void purgesRemainingRowsByCompanyInChunks() {
+        when(bulkPurger.purge(any())).thenReturn(new BulkPurger.Result("iot_status_history", 7, 1, Duration.ZERO));
+        var cutoff = LocalDateTime.of(2024, 3, 15, 9, 0);
+
+        var deleted = manager(true).deleteOlderThan(PartitionedTable.IOT_STATUS_HISTORY, List.of(3L, 5L), cutoff);
+
+        assertThat(deleted).isEqualTo(7);
+        // UTC 시각 컬럼은 Instant로 비교
+        verify(bulkPurger).purge(eq(new BulkPurger.Target("iot_status_history", "iot_status_history",
+                "created_date < ? AND iot_id IN (SELECT id FROM iot WHERE company_id IN (?, ?))",
+                List.of(cutoff.toInstant(ZoneOffset.UTC), 3L, 5L))));
+    }
+
+    private TablePartitionManager manager(boolean enabled) {
+        return new TablePartitionManager(partitionJdbcRepository, new ResourcelessTransactionManager(), bulkPurger, enabled, 3);
+    }
+}
@@ -0,0 +1,98 @@
+package atemos.everse.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TimeSeriesCodec으로 인코딩한 시각, 값, 상태 코드 배열이 그대로 디코딩되는지 확인합니다.
+ */
+class TimeSeriesCodecTest {
+    @Test
+    void roundTripsIrregularTimestamps() {
+        // 일정한 간격, 누락된 구간, 같은 시각, 간격이 줄어드는 구간을 포함
+        long[] timestamps = {28_500_000, 28_500_015, 28_500_030, 28_500_045, 28_500_300, 28_500_301, 28_500_301, 28_510_000, 28_510_015};
+
+        var decoded = roundTrip(new TimeSeriesCodec.Encoder().writeTimestamps(timestamps, timestamps.length))
+                .readTimestamps(timestamps.length);
+
+        assertThat(decoded).containsExactly(timestamps);
+    }
+
+    @Test
+    void encodesRegularTimestampsInOneBytePerPoint() {
+        var timestamps = new long[1_000];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = 28_500_000 + i * 15L;
+        }
+
+        var bytes = new TimeSeriesCodec.Encoder().writeTimestamps(timestamps, timestamps.length).toByteArray();
+
+        // 첫 시각(4바이트), 첫 간격(1바이트), 이후 변화량 0(1바이트씩)
+        assertThat(bytes).hasSize(4 + 1 + (timestamps.length - 2));
+        assertThat(new TimeSeriesCodec.Decoder(ByteBuffer.wrap(bytes)).readTimestamps(timestamps.length)).containsExactly(timestamps);
+    }
+
+    @Test
+    void roundTripsNegativeDeltas() {
+        // 감소하는 값, 음수 값, 차이가 long 범위를 넘는 값
+        long[] values = {1_234_5678, 1_000_0000, 0, -5, -9_999_9999, 42, Long.MAX_VALUE, Long.MIN_VALUE, 0};
+        long[] timestamps = {100, 90, 95, -10, -10, 0, 7, 3, 1_000};
+
+        var decoder = roundTrip(new TimeSeriesCodec.Encoder()
+                .writeValues(values, values.length)
+                .writeTimestamps(timestamps, timestamps.length));
+
+        assertThat(decoder.readValues(values.length)).containsExactly(values);
+        assertThat(decoder.readTimestamps(timestamps.length)).containsExactly(timestamps);
+    }
+
+    @Test
+    void roundTripsSinglePoint() {
+        long[] timestamps = {28_512_345};
+        long[] values = {-12_345};
+        int[] codes = {3};
+
+        var decoder = roundTrip(new TimeSeriesCodec.Encoder()
+                .writeTimestamps(timestamps, 1)
+                .writeValues(values, 1)
+                .writeRuns(codes, 1));
+
+        assertThat(decoder.readTimestamps(1)).containsExactly(timestamps);
+        assertThat(decoder.readValues(1)).containsExactly(values);
+        assertThat(decoder.readRuns(1)).containsExactly(codes);
+    }
+
+    @Test
+    void roundTripsEmptySeries() {
+        var bytes = new TimeSeriesCodec.Encoder()
+                .writeTimestamps(new long[0], 0)
+                .writeValues(new long[0], 0)
+                .writeRuns(new int[0], 0)
+                .writeVarLong(7)
+                .toByteArray();
+
+        var decoder = new TimeSeriesCodec.Decoder(ByteBuffer.wrap(bytes));
+        assertThat(decoder.readTimestamps(0)).isEmpty();
+        assertThat(decoder.readValues(0)).isEmpty();
+        assertThat(decoder.readRuns(0)).isEmpty();
+        // 빈 시계열은 구간 수(0) 외에는 아무것도 기록하지 않으므로 다음 값을 그대로 읽음
+        assertThat(decoder.readVarLong()).isEqualTo(7);
+        assertThat(bytes).hasSize(2);
+    }
+
+    @Test
+    void roundTripsStatusRuns() {
+        int[] codes = {0, 0, 0, 2, 2, 1, 0, 0, 3, 3, 3, 3};
+
+        var decoded = roundTrip(new TimeSeriesCodec.Encoder().writeRuns(codes, codes.length)).readRuns(codes.length);
+
+        assertThat(decoded).containsExactly(codes);
+    }
+
+    private static TimeSeriesCodec.Decoder roundTrip(TimeSeriesCodec.Encoder encoder) {
+        return new TimeSeriesCodec.Decoder(ByteBuffer.wrap(encoder.toByteArray()));
+    }
+}